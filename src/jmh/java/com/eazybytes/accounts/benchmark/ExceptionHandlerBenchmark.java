@@ -0,0 +1,80 @@
+package com.eazybytes.accounts.benchmark;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import com.eazybytes.accounts.dto.CustomerDto;
+import com.eazybytes.accounts.dto.ErrorResponseDto;
+import com.eazybytes.accounts.exception.GlobalExceptionHandler;
+import com.eazybytes.accounts.exception.ResourceNotFoundException;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validation;
+
+/**
+ * Error responses built by GlobalExceptionHandler. The "throwAndHandle" variants include creating the
+ * exception, which is where the stack trace is filled in, the others measure the handler alone.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExceptionHandlerBenchmark {
+
+    private GlobalExceptionHandler globalExceptionHandler;
+    private WebRequest webRequest;
+    private ResourceNotFoundException resourceNotFoundException;
+    private IllegalStateException unexpectedException;
+    private ConstraintViolationException constraintViolationException;
+
+    @Setup
+    public void setUp() {
+        globalExceptionHandler = new GlobalExceptionHandler();
+        webRequest = new ServletWebRequest(new MockHttpServletRequest("GET", "/api/fetch"));
+        resourceNotFoundException = new ResourceNotFoundException("Customer", "mobileNumber", "9567017116");
+        unexpectedException = new IllegalStateException("Connection is closed");
+        Set<ConstraintViolation<CustomerDto>> violations = Validation.buildDefaultValidatorFactory().getValidator()
+                .validate(new CustomerDto("", "invalidemail", "12345", null));
+        constraintViolationException = new ConstraintViolationException(violations);
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponseDto> handleResourceNotFound() {
+        return globalExceptionHandler.handleGlobalException(resourceNotFoundException, webRequest);
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponseDto> throwAndHandleResourceNotFound() {
+        return globalExceptionHandler.handleGlobalException(
+                new ResourceNotFoundException("Customer", "mobileNumber", "9567017116"), webRequest);
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponseDto> handleUnexpectedException() {
+        return globalExceptionHandler.handleGlobalException(unexpectedException, webRequest);
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> handleConstraintViolation() {
+        return globalExceptionHandler.handleConstraintViolationException(constraintViolationException);
+    }
+
+}
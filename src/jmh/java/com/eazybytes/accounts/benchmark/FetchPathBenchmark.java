@@ -0,0 +1,102 @@
+package com.eazybytes.accounts.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.eazybytes.accounts.AccountsApplication;
+import com.eazybytes.accounts.dto.CustomerDto;
+import com.eazybytes.accounts.service.impl.AccountsServiceImpl;
+
+/**
+ * The two fetch paths of AccountsServiceImpl against the application's in-memory H2 database, with the
+ * customer cache switched off so every call reaches the database: fetchAccount reads the joined DTO
+ * projection in one statement, fetchAccountWithEntities loads both entities and maps them. The warmup is
+ * long because the Hibernate and H2 code paths take tens of seconds to reach steady state.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class FetchPathBenchmark {
+
+    private static final long FIRST_MOBILE_NUMBER = 9_100_000_000L;
+    private static final int BATCH_SIZE = 500;
+    private static final int LOOKUPS = 4096;
+
+    @Param({"10000"})
+    public int customers;
+
+    private ConfigurableApplicationContext context;
+    private AccountsServiceImpl accountsService;
+    private String[] lookups;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(AccountsApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.cache.type=none", "--spring.jpa.show-sql=false", "--logging.level.root=WARN",
+                        // seeding would otherwise leave the audit and outbox writers busy during measurement
+                        "--accounts.audit.enabled=false", "--accounts.outbox.enabled=false");
+        accountsService = context.getBean(AccountsServiceImpl.class);
+        List<CustomerDto> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < customers; i++) {
+            CustomerDto customerDto = new CustomerDto();
+            customerDto.setName("Benchmark User");
+            customerDto.setEmail("benchmark" + i + "@example.com");
+            customerDto.setMobileNumber(Long.toString(FIRST_MOBILE_NUMBER + i));
+            batch.add(customerDto);
+            if (batch.size() == BATCH_SIZE || i == customers - 1) {
+                accountsService.createAccounts(batch);
+                batch = new ArrayList<>(BATCH_SIZE);
+            }
+        }
+        Random random = new Random(42);
+        lookups = new String[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            lookups[i] = Long.toString(FIRST_MOBILE_NUMBER + random.nextInt(customers));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public CustomerDto joinedProjection() {
+        return accountsService.fetchAccount(nextMobileNumber());
+    }
+
+    @Benchmark
+    public CustomerDto entitiesAndMapping() {
+        return accountsService.fetchAccountWithEntities(nextMobileNumber());
+    }
+
+    private String nextMobileNumber() {
+        next = (next + 1) & (LOOKUPS - 1);
+        return lookups[next];
+    }
+
+}
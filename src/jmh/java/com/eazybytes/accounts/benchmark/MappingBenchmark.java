@@ -0,0 +1,72 @@
+package com.eazybytes.accounts.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.eazybytes.accounts.dto.AccountsDto;
+import com.eazybytes.accounts.dto.CustomerDto;
+import com.eazybytes.accounts.entity.Accounts;
+import com.eazybytes.accounts.entity.Customer;
+import com.eazybytes.accounts.mapper.AccountsMapper;
+import com.eazybytes.accounts.mapper.CustomerMapper;
+
+/**
+ * Entity/DTO mapping done on every create, fetch and update request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MappingBenchmark {
+
+    private Customer customer;
+    private Accounts accounts;
+    private CustomerDto customerDto;
+
+    @Setup
+    public void setUp() {
+        customer = new Customer(1L, "Madan Reddy", "madan.reddy@eazybytes.com", "9567017116");
+        customer.setVersion(3L);
+        accounts = new Accounts(1L, 1_000_000_018L, "Savings", "123 Main Street, New York");
+        accounts.setVersion(2L);
+        customerDto = new CustomerDto("Madan Reddy", "madan.reddy@eazybytes.com", "9567017116",
+                new AccountsDto(1_000_000_018L, "Savings", "123 Main Street, New York"));
+    }
+
+    @Benchmark
+    public CustomerDto customerToDto() {
+        CustomerDto dto = CustomerMapper.mapToCustomerDto(customer, new CustomerDto());
+        dto.setAccountsDto(AccountsMapper.mapToAccountsDto(accounts, new AccountsDto()));
+        return dto;
+    }
+
+    @Benchmark
+    public Customer dtoToCustomer() {
+        return CustomerMapper.mapToCustomer(customerDto, new Customer());
+    }
+
+    @Benchmark
+    public Accounts dtoToAccounts() {
+        return AccountsMapper.mapToAccounts(customerDto.getAccountsDto(), new Accounts());
+    }
+
+    @Benchmark
+    public CustomerDto projectionConstructor() {
+        // the shape fetchAccount reads straight from the joined query
+        return new CustomerDto("Madan Reddy", "madan.reddy@eazybytes.com", "9567017116", 3L,
+                1_000_000_018L, "Savings", "123 Main Street, New York", 2L);
+    }
+
+}
@@ -0,0 +1,149 @@
+package com.eazybytes.accounts.benchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.eazybytes.accounts.lookup.CustomerKeys;
+import com.eazybytes.accounts.lookup.OffHeapCustomerIndex;
+
+/**
+ * Mobile number lookups on an in-memory H2 copy of the customer and accounts tables: the off-heap index
+ * alone, the query through ux_customer_mobile_number that fetches use without the index, and the index
+ * followed by the primary key query that replaces it. The direct memory taken per indexed customer is
+ * printed once the index is filled.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MobileNumberIndexBenchmark {
+
+    private static final long FIRST_MOBILE_NUMBER = 9_000_000_000L;
+    private static final int LOOKUPS = 4096;
+
+    @Param({"100000", "1000000"})
+    public int customers;
+
+    private Connection connection;
+    private PreparedStatement byMobileNumber;
+    private PreparedStatement byKeys;
+    private OffHeapCustomerIndex index;
+    private long[] lookups;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:index-benchmark;DB_CLOSE_DELAY=-1");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table if exists accounts");
+            statement.execute("drop table if exists customer");
+            statement.execute("create table customer (customer_id bigint primary key, "
+                    + "mobile_number varchar(20) not null, deleted_at timestamp)");
+            statement.execute("create unique index ux_customer_mobile_number on customer (mobile_number)");
+            statement.execute("create table accounts (account_number bigint primary key, "
+                    + "customer_id bigint not null, deleted_at timestamp)");
+            statement.execute("create index ix_accounts_customer_id on accounts (customer_id)");
+        }
+        index = new OffHeapCustomerIndex(customers);
+        connection.setAutoCommit(false);
+        try (PreparedStatement customer = connection.prepareStatement(
+                "insert into customer (customer_id, mobile_number) values (?, ?)");
+             PreparedStatement account = connection.prepareStatement(
+                     "insert into accounts (account_number, customer_id) values (?, ?)")) {
+            for (int i = 1; i <= customers; i++) {
+                long mobileNumber = FIRST_MOBILE_NUMBER + i;
+                customer.setLong(1, i);
+                customer.setString(2, Long.toString(mobileNumber));
+                customer.addBatch();
+                account.setLong(1, 1_000_000_000L + i);
+                account.setLong(2, i);
+                account.addBatch();
+                if (i % 10_000 == 0 || i == customers) {
+                    customer.executeBatch();
+                    account.executeBatch();
+                }
+                index.put(mobileNumber, i, 1_000_000_000L + i);
+            }
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+        byMobileNumber = connection.prepareStatement("select c.customer_id, a.account_number from customer c "
+                + "join accounts a on a.customer_id = c.customer_id where c.mobile_number = ? "
+                + "and c.deleted_at is null and a.deleted_at is null");
+        byKeys = connection.prepareStatement("select c.customer_id, a.account_number from customer c "
+                + "join accounts a on a.customer_id = c.customer_id "
+                + "where c.customer_id = ? and a.account_number = ? and c.mobile_number = ? "
+                + "and c.deleted_at is null and a.deleted_at is null");
+        Random random = new Random(42);
+        lookups = new long[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            lookups[i] = FIRST_MOBILE_NUMBER + 1 + random.nextInt(customers);
+        }
+        System.out.printf("%n%d customers: %d bytes of direct memory, %.1f bytes per entry%n", customers,
+                index.getMemoryBytes(), (double) index.getMemoryBytes() / index.size());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table accounts");
+            statement.execute("drop table customer");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public CustomerKeys indexLookup() {
+        return index.get(nextMobileNumber());
+    }
+
+    @Benchmark
+    public long queryByMobileNumber() throws SQLException {
+        byMobileNumber.setString(1, Long.toString(nextMobileNumber()));
+        return readAccountNumber(byMobileNumber);
+    }
+
+    @Benchmark
+    public long indexThenQueryByKeys() throws SQLException {
+        long mobileNumber = nextMobileNumber();
+        CustomerKeys keys = index.get(mobileNumber);
+        byKeys.setLong(1, keys.customerId());
+        byKeys.setLong(2, keys.accountNumber());
+        byKeys.setString(3, Long.toString(mobileNumber));
+        return readAccountNumber(byKeys);
+    }
+
+    private long nextMobileNumber() {
+        next = (next + 1) & (LOOKUPS - 1);
+        return lookups[next];
+    }
+
+    private static long readAccountNumber(PreparedStatement statement) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery()) {
+            return resultSet.next() ? resultSet.getLong(2) : -1;
+        }
+    }
+
+}
@@ -0,0 +1,105 @@
+package com.eazybytes.accounts.benchmark;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import com.eazybytes.accounts.constants.AccountsConstants;
+import com.eazybytes.accounts.dto.AccountsDto;
+import com.eazybytes.accounts.dto.ConstantResponseDto;
+import com.eazybytes.accounts.dto.CustomerDto;
+import com.eazybytes.accounts.dto.ErrorResponseDto;
+import com.eazybytes.accounts.dto.ResponseDto;
+import com.eazybytes.accounts.json.PreEncodedJsonHttpMessageConverter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Jackson serialization of every response body the API returns, with an ObjectMapper built the way
+ * Spring Boot builds the one used by the message converters. The constant bodies are compared with their
+ * pre-encoded bytes, both written through a message converter the way a response is; run with
+ * {@code -prof gc} to see the allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private MappingJackson2HttpMessageConverter jacksonConverter;
+    private PreEncodedJsonHttpMessageConverter preEncodedConverter;
+    private CustomerDto customerDto;
+    private ResponseDto responseDto;
+    private ErrorResponseDto errorResponseDto;
+    private byte[] customerJson;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        jacksonConverter = new MappingJackson2HttpMessageConverter(objectMapper);
+        preEncodedConverter = new PreEncodedJsonHttpMessageConverter(objectMapper);
+        customerDto = new CustomerDto("Madan Reddy", "madan.reddy@eazybytes.com", "9567017116",
+                new AccountsDto(1_000_000_018L, "Savings", "123 Main Street, New York", 2L), 3L, null);
+        responseDto = new ResponseDto(AccountsConstants.STATUS_200, AccountsConstants.MESSAGE_200);
+        errorResponseDto = new ErrorResponseDto("uri=/api/fetch", HttpStatus.NOT_FOUND,
+                "Customer not found with the given input data mobileNumber : '9567017116'", LocalDateTime.now());
+        customerJson = objectMapper.writeValueAsBytes(customerDto);
+    }
+
+    @Benchmark
+    public byte[] writeCustomerDto() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(customerDto);
+    }
+
+    @Benchmark
+    public byte[] writeResponseDto() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(responseDto);
+    }
+
+    @Benchmark
+    public byte[] writeResponseDtoConverter() throws IOException {
+        MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+        jacksonConverter.write(responseDto, MediaType.APPLICATION_JSON, outputMessage);
+        return outputMessage.getBodyAsBytes();
+    }
+
+    @Benchmark
+    public byte[] writeResponseDtoPreEncoded() throws IOException {
+        MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+        preEncodedConverter.write(ConstantResponseDto.OK, MediaType.APPLICATION_JSON, outputMessage);
+        return outputMessage.getBodyAsBytes();
+    }
+
+    @Benchmark
+    public byte[] writeErrorResponseDto() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(errorResponseDto);
+    }
+
+    @Benchmark
+    public CustomerDto readCustomerDto() throws IOException {
+        return objectMapper.readValue(customerJson, CustomerDto.class);
+    }
+
+}
@@ -0,0 +1,78 @@
+package com.eazybytes.accounts.benchmark;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.eazybytes.accounts.dto.CustomerDto;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+
+/**
+ * Bean Validation of the request body of /api/create and /api/update, and the mobile number
+ * regex on its own to separate its cost from the validator overhead.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidationBenchmark {
+
+    private static final Pattern MOBILE_NUMBER = Pattern.compile("(^$|[0-9]{10})");
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private CustomerDto validCustomer;
+    private CustomerDto invalidCustomer;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        validCustomer = new CustomerDto("Madan Reddy", "madan.reddy@eazybytes.com", "9567017116", null);
+        invalidCustomer = new CustomerDto("", "invalidemail", "12345", null);
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CustomerDto>> validateValidCustomer() {
+        return validator.validate(validCustomer);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CustomerDto>> validateInvalidCustomer() {
+        return validator.validate(invalidCustomer);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CustomerDto>> validateMobileNumberProperty() {
+        return validator.validateProperty(validCustomer, "mobileNumber");
+    }
+
+    @Benchmark
+    public boolean mobileNumberRegex() {
+        return MOBILE_NUMBER.matcher(validCustomer.getMobileNumber()).matches();
+    }
+
+}
@@ -0,0 +1,335 @@
+package com.eazybytes.accounts.load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.eazybytes.accounts.AccountsApplication;
+
+/**
+ * Open-loop HTTP load generator for the accounts API. It boots the application on a random port, seeds
+ * customers through the API, then fires requests at a fixed rate from a schedule that does not wait for
+ * earlier responses. Latency is measured from the time a request was scheduled to be sent, not from the
+ * time it actually went out, so queueing in the client or the server is counted instead of hidden
+ * (coordinated omission). The plain service time is reported next to it for comparison.
+ *
+ * <p>Configured with system properties:
+ * <ul>
+ *     <li>{@code load.rate} - requests per second, default 500</li>
+ *     <li>{@code load.duration} / {@code load.warmup} - ISO-8601 durations, default PT60S / PT10S</li>
+ *     <li>{@code load.customers} - customers seeded before the run, default 1000</li>
+ *     <li>{@code load.mix} - relative weights, default fetch=70,update=15,create=10,delete=5</li>
+ *     <li>{@code load.profiles} - Spring profiles of the application, default qa</li>
+ *     <li>{@code load.timeout} - per request timeout, default PT10S</li>
+ * </ul>
+ */
+public class LoadHarness {
+
+    private static final Pattern ACCOUNT_NUMBER = Pattern.compile("\"accountNumber\"\\s*:\\s*(\\d+)");
+    private static final long SEEDED_MOBILE_BASE = 7_000_000_000L;
+    private static final long CREATED_MOBILE_BASE = 8_000_000_000L;
+    private static final int SEED_CONCURRENCY = 64;
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    enum Operation { FETCH, UPDATE, CREATE, DELETE }
+
+    private final HttpClient httpClient;
+    private final URI baseUri;
+    private final Duration timeout;
+    private final List<Seeded> seeded = new ArrayList<>();
+    private final ConcurrentLinkedQueue<String> deletable = new ConcurrentLinkedQueue<>();
+    private final AtomicLong nextMobileNumber = new AtomicLong(CREATED_MOBILE_BASE);
+    private final Map<Operation, Histogram> correctedLatency = new EnumMap<>(Operation.class);
+    private final Map<Operation, Histogram> serviceTime = new EnumMap<>(Operation.class);
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    private record Seeded(String mobileNumber, long accountNumber) {
+    }
+
+    LoadHarness(HttpClient httpClient, URI baseUri, Duration timeout) {
+        this.httpClient = httpClient;
+        this.baseUri = baseUri;
+        this.timeout = timeout;
+        resetHistograms();
+    }
+
+    public static void main(String[] args) throws Exception {
+        int rate = Integer.getInteger("load.rate", 500);
+        Duration duration = Duration.parse(System.getProperty("load.duration", "PT60S"));
+        Duration warmup = Duration.parse(System.getProperty("load.warmup", "PT10S"));
+        int customers = Integer.getInteger("load.customers", 1000);
+        Map<Operation, Integer> mix = parseMix(System.getProperty("load.mix", "fetch=70,update=15,create=10,delete=5"));
+        String profiles = System.getProperty("load.profiles", "qa");
+        Duration timeout = Duration.parse(System.getProperty("load.timeout", "PT10S"));
+
+        try (ConfigurableApplicationContext context = SpringApplication.run(AccountsApplication.class,
+                "--server.port=0", "--spring.profiles.active=" + profiles, "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN");
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(executor)
+                    .connectTimeout(timeout)
+                    .build();
+            LoadHarness harness = new LoadHarness(httpClient, URI.create("http://localhost:" + port + "/api"), timeout);
+
+            System.out.printf(Locale.ROOT, "Seeding %d customers on port %d (profiles %s)%n", customers, port, profiles);
+            harness.seed(customers, executor);
+
+            System.out.printf(Locale.ROOT, "Warming up for %s at %d req/s%n", warmup, rate);
+            harness.run(rate, warmup, mix, executor);
+            harness.resetHistograms();
+
+            System.out.printf(Locale.ROOT, "Measuring for %s at %d req/s, mix %s%n", duration, rate, mix);
+            long started = System.nanoTime();
+            long sent = harness.run(rate, duration, mix, executor);
+            long elapsed = System.nanoTime() - started;
+            harness.report(sent, elapsed);
+        }
+    }
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] pair = entry.trim().split("=");
+            weights.put(Operation.valueOf(pair[0].trim().toUpperCase(Locale.ROOT)), Integer.parseInt(pair[1].trim()));
+        }
+        return weights;
+    }
+
+    private void resetHistograms() {
+        for (Operation operation : Operation.values()) {
+            correctedLatency.put(operation, new ConcurrentHistogram(HIGHEST_TRACKABLE_NANOS, 3));
+            serviceTime.put(operation, new ConcurrentHistogram(HIGHEST_TRACKABLE_NANOS, 3));
+        }
+        errors.clear();
+    }
+
+    /**
+     * Creates the customers the fetch and update requests work on and remembers their account numbers.
+     */
+    private void seed(int customers, ExecutorService executor) throws InterruptedException {
+        Semaphore permits = new Semaphore(SEED_CONCURRENCY);
+        Seeded[] results = new Seeded[customers];
+        for (int i = 0; i < customers; i++) {
+            int index = i;
+            permits.acquire();
+            executor.execute(() -> {
+                try {
+                    String mobileNumber = Long.toString(SEEDED_MOBILE_BASE + index);
+                    send(post("/create", customerJson("Seeded Customer", mobileNumber)));
+                    HttpResponse<String> response = send(get("/fetch?mobileNumber=" + mobileNumber));
+                    Matcher matcher = ACCOUNT_NUMBER.matcher(response.body());
+                    if (response.statusCode() == 200 && matcher.find()) {
+                        results[index] = new Seeded(mobileNumber, Long.parseLong(matcher.group(1)));
+                    }
+                } catch (IOException | InterruptedException ex) {
+                    // a customer that could not be seeded is simply left out of the working set
+                } finally {
+                    permits.release();
+                }
+            });
+        }
+        permits.acquire(SEED_CONCURRENCY);
+        for (Seeded result : results) {
+            if (result != null) {
+                seeded.add(result);
+            }
+        }
+        if (seeded.isEmpty()) {
+            throw new IllegalStateException("No customer could be seeded");
+        }
+    }
+
+    /**
+     * Sends requests on a fixed schedule for the given duration, each from its own virtual thread.
+     *
+     * @return number of requests sent
+     */
+    private long run(int rate, Duration duration, Map<Operation, Integer> mix, ExecutorService executor)
+            throws InterruptedException {
+        long interval = TimeUnit.SECONDS.toNanos(1) / rate;
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        int totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+        Semaphore inFlight = new Semaphore(Integer.MAX_VALUE);
+        long sent = 0;
+        for (long intendedStart = start; intendedStart < end; intendedStart = start + sent * interval) {
+            long wait = intendedStart - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Operation operation = pick(mix, totalWeight);
+            long scheduled = intendedStart;
+            inFlight.acquire();
+            executor.execute(() -> {
+                try {
+                    execute(operation, scheduled);
+                } finally {
+                    inFlight.release();
+                }
+            });
+            sent++;
+        }
+        // wait for the stragglers so their latency is part of this phase
+        inFlight.acquire(Integer.MAX_VALUE);
+        return sent;
+    }
+
+    private static Operation pick(Map<Operation, Integer> mix, int totalWeight) {
+        int draw = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+            draw -= entry.getValue();
+            if (draw < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Empty mix");
+    }
+
+    private void execute(Operation operation, long intendedStart) {
+        Seeded customer = seeded.get(ThreadLocalRandom.current().nextInt(seeded.size()));
+        HttpRequest request;
+        String createdMobileNumber = null;
+        switch (operation) {
+            case FETCH -> request = get("/fetch?mobileNumber=" + customer.mobileNumber());
+            case UPDATE -> request = HttpRequest.newBuilder(baseUri.resolve("api/update"))
+                    .timeout(timeout)
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString("""
+                            {"name": "Updated Customer", "email": "load@eazybytes.com", "mobileNumber": "%s",
+                             "accountsDto": {"accountNumber": %d, "accountType": "Savings", "branchAddress": "123 Load Street"}}"""
+                            .formatted(customer.mobileNumber(), customer.accountNumber())))
+                    .build();
+            case CREATE -> {
+                createdMobileNumber = Long.toString(nextMobileNumber.getAndIncrement());
+                request = post("/create", customerJson("Created Customer", createdMobileNumber));
+            }
+            case DELETE -> {
+                String mobileNumber = deletable.poll();
+                if (mobileNumber == null) {
+                    // nothing created yet, keep the schedule and fetch instead of skipping the slot
+                    operation = Operation.FETCH;
+                    request = get("/fetch?mobileNumber=" + customer.mobileNumber());
+                } else {
+                    request = HttpRequest.newBuilder(baseUri.resolve("api/delete?mobileNumber=" + mobileNumber))
+                            .timeout(timeout).DELETE().build();
+                }
+            }
+            default -> throw new IllegalStateException("Unexpected operation " + operation);
+        }
+
+        long sentAt = System.nanoTime();
+        String outcome;
+        try {
+            HttpResponse<String> response = send(request);
+            outcome = response.statusCode() / 100 == 2 ? null : operation + " " + response.statusCode();
+            if (outcome == null && createdMobileNumber != null) {
+                deletable.add(createdMobileNumber);
+            }
+        } catch (IOException ex) {
+            outcome = operation + " " + ex.getClass().getSimpleName();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        long now = System.nanoTime();
+        correctedLatency.get(operation).recordValue(Math.min(now - intendedStart, HIGHEST_TRACKABLE_NANOS));
+        serviceTime.get(operation).recordValue(Math.min(now - sentAt, HIGHEST_TRACKABLE_NANOS));
+        if (outcome != null) {
+            errors.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+        }
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve("api" + path)).timeout(timeout).GET().build();
+    }
+
+    private HttpRequest post(String path, String body) {
+        return HttpRequest.newBuilder(baseUri.resolve("api" + path))
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static String customerJson(String name, String mobileNumber) {
+        return """
+                {"name": "%s", "email": "load@eazybytes.com", "mobileNumber": "%s"}""".formatted(name, mobileNumber);
+    }
+
+    private void report(long sent, long elapsedNanos) {
+        Histogram allCorrected = new Histogram(HIGHEST_TRACKABLE_NANOS, 3);
+        Histogram allService = new Histogram(HIGHEST_TRACKABLE_NANOS, 3);
+        System.out.println();
+        System.out.printf(Locale.ROOT, "%-8s %9s %10s %10s %10s %10s %10s %12s%n",
+                "op", "count", "p50 ms", "p90 ms", "p99 ms", "p999 ms", "max ms", "svc p99 ms");
+        for (Operation operation : Operation.values()) {
+            Histogram corrected = correctedLatency.get(operation);
+            Histogram service = serviceTime.get(operation);
+            allCorrected.add(corrected);
+            allService.add(service);
+            if (corrected.getTotalCount() > 0) {
+                printRow(operation.name().toLowerCase(Locale.ROOT), corrected, service);
+            }
+        }
+        printRow("all", allCorrected, allService);
+
+        double seconds = elapsedNanos / 1e9;
+        long errorCount = errors.values().stream().mapToLong(LongAdder::sum).sum();
+        System.out.println();
+        System.out.printf(Locale.ROOT, "sent %d in %.1f s, completed %.1f req/s, %d errors%n",
+                sent, seconds, allCorrected.getTotalCount() / seconds, errorCount);
+        errors.forEach((outcome, count) -> System.out.printf(Locale.ROOT, "  %-30s %d%n", outcome, count.sum()));
+        System.out.println("Latencies are measured from the scheduled send time (coordinated omission corrected),"
+                + " svc p99 from the actual send time.");
+    }
+
+    private static void printRow(String name, Histogram corrected, Histogram service) {
+        System.out.printf(Locale.ROOT, "%-8s %9d %10.2f %10.2f %10.2f %10.2f %10.2f %12.2f%n",
+                name,
+                corrected.getTotalCount(),
+                millis(corrected.getValueAtPercentile(50)),
+                millis(corrected.getValueAtPercentile(90)),
+                millis(corrected.getValueAtPercentile(99)),
+                millis(corrected.getValueAtPercentile(99.9)),
+                millis(corrected.getMaxValue()),
+                millis(service.getValueAtPercentile(99)));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+}
@@ -3,7 +3,17 @@ package com.eazybytes.accounts;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
+import com.eazybytes.accounts.config.AccountsAuditProperties;
+import com.eazybytes.accounts.config.AccountsDeleteProperties;
+import com.eazybytes.accounts.config.AccountsImportProperties;
+import com.eazybytes.accounts.config.AccountsLookupFilterProperties;
+import com.eazybytes.accounts.config.AccountsMobileNumberIndexProperties;
+import com.eazybytes.accounts.config.AccountsOutboxProperties;
+import com.eazybytes.accounts.config.AccountsReplicaProperties;
+import com.eazybytes.accounts.config.AccountsShardingProperties;
 import com.eazybytes.accounts.dto.AccountsContactInfoDto;
 
 import io.swagger.v3.oas.annotations.ExternalDocumentation;
@@ -13,8 +23,12 @@ import io.swagger.v3.oas.annotations.info.Info;
 import io.swagger.v3.oas.annotations.info.License;
 
 @SpringBootApplication
-//@EnableJpaAuditing(auditorAwareRef = "auditAwareImpl")
-@EnableConfigurationProperties(value = {AccountsContactInfoDto.class})
+@EnableCaching
+@EnableScheduling
+@EnableConfigurationProperties(value = {AccountsContactInfoDto.class, AccountsDeleteProperties.class,
+		AccountsImportProperties.class, AccountsReplicaProperties.class, AccountsShardingProperties.class,
+		AccountsAuditProperties.class, AccountsOutboxProperties.class, AccountsLookupFilterProperties.class,
+		AccountsMobileNumberIndexProperties.class})
 @OpenAPIDefinition(
 		info = @Info(
 				title = "Accounts microservice REST API Documentation",
@@ -0,0 +1,19 @@
+package com.eazybytes.accounts.audit;
+
+/**
+ * Kind of change an audit record describes, stored in audit_log.action.
+ */
+public enum AuditAction {
+
+    INSERT,
+
+    UPDATE,
+
+    DELETE,
+
+    /**
+     * Row marked with deleted_at, it stays in the table until the purger removes it.
+     */
+    SOFT_DELETE
+
+}
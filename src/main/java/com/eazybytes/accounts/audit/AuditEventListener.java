@@ -0,0 +1,149 @@
+package com.eazybytes.accounts.audit;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.eazybytes.accounts.entity.BaseEntity;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Turns committed changes of Customer and Accounts into audit records. Entity inserts, updates and deletes
+ * arrive as Hibernate post-commit events, with the old and new state of every attribute, so nothing is
+ * read back from the database. Bulk statements bypass Hibernate's events; the service publishes an
+ * {@link AuditRecord} for them, which is picked up here once its transaction has committed.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "accounts.audit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AuditEventListener implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final AuditTrail auditTrail;
+    private final AuditorAware<String> auditorAware;
+    private final ObjectMapper objectMapper;
+
+    public AuditEventListener(EntityManagerFactory entityManagerFactory, AuditTrail auditTrail,
+                              AuditorAware<String> auditorAware, ObjectMapper objectMapper) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.auditTrail = auditTrail;
+        this.auditorAware = auditorAware;
+        this.objectMapper = objectMapper;
+    }
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        record(event.getPersister(), event.getId(), AuditAction.INSERT,
+                diff(event.getPersister().getPropertyNames(), null, event.getState()));
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        record(event.getPersister(), event.getId(), AuditAction.UPDATE,
+                diff(event.getPersister().getPropertyNames(), event.getOldState(), event.getState()));
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        record(event.getPersister(), event.getId(), AuditAction.DELETE,
+                diff(event.getPersister().getPropertyNames(), event.getDeletedState(), null));
+    }
+
+    /**
+     * @param auditRecord - change made by a bulk statement, changedBy is filled in when missing
+     */
+    @TransactionalEventListener
+    public void onBulkChange(AuditRecord auditRecord) {
+        auditTrail.record(auditRecord.changedBy() != null ? auditRecord : new AuditRecord(auditRecord.entityType(),
+                auditRecord.entityId(), auditRecord.action(), auditRecord.changes(), currentAuditor(),
+                auditRecord.changedAt()));
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return BaseEntity.class.isAssignableFrom(persister.getMappedClass());
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        // rolled back, nothing to record
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // rolled back, nothing to record
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // rolled back, nothing to record
+    }
+
+    private void record(EntityPersister persister, Object id, AuditAction action, String changes) {
+        auditTrail.record(new AuditRecord(persister.getMappedClass().getSimpleName(), String.valueOf(id), action,
+                changes, currentAuditor(), LocalDateTime.now()));
+    }
+
+    private String currentAuditor() {
+        return auditorAware.getCurrentAuditor().orElse(null);
+    }
+
+    /**
+     * @param names - attribute names, in the order of the state arrays
+     * @param oldState - state before the change, null for an insert
+     * @param newState - state after the change, null for a delete
+     * @return JSON object mapping every changed attribute to its old and new value, null if it cannot be written
+     */
+    private String diff(String[] names, Object[] oldState, Object[] newState) {
+        Map<String, Map<String, Object>> changes = new LinkedHashMap<>();
+        for (int i = 0; i < names.length; i++) {
+            Object oldValue = oldState == null ? null : oldState[i];
+            Object newValue = newState == null ? null : newState[i];
+            if (!Objects.equals(oldValue, newValue)) {
+                Map<String, Object> change = new LinkedHashMap<>();
+                change.put("old", oldValue);
+                change.put("new", newValue);
+                changes.put(names[i], change);
+            }
+        }
+        try {
+            return objectMapper.writeValueAsString(changes);
+        } catch (JsonProcessingException ex) {
+            // the change is committed already, it is recorded without its details rather than not at all
+            log.warn("Could not serialize the changes of an audit record", ex);
+            return null;
+        }
+    }
+
+}
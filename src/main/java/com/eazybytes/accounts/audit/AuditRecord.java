@@ -0,0 +1,17 @@
+package com.eazybytes.accounts.audit;
+
+import java.time.LocalDateTime;
+
+/**
+ * One committed change, as written to audit_log.
+ *
+ * @param entityType - simple name of the entity, Customer or Accounts
+ * @param entityId - identifier of the row; bulk deletes, which never load the row, record the mobile number
+ * @param action - kind of change
+ * @param changes - JSON object of the changed attributes with their old and new values, null if unknown
+ * @param changedBy - auditor that made the change
+ * @param changedAt - time the change was committed
+ */
+public record AuditRecord(String entityType, String entityId, AuditAction action, String changes,
+                          String changedBy, LocalDateTime changedAt) {
+}
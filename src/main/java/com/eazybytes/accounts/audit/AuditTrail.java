@@ -0,0 +1,157 @@
+package com.eazybytes.accounts.audit;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.eazybytes.accounts.config.AccountsAuditProperties;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Append-only audit log behind a bounded in-memory buffer. Committing threads only add a record to the
+ * buffer; the scheduler drains it and inserts the records in JDBC batches, one transaction per batch.
+ * What happens when the buffer is full is decided by {@link AccountsAuditProperties.OverflowPolicy}.
+ * Records still buffered when the application stops are written on shutdown, a crash loses them.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "accounts.audit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AuditTrail {
+
+    private static final String INSERT_SQL = "insert into audit_log (entity_type, entity_id, action, changes, "
+            + "changed_by, changed_at) values (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AccountsAuditProperties accountsAuditProperties;
+    private final BlockingQueue<AuditRecord> buffer;
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final Counter writtenCounter;
+    private final Counter droppedCounter;
+    private final Counter failedCounter;
+
+    public AuditTrail(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                      AccountsAuditProperties accountsAuditProperties, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.accountsAuditProperties = accountsAuditProperties;
+        this.buffer = new ArrayBlockingQueue<>(accountsAuditProperties.getBufferCapacity());
+        this.writtenCounter = Counter.builder("accounts.audit.records").tag("outcome", "written")
+                .description("Audit records inserted into audit_log").register(meterRegistry);
+        this.droppedCounter = Counter.builder("accounts.audit.records").tag("outcome", "dropped")
+                .description("Audit records dropped because the buffer was full").register(meterRegistry);
+        this.failedCounter = Counter.builder("accounts.audit.records").tag("outcome", "failed")
+                .description("Audit records lost because their batch could not be inserted").register(meterRegistry);
+        Gauge.builder("accounts.audit.buffer.size", buffer, BlockingQueue::size)
+                .description("Audit records waiting to be written").register(meterRegistry);
+    }
+
+    /**
+     * Buffers a committed change; never touches the database.
+     *
+     * @param auditRecord - change to record
+     */
+    public void record(AuditRecord auditRecord) {
+        if (buffer.offer(auditRecord)) {
+            return;
+        }
+        switch (accountsAuditProperties.getOverflowPolicy()) {
+            case DROP_NEWEST -> drop();
+            case DROP_OLDEST -> {
+                // another thread may take the freed slot, the new record is then dropped instead
+                if (buffer.poll() != null) {
+                    drop();
+                }
+                if (!buffer.offer(auditRecord)) {
+                    drop();
+                }
+            }
+            case BLOCK -> {
+                try {
+                    if (!buffer.offer(auditRecord, accountsAuditProperties.getBlockTimeout().toNanos(),
+                            TimeUnit.NANOSECONDS)) {
+                        drop();
+                    }
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    drop();
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes everything buffered so far, in batches of accounts.audit.batch-size.
+     *
+     * @return number of records taken from the buffer
+     */
+    @Scheduled(initialDelayString = "${accounts.audit.flush-interval:PT1S}",
+            fixedDelayString = "${accounts.audit.flush-interval:PT1S}")
+    public int flush() {
+        flushLock.lock();
+        try {
+            int batchSize = accountsAuditProperties.getBatchSize();
+            List<AuditRecord> batch = new ArrayList<>(batchSize);
+            int flushed = 0;
+            while (buffer.drainTo(batch, batchSize) > 0) {
+                write(batch);
+                flushed += batch.size();
+                batch.clear();
+            }
+            return flushed;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        int flushed = flush();
+        log.debug("Wrote {} buffered audit records on shutdown", flushed);
+    }
+
+    /**
+     * @param batch - records inserted with one JDBC batch in one transaction
+     */
+    private void write(List<AuditRecord> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, batch,
+                    batch.size(), (statement, auditRecord) -> {
+                        statement.setString(1, auditRecord.entityType());
+                        statement.setString(2, auditRecord.entityId());
+                        statement.setString(3, auditRecord.action().name());
+                        statement.setString(4, auditRecord.changes());
+                        statement.setString(5, auditRecord.changedBy());
+                        statement.setTimestamp(6, Timestamp.valueOf(auditRecord.changedAt()));
+                    }));
+            writtenCounter.increment(batch.size());
+        } catch (DataAccessException | TransactionException ex) {
+            failedCounter.increment(batch.size());
+            log.warn("Could not write {} audit records", batch.size(), ex);
+        }
+    }
+
+    private void drop() {
+        droppedCounter.increment();
+        log.debug("Audit buffer full, dropped a record");
+    }
+
+}
@@ -0,0 +1,69 @@
+package com.eazybytes.accounts.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "accounts.audit")
+@Getter
+@Setter
+@AllArgsConstructor @NoArgsConstructor
+public class AccountsAuditProperties {
+
+    /**
+     * Record committed changes of customers and accounts in audit_log.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Maximum number of audit records waiting to be written.
+     */
+    private int bufferCapacity = 10_000;
+
+    /**
+     * Maximum number of audit records written by one JDBC batch.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Pause between two flushes of the buffer.
+     */
+    private Duration flushInterval = Duration.ofSeconds(1);
+
+    /**
+     * What happens to a record that finds the buffer full.
+     */
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP_NEWEST;
+
+    /**
+     * How long the BLOCK policy waits for room in the buffer before the record is dropped.
+     */
+    private Duration blockTimeout = Duration.ofMillis(100);
+
+    /**
+     * Dropped records are counted in accounts.audit.records{outcome=dropped}.
+     */
+    public enum OverflowPolicy {
+
+        /**
+         * Drop the record that does not fit; a committing request is never slowed down.
+         */
+        DROP_NEWEST,
+
+        /**
+         * Drop the oldest waiting record to make room for the new one.
+         */
+        DROP_OLDEST,
+
+        /**
+         * Let the committing thread wait up to block-timeout for the flush to make room, then drop the record.
+         */
+        BLOCK
+
+    }
+
+}
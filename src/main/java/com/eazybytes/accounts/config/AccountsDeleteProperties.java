@@ -0,0 +1,32 @@
+package com.eazybytes.accounts.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "accounts.delete")
+@Getter
+@Setter
+@AllArgsConstructor @NoArgsConstructor
+public class AccountsDeleteProperties {
+
+    /**
+     * Mark rows with deleted_at instead of removing them; the purger removes them later.
+     */
+    private boolean soft;
+
+    /**
+     * How long soft-deleted rows are kept before the purger removes them.
+     */
+    private Duration purgeRetention = Duration.ofDays(1);
+
+    /**
+     * Maximum number of rows removed by one purge statement (and therefore one transaction).
+     */
+    private int purgeChunkSize = 500;
+
+}
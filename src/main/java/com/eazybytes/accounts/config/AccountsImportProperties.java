@@ -0,0 +1,43 @@
+package com.eazybytes.accounts.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+
+@ConfigurationProperties(prefix = "accounts.import")
+@Getter
+@Setter
+@AllArgsConstructor @NoArgsConstructor
+public class AccountsImportProperties {
+
+    /**
+     * Directory import files are read from; file names outside of it are refused.
+     */
+    private Path directory = Path.of("import");
+
+    /**
+     * Target size of one memory-mapped chunk, extended to the next line break. Must stay well below 2GB.
+     */
+    private DataSize chunkSize = DataSize.ofMegabytes(16);
+
+    /**
+     * Number of valid rows handed to one createAccounts call (one transaction).
+     */
+    private int batchSize = 1000;
+
+    /**
+     * Number of parsed batches that may wait for the writer before the parsers block.
+     */
+    private int queueCapacity = 8;
+
+    /**
+     * Number of parser threads, 0 for one per available processor.
+     */
+    private int parallelism;
+
+}
@@ -0,0 +1,32 @@
+package com.eazybytes.accounts.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "accounts.lookup-filter")
+@Getter
+@Setter
+@AllArgsConstructor @NoArgsConstructor
+public class AccountsLookupFilterProperties {
+
+    /**
+     * Answer fetches and deletes of mobile numbers that were never registered without a query. Off by
+     * default: the filter is per instance, so it is only valid while every customer is written through
+     * this instance, otherwise numbers registered elsewhere get a false 404.
+     */
+    private boolean enabled;
+
+    /**
+     * Number of mobile numbers the filter is sized for; beyond it more unknown numbers reach the database.
+     */
+    private long expectedInsertions = 1_000_000;
+
+    /**
+     * Share of unknown mobile numbers still looked up in the database at the expected size.
+     */
+    private double falsePositiveProbability = 0.01;
+
+}
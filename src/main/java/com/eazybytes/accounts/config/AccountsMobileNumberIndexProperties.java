@@ -0,0 +1,31 @@
+package com.eazybytes.accounts.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "accounts.mobile-number-index")
+@Getter
+@Setter
+@AllArgsConstructor @NoArgsConstructor
+public class AccountsMobileNumberIndexProperties {
+
+    /**
+     * Keep an off-heap index from mobile number to customer id and account number, so fetches read their
+     * rows by primary key.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Number of customers the index is sized for; it doubles its direct memory when it outgrows it.
+     */
+    private long expectedEntries = 1_000_000;
+
+    /**
+     * Number of customer id ranges of every shard scanned at the same time while the index is loaded.
+     */
+    private int loadParallelism = 4;
+
+}
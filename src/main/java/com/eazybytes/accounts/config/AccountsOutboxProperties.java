@@ -0,0 +1,54 @@
+package com.eazybytes.accounts.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "accounts.outbox")
+@Getter
+@Setter
+@AllArgsConstructor @NoArgsConstructor
+public class AccountsOutboxProperties {
+
+    /**
+     * Write account lifecycle events to outbox_event in the transaction that changes the account.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Run the relay in this instance; only one instance per database should relay to keep events in order.
+     */
+    private boolean relayEnabled = true;
+
+    /**
+     * Pause between two relay runs.
+     */
+    private Duration relayInterval = Duration.ofSeconds(1);
+
+    /**
+     * Maximum number of events read, published and removed together.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Where the relay publishes to, unless the application defines its own OutboxPublisher bean.
+     */
+    private Publisher publisher = Publisher.MEMORY;
+
+    /**
+     * Events kept by the MEMORY publisher, older ones are discarded.
+     */
+    private int memoryCapacity = 10_000;
+
+    /**
+     * File the FILE publisher appends events to, one JSON object per line.
+     */
+    private String file = "outbox/account-events.ndjson";
+
+    public enum Publisher { MEMORY, FILE }
+
+}
@@ -0,0 +1,37 @@
+package com.eazybytes.accounts.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "accounts.replica")
+@Getter
+@Setter
+@AllArgsConstructor @NoArgsConstructor
+public class AccountsReplicaProperties {
+
+    /**
+     * Route read-only transactions to the replica pool configured under accounts.replica.datasource.
+     */
+    private boolean enabled;
+
+    /**
+     * How long after a write the same client keeps reading from the primary.
+     */
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    /**
+     * Request header identifying a client for read-your-writes, the remote address is used without it.
+     */
+    private String clientIdHeader = "X-Client-Id";
+
+    /**
+     * Maximum number of recently writing clients remembered at once.
+     */
+    private long maxTrackedClients = 100_000;
+
+}
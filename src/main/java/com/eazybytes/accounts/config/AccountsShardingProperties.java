@@ -0,0 +1,70 @@
+package com.eazybytes.accounts.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "accounts.sharding")
+@Getter
+@Setter
+@AllArgsConstructor @NoArgsConstructor
+public class AccountsShardingProperties {
+
+    /**
+     * Spread customers over the databases listed in accounts.sharding.shards by a hash of the mobile number.
+     */
+    private boolean enabled;
+
+    /**
+     * Points every shard owns on the hash ring; more points give a more even spread.
+     */
+    private int virtualNodes = 128;
+
+    /**
+     * Run schema.sql against every shard at startup (it only creates what is missing).
+     */
+    private boolean initializeSchema = true;
+
+    /**
+     * Move customers that are on a different shard than the ring assigns them to at startup,
+     * for example after a shard was added.
+     */
+    private boolean rebalanceOnStartup;
+
+    /**
+     * Customers read per round trip while a shard is scanned for misplaced customers.
+     */
+    private int rebalanceBatchSize = 1000;
+
+    /**
+     * Shard databases; the position in the list is encoded in customer ids and account numbers, so
+     * new shards are only ever appended.
+     */
+    private List<Shard> shards = new ArrayList<>();
+
+    @Getter
+    @Setter
+    @AllArgsConstructor @NoArgsConstructor
+    public static class Shard {
+
+        /**
+         * Name the shard is placed on the hash ring with; defaults to shard-&lt;position&gt;.
+         */
+        private String name;
+
+        private String url;
+
+        private String username = "sa";
+
+        private String password = "";
+
+        private int maximumPoolSize = 10;
+
+    }
+
+}
@@ -0,0 +1,32 @@
+package com.eazybytes.accounts.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class CacheConfig {
+
+    /**
+     * Defers puts and evictions issued inside a transaction until it commits, so an update that is
+     * still in flight cannot be re-cached by a concurrent fetch and a rolled back one evicts nothing.
+     * CaffeineCacheManager has no transaction-aware switch of its own, so the auto-configured manager is
+     * wrapped; cache metrics unwrap the decorated caches again.
+     */
+    @Bean
+    public static BeanPostProcessor transactionAwareCacheManagerPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof CacheManager cacheManager
+                        && !(bean instanceof TransactionAwareCacheManagerProxy)) {
+                    return new TransactionAwareCacheManagerProxy(cacheManager);
+                }
+                return bean;
+            }
+        };
+    }
+
+}
@@ -0,0 +1,13 @@
+package com.eazybytes.accounts.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+
+/**
+ * Fills the created and updated columns of {@code BaseEntity}. Kept off the application class so that
+ * sliced tests without JPA, such as {@code @WebMvcTest}, do not need a JPA metamodel.
+ */
+@Configuration
+@EnableJpaAuditing(auditorAwareRef = "auditAwareImpl")
+public class JpaAuditingConfig {
+}
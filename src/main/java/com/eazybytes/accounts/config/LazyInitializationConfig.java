@@ -0,0 +1,23 @@
+package com.eazybytes.accounts.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class LazyInitializationConfig {
+
+    private static final String APPLICATION_PACKAGE = "com.eazybytes.accounts.";
+
+    /**
+     * With spring.main.lazy-initialization=true framework beans nothing asks for at startup are created on
+     * first use, while the beans of this application stay eager: several register Hibernate listeners,
+     * schedules or event listeners when they are created and would silently do nothing otherwise.
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter eagerApplicationBeans() {
+        return (beanName, beanDefinition, beanType) ->
+                beanType == null || beanType.getName().startsWith(APPLICATION_PACKAGE);
+    }
+
+}
@@ -0,0 +1,29 @@
+package com.eazybytes.accounts.config;
+
+import java.nio.file.Path;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.eazybytes.accounts.outbox.FileOutboxPublisher;
+import com.eazybytes.accounts.outbox.InMemoryOutboxPublisher;
+import com.eazybytes.accounts.outbox.OutboxPublisher;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@Configuration
+public class OutboxConfig {
+
+    /**
+     * Local publishers only; a broker-backed publisher replaces this bean by defining its own.
+     */
+    @Bean
+    @ConditionalOnMissingBean(OutboxPublisher.class)
+    public OutboxPublisher outboxPublisher(AccountsOutboxProperties accountsOutboxProperties, ObjectMapper objectMapper) {
+        return switch (accountsOutboxProperties.getPublisher()) {
+            case MEMORY -> new InMemoryOutboxPublisher(accountsOutboxProperties.getMemoryCapacity());
+            case FILE -> new FileOutboxPublisher(Path.of(accountsOutboxProperties.getFile()), objectMapper);
+        };
+    }
+
+}
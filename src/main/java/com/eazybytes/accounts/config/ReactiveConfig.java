@@ -0,0 +1,83 @@
+package com.eazybytes.accounts.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Option;
+import io.r2dbc.spi.TransactionDefinition;
+
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class ReactiveConfig {
+
+    /**
+     * Tomcat is on the classpath for the servlet stack and would otherwise be picked as the reactive
+     * server too, this keeps the reactive stack on the Netty event loop.
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    /**
+     * Boot backs off its JDBC DataSource as soon as an R2DBC ConnectionFactory exists, but JPA, schema
+     * initialization, the account number generator and the audit trail still need it, so it is declared
+     * here from the same spring.datasource properties.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public DatabaseClient databaseClient(ConnectionFactory connectionFactory) {
+        return DatabaseClient.create(connectionFactory);
+    }
+
+    /**
+     * The R2DBC transaction manager is deliberately not a bean: a second TransactionManager would make
+     * every {@code @Transactional} on the JPA side ambiguous.
+     */
+    @Bean
+    public TransactionalOperator reactiveTransactionalOperator(ConnectionFactory connectionFactory) {
+        return TransactionalOperator.create(new H2R2dbcTransactionManager(connectionFactory));
+    }
+
+    /**
+     * Spring passes the read-only flag to every transaction it begins, false included, and the H2 driver
+     * logs a warning for each one because H2 only supports read-only on the connection URL. The flag is
+     * left out of the definition, the isolation level and name are passed on as before.
+     */
+    private static final class H2R2dbcTransactionManager extends R2dbcTransactionManager {
+
+        private H2R2dbcTransactionManager(ConnectionFactory connectionFactory) {
+            super(connectionFactory);
+        }
+
+        @Override
+        protected TransactionDefinition createTransactionDefinition(
+                org.springframework.transaction.TransactionDefinition definition) {
+            TransactionDefinition transactionDefinition = super.createTransactionDefinition(definition);
+            return new TransactionDefinition() {
+                @Override
+                public <T> T getAttribute(Option<T> option) {
+                    return READ_ONLY.equals(option) ? null : transactionDefinition.getAttribute(option);
+                }
+            };
+        }
+    }
+
+}
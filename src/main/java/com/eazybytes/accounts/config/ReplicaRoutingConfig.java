@@ -0,0 +1,85 @@
+package com.eazybytes.accounts.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.TaskScheduler;
+
+import com.eazybytes.accounts.datasource.ReadYourWritesFilter;
+import com.eazybytes.accounts.datasource.ReplicaLagCacheEvictor;
+import com.eazybytes.accounts.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Replaces the single auto-configured pool with a primary pool (spring.datasource) and a replica pool
+ * (accounts.replica.datasource) behind a routing DataSource. Both pools stay beans of their own, so each
+ * reports its own hikaricp.* metrics under the pool names primary and replica.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "accounts.replica", name = "enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * Not an autowire candidate, otherwise the auto-configured spring.datasource properties become ambiguous.
+     */
+    @Bean(autowireCandidate = false)
+    @ConfigurationProperties("accounts.replica.datasource")
+    public DataSourceProperties replicaDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("accounts.replica.datasource.hikari")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = replicaDataSourceProperties().initializeDataSourceBuilder()
+                .type(HikariDataSource.class).build();
+        dataSource.setPoolName("replica");
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                 MeterRegistry meterRegistry) {
+        ReplicaRoutingDataSource routingDataSource =
+                new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource, meterRegistry);
+        routingDataSource.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Bean
+    public ReplicaLagCacheEvictor replicaLagCacheEvictor(CacheManager cacheManager, TaskScheduler taskScheduler,
+                                                         AccountsReplicaProperties accountsReplicaProperties) {
+        return new ReplicaLagCacheEvictor(cacheManager, taskScheduler,
+                accountsReplicaProperties.getReadYourWritesWindow());
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public ReadYourWritesFilter readYourWritesFilter(AccountsReplicaProperties accountsReplicaProperties) {
+        return new ReadYourWritesFilter(accountsReplicaProperties.getReadYourWritesWindow(),
+                accountsReplicaProperties.getMaxTrackedClients(), accountsReplicaProperties.getClientIdHeader());
+    }
+
+}
@@ -0,0 +1,97 @@
+package com.eazybytes.accounts.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.JpaProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import com.eazybytes.accounts.sharding.ConsistentHashRing;
+import com.eazybytes.accounts.sharding.ShardRebalancer;
+import com.eazybytes.accounts.sharding.ShardRouter;
+import com.eazybytes.accounts.sharding.ShardRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Replaces the single auto-configured pool with one pool per entry of accounts.sharding.shards behind a
+ * routing DataSource. JPA, the account number generator and the export all go through the routing
+ * DataSource and work on the shard chosen with {@code ShardContext}. Not combined with the read replica, and only
+ * with open-in-view off.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "accounts.sharding", name = "enabled", havingValue = "true")
+public class ShardingConfig {
+
+    @Bean
+    public ShardRouter shardRouter(AccountsShardingProperties accountsShardingProperties,
+                                   AccountsReplicaProperties accountsReplicaProperties, JpaProperties jpaProperties,
+                                   MeterRegistry meterRegistry) {
+        if (accountsReplicaProperties.isEnabled()) {
+            throw new IllegalStateException("accounts.sharding and accounts.replica cannot be enabled together");
+        }
+        // an entity manager held open for the whole request keeps the first connection it fetched, so every
+        // later ShardContext switch in the same request would still write to that shard
+        if (!Boolean.FALSE.equals(jpaProperties.getOpenInView())) {
+            throw new IllegalStateException("accounts.sharding requires spring.jpa.open-in-view=false");
+        }
+        List<AccountsShardingProperties.Shard> shards = accountsShardingProperties.getShards();
+        List<HikariDataSource> dataSources = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        for (int index = 0; index < shards.size(); index++) {
+            AccountsShardingProperties.Shard shard = shards.get(index);
+            String name = shard.getName() != null ? shard.getName() : "shard-" + index;
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName(name);
+            dataSource.setJdbcUrl(shard.getUrl());
+            dataSource.setUsername(shard.getUsername());
+            dataSource.setPassword(shard.getPassword());
+            dataSource.setMaximumPoolSize(shard.getMaximumPoolSize());
+            dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            dataSources.add(dataSource);
+            names.add(name);
+        }
+        ShardRouter shardRouter = new ShardRouter(
+                new ConsistentHashRing(names, accountsShardingProperties.getVirtualNodes()), dataSources);
+        shardRouter.initializeShards(accountsShardingProperties.isInitializeSchema());
+        return shardRouter;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardRouter shardRouter) {
+        List<DataSource> shards = new ArrayList<>();
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            shards.add(shardRouter.dataSource(shard));
+        }
+        ShardRoutingDataSource routingDataSource = new ShardRoutingDataSource(shards);
+        routingDataSource.afterPropertiesSet();
+        return routingDataSource;
+    }
+
+    @Bean
+    public ShardRebalancer shardRebalancer(ShardRouter shardRouter,
+                                           AccountsShardingProperties accountsShardingProperties) {
+        return new ShardRebalancer(shardRouter, accountsShardingProperties.getRebalanceBatchSize());
+    }
+
+    /**
+     * Rebalances once all singletons exist but before the context starts its lifecycle beans, the web
+     * server among them, so no request creates a customer on its new shard while the old row is still to be
+     * moved.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "accounts.sharding", name = "rebalance-on-startup", havingValue = "true")
+    public SmartInitializingSingleton shardRebalanceRunner(ShardRebalancer shardRebalancer) {
+        return shardRebalancer::rebalance;
+    }
+
+}
@@ -1,10 +1,14 @@
 package com.eazybytes.accounts.controller;
 
-import com.eazybytes.accounts.constants.AccountsConstants;
 import com.eazybytes.accounts.dto.AccountsContactInfoDto;
+import com.eazybytes.accounts.dto.ConstantResponseDto;
+import com.eazybytes.accounts.dto.BatchResponseDto;
 import com.eazybytes.accounts.dto.CustomerDto;
+import com.eazybytes.accounts.dto.CustomerPageDto;
+import com.eazybytes.accounts.dto.CustomerVersionDto;
 import com.eazybytes.accounts.dto.ErrorResponseDto;
 import com.eazybytes.accounts.dto.ResponseDto;
+import com.eazybytes.accounts.exception.BatchTooLargeException;
 import com.eazybytes.accounts.service.IAccountsService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -13,15 +17,24 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Pattern;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.core.env.Environment;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * @author Eazy Bytes
@@ -32,6 +45,7 @@ import org.springframework.web.bind.annotation.*;
         description = "CRUD REST APIs in EazyBank to CREATE, UPDATE, FETCH AND DELETE account details"
 )
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping(path="/api", produces = {MediaType.APPLICATION_JSON_VALUE})
 @Validated
 public class AccountsController {
@@ -45,6 +59,9 @@ public class AccountsController {
     @Value("${build.version}")
     private String buildVersion;
 
+    @Value("${accounts.batch.max-size:1000}")
+    private int maxBatchSize;
+
     @Autowired
     private Environment environment;
 
@@ -74,7 +91,48 @@ public class AccountsController {
         iAccountsService.createAccount(customerDto);
         return ResponseEntity
                 .status(HttpStatus.CREATED)
-                .body(new ResponseDto(AccountsConstants.STATUS_201, AccountsConstants.MESSAGE_201));
+                .body(ConstantResponseDto.CREATED);
+    }
+
+    @Operation(
+            summary = "Create Accounts in Batch REST API",
+            description = "REST API to create many Customers & Accounts inside EazyBank in a single request"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "201",
+                    description = "HTTP Status CREATED"
+            ),
+            @ApiResponse(
+                    responseCode = "207",
+                    description = "HTTP Status MULTI STATUS, some customers were rejected"
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "HTTP Status BAD REQUEST, more customers than accounts.batch.max-size",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            )
+    }
+    )
+    @PostMapping("/create/batch")
+    public ResponseEntity<BatchResponseDto> createAccounts(@RequestBody List<CustomerDto> customerDtos) {
+        // the whole batch is created in one transaction, so its size bounds how long that transaction runs
+        if (customerDtos.size() > maxBatchSize) {
+            throw new BatchTooLargeException(customerDtos.size(), maxBatchSize);
+        }
+        BatchResponseDto batchResponseDto = iAccountsService.createAccounts(customerDtos);
+        return ResponseEntity
+                .status(batchResponseDto.getFailed() == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS)
+                .body(batchResponseDto);
     }
 
     @Operation(
@@ -86,6 +144,10 @@ public class AccountsController {
                     responseCode = "200",
                     description = "HTTP Status OK"
             ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "HTTP Status Not Modified, the If-None-Match entity tag is still current"
+            ),
             @ApiResponse(
                     responseCode = "500",
                     description = "HTTP Status Internal Server Error",
@@ -98,9 +160,57 @@ public class AccountsController {
     @GetMapping("/fetch")
     public ResponseEntity<CustomerDto> fetchAccountDetails(@RequestParam
                                                                @Pattern(regexp="(^$|[0-9]{10})",message = "Mobile number must be 10 digits")
-                                                               String mobileNumber) {
+                                                               String mobileNumber,
+                                                           WebRequest webRequest) {
+        // a conditional fetch only reads the row versions; when they still match nothing else is loaded
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && webRequest.checkNotModified(iAccountsService.fetchAccountVersion(mobileNumber).eTag())) {
+            return null;
+        }
         CustomerDto customerDto = iAccountsService.fetchAccount(mobileNumber);
-        return ResponseEntity.status(HttpStatus.OK).body(customerDto);
+        return ResponseEntity.status(HttpStatus.OK).eTag(CustomerVersionDto.of(customerDto).eTag()).body(customerDto);
+    }
+
+    @Operation(
+            summary = "List Account Details REST API",
+            description = "REST API to page through Customer &  Account details in creation order, optionally filtered"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "HTTP Status OK"
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "HTTP Status Bad Request, invalid cursor or page size",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            )
+    }
+    )
+    @GetMapping("/customers")
+    public ResponseEntity<CustomerPageDto> fetchCustomers(@RequestParam(required = false) String cursor,
+                                                          @RequestParam(defaultValue = "20")
+                                                          @Min(value = 1, message = "Page size must be at least 1")
+                                                          @Max(value = 100, message = "Page size must be at most 100")
+                                                          int size,
+                                                          @RequestParam(required = false) String accountType,
+                                                          @RequestParam(required = false)
+                                                          @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                          LocalDateTime createdFrom,
+                                                          @RequestParam(required = false)
+                                                          @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                          LocalDateTime createdTo) {
+        CustomerPageDto customerPageDto = iAccountsService.fetchCustomers(cursor, size, accountType, createdFrom, createdTo);
+        return ResponseEntity.status(HttpStatus.OK).body(customerPageDto);
     }
 
     @Operation(
@@ -131,11 +241,54 @@ public class AccountsController {
         if(isUpdated) {
             return ResponseEntity
                     .status(HttpStatus.OK)
-                    .body(new ResponseDto(AccountsConstants.STATUS_200, AccountsConstants.MESSAGE_200));
+                    .body(ConstantResponseDto.OK);
+        }else{
+            return ResponseEntity
+                    .status(HttpStatus.EXPECTATION_FAILED)
+                    .body(ConstantResponseDto.UPDATE_FAILED);
+        }
+    }
+
+    @Operation(
+            summary = "Partially Update Account Details REST API",
+            description = "REST API to update only the given Customer &  Account fields based on a account number"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "HTTP Status OK"
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "HTTP Status Conflict, the record was changed concurrently",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "417",
+                    description = "Expectation Failed"
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            )
+    }
+    )
+    @PatchMapping("/update")
+    public ResponseEntity<ResponseDto> patchAccountDetails(@RequestBody CustomerDto customerDto) {
+        boolean isUpdated = iAccountsService.patchAccount(customerDto);
+        if(isUpdated) {
+            return ResponseEntity
+                    .status(HttpStatus.OK)
+                    .body(ConstantResponseDto.OK);
         }else{
             return ResponseEntity
                     .status(HttpStatus.EXPECTATION_FAILED)
-                    .body(new ResponseDto(AccountsConstants.STATUS_417, AccountsConstants.MESSAGE_417_UPDATE));
+                    .body(ConstantResponseDto.UPDATE_FAILED);
         }
     }
 
@@ -169,11 +322,11 @@ public class AccountsController {
         if(isDeleted) {
             return ResponseEntity
                     .status(HttpStatus.OK)
-                    .body(new ResponseDto(AccountsConstants.STATUS_200, AccountsConstants.MESSAGE_200));
+                    .body(ConstantResponseDto.OK);
         }else{
             return ResponseEntity
                     .status(HttpStatus.EXPECTATION_FAILED)
-                    .body(new ResponseDto(AccountsConstants.STATUS_417, AccountsConstants.MESSAGE_417_DELETE));
+                    .body(ConstantResponseDto.DELETE_FAILED);
         }
     }
 
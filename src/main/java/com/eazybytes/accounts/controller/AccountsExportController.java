@@ -0,0 +1,121 @@
+package com.eazybytes.accounts.controller;
+
+import com.eazybytes.accounts.dto.ErrorResponseDto;
+import com.eazybytes.accounts.dto.ExportFormat;
+import com.eazybytes.accounts.service.IAccountsExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.constraints.Pattern;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+@Tag(
+        name = "Export REST API for Accounts in EazyBank",
+        description = "REST API in EazyBank to EXPORT all customer and account details"
+)
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping(path="/api")
+@Validated
+public class AccountsExportController {
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private final IAccountsExportService iAccountsExportService;
+
+    public AccountsExportController(IAccountsExportService iAccountsExportService) {
+        this.iAccountsExportService = iAccountsExportService;
+    }
+
+    @Operation(
+            summary = "Export Accounts REST API",
+            description = "REST API to stream every Customer & Account ordered by customerId, as NDJSON or CSV"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "HTTP Status OK"
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            )
+    }
+    )
+    @GetMapping("/export")
+    public void exportAccounts(@RequestParam(defaultValue = "ndjson")
+                               @Pattern(regexp = "(?i)(ndjson|csv)", message = "Format must be ndjson or csv")
+                               String format,
+                               @RequestParam(defaultValue = "false") boolean gzip,
+                               @Parameter(description = "customerId of the last record already received, to resume an export")
+                               @RequestParam(required = false) Long after,
+                               HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = ExportFormat.valueOf(format.toUpperCase(Locale.ROOT));
+        response.setStatus(HttpStatus.OK.value());
+        String fileName = "accounts." + exportFormat.getFileExtension();
+        if (gzip) {
+            response.setContentType("application/gzip");
+            fileName = fileName + ".gz";
+        } else {
+            response.setContentType(exportFormat.getMediaType());
+            response.setCharacterEncoding("UTF-8");
+        }
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(fileName).build().toString());
+
+        OutputStream outputStream = response.getOutputStream();
+        if (gzip) {
+            try (ExportGzipOutputStream gzipOutputStream = new ExportGzipOutputStream(outputStream)) {
+                iAccountsExportService.exportAccounts(exportFormat, after, gzipOutputStream);
+                gzipOutputStream.complete();
+            }
+        } else {
+            iAccountsExportService.exportAccounts(exportFormat, after, outputStream);
+        }
+        outputStream.flush();
+    }
+
+    /**
+     * Writes the gzip trailer only from {@link #complete()}. Closing releases the deflater and leaves the
+     * response stream to the container, so an export that fails midway ends in an archive the client
+     * cannot take for a complete one.
+     */
+    private static final class ExportGzipOutputStream extends GZIPOutputStream {
+
+        ExportGzipOutputStream(OutputStream outputStream) throws IOException {
+            super(outputStream, GZIP_BUFFER_SIZE);
+        }
+
+        void complete() throws IOException {
+            finish();
+        }
+
+        @Override
+        public void close() {
+            def.end();
+        }
+
+    }
+
+}
@@ -0,0 +1,72 @@
+package com.eazybytes.accounts.controller;
+
+import com.eazybytes.accounts.dto.ErrorResponseDto;
+import com.eazybytes.accounts.dto.ImportResponseDto;
+import com.eazybytes.accounts.service.IAccountsImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+@Tag(
+        name = "Import REST API for Accounts in EazyBank",
+        description = "Admin REST API in EazyBank to IMPORT customers in bulk from a CSV file"
+)
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping(path="/api", produces = {MediaType.APPLICATION_JSON_VALUE})
+public class AccountsImportController {
+
+    private final IAccountsImportService iAccountsImportService;
+
+    public AccountsImportController(IAccountsImportService iAccountsImportService) {
+        this.iAccountsImportService = iAccountsImportService;
+    }
+
+    @Operation(
+            summary = "Import Accounts REST API",
+            description = "REST API to create a Customer & Account for every row of a CSV file in the import directory"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "HTTP Status OK"
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "HTTP Status Not Found, no such file in the import directory",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error; when parsing failed part way the body is the "
+                            + "ImportResponse with the counts of the rows already stored and the failure",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            )
+    }
+    )
+    @PostMapping("/import")
+    public ResponseEntity<ImportResponseDto> importAccounts(@RequestParam String fileName) throws IOException {
+        ImportResponseDto importResponseDto = iAccountsImportService.importAccounts(fileName);
+        return ResponseEntity
+                .status(importResponseDto.getFailure() == null ? HttpStatus.OK : HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(importResponseDto);
+    }
+
+}
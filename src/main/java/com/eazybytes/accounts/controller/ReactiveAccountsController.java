@@ -0,0 +1,166 @@
+package com.eazybytes.accounts.controller;
+
+import com.eazybytes.accounts.dto.AccountsContactInfoDto;
+import com.eazybytes.accounts.dto.ConstantResponseDto;
+import com.eazybytes.accounts.dto.CustomerDto;
+import com.eazybytes.accounts.dto.CustomerVersionDto;
+import com.eazybytes.accounts.dto.ResponseDto;
+import com.eazybytes.accounts.service.IReactiveAccountsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Pattern;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+/**
+ * Same contract as {@link AccountsController}, served from the WebFlux event loop when the
+ * application runs with the reactive profile.
+ */
+@Tag(
+        name = "CRUD REST APIs for Accounts in EazyBank",
+        description = "CRUD REST APIs in EazyBank to CREATE, UPDATE, FETCH AND DELETE account details"
+)
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping(path="/api", produces = {MediaType.APPLICATION_JSON_VALUE})
+@Validated
+public class ReactiveAccountsController {
+
+    private final IReactiveAccountsService iReactiveAccountsService;
+
+    public ReactiveAccountsController(IReactiveAccountsService iReactiveAccountsService) {
+        this.iReactiveAccountsService = iReactiveAccountsService;
+    }
+
+    @Value("${build.version}")
+    private String buildVersion;
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private AccountsContactInfoDto accountsContactInfoDto;
+
+    @Operation(
+            summary = "Create Account REST API",
+            description = "REST API to create new Customer &  Account inside EazyBank"
+    )
+    @PostMapping("/create")
+    public Mono<ResponseEntity<ResponseDto>> createAccount(@Valid @RequestBody CustomerDto customerDto) {
+        return iReactiveAccountsService.createAccount(customerDto)
+                .thenReturn(ResponseEntity
+                        .status(HttpStatus.CREATED)
+                        .body(ConstantResponseDto.CREATED));
+    }
+
+    @Operation(
+            summary = "Fetch Account Details REST API",
+            description = "REST API to fetch Customer &  Account details based on a mobile number"
+    )
+    @GetMapping("/fetch")
+    public Mono<ResponseEntity<CustomerDto>> fetchAccountDetails(@RequestParam
+                                                                     @Pattern(regexp="(^$|[0-9]{10})",message = "Mobile number must be 10 digits")
+                                                                     String mobileNumber) {
+        // the result handler answers a matching If-None-Match with 304 and skips writing the body
+        return iReactiveAccountsService.fetchAccount(mobileNumber)
+                .map(customerDto -> ResponseEntity.status(HttpStatus.OK)
+                        .eTag(CustomerVersionDto.of(customerDto).eTag()).body(customerDto));
+    }
+
+    @Operation(
+            summary = "Update Account Details REST API",
+            description = "REST API to update Customer &  Account details based on a account number"
+    )
+    @PutMapping("/update")
+    public Mono<ResponseEntity<ResponseDto>> updateAccountDetails(@Valid @RequestBody CustomerDto customerDto) {
+        return iReactiveAccountsService.updateAccount(customerDto)
+                .map(ReactiveAccountsController::updateResponse);
+    }
+
+    @Operation(
+            summary = "Partially Update Account Details REST API",
+            description = "REST API to update only the given Customer &  Account fields based on a account number"
+    )
+    @PatchMapping("/update")
+    public Mono<ResponseEntity<ResponseDto>> patchAccountDetails(@RequestBody CustomerDto customerDto) {
+        return iReactiveAccountsService.patchAccount(customerDto)
+                .map(ReactiveAccountsController::updateResponse);
+    }
+
+    private static ResponseEntity<ResponseDto> updateResponse(boolean isUpdated) {
+        if(isUpdated) {
+            return ResponseEntity
+                    .status(HttpStatus.OK)
+                    .body(ConstantResponseDto.OK);
+        }else{
+            return ResponseEntity
+                    .status(HttpStatus.EXPECTATION_FAILED)
+                    .body(ConstantResponseDto.UPDATE_FAILED);
+        }
+    }
+
+    @Operation(
+            summary = "Delete Account & Customer Details REST API",
+            description = "REST API to delete Customer &  Account details based on a mobile number"
+    )
+    @DeleteMapping("/delete")
+    public Mono<ResponseEntity<ResponseDto>> deleteAccountDetails(@RequestParam
+                                                                      @Pattern(regexp="(^$|[0-9]{10})",message = "Mobile number must be 10 digits")
+                                                                      String mobileNumber) {
+        return iReactiveAccountsService.deleteAccount(mobileNumber)
+                .map(isDeleted -> {
+                    if(isDeleted) {
+                        return ResponseEntity
+                                .status(HttpStatus.OK)
+                                .body(ConstantResponseDto.OK);
+                    }else{
+                        return ResponseEntity
+                                .status(HttpStatus.EXPECTATION_FAILED)
+                                .body(ConstantResponseDto.DELETE_FAILED);
+                    }
+                });
+    }
+
+    @Operation(
+            summary = "Get Build information",
+            description = "Get Build information that is deployed into accounts microservice"
+    )
+    @GetMapping("/build-info")
+    public Mono<ResponseEntity<String>> getBuildInfo() {
+        return Mono.just(ResponseEntity
+                .status(HttpStatus.OK)
+                .body(buildVersion));
+    }
+
+    @Operation(
+            summary = "Get Java version",
+            description = "Get Java versions details that is installed into accounts microservice"
+    )
+    @GetMapping("/java-version")
+    public Mono<ResponseEntity<String>> getJavaVersion() {
+        return Mono.just(ResponseEntity
+                .status(HttpStatus.OK)
+                .body(environment.getProperty("JAVA_HOME")));
+    }
+
+    @Operation(
+            summary = "Get Contact Info",
+            description = "Contact Info details that can be reached out in case of any issues"
+    )
+    @GetMapping("/contact-info")
+    public Mono<ResponseEntity<AccountsContactInfoDto>> getContactInfo() {
+        return Mono.just(ResponseEntity
+                .status(HttpStatus.OK)
+                .body(accountsContactInfoDto));
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.eazybytes.accounts.datasource;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Keeps a client on the primary for a short window after it wrote, so it reads its own changes even while
+ * the replica lags behind. Clients are told apart by a header, or by their address when they do not send it.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private static final Set<String> WRITE_METHODS = Set.of(HttpMethod.POST.name(), HttpMethod.PUT.name(),
+            HttpMethod.PATCH.name(), HttpMethod.DELETE.name());
+
+    private final String clientIdHeader;
+    private final Cache<String, Boolean> recentWriters;
+
+    /**
+     * @param window - how long after its last write a client keeps reading from the primary
+     * @param maxClients - upper bound on the clients remembered at once
+     * @param clientIdHeader - request header identifying the client
+     */
+    public ReadYourWritesFilter(Duration window, long maxClients, String clientIdHeader) {
+        this.clientIdHeader = clientIdHeader;
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(maxClients)
+                .build();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String clientId = clientId(request);
+        boolean write = WRITE_METHODS.contains(request.getMethod());
+        if (write || recentWriters.getIfPresent(clientId) != null) {
+            ReplicaRoutingDataSource.requirePrimary();
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReplicaRoutingDataSource.clear();
+            if (write) {
+                recentWriters.put(clientId, Boolean.TRUE);
+            }
+        }
+    }
+
+    private String clientId(HttpServletRequest request) {
+        String clientId = request.getHeader(clientIdHeader);
+        return StringUtils.hasText(clientId) ? clientId : request.getRemoteAddr();
+    }
+
+}
@@ -0,0 +1,68 @@
+package com.eazybytes.accounts.datasource;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.eazybytes.accounts.constants.AccountsConstants;
+
+/**
+ * Evicts customer cache entries a second time once the replica has caught up with a write. Until it has,
+ * a fetch from a client outside its read-your-writes window reads the old row from the replica and would
+ * cache it for the whole expiry; evicting again after the window, which is the lag the replica is allowed,
+ * drops such an entry.
+ */
+public class ReplicaLagCacheEvictor {
+
+    private final CacheManager cacheManager;
+    private final TaskScheduler taskScheduler;
+    private final Duration replicationWindow;
+
+    /**
+     * @param cacheManager - manager of the customers cache
+     * @param taskScheduler - runs the delayed evictions
+     * @param replicationWindow - how long after a commit the replica may still serve the old row
+     */
+    public ReplicaLagCacheEvictor(CacheManager cacheManager, TaskScheduler taskScheduler, Duration replicationWindow) {
+        this.cacheManager = cacheManager;
+        this.taskScheduler = taskScheduler;
+        this.replicationWindow = replicationWindow;
+    }
+
+    /**
+     * Schedules the eviction once the current transaction has committed, nothing is scheduled on rollback.
+     *
+     * @param mobileNumbers - keys of the customers cache changed by the current transaction, nulls are skipped
+     */
+    public void evictAfterReplication(String... mobileNumbers) {
+        List<String> keys = Stream.of(mobileNumbers).filter(Objects::nonNull).distinct().toList();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    schedule(keys);
+                }
+            });
+        } else {
+            schedule(keys);
+        }
+    }
+
+    private void schedule(List<String> keys) {
+        taskScheduler.schedule(() -> {
+            Cache cache = cacheManager.getCache(AccountsConstants.CUSTOMERS_CACHE);
+            if (cache != null) {
+                keys.forEach(cache::evict);
+            }
+        }, Instant.now().plus(replicationWindow));
+    }
+
+}
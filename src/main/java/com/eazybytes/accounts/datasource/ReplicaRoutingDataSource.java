@@ -0,0 +1,80 @@
+package com.eazybytes.accounts.datasource;
+
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Sends connections of read-only transactions to the replica pool and everything else to the primary.
+ * A request can pin itself to the primary with {@link #requirePrimary()} to read its own recent writes.
+ * The routing key is evaluated when a connection is actually fetched, so this DataSource must be wrapped
+ * in a {@code LazyConnectionDataSourceProxy}: the transaction manager opens the connection before the
+ * read-only flag of the transaction is published.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Pool { PRIMARY, REPLICA }
+
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = new ThreadLocal<>();
+
+    private final Counter primaryReadWrite;
+    private final Counter primaryReads;
+    private final Counter replicaReads;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, MeterRegistry meterRegistry) {
+        setTargetDataSources(Map.of(Pool.PRIMARY, primary, Pool.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        this.primaryReadWrite = connections(meterRegistry, "primary", "read-write");
+        this.primaryReads = connections(meterRegistry, "primary", "read-only");
+        this.replicaReads = connections(meterRegistry, "replica", "read-only");
+        Gauge.builder("accounts.datasource.read.offload.ratio", this, ReplicaRoutingDataSource::readOffloadRatio)
+                .description("Share of read-only connections served by the replica")
+                .register(meterRegistry);
+    }
+
+    private static Counter connections(MeterRegistry meterRegistry, String pool, String access) {
+        return Counter.builder("accounts.datasource.connections")
+                .description("Connections handed out by the routing DataSource")
+                .tag("pool", pool)
+                .tag("access", access)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Routes the current thread to the primary, including read-only transactions, until {@link #clear()}.
+     */
+    public static void requirePrimary() {
+        PRIMARY_REQUIRED.set(Boolean.TRUE);
+    }
+
+    public static void clear() {
+        PRIMARY_REQUIRED.remove();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            primaryReadWrite.increment();
+            return Pool.PRIMARY;
+        }
+        if (Boolean.TRUE.equals(PRIMARY_REQUIRED.get())) {
+            primaryReads.increment();
+            return Pool.PRIMARY;
+        }
+        replicaReads.increment();
+        return Pool.REPLICA;
+    }
+
+    double readOffloadRatio() {
+        double reads = primaryReads.count() + replicaReads.count();
+        return reads == 0 ? 0 : replicaReads.count() / reads;
+    }
+
+}
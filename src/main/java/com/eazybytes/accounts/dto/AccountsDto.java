@@ -33,4 +33,13 @@ public class AccountsDto {
             description = "Eazy Bank branch address", example = "123 NewYork"
     )
     private String branchAddress;
+
+    @Schema(
+            description = "Row version of the account, send it back on update to detect concurrent changes", example = "3"
+    )
+    private Long version;
+
+    public AccountsDto(Long accountNumber, String accountType, String branchAddress) {
+        this(accountNumber, accountType, branchAddress, null);
+    }
 }
@@ -0,0 +1,37 @@
+package com.eazybytes.accounts.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data @AllArgsConstructor @NoArgsConstructor
+@Schema(
+        name = "BatchItemResponse",
+        description = "Schema to hold the failure details of a single customer in a batch"
+)
+public class BatchItemResponseDto {
+
+    @Schema(
+            description = "Zero based position of the customer in the request", example = "3"
+    )
+    private int index;
+
+    @Schema(
+            description = "Mobile Number of the rejected customer", example = "9345432123"
+    )
+    private String mobileNumber;
+
+    @Schema(
+            description = "Status message explaining the rejection"
+    )
+    private String statusMsg;
+
+    @Schema(
+            description = "Validation errors keyed by field name"
+    )
+    private Map<String, String> errors;
+
+}
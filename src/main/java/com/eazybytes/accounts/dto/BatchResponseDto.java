@@ -0,0 +1,37 @@
+package com.eazybytes.accounts.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data @AllArgsConstructor @NoArgsConstructor
+@Schema(
+        name = "BatchResponse",
+        description = "Schema to hold the outcome of a batch account creation"
+)
+public class BatchResponseDto {
+
+    @Schema(
+            description = "Number of customers received in the batch", example = "100"
+    )
+    private int total;
+
+    @Schema(
+            description = "Number of customers and accounts created", example = "98"
+    )
+    private int created;
+
+    @Schema(
+            description = "Number of customers rejected", example = "2"
+    )
+    private int failed;
+
+    @Schema(
+            description = "Details of every rejected customer, in request order"
+    )
+    private List<BatchItemResponseDto> failures;
+
+}
@@ -0,0 +1,42 @@
+package com.eazybytes.accounts.dto;
+
+import com.eazybytes.accounts.constants.AccountsConstants;
+
+/**
+ * The fixed bodies returned by create, update and delete. Instances are shared and never change, so
+ * their JSON is encoded once and written as bytes by
+ * {@link com.eazybytes.accounts.json.PreEncodedJsonHttpMessageConverter}.
+ */
+public final class ConstantResponseDto extends ResponseDto {
+
+    public static final ConstantResponseDto CREATED =
+            new ConstantResponseDto(AccountsConstants.STATUS_201, AccountsConstants.MESSAGE_201);
+    public static final ConstantResponseDto OK =
+            new ConstantResponseDto(AccountsConstants.STATUS_200, AccountsConstants.MESSAGE_200);
+    public static final ConstantResponseDto UPDATE_FAILED =
+            new ConstantResponseDto(AccountsConstants.STATUS_417, AccountsConstants.MESSAGE_417_UPDATE);
+    public static final ConstantResponseDto DELETE_FAILED =
+            new ConstantResponseDto(AccountsConstants.STATUS_417, AccountsConstants.MESSAGE_417_DELETE);
+
+    private ConstantResponseDto(String statusCode, String statusMsg) {
+        super(statusCode, statusMsg);
+    }
+
+    /**
+     * @return every constant, in declaration order
+     */
+    public static ConstantResponseDto[] values() {
+        return new ConstantResponseDto[] {CREATED, OK, UPDATE_FAILED, DELETE_FAILED};
+    }
+
+    @Override
+    public void setStatusCode(String statusCode) {
+        throw new UnsupportedOperationException("Constant response bodies are shared and cannot change");
+    }
+
+    @Override
+    public void setStatusMsg(String statusMsg) {
+        throw new UnsupportedOperationException("Constant response bodies are shared and cannot change");
+    }
+
+}
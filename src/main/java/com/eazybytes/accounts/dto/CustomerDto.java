@@ -1,5 +1,6 @@
 package com.eazybytes.accounts.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotEmpty;
@@ -37,4 +38,38 @@ public class CustomerDto {
 
     @Schema( description = "Account details of the Customer" )
     private AccountsDto accountsDto;
+
+    @Schema(
+            description = "Row version of the customer, send it back on update to detect concurrent changes", example = "3"
+    )
+    private Long version;
+
+    /**
+     * Internal key of the customer, only carried to build listing cursors and never serialized.
+     */
+    @JsonIgnore
+    @Schema(hidden = true)
+    private Long customerId;
+
+    public CustomerDto(String name, String email, String mobileNumber, AccountsDto accountsDto) {
+        this(name, email, mobileNumber, accountsDto, null, null);
+    }
+
+    /**
+     * Flat constructor used by JPQL constructor expressions so that a joined
+     * customer/accounts row is read straight into the DTO shape.
+     */
+    public CustomerDto(String name, String email, String mobileNumber, Long version,
+                       Long accountNumber, String accountType, String branchAddress, Long accountVersion) {
+        this(null, name, email, mobileNumber, version, accountNumber, accountType, branchAddress, accountVersion);
+    }
+
+    /**
+     * Flat constructor used by JPQL constructor expressions that also need the customer key.
+     */
+    public CustomerDto(Long customerId, String name, String email, String mobileNumber, Long version,
+                       Long accountNumber, String accountType, String branchAddress, Long accountVersion) {
+        this(name, email, mobileNumber,
+                new AccountsDto(accountNumber, accountType, branchAddress, accountVersion), version, customerId);
+    }
 }
@@ -0,0 +1,27 @@
+package com.eazybytes.accounts.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data @AllArgsConstructor @NoArgsConstructor
+@Schema(
+        name = "CustomerPage",
+        description = "Schema to hold one page of Customer and Account information"
+)
+public class CustomerPageDto {
+
+    @Schema(
+            description = "Customers of this page ordered by creation sequence"
+    )
+    private List<CustomerDto> customers;
+
+    @Schema(
+            description = "Opaque cursor to pass back for the next page, absent on the last page", example = "Yzo1MQ"
+    )
+    private String nextCursor;
+
+}
@@ -0,0 +1,28 @@
+package com.eazybytes.accounts.dto;
+
+/**
+ * Identity and row versions of a customer and its account, everything the entity tag of the Accounts
+ * Details depends on. The account number tells a re-created customer apart, whose versions start over.
+ *
+ * @param accountNumber - Account Number of the customer's account
+ * @param version - row version of the customer
+ * @param accountVersion - row version of the account
+ */
+public record CustomerVersionDto(Long accountNumber, Long version, Long accountVersion) {
+
+    /**
+     * @param customerDto - Accounts Details as returned by a fetch
+     * @return the versions carried by the details
+     */
+    public static CustomerVersionDto of(CustomerDto customerDto) {
+        return new CustomerVersionDto(customerDto.getAccountsDto().getAccountNumber(), customerDto.getVersion(),
+                customerDto.getAccountsDto().getVersion());
+    }
+
+    /**
+     * @return strong entity tag, changes whenever either row is updated
+     */
+    public String eTag() {
+        return "\"" + accountNumber + "-" + version + "-" + accountVersion + "\"";
+    }
+}
@@ -0,0 +1,22 @@
+package com.eazybytes.accounts.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.http.MediaType;
+
+@Getter
+@AllArgsConstructor
+@Schema(
+        name = "ExportFormat",
+        description = "Record format of the customer and account export"
+)
+public enum ExportFormat {
+
+    NDJSON(MediaType.APPLICATION_NDJSON_VALUE, "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String mediaType;
+    private final String fileExtension;
+
+}
@@ -0,0 +1,51 @@
+package com.eazybytes.accounts.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data @AllArgsConstructor @NoArgsConstructor
+@Schema(
+        name = "ImportResponse",
+        description = "Schema to hold the outcome of a bulk CSV import"
+)
+public class ImportResponseDto {
+
+    @Schema(
+            description = "Name of the imported file", example = "customers.csv"
+    )
+    private String fileName;
+
+    @Schema(
+            description = "Number of data rows read from the file", example = "1000000"
+    )
+    private long total;
+
+    @Schema(
+            description = "Number of customers and accounts created", example = "999980"
+    )
+    private long imported;
+
+    @Schema(
+            description = "Number of rows rejected", example = "20"
+    )
+    private long rejected;
+
+    @Schema(
+            description = "File next to the input holding every rejected row with its reason", example = "customers.csv.rejects.csv"
+    )
+    private String rejectsFile;
+
+    @Schema(
+            description = "Duration of the import in milliseconds", example = "42000"
+    )
+    private long elapsedMillis;
+
+    @Schema(
+            description = "Why the import stopped before reading the whole file, absent when it completed; the counts then cover only the rows handled so far",
+            example = "Import of customers.csv failed while parsing: Input/output error"
+    )
+    private String failure;
+
+}
@@ -2,10 +2,15 @@ package com.eazybytes.accounts.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.SQLRestriction;
+import org.springframework.data.domain.Persistable;
 
 @Entity
-@Getter @Setter @ToString @AllArgsConstructor @NoArgsConstructor
-public class Accounts  extends BaseEntity {
+@DynamicUpdate
+@SQLRestriction("deleted_at is null")
+@Getter @Setter @ToString @NoArgsConstructor
+public class Accounts  extends BaseEntity implements Persistable<Long> {
 
     @Column(name="customer_id")
     private Long customerId;
@@ -20,4 +25,35 @@ public class Accounts  extends BaseEntity {
     @Column(name="branch_address")
     private String branchAddress;
 
+    /**
+     * Account numbers are assigned by the application, so Spring Data cannot infer newness from the id.
+     * Without this flag every save() of a new account would be a merge, i.e. a SELECT before the INSERT.
+     */
+    @Transient
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE) @ToString.Exclude
+    private boolean newAccount = true;
+
+    public Accounts(Long customerId, Long accountNumber, String accountType, String branchAddress) {
+        this.customerId = customerId;
+        this.accountNumber = accountNumber;
+        this.accountType = accountType;
+        this.branchAddress = branchAddress;
+    }
+
+    @Override
+    public Long getId() {
+        return accountNumber;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newAccount;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.newAccount = false;
+    }
+
 }
@@ -9,6 +9,8 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import jakarta.persistence.Column;
 import jakarta.persistence.EntityListeners;
 import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -39,4 +41,21 @@ public class BaseEntity {
 	@LastModifiedBy
 	@Column(insertable = false)
 	private String updatedBy;
+
+	@Version
+	private Long version;
+
+	@Column(name = "deleted_at")
+	private LocalDateTime deletedAt;
+
+	/**
+	 * Runs after the auditing listener, so it only fills createdAt where JPA auditing is not configured;
+	 * the createdFrom and createdTo filters of the customer listing rely on it being set.
+	 */
+	@PrePersist
+	void fillCreatedAt() {
+		if (createdAt == null) {
+			createdAt = LocalDateTime.now();
+		}
+	}
 }
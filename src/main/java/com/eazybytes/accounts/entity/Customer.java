@@ -2,8 +2,14 @@ package com.eazybytes.accounts.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.SQLRestriction;
+
+import com.eazybytes.accounts.sharding.ShardAwareSequence;
 
 @Entity
+@DynamicUpdate
+@SQLRestriction("deleted_at is null")
 @Getter
 @Setter
 @ToString
@@ -12,7 +18,7 @@ import lombok.*;
 public class Customer  extends BaseEntity  {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @ShardAwareSequence(sequenceName = "customer_seq")
     @Column(name = "customer_id")
     private Long customerId;
 
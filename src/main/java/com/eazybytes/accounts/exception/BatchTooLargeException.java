@@ -0,0 +1,14 @@
+package com.eazybytes.accounts.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(value = HttpStatus.BAD_REQUEST)
+public class BatchTooLargeException extends RuntimeException {
+
+    public BatchTooLargeException(int size, int maxSize) {
+        super(String.format("Batch of %d customers exceeds the limit of %d, split it into smaller requests",
+                size, maxSize));
+    }
+
+}
@@ -7,7 +7,8 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 public class CustomerAlreadyExistsException extends RuntimeException {
 
     public CustomerAlreadyExistsException(String message) {
-        super(message);
+        // a client error raised on every duplicate, so no stack trace is captured
+        super(message, null, false, false);
     }
 
 }
@@ -0,0 +1,78 @@
+package com.eazybytes.accounts.exception;
+
+import com.eazybytes.accounts.dto.ErrorResponseDto;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Path;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Status codes and bodies shared by {@link GlobalExceptionHandler} and {@link ReactiveExceptionHandler}, so
+ * both stacks answer an exception the same way.
+ */
+final class ErrorResponses {
+
+    private ErrorResponses() {
+        // restrict instantiation
+    }
+
+    /**
+     * @param exception - exception thrown while handling the request
+     * @return status the API answers the exception with
+     */
+    static HttpStatus statusOf(Exception exception) {
+        if (exception instanceof ResourceNotFoundException) {
+            return HttpStatus.NOT_FOUND;
+        }
+        if (exception instanceof CustomerAlreadyExistsException || exception instanceof InvalidCursorException
+                || exception instanceof BatchTooLargeException) {
+            return HttpStatus.BAD_REQUEST;
+        }
+        if (exception instanceof ConcurrencyFailureException) {
+            return HttpStatus.CONFLICT;
+        }
+        if (exception instanceof ResponseStatusException responseStatusException) {
+            return HttpStatus.valueOf(responseStatusException.getStatusCode().value());
+        }
+        return HttpStatus.INTERNAL_SERVER_ERROR;
+    }
+
+    /**
+     * @param apiPath - request description in the WebRequest.getDescription(false) format, "uri=/api/..."
+     * @param exception - exception thrown while handling the request
+     * @return error body with the status of {@link #statusOf(Exception)}
+     */
+    static ResponseEntity<ErrorResponseDto> errorResponse(String apiPath, Exception exception) {
+        HttpStatus status = statusOf(exception);
+        ErrorResponseDto errorResponseDTO = new ErrorResponseDto(
+                apiPath,
+                status,
+                exception.getMessage(),
+                LocalDateTime.now()
+        );
+        return new ResponseEntity<>(errorResponseDTO, status);
+    }
+
+    /**
+     * @param exception - failed method validation
+     * @return 400 with the message of every violation keyed by the name of the violating field or parameter
+     */
+    static ResponseEntity<Object> validationErrors(ConstraintViolationException exception) {
+        Map<String, String> validationErrors = new HashMap<>();
+        exception.getConstraintViolations().forEach((violation) -> {
+            String fieldName = null;
+            for (Path.Node node : violation.getPropertyPath()) {
+                fieldName = node.getName();
+            }
+            validationErrors.put(fieldName, violation.getMessage());
+        });
+        return new ResponseEntity<>(validationErrors, HttpStatus.BAD_REQUEST);
+    }
+
+}
@@ -0,0 +1,47 @@
+package com.eazybytes.accounts.exception;
+
+import com.eazybytes.accounts.dto.ErrorResponseDto;
+import jakarta.validation.ConstraintViolationException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * WebFlux counterpart of {@link GlobalExceptionHandler}; both take their status codes and bodies from
+ * {@link ErrorResponses}.
+ */
+@ControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveExceptionHandler {
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<Object> handleWebExchangeBindException(WebExchangeBindException exception) {
+        Map<String, String> validationErrors = new HashMap<>();
+        exception.getFieldErrors().forEach((error) ->
+                validationErrors.put(error.getField(), error.getDefaultMessage()));
+        return new ResponseEntity<>(validationErrors, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<Object> handleConstraintViolationException(ConstraintViolationException exception) {
+        return ErrorResponses.validationErrors(exception);
+    }
+
+    /**
+     * Answers every other exception with the status {@link ErrorResponses#statusOf} maps it to.
+     */
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ErrorResponseDto> handleGlobalException(Exception exception,
+                                                                  ServerWebExchange exchange) {
+        // same apiPath format as WebRequest.getDescription(false) on the servlet stack
+        return ErrorResponses.errorResponse("uri=" + exchange.getRequest().getPath().value(), exception);
+    }
+
+}
@@ -7,7 +7,9 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 public class ResourceNotFoundException extends RuntimeException {
 
     public ResourceNotFoundException(String resourceName, String fieldName, String fieldValue) {
-        super(String.format("%s not found with the given input data %s : '%s'", resourceName, fieldName, fieldValue));
+        // expected on every lookup of an unknown record, so no stack trace is captured
+        super(String.format("%s not found with the given input data %s : '%s'", resourceName, fieldName, fieldValue),
+                null, false, false);
     }
 
 }
@@ -0,0 +1,169 @@
+package com.eazybytes.accounts.generator;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.eazybytes.accounts.sharding.ShardContext;
+import com.eazybytes.accounts.sharding.ShardRouter;
+
+/**
+ * Hands out unique 10 digit account numbers without a database round trip per account.
+ * <p>
+ * Every refill advances the high-water mark in {@code account_number_block} by {@code blockSize} and
+ * reserves the serials below it for this instance; serials inside a block are handed out with a single
+ * atomic increment. The mark is a serial, not a block index, so blocks are never shared across
+ * instances or restarts even when the block size changes between deployments. It is advanced in a
+ * transaction of its own, which commits even when the create that needed the block rolls back. When
+ * check digits are enabled the number is a 9 digit base followed by its Luhn check digit.
+ * <p>
+ * With sharding every shard has its own high-water mark, and the serial is interleaved with the shard
+ * index ({@code serial * MAX_SHARDS + shard}) so the shard can be read back from the number.
+ */
+@Component
+public class AccountNumberGenerator {
+
+    private static final String RESERVE_BLOCK_SQL = "update account_number_block set next_serial = next_serial + ?";
+    private static final String HIGH_WATER_MARK_SQL = "select next_serial from account_number_block";
+    private static final long FIRST_BASE = 100_000_000L;
+    private static final long FIRST_NUMBER = 1_000_000_000L;
+    private static final long NUMBER_LIMIT = 10_000_000_000L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int blockSize;
+    private final boolean checkDigit;
+    private final int shardSlots;
+    private final ReentrantLock refillLock = new ReentrantLock();
+    private final AtomicReferenceArray<Block> blocks;
+
+    public AccountNumberGenerator(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                  int blockSize, boolean checkDigit) {
+        this(jdbcTemplate, transactionManager, blockSize, checkDigit, false);
+    }
+
+    @Autowired
+    public AccountNumberGenerator(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                  @Value("${accounts.account-number.block-size:1000}") int blockSize,
+                                  @Value("${accounts.account-number.check-digit:true}") boolean checkDigit,
+                                  @Value("${accounts.sharding.enabled:false}") boolean sharded) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.blockSize = blockSize;
+        this.checkDigit = checkDigit;
+        this.shardSlots = sharded ? ShardRouter.MAX_SHARDS : 1;
+        this.blocks = new AtomicReferenceArray<>(shardSlots);
+        for (int shard = 0; shard < shardSlots; shard++) {
+            blocks.set(shard, new Block(0, 0));
+        }
+    }
+
+    /**
+     * @return the next unused account number, of the shard in {@link ShardContext} when sharded
+     */
+    public long nextAccountNumber() {
+        int shard = shardSlots == 1 ? 0 : ShardContext.current();
+        while (true) {
+            Block current = blocks.get(shard);
+            long serial = current.next();
+            if (serial >= 0) {
+                return toAccountNumber(serial * shardSlots + shard);
+            }
+            refill(shard, current);
+        }
+    }
+
+    /**
+     * @param accountNumber - Account Number handed out by this generator
+     * @return shard the account was created on, always 0 without sharding
+     */
+    public int shardOf(long accountNumber) {
+        long serial = checkDigit ? accountNumber / 10 - FIRST_BASE : accountNumber - FIRST_NUMBER;
+        return (int) Math.floorMod(serial, (long) shardSlots);
+    }
+
+    /**
+     * @param accountNumber - Account Number to check
+     * @return true if the last digit is the Luhn check digit of the preceding digits
+     */
+    public static boolean isValidCheckDigit(long accountNumber) {
+        return luhnCheckDigit(accountNumber / 10) == accountNumber % 10;
+    }
+
+    /**
+     * @param shard - shard whose block ran out; the high-water mark is advanced on that shard's connection
+     * @param exhausted - the block found empty
+     */
+    private void refill(int shard, Block exhausted) {
+        refillLock.lock();
+        try {
+            // another thread may already have replaced the block while this one was waiting
+            if (blocks.get(shard) == exhausted) {
+                // the update holds the row lock, so the mark read back includes no other instance's block
+                Long highWaterMark = transactionTemplate.execute(status -> {
+                    jdbcTemplate.update(RESERVE_BLOCK_SQL, blockSize);
+                    return jdbcTemplate.queryForObject(HIGH_WATER_MARK_SQL, Long.class);
+                });
+                blocks.set(shard, new Block(highWaterMark - blockSize, blockSize));
+            }
+        } finally {
+            refillLock.unlock();
+        }
+    }
+
+    private long toAccountNumber(long serial) {
+        long accountNumber = checkDigit
+                ? (FIRST_BASE + serial) * 10 + luhnCheckDigit(FIRST_BASE + serial)
+                : FIRST_NUMBER + serial;
+        if (accountNumber >= NUMBER_LIMIT) {
+            throw new IllegalStateException("Account number space exhausted");
+        }
+        return accountNumber;
+    }
+
+    private static int luhnCheckDigit(long base) {
+        int sum = 0;
+        boolean doubled = true;
+        for (long remaining = base; remaining > 0; remaining /= 10) {
+            int digit = (int) (remaining % 10);
+            if (doubled) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+            doubled = !doubled;
+        }
+        return (10 - sum % 10) % 10;
+    }
+
+    /**
+     * Range of serials reserved from the database, consumed lock-free.
+     */
+    private static final class Block {
+
+        private final AtomicLong next;
+        private final long end;
+
+        private Block(long start, long size) {
+            this.next = new AtomicLong(start);
+            this.end = start + size;
+        }
+
+        private long next() {
+            long serial = next.getAndIncrement();
+            return serial < end ? serial : -1;
+        }
+    }
+
+}
@@ -0,0 +1,114 @@
+package com.eazybytes.accounts.json;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+
+import com.eazybytes.accounts.dto.AccountsContactInfoDto;
+import com.eazybytes.accounts.dto.ConstantResponseDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Writes response bodies that do not change from request to request as bytes encoded once with the
+ * application's ObjectMapper, so Jackson does not walk them again on every request. Spring Boot puts
+ * converter beans in front of its defaults; every other body still goes to Jackson.
+ * <p>
+ * The contact info is bound from configuration and can be refreshed at runtime; its bytes are encoded
+ * again when its values differ from the ones they were encoded from.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class PreEncodedJsonHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    private final ObjectMapper objectMapper;
+    private final Map<ConstantResponseDto, byte[]> constantResponses = new IdentityHashMap<>();
+    private volatile EncodedContactInfo encodedContactInfo;
+
+    public PreEncodedJsonHttpMessageConverter(ObjectMapper objectMapper) {
+        super(MediaType.APPLICATION_JSON, new MediaType("application", "*+json"));
+        this.objectMapper = objectMapper;
+        for (ConstantResponseDto responseDto : ConstantResponseDto.values()) {
+            constantResponses.put(responseDto, encode(responseDto));
+        }
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return ConstantResponseDto.class == clazz || AccountsContactInfoDto.class == clazz;
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Pre-encoded bodies are written only", inputMessage);
+    }
+
+    @Override
+    protected Long getContentLength(Object body, MediaType contentType) {
+        return (long) bytes(body).length;
+    }
+
+    @Override
+    protected void writeInternal(Object body, HttpOutputMessage outputMessage) throws IOException {
+        outputMessage.getBody().write(bytes(body));
+    }
+
+    private byte[] bytes(Object body) {
+        if (body instanceof ConstantResponseDto responseDto) {
+            return constantResponses.get(responseDto);
+        }
+        AccountsContactInfoDto contactInfo = (AccountsContactInfoDto) body;
+        EncodedContactInfo encoded = encodedContactInfo;
+        if (encoded == null || !encoded.matches(contactInfo)) {
+            // copies first: a refresh rebinds the same instance while it is being encoded
+            String message = contactInfo.getMessage();
+            Map<String, String> contactDetails = contactInfo.getContactDetails() == null ? null
+                    : new LinkedHashMap<>(contactInfo.getContactDetails());
+            List<String> onCallSupport = contactInfo.getOnCallSupport() == null ? null
+                    : new ArrayList<>(contactInfo.getOnCallSupport());
+            encoded = new EncodedContactInfo(message, contactDetails, onCallSupport,
+                    encode(new AccountsContactInfoDto(message, contactDetails, onCallSupport)));
+            encodedContactInfo = encoded;
+        }
+        return encoded.json();
+    }
+
+    private byte[] encode(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not encode " + body.getClass().getSimpleName(), ex);
+        }
+    }
+
+    /**
+     * @param json - the values encoded with the application's ObjectMapper
+     */
+    private record EncodedContactInfo(String message, Map<String, String> contactDetails, List<String> onCallSupport,
+                                      byte[] json) {
+
+        boolean matches(AccountsContactInfoDto contactInfo) {
+            return Objects.equals(message, contactInfo.getMessage())
+                    && Objects.equals(contactDetails, contactInfo.getContactDetails())
+                    && Objects.equals(onCallSupport, contactInfo.getOnCallSupport());
+        }
+    }
+
+}
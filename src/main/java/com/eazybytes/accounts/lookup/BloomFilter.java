@@ -0,0 +1,87 @@
+package com.eazybytes.accounts.lookup;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.eazybytes.accounts.util.Hashing;
+
+/**
+ * Lock-free Bloom filter over strings. Bits are only ever set, with a CAS per word, so concurrent puts and
+ * lookups need no locking and a put is visible to every lookup that starts after it returns. Probe positions
+ * come from two halves of one 64-bit hash (Kirsch-Mitzenmacher double hashing).
+ */
+public class BloomFilter {
+
+    private static final double LN2 = Math.log(2);
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+
+    /**
+     * @param expectedInsertions - number of values the filter is sized for
+     * @param falsePositiveProbability - chance that an absent value is reported as present at that size
+     */
+    public BloomFilter(long expectedInsertions, double falsePositiveProbability) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("Expected insertions must be positive: " + expectedInsertions);
+        }
+        if (!(falsePositiveProbability > 0 && falsePositiveProbability < 1)) {
+            throw new IllegalArgumentException("False positive probability must be between 0 and 1: "
+                    + falsePositiveProbability);
+        }
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveProbability) / (LN2 * LN2));
+        long wordCount = (bits + 63) / 64;
+        if (wordCount > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Bloom filter too large for " + expectedInsertions + " insertions");
+        }
+        this.words = new AtomicLongArray((int) wordCount);
+        this.bitCount = wordCount * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * LN2));
+    }
+
+    /**
+     * @param value - value to add
+     */
+    public void put(CharSequence value) {
+        long hash = Hashing.hash(value);
+        long combined = hash;
+        long step = Long.rotateLeft(hash, 32) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Long.remainderUnsigned(combined, bitCount);
+            int index = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long word = words.get(index);
+            while ((word & mask) == 0 && !words.weakCompareAndSetVolatile(index, word, word | mask)) {
+                word = words.get(index);
+            }
+            combined += step;
+        }
+    }
+
+    /**
+     * @param value - value to look up
+     * @return false if the value was definitely never added, true if it may have been
+     */
+    public boolean mightContain(CharSequence value) {
+        long hash = Hashing.hash(value);
+        long combined = hash;
+        long step = Long.rotateLeft(hash, 32) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Long.remainderUnsigned(combined, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+            combined += step;
+        }
+        return true;
+    }
+
+    public long getBitCount() {
+        return bitCount;
+    }
+
+    public int getHashCount() {
+        return hashCount;
+    }
+
+}
@@ -0,0 +1,10 @@
+package com.eazybytes.accounts.lookup;
+
+/**
+ * Primary keys of a customer row and of its account row.
+ *
+ * @param customerId - customer.customer_id
+ * @param accountNumber - accounts.account_number
+ */
+public record CustomerKeys(long customerId, long accountNumber) {
+}
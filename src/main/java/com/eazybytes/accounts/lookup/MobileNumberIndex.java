@@ -0,0 +1,244 @@
+package com.eazybytes.accounts.lookup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.eazybytes.accounts.config.AccountsMobileNumberIndexProperties;
+import com.eazybytes.accounts.entity.Accounts;
+import com.eazybytes.accounts.entity.Customer;
+import com.eazybytes.accounts.sharding.ShardContext;
+import com.eazybytes.accounts.sharding.ShardRouter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Index from mobile number to the primary keys of the customer and its account, held in an
+ * {@link OffHeapCustomerIndex}, so a fetch reads its rows by primary key instead of through
+ * ux_customer_mobile_number. Entries are hints only: the row read by key must still carry the mobile
+ * number, otherwise the entry is dropped and the fetch falls back to the query by mobile number, like it
+ * does for numbers not in the index. That keeps answers right while the index is loading and for rows
+ * written by another instance, the reactive service or around the service. The service adds, moves and
+ * removes entries once its transaction has committed.
+ */
+@Slf4j
+@Component
+public class MobileNumberIndex {
+
+    private static final int MOBILE_NUMBER_DIGITS = 10;
+    private static final String RANGE_SQL = "select min(customer_id), max(customer_id) from customer";
+    private static final String SELECT_SQL = "select c.mobile_number, c.customer_id, a.account_number "
+            + "from customer c join accounts a on a.customer_id = c.customer_id "
+            + "where c.customer_id between ? and ? and c.deleted_at is null and a.deleted_at is null";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int loadParallelism;
+    private final int shardCount;
+    private final OffHeapCustomerIndex index;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter staleCounter;
+
+    public MobileNumberIndex(JdbcTemplate jdbcTemplate,
+                             AccountsMobileNumberIndexProperties accountsMobileNumberIndexProperties,
+                             ObjectProvider<ShardRouter> shardRouter, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.loadParallelism = Math.max(1, accountsMobileNumberIndexProperties.getLoadParallelism());
+        ShardRouter router = shardRouter.getIfAvailable();
+        this.shardCount = router == null ? 1 : router.getShardCount();
+        this.index = accountsMobileNumberIndexProperties.isEnabled()
+                ? new OffHeapCustomerIndex(accountsMobileNumberIndexProperties.getExpectedEntries())
+                : null;
+        this.hitCounter = Counter.builder("accounts.lookup.index").tag("outcome", "hit")
+                .description("Fetches that read their rows by primary key").register(meterRegistry);
+        this.missCounter = Counter.builder("accounts.lookup.index").tag("outcome", "miss")
+                .description("Fetches of mobile numbers not in the index").register(meterRegistry);
+        this.staleCounter = Counter.builder("accounts.lookup.index").tag("outcome", "stale")
+                .description("Index entries whose rows no longer carried the mobile number").register(meterRegistry);
+        if (index != null) {
+            Gauge.builder("accounts.lookup.index.entries", index, OffHeapCustomerIndex::size)
+                    .description("Mobile numbers in the index").register(meterRegistry);
+            Gauge.builder("accounts.lookup.index.memory", index, OffHeapCustomerIndex::getMemoryBytes)
+                    .baseUnit("bytes").description("Direct memory taken by the index").register(meterRegistry);
+        }
+    }
+
+    /**
+     * Scans the customers of every shard in accounts.mobile-number-index.load-parallelism customer id
+     * ranges at a time. Entries written by the service meanwhile may be overwritten with what the scan
+     * read; such an entry is dropped as stale on its first use.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (index == null) {
+            return;
+        }
+        List<Callable<Integer>> scans = new ArrayList<>();
+        for (int shard = 0; shard < shardCount; shard++) {
+            int scanShard = shard;
+            long[] range = ShardContext.callOn(shard, () -> jdbcTemplate.queryForObject(RANGE_SQL,
+                    (resultSet, rowNum) -> resultSet.getObject(1) == null ? null
+                            : new long[] {resultSet.getLong(1), resultSet.getLong(2)}));
+            if (range == null) {
+                continue;
+            }
+            long step = (range[1] - range[0]) / loadParallelism + 1;
+            for (long from = range[0]; from <= range[1]; from += step) {
+                long to = Math.min(range[1], from + step - 1);
+                long scanFrom = from;
+                scans.add(() -> ShardContext.callOn(scanShard, () -> scan(scanFrom, to)));
+            }
+        }
+        long started = System.nanoTime();
+        int loaded = 0;
+        try (ExecutorService executor = Executors.newFixedThreadPool(loadParallelism)) {
+            for (Future<Integer> scan : executor.invokeAll(scans)) {
+                loaded += scan.get();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            log.warn("Loading the mobile number index was interrupted, missing numbers are queried by mobile number");
+            return;
+        } catch (ExecutionException ex) {
+            log.warn("Could not load the mobile number index, missing numbers are queried by mobile number",
+                    ex.getCause());
+            return;
+        }
+        log.info("Loaded {} mobile numbers into the index in {} ms, {} bytes of direct memory", loaded,
+                (System.nanoTime() - started) / 1_000_000, index.getMemoryBytes());
+    }
+
+    /**
+     * @return number of customers added from the range
+     */
+    private int scan(long fromCustomerId, long toCustomerId) {
+        int[] loaded = new int[1];
+        jdbcTemplate.query(SELECT_SQL, resultSet -> {
+            long key = toKey(resultSet.getString(1));
+            if (key >= 0) {
+                index.put(key, resultSet.getLong(2), resultSet.getLong(3));
+                loaded[0]++;
+            }
+        }, fromCustomerId, toCustomerId);
+        return loaded[0];
+    }
+
+    /**
+     * @param mobileNumber - Mobile Number to look up
+     * @return primary keys last indexed for the mobile number, null if there are none
+     */
+    public CustomerKeys find(String mobileNumber) {
+        if (index == null) {
+            return null;
+        }
+        CustomerKeys keys = index.get(toKey(mobileNumber));
+        (keys == null ? missCounter : hitCounter).increment();
+        return keys;
+    }
+
+    /**
+     * @param mobileNumber - Mobile Number whose indexed rows no longer carry it
+     */
+    public void stale(String mobileNumber) {
+        if (index != null) {
+            index.remove(toKey(mobileNumber));
+            staleCounter.increment();
+        }
+    }
+
+    /**
+     * @param customer - the new customer, with its generated id
+     * @param accounts - the customer's new account
+     */
+    public void registered(Customer customer, Accounts accounts) {
+        String mobileNumber = customer.getMobileNumber();
+        Long customerId = customer.getCustomerId();
+        Long accountNumber = accounts.getAccountNumber();
+        afterCommit(() -> put(mobileNumber, customerId, accountNumber));
+    }
+
+    /**
+     * @param previousMobileNumber - Mobile Number the customer had before the update
+     * @param customer - the customer as updated
+     * @param accounts - the account as updated
+     */
+    public void changed(String previousMobileNumber, Customer customer, Accounts accounts) {
+        String mobileNumber = customer.getMobileNumber();
+        Long customerId = customer.getCustomerId();
+        Long accountNumber = accounts.getAccountNumber();
+        afterCommit(() -> {
+            if (previousMobileNumber != null && !previousMobileNumber.equals(mobileNumber)) {
+                index.remove(toKey(previousMobileNumber));
+            }
+            put(mobileNumber, customerId, accountNumber);
+        });
+    }
+
+    /**
+     * @param mobileNumber - Mobile Number of the deleted customer
+     */
+    public void removed(String mobileNumber) {
+        afterCommit(() -> index.remove(toKey(mobileNumber)));
+    }
+
+    private void put(String mobileNumber, Long customerId, Long accountNumber) {
+        long key = toKey(mobileNumber);
+        if (key >= 0 && customerId != null && accountNumber != null) {
+            index.put(key, customerId, accountNumber);
+        }
+    }
+
+    /**
+     * Rolled back changes must not reach the index; outside a transaction the change is applied right away.
+     */
+    private void afterCommit(Runnable change) {
+        if (index == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+
+    /**
+     * @param mobileNumber - Mobile Number of 10 digits
+     * @return the digits read as a number, -1 for anything else
+     */
+    static long toKey(String mobileNumber) {
+        if (mobileNumber == null || mobileNumber.length() != MOBILE_NUMBER_DIGITS) {
+            return -1;
+        }
+        long key = 0;
+        for (int i = 0; i < MOBILE_NUMBER_DIGITS; i++) {
+            char digit = mobileNumber.charAt(i);
+            if (digit < '0' || digit > '9') {
+                return -1;
+            }
+            key = key * 10 + (digit - '0');
+        }
+        return key;
+    }
+
+}
@@ -0,0 +1,222 @@
+package com.eazybytes.accounts.lookup;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.locks.StampedLock;
+
+import com.eazybytes.accounts.util.Hashing;
+
+/**
+ * Open-addressing hash table from a non-negative long key, a mobile number read as a number, to the
+ * {@link CustomerKeys} stored with it. Every slot is three longs in a direct buffer outside the Java
+ * heap, so the table adds no objects for the collector to trace however many customers it holds.
+ * Collisions are resolved by linear probing and removals shift the following entries back, so there are
+ * no tombstones. Writers take the write lock; readers probe under an optimistic stamp and only take the
+ * read lock when a write overlapped them.
+ */
+public class OffHeapCustomerIndex {
+
+    static final int SLOT_BYTES = 3 * Long.BYTES;
+
+    private static final long EMPTY = -1L;
+    private static final double MAX_LOAD = 0.75;
+    private static final int MIN_SLOTS = 16;
+    private static final int MAX_SLOTS = Integer.highestOneBit(Integer.MAX_VALUE / SLOT_BYTES);
+
+    private final StampedLock lock = new StampedLock();
+    private volatile ByteBuffer table;
+    private volatile int size;
+
+    /**
+     * @param expectedEntries - number of entries the table holds without growing
+     */
+    public OffHeapCustomerIndex(long expectedEntries) {
+        if (expectedEntries < 0) {
+            throw new IllegalArgumentException("expectedEntries must not be negative: " + expectedEntries);
+        }
+        long slots = Math.max(MIN_SLOTS, (long) Math.ceil(expectedEntries / MAX_LOAD));
+        slots = Long.highestOneBit(slots - 1) << 1;
+        if (slots > MAX_SLOTS) {
+            throw new IllegalArgumentException("expectedEntries too large for one buffer: " + expectedEntries);
+        }
+        this.table = allocate((int) slots);
+    }
+
+    /**
+     * @param key - key to look up
+     * @return keys stored for the key, null if it is not in the table
+     */
+    public CustomerKeys get(long key) {
+        if (key < 0) {
+            return null;
+        }
+        long stamp = lock.tryOptimisticRead();
+        CustomerKeys keys = find(table, key);
+        if (lock.validate(stamp)) {
+            return keys;
+        }
+        stamp = lock.readLock();
+        try {
+            return find(table, key);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * @param key - key to store, replacing what was stored for it
+     * @param customerId - customer id stored with the key
+     * @param accountNumber - account number stored with the key
+     */
+    public void put(long key, long customerId, long accountNumber) {
+        if (key < 0) {
+            throw new IllegalArgumentException("key must not be negative: " + key);
+        }
+        long stamp = lock.writeLock();
+        try {
+            ByteBuffer buffer = table;
+            if (size + 1 > slotCount(buffer) * MAX_LOAD) {
+                buffer = grow(buffer);
+            }
+            int offset = probe(buffer, key);
+            if (buffer.getLong(offset) == EMPTY) {
+                size++;
+            }
+            write(buffer, offset, key, customerId, accountNumber);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * @param key - key to remove
+     * @return true if the key was in the table
+     */
+    public boolean remove(long key) {
+        if (key < 0) {
+            return false;
+        }
+        long stamp = lock.writeLock();
+        try {
+            ByteBuffer buffer = table;
+            int mask = slotCount(buffer) - 1;
+            int hole = probe(buffer, key) / SLOT_BYTES;
+            if (buffer.getLong(hole * SLOT_BYTES) != key) {
+                return false;
+            }
+            // move every following entry of the run that may not be probed past the hole into it
+            for (int next = (hole + 1) & mask; ; next = (next + 1) & mask) {
+                long moved = buffer.getLong(next * SLOT_BYTES);
+                if (moved == EMPTY) {
+                    break;
+                }
+                int home = slot(moved, mask);
+                if (((next - home) & mask) >= ((next - hole) & mask)) {
+                    write(buffer, hole * SLOT_BYTES, moved, buffer.getLong(next * SLOT_BYTES + Long.BYTES),
+                            buffer.getLong(next * SLOT_BYTES + 2 * Long.BYTES));
+                    hole = next;
+                }
+            }
+            buffer.putLong(hole * SLOT_BYTES, EMPTY);
+            size--;
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * @return number of keys in the table
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return bytes of direct memory taken by the table
+     */
+    public long getMemoryBytes() {
+        return table.capacity();
+    }
+
+    /**
+     * Also runs under an optimistic stamp, so it must not fail on a table a writer is changing: offsets
+     * are derived from the buffer it reads and the probe stops after one round.
+     */
+    private static CustomerKeys find(ByteBuffer buffer, long key) {
+        int mask = slotCount(buffer) - 1;
+        int slot = slot(key, mask);
+        for (int probes = 0; probes <= mask; probes++) {
+            int offset = slot * SLOT_BYTES;
+            long stored = buffer.getLong(offset);
+            if (stored == key) {
+                return new CustomerKeys(buffer.getLong(offset + Long.BYTES), buffer.getLong(offset + 2 * Long.BYTES));
+            }
+            if (stored == EMPTY) {
+                return null;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * @return offset of the slot holding the key, or of the empty slot ending its run
+     */
+    private static int probe(ByteBuffer buffer, long key) {
+        int mask = slotCount(buffer) - 1;
+        int slot = slot(key, mask);
+        while (true) {
+            long stored = buffer.getLong(slot * SLOT_BYTES);
+            if (stored == key || stored == EMPTY) {
+                return slot * SLOT_BYTES;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private ByteBuffer grow(ByteBuffer buffer) {
+        int slots = slotCount(buffer);
+        if (slots >= MAX_SLOTS) {
+            throw new IllegalStateException("Customer index is full at " + size + " entries");
+        }
+        ByteBuffer grown = allocate(slots * 2);
+        for (int offset = 0; offset < buffer.capacity(); offset += SLOT_BYTES) {
+            long key = buffer.getLong(offset);
+            if (key != EMPTY) {
+                write(grown, probe(grown, key), key, buffer.getLong(offset + Long.BYTES),
+                        buffer.getLong(offset + 2 * Long.BYTES));
+            }
+        }
+        // the old buffer is freed by the collector once no optimistic reader holds it any more
+        table = grown;
+        return grown;
+    }
+
+    private static ByteBuffer allocate(int slots) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(slots * SLOT_BYTES).order(ByteOrder.nativeOrder());
+        for (int offset = 0; offset < buffer.capacity(); offset += SLOT_BYTES) {
+            buffer.putLong(offset, EMPTY);
+        }
+        return buffer;
+    }
+
+    private static void write(ByteBuffer buffer, int offset, long key, long customerId, long accountNumber) {
+        buffer.putLong(offset + Long.BYTES, customerId);
+        buffer.putLong(offset + 2 * Long.BYTES, accountNumber);
+        buffer.putLong(offset, key);
+    }
+
+    private static int slotCount(ByteBuffer buffer) {
+        return buffer.capacity() / SLOT_BYTES;
+    }
+
+    /**
+     * Mobile numbers are dense and sequential in places, so the key is mixed (murmur3 fmix64) before
+     * it is masked.
+     */
+    static int slot(long key, int mask) {
+        return (int) Hashing.mix(key) & mask;
+    }
+
+}
@@ -0,0 +1,141 @@
+package com.eazybytes.accounts.lookup;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PreInsertEvent;
+import org.hibernate.event.spi.PreInsertEventListener;
+import org.hibernate.event.spi.PreUpdateEvent;
+import org.hibernate.event.spi.PreUpdateEventListener;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import com.eazybytes.accounts.config.AccountsLookupFilterProperties;
+import com.eazybytes.accounts.entity.Customer;
+import com.eazybytes.accounts.sharding.ShardContext;
+import com.eazybytes.accounts.sharding.ShardRouter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bloom filter of every mobile number registered, so lookups of numbers that never existed are answered
+ * without a query. Customers written through JPA are added before their insert or update is executed, so
+ * before they can be committed; deletes leave their number in the filter, which only costs a query. The
+ * filter is filled from the database once the application is ready and reports every number as possibly
+ * present until then. Rows written around JPA (the reactive service adds its own) or by another instance
+ * are not seen, which is why the filter can be switched off with accounts.lookup-filter.enabled.
+ */
+@Slf4j
+@Component
+public class RegisteredMobileNumbers implements PreInsertEventListener, PreUpdateEventListener {
+
+    private static final String SELECT_SQL = "select mobile_number from customer where deleted_at is null";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final int shardCount;
+    private final BloomFilter bloomFilter;
+    private final Counter absentCounter;
+    private final Counter presentCounter;
+    private volatile boolean ready;
+
+    public RegisteredMobileNumbers(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory,
+                                   AccountsLookupFilterProperties accountsLookupFilterProperties,
+                                   ObjectProvider<ShardRouter> shardRouter, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        ShardRouter router = shardRouter.getIfAvailable();
+        this.shardCount = router == null ? 1 : router.getShardCount();
+        this.bloomFilter = accountsLookupFilterProperties.isEnabled()
+                ? new BloomFilter(accountsLookupFilterProperties.getExpectedInsertions(),
+                        accountsLookupFilterProperties.getFalsePositiveProbability())
+                : null;
+        this.absentCounter = Counter.builder("accounts.lookup.filter").tag("outcome", "absent")
+                .description("Mobile number lookups answered by the filter without a query").register(meterRegistry);
+        this.presentCounter = Counter.builder("accounts.lookup.filter").tag("outcome", "maybe-present")
+                .description("Mobile number lookups the filter passed on to the database").register(meterRegistry);
+    }
+
+    @PostConstruct
+    void register() {
+        if (bloomFilter == null) {
+            return;
+        }
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.PRE_INSERT, this);
+        registry.appendListeners(EventType.PRE_UPDATE, this);
+    }
+
+    /**
+     * Adds the mobile numbers already stored, on every shard; numbers registered meanwhile are added by
+     * the listeners to the same filter.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (bloomFilter == null) {
+            return;
+        }
+        long[] loaded = new long[1];
+        RowCallbackHandler handler = resultSet -> {
+            add(resultSet.getString(1));
+            loaded[0]++;
+        };
+        for (int shard = 0; shard < shardCount; shard++) {
+            ShardContext.runOn(shard, () -> jdbcTemplate.query(SELECT_SQL, handler));
+        }
+        ready = true;
+        log.info("Loaded {} registered mobile numbers into a {} bit filter with {} hashes", loaded[0],
+                bloomFilter.getBitCount(), bloomFilter.getHashCount());
+    }
+
+    /**
+     * @param mobileNumber - Mobile Number about to be stored
+     */
+    public void add(String mobileNumber) {
+        if (bloomFilter != null && mobileNumber != null) {
+            bloomFilter.put(mobileNumber);
+        }
+    }
+
+    /**
+     * @param mobileNumber - Mobile Number to look up
+     * @return false only if no customer was ever registered with the mobile number
+     */
+    public boolean mightContain(String mobileNumber) {
+        if (bloomFilter == null || !ready || mobileNumber == null) {
+            return true;
+        }
+        if (bloomFilter.mightContain(mobileNumber)) {
+            presentCounter.increment();
+            return true;
+        }
+        absentCounter.increment();
+        return false;
+    }
+
+    @Override
+    public boolean onPreInsert(PreInsertEvent event) {
+        if (event.getEntity() instanceof Customer customer) {
+            add(customer.getMobileNumber());
+        }
+        return false;
+    }
+
+    @Override
+    public boolean onPreUpdate(PreUpdateEvent event) {
+        if (event.getEntity() instanceof Customer customer) {
+            add(customer.getMobileNumber());
+        }
+        return false;
+    }
+
+}
@@ -9,6 +9,7 @@ public class AccountsMapper {
         accountsDto.setAccountNumber(accounts.getAccountNumber());
         accountsDto.setAccountType(accounts.getAccountType());
         accountsDto.setBranchAddress(accounts.getBranchAddress());
+        accountsDto.setVersion(accounts.getVersion());
         return accountsDto;
     }
 
@@ -19,4 +20,14 @@ public class AccountsMapper {
         return accounts;
     }
 
+    public static Accounts patchAccounts(AccountsDto accountsDto, Accounts accounts) {
+        if (accountsDto.getAccountType() != null) {
+            accounts.setAccountType(accountsDto.getAccountType());
+        }
+        if (accountsDto.getBranchAddress() != null) {
+            accounts.setBranchAddress(accountsDto.getBranchAddress());
+        }
+        return accounts;
+    }
+
 }
@@ -9,6 +9,7 @@ public class CustomerMapper {
         customerDto.setName(customer.getName());
         customerDto.setEmail(customer.getEmail());
         customerDto.setMobileNumber(customer.getMobileNumber());
+        customerDto.setVersion(customer.getVersion());
         return customerDto;
     }
 
@@ -19,4 +20,17 @@ public class CustomerMapper {
         return customer;
     }
 
+    public static Customer patchCustomer(CustomerDto customerDto, Customer customer) {
+        if (customerDto.getName() != null) {
+            customer.setName(customerDto.getName());
+        }
+        if (customerDto.getEmail() != null) {
+            customer.setEmail(customerDto.getEmail());
+        }
+        if (customerDto.getMobileNumber() != null) {
+            customer.setMobileNumber(customerDto.getMobileNumber());
+        }
+        return customer;
+    }
+
 }
@@ -0,0 +1,21 @@
+package com.eazybytes.accounts.outbox;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Account lifecycle events published to downstream services, stored in outbox_event.event_type.
+ */
+@Getter
+@AllArgsConstructor
+public enum AccountEventType {
+
+    ACCOUNT_CREATED("AccountCreated"),
+
+    ACCOUNT_UPDATED("AccountUpdated"),
+
+    ACCOUNT_DELETED("AccountDeleted");
+
+    private final String eventName;
+
+}
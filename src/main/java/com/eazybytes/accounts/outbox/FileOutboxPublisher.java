@@ -0,0 +1,53 @@
+package com.eazybytes.accounts.outbox;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Appends events to a file, one JSON object per line. A batch is forced to disk before it is
+ * acknowledged, so an event removed from the outbox is never lost with the file.
+ */
+public class FileOutboxPublisher implements OutboxPublisher {
+
+    private final Path file;
+    private final ObjectMapper objectMapper;
+
+    public FileOutboxPublisher(Path file, ObjectMapper objectMapper) {
+        this.file = file;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxMessage> messages) {
+        try {
+            ByteArrayOutputStream lines = new ByteArrayOutputStream();
+            for (OutboxMessage message : messages) {
+                lines.write(objectMapper.writeValueAsBytes(message));
+                lines.write('\n');
+            }
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND)) {
+                ByteBuffer buffer = ByteBuffer.wrap(lines.toByteArray());
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not append events to " + file, ex);
+        }
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.eazybytes.accounts.outbox;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Keeps the most recently published events in memory, for local runs and tests.
+ */
+public class InMemoryOutboxPublisher implements OutboxPublisher {
+
+    private final int capacity;
+    private final Deque<OutboxMessage> published = new ArrayDeque<>();
+
+    public InMemoryOutboxPublisher(int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxMessage> messages) {
+        for (OutboxMessage message : messages) {
+            if (published.size() == capacity) {
+                published.removeFirst();
+            }
+            published.addLast(message);
+        }
+    }
+
+    /**
+     * @return the retained events, oldest first
+     */
+    public synchronized List<OutboxMessage> getPublished() {
+        return new ArrayList<>(published);
+    }
+
+    public synchronized void clear() {
+        published.clear();
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.eazybytes.accounts.outbox;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+/**
+ * One outbox event as handed to an {@link OutboxPublisher}.
+ *
+ * @param eventId - position in the outbox, increasing in the order the events of a customer were written
+ * @param eventType - AccountCreated, AccountUpdated or AccountDeleted
+ * @param aggregateId - Mobile Number of the customer, the key to partition or order events by
+ * @param payload - JSON object with the account details
+ * @param createdAt - time the event was written
+ */
+public record OutboxMessage(long eventId, String eventType, String aggregateId, @JsonRawValue String payload,
+                            LocalDateTime createdAt) {
+}
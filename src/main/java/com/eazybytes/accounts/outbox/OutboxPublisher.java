@@ -0,0 +1,20 @@
+package com.eazybytes.accounts.outbox;
+
+import java.util.List;
+
+/**
+ * Destination of the outbox relay, for example a message broker. Define a bean of this type to replace
+ * the publisher chosen with accounts.outbox.publisher.
+ */
+public interface OutboxPublisher {
+
+    /**
+     * Publishes the events in the given order. Returning normally acknowledges all of them, after which
+     * they are removed from the outbox; throwing leaves them to be published again, so a publisher has to
+     * tolerate duplicates of events it published before it failed.
+     *
+     * @param messages - events ordered by eventId
+     */
+    void publish(List<OutboxMessage> messages);
+
+}
@@ -0,0 +1,143 @@
+package com.eazybytes.accounts.outbox;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.eazybytes.accounts.config.AccountsOutboxProperties;
+import com.eazybytes.accounts.entity.Accounts;
+import com.eazybytes.accounts.entity.Customer;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Writes account lifecycle events to outbox_event on the connection of the caller's transaction, so an
+ * event exists exactly when the change it describes was committed. Ids come from an identity column:
+ * changes of one customer are serialized by its row, so its events are numbered in commit order.
+ */
+@Component
+@Transactional(propagation = Propagation.MANDATORY)
+public class OutboxRecorder {
+
+    private static final String INSERT_SQL = "insert into outbox_event (event_type, aggregate_id, payload, created_at) "
+            + "values (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final AccountsOutboxProperties accountsOutboxProperties;
+
+    public OutboxRecorder(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+                          AccountsOutboxProperties accountsOutboxProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.accountsOutboxProperties = accountsOutboxProperties;
+    }
+
+    /**
+     * @param customer - the new customer, with its generated id
+     * @param accounts - the customer's new account
+     */
+    public void accountCreated(Customer customer, Accounts accounts) {
+        accountsCreated(List.of(customer), List.of(accounts));
+    }
+
+    /**
+     * Writes the events of a batch with one JDBC batch.
+     *
+     * @param customers - the new customers, with their generated ids
+     * @param accounts - the new accounts, in the order of the customers
+     */
+    public void accountsCreated(List<Customer> customers, List<Accounts> accounts) {
+        if (!accountsOutboxProperties.isEnabled() || customers.isEmpty()) {
+            return;
+        }
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(customers.size());
+        for (int i = 0; i < customers.size(); i++) {
+            Customer customer = customers.get(i);
+            rows.add(new Object[] {AccountEventType.ACCOUNT_CREATED.getEventName(), customer.getMobileNumber(),
+                    toJson(accountPayload(customer, accounts.get(i))), createdAt});
+        }
+        if (rows.size() == 1) {
+            jdbcTemplate.update(INSERT_SQL, rows.get(0));
+        } else {
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        }
+    }
+
+    /**
+     * @param previousMobileNumber - Mobile Number the customer had before the update
+     * @param customer - the customer as updated
+     * @param accounts - the account as updated
+     */
+    public void accountUpdated(String previousMobileNumber, Customer customer, Accounts accounts) {
+        insert(AccountEventType.ACCOUNT_UPDATED, customer.getMobileNumber(),
+                updatedPayload(previousMobileNumber, customer, accounts));
+    }
+
+    /**
+     * @param mobileNumber - Mobile Number of the deleted customer
+     * @param soft - whether the rows were only marked as deleted
+     */
+    public void accountDeleted(String mobileNumber, boolean soft) {
+        insert(AccountEventType.ACCOUNT_DELETED, mobileNumber, deletedPayload(mobileNumber, soft));
+    }
+
+    private void insert(AccountEventType eventType, String aggregateId, Map<String, Object> payload) {
+        if (!accountsOutboxProperties.isEnabled()) {
+            return;
+        }
+        jdbcTemplate.update(INSERT_SQL, eventType.getEventName(), aggregateId, toJson(payload),
+                Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    /**
+     * The payload builders are shared with {@link ReactiveOutboxRecorder}, so both stacks publish the same events.
+     */
+    static Map<String, Object> accountPayload(Customer customer, Accounts accounts) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("customerId", customer.getCustomerId());
+        payload.put("name", customer.getName());
+        payload.put("email", customer.getEmail());
+        payload.put("mobileNumber", customer.getMobileNumber());
+        payload.put("accountNumber", accounts.getAccountNumber());
+        payload.put("accountType", accounts.getAccountType());
+        payload.put("branchAddress", accounts.getBranchAddress());
+        return payload;
+    }
+
+    static Map<String, Object> updatedPayload(String previousMobileNumber, Customer customer, Accounts accounts) {
+        Map<String, Object> payload = accountPayload(customer, accounts);
+        payload.put("previousMobileNumber", previousMobileNumber);
+        return payload;
+    }
+
+    static Map<String, Object> deletedPayload(String mobileNumber, boolean soft) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("mobileNumber", mobileNumber);
+        payload.put("soft", soft);
+        return payload;
+    }
+
+    private String toJson(Map<String, Object> payload) {
+        return toJson(objectMapper, payload);
+    }
+
+    static String toJson(ObjectMapper objectMapper, Map<String, Object> payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException ex) {
+            // strings and numbers only, failing here means a broken mapper; the change is rolled back with it
+            throw new IllegalStateException("Could not serialize outbox payload", ex);
+        }
+    }
+
+}
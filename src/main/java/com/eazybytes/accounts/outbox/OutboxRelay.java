@@ -0,0 +1,126 @@
+package com.eazybytes.accounts.outbox;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.eazybytes.accounts.config.AccountsOutboxProperties;
+import com.eazybytes.accounts.sharding.ShardContext;
+import com.eazybytes.accounts.sharding.ShardRouter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Drains outbox_event to the {@link OutboxPublisher}: events are read in eventId order in batches,
+ * published, and only then removed. A failed publish stops the run and the same events are published
+ * again on the next run, so delivery is at least once and a customer's events never overtake each other.
+ * When sharded every shard's outbox is drained in turn.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "accounts.outbox", name = "relay-enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    private static final String SELECT_SQL = "select event_id, event_type, aggregate_id, payload, created_at "
+            + "from outbox_event order by event_id limit ?";
+    private static final String DELETE_SQL = "delete from outbox_event where event_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final OutboxPublisher outboxPublisher;
+    private final AccountsOutboxProperties accountsOutboxProperties;
+    private final int shardCount;
+    private final ReentrantLock relayLock = new ReentrantLock();
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final Counter publishedCounter;
+    private final Counter failedCounter;
+
+    public OutboxRelay(JdbcTemplate jdbcTemplate, OutboxPublisher outboxPublisher,
+                       AccountsOutboxProperties accountsOutboxProperties, ObjectProvider<ShardRouter> shardRouter,
+                       MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.outboxPublisher = outboxPublisher;
+        this.accountsOutboxProperties = accountsOutboxProperties;
+        ShardRouter router = shardRouter.getIfAvailable();
+        this.shardCount = router == null ? 1 : router.getShardCount();
+        this.publishedCounter = Counter.builder("accounts.outbox.events").tag("outcome", "published")
+                .description("Outbox events published and removed").register(meterRegistry);
+        this.failedCounter = Counter.builder("accounts.outbox.events").tag("outcome", "failed")
+                .description("Outbox events whose publish failed and will be retried").register(meterRegistry);
+        TimeGauge.builder("accounts.outbox.lag", lagMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .description("Age of the oldest unpublished event at the last relay run").register(meterRegistry);
+    }
+
+    /**
+     * @return number of events published by this run
+     */
+    @Scheduled(initialDelayString = "${accounts.outbox.relay-interval:PT1S}",
+            fixedDelayString = "${accounts.outbox.relay-interval:PT1S}")
+    public int relay() {
+        relayLock.lock();
+        try {
+            int published = 0;
+            long oldest = 0;
+            for (int shard = 0; shard < shardCount; shard++) {
+                RelayResult result = ShardContext.callOn(shard, this::relayShard);
+                published += result.published();
+                oldest = Math.max(oldest, result.lagMillis());
+            }
+            lagMillis.set(oldest);
+            return published;
+        } finally {
+            relayLock.unlock();
+        }
+    }
+
+    /**
+     * @return events published from the database of the current shard and the age of its oldest event
+     */
+    private RelayResult relayShard() {
+        int batchSize = accountsOutboxProperties.getBatchSize();
+        int published = 0;
+        long lag = 0;
+        List<OutboxMessage> batch;
+        do {
+            batch = jdbcTemplate.query(SELECT_SQL, (resultSet, rowNum) -> new OutboxMessage(
+                    resultSet.getLong("event_id"), resultSet.getString("event_type"),
+                    resultSet.getString("aggregate_id"), resultSet.getString("payload"),
+                    resultSet.getTimestamp("created_at").toLocalDateTime()), batchSize);
+            if (batch.isEmpty()) {
+                break;
+            }
+            if (published == 0) {
+                lag = Math.max(0, Duration.between(batch.get(0).createdAt(), LocalDateTime.now()).toMillis());
+            }
+            try {
+                outboxPublisher.publish(batch);
+            } catch (RuntimeException ex) {
+                failedCounter.increment(batch.size());
+                log.warn("Could not publish {} outbox events starting at {}, retrying on the next run",
+                        batch.size(), batch.get(0).eventId(), ex);
+                break;
+            }
+            // by id: events of transactions still in flight can carry lower ids and must stay
+            jdbcTemplate.batchUpdate(DELETE_SQL, batch.stream().map(message -> new Object[] {message.eventId()})
+                    .toList());
+            published += batch.size();
+            publishedCounter.increment(batch.size());
+        } while (batch.size() == batchSize);
+        return new RelayResult(published, lag);
+    }
+
+    private record RelayResult(int published, long lagMillis) {
+    }
+
+}
@@ -0,0 +1,84 @@
+package com.eazybytes.accounts.outbox;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+
+import com.eazybytes.accounts.config.AccountsOutboxProperties;
+import com.eazybytes.accounts.entity.Accounts;
+import com.eazybytes.accounts.entity.Customer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * R2DBC counterpart of {@link OutboxRecorder}: the returned publishers insert into outbox_event on the
+ * connection of the reactive transaction they are subscribed in, so the reactive stack publishes the same
+ * events, with the same payloads, exactly when its change was committed. The relay does not care which
+ * stack wrote an event.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveOutboxRecorder {
+
+    private static final String INSERT_SQL = "insert into outbox_event (event_type, aggregate_id, payload, created_at) "
+            + "values (:eventType, :aggregateId, :payload, :createdAt)";
+
+    private final DatabaseClient databaseClient;
+    private final ObjectMapper objectMapper;
+    private final AccountsOutboxProperties accountsOutboxProperties;
+
+    public ReactiveOutboxRecorder(DatabaseClient databaseClient, ObjectMapper objectMapper,
+                                  AccountsOutboxProperties accountsOutboxProperties) {
+        this.databaseClient = databaseClient;
+        this.objectMapper = objectMapper;
+        this.accountsOutboxProperties = accountsOutboxProperties;
+    }
+
+    /**
+     * @param customer - the new customer, with its id
+     * @param accounts - the customer's new account
+     * @return completes once the event is inserted
+     */
+    public Mono<Void> accountCreated(Customer customer, Accounts accounts) {
+        return insert(AccountEventType.ACCOUNT_CREATED, customer.getMobileNumber(),
+                OutboxRecorder.accountPayload(customer, accounts));
+    }
+
+    /**
+     * @param previousMobileNumber - Mobile Number the customer had before the update
+     * @param customer - the customer as updated
+     * @param accounts - the account as updated
+     * @return completes once the event is inserted
+     */
+    public Mono<Void> accountUpdated(String previousMobileNumber, Customer customer, Accounts accounts) {
+        return insert(AccountEventType.ACCOUNT_UPDATED, customer.getMobileNumber(),
+                OutboxRecorder.updatedPayload(previousMobileNumber, customer, accounts));
+    }
+
+    /**
+     * @param mobileNumber - Mobile Number of the deleted customer
+     * @param soft - whether the rows were only marked as deleted
+     * @return completes once the event is inserted
+     */
+    public Mono<Void> accountDeleted(String mobileNumber, boolean soft) {
+        return insert(AccountEventType.ACCOUNT_DELETED, mobileNumber, OutboxRecorder.deletedPayload(mobileNumber, soft));
+    }
+
+    private Mono<Void> insert(AccountEventType eventType, String aggregateId, Map<String, Object> payload) {
+        if (!accountsOutboxProperties.isEnabled()) {
+            return Mono.empty();
+        }
+        return databaseClient.sql(INSERT_SQL)
+                .bind("eventType", eventType.getEventName())
+                .bind("aggregateId", aggregateId)
+                .bind("payload", OutboxRecorder.toJson(objectMapper, payload))
+                .bind("createdAt", LocalDateTime.now())
+                .fetch().rowsUpdated()
+                .then();
+    }
+
+}
@@ -1,11 +1,16 @@
 package com.eazybytes.accounts.repository;
 
 import com.eazybytes.accounts.entity.Accounts;
+import jakarta.persistence.LockModeType;
 import jakarta.transaction.Transactional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Repository
@@ -13,8 +18,53 @@ public interface AccountsRepository extends JpaRepository<Accounts, Long> {
 
     Optional<Accounts> findByCustomerId(Long customerId);
 
+    /**
+     * Reads the account with a write lock held until commit. Updates lock the account before the customer,
+     * the same order in which deletes write them.
+     *
+     * @param accountNumber - Account Number to look up
+     * @return the account, locked for the rest of the transaction
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a from Accounts a where a.accountNumber = :accountNumber")
+    Optional<Accounts> findByIdForUpdate(@Param("accountNumber") Long accountNumber);
+
+    @Transactional
+    @Modifying
+    @Query("delete from Accounts a where a.customerId = :customerId")
+    void deleteByCustomerId(@Param("customerId") Long customerId);
+
+    /**
+     * @param mobileNumber - Mobile Number of the customer owning the accounts
+     * @return number of accounts deleted
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from Accounts a where a.customerId in "
+            + "(select c.customerId from Customer c where c.mobileNumber = :mobileNumber)")
+    int deleteByMobileNumber(@Param("mobileNumber") String mobileNumber);
+
+    /**
+     * @param mobileNumber - Mobile Number of the customer owning the accounts
+     * @param deletedAt - time stamp recorded as the deletion time
+     * @return number of accounts marked as deleted
+     */
+    @Transactional
+    @Modifying
+    @Query("update Accounts a set a.deletedAt = :deletedAt where a.deletedAt is null and a.customerId in "
+            + "(select c.customerId from Customer c where c.mobileNumber = :mobileNumber)")
+    int softDeleteByMobileNumber(@Param("mobileNumber") String mobileNumber,
+                                 @Param("deletedAt") LocalDateTime deletedAt);
+
+    /**
+     * @param cutoff - only rows soft-deleted before this time are removed
+     * @param chunkSize - maximum number of rows removed by this call
+     * @return number of accounts removed
+     */
     @Transactional
     @Modifying
-    void deleteByCustomerId(Long customerId);
+    @Query(value = "delete from accounts where account_number in "
+            + "(select account_number from accounts where deleted_at < :cutoff limit :chunkSize)", nativeQuery = true)
+    int purgeSoftDeleted(@Param("cutoff") LocalDateTime cutoff, @Param("chunkSize") int chunkSize);
 
 }
@@ -1,15 +1,132 @@
 package com.eazybytes.accounts.repository;
 
+import com.eazybytes.accounts.dto.CustomerDto;
+import com.eazybytes.accounts.dto.CustomerVersionDto;
 import com.eazybytes.accounts.entity.Customer;
+import jakarta.persistence.LockModeType;
+import jakarta.transaction.Transactional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface CustomerRepository extends JpaRepository<Customer, Long> {
+public interface CustomerRepository extends JpaRepository<Customer, Long>, CustomerRepositoryCustom {
 
     Optional<Customer> findByMobileNumber(String mobileNumber);
 
+    /**
+     * Reads the customer with a write lock held until commit. Dirty checking only writes the row at commit,
+     * and not at all when nothing changed, so an update that records an outbox event takes the lock here.
+     *
+     * @param customerId - customer id to look up
+     * @return the customer, locked for the rest of the transaction
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from Customer c where c.customerId = :customerId")
+    Optional<Customer> findByIdForUpdate(@Param("customerId") Long customerId);
+
+    /**
+     * Reads customer and account details in a single joined statement, straight into the DTO shape.
+     * No entities are hydrated, so nothing lands in the persistence context.
+     *
+     * @param mobileNumber - Input Mobile Number
+     * @return Customer and Account details based on a given mobileNumber
+     */
+    @Query("select new com.eazybytes.accounts.dto.CustomerDto(c.name, c.email, c.mobileNumber, c.version, "
+            + "a.accountNumber, a.accountType, a.branchAddress, a.version) "
+            + "from Customer c join Accounts a on a.customerId = c.customerId "
+            + "where c.mobileNumber = :mobileNumber")
+    Optional<CustomerDto> findCustomerDetailsByMobileNumber(@Param("mobileNumber") String mobileNumber);
+
+    /**
+     * Reads only the account number and the two row versions, enough to answer a conditional fetch.
+     *
+     * @param mobileNumber - Input Mobile Number
+     * @return versions of the Customer and Account details based on a given mobileNumber
+     */
+    @Query("select new com.eazybytes.accounts.dto.CustomerVersionDto(a.accountNumber, c.version, a.version) "
+            + "from Customer c join Accounts a on a.customerId = c.customerId "
+            + "where c.mobileNumber = :mobileNumber")
+    Optional<CustomerVersionDto> findCustomerVersionByMobileNumber(@Param("mobileNumber") String mobileNumber);
+
+    /**
+     * Same result as {@link #findCustomerDetailsByMobileNumber(String)}, read through both primary keys.
+     * The mobile number is only checked on the rows found, so a stale key pair yields nothing.
+     *
+     * @param customerId - customer id indexed for the mobile number
+     * @param accountNumber - account number indexed for the mobile number
+     * @param mobileNumber - Input Mobile Number
+     * @return Customer and Account details if the rows still belong to the given mobileNumber
+     */
+    @Query("select new com.eazybytes.accounts.dto.CustomerDto(c.name, c.email, c.mobileNumber, c.version, "
+            + "a.accountNumber, a.accountType, a.branchAddress, a.version) "
+            + "from Customer c join Accounts a on a.customerId = c.customerId "
+            + "where c.customerId = :customerId and a.accountNumber = :accountNumber "
+            + "and c.mobileNumber = :mobileNumber")
+    Optional<CustomerDto> findCustomerDetailsByKeys(@Param("customerId") Long customerId,
+                                                    @Param("accountNumber") Long accountNumber,
+                                                    @Param("mobileNumber") String mobileNumber);
+
+    /**
+     * @param customerId - customer id indexed for the mobile number
+     * @param accountNumber - account number indexed for the mobile number
+     * @param mobileNumber - Input Mobile Number
+     * @return versions of the Customer and Account details if the rows still belong to the given mobileNumber
+     */
+    @Query("select new com.eazybytes.accounts.dto.CustomerVersionDto(a.accountNumber, c.version, a.version) "
+            + "from Customer c join Accounts a on a.customerId = c.customerId "
+            + "where c.customerId = :customerId and a.accountNumber = :accountNumber "
+            + "and c.mobileNumber = :mobileNumber")
+    Optional<CustomerVersionDto> findCustomerVersionByKeys(@Param("customerId") Long customerId,
+                                                           @Param("accountNumber") Long accountNumber,
+                                                           @Param("mobileNumber") String mobileNumber);
+
+    /**
+     * Native on purpose: soft-deleted customers still hold their mobile number in the unique index.
+     *
+     * @param mobileNumbers - Mobile Numbers to look up
+     * @return the subset of the given mobile numbers that are already registered
+     */
+    @Query(value = "select mobile_number from customer where mobile_number in (:mobileNumbers)", nativeQuery = true)
+    List<String> findRegisteredMobileNumbers(@Param("mobileNumbers") Collection<String> mobileNumbers);
+
+    /**
+     * @param mobileNumber - Mobile Number of the customer
+     * @return number of customers deleted
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from Customer c where c.mobileNumber = :mobileNumber")
+    int deleteByMobileNumber(@Param("mobileNumber") String mobileNumber);
+
+    /**
+     * @param mobileNumber - Mobile Number of the customer
+     * @param deletedAt - time stamp recorded as the deletion time
+     * @return number of customers marked as deleted
+     */
+    @Transactional
+    @Modifying
+    @Query("update Customer c set c.deletedAt = :deletedAt where c.deletedAt is null and c.mobileNumber = :mobileNumber")
+    int softDeleteByMobileNumber(@Param("mobileNumber") String mobileNumber,
+                                 @Param("deletedAt") LocalDateTime deletedAt);
+
+    /**
+     * @param cutoff - only rows soft-deleted before this time are removed
+     * @param chunkSize - maximum number of rows removed by this call
+     * @return number of customers removed
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "delete from customer where customer_id in "
+            + "(select customer_id from customer where deleted_at < :cutoff limit :chunkSize)", nativeQuery = true)
+    int purgeSoftDeleted(@Param("cutoff") LocalDateTime cutoff, @Param("chunkSize") int chunkSize);
 
 }
@@ -0,0 +1,24 @@
+package com.eazybytes.accounts.repository;
+
+import com.eazybytes.accounts.dto.CustomerDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface CustomerRepositoryCustom {
+
+    /**
+     * Reads one page of customers with their accounts by seeking past the last customer_id of the previous
+     * page, so every page costs the same index range scan no matter how deep it is.
+     *
+     * @param afterCustomerId - customer_id of the last row of the previous page, 0 for the first page
+     * @param accountType - only customers whose account has this type, null for any type
+     * @param createdFrom - only customers created at or after this time, null for no lower bound
+     * @param createdTo - only customers created before this time, null for no upper bound
+     * @param limit - maximum number of rows to read
+     * @return Customer and Account details ordered by customer_id, with customerId set
+     */
+    List<CustomerDto> findCustomerDetailsPage(long afterCustomerId, String accountType,
+                                              LocalDateTime createdFrom, LocalDateTime createdTo, int limit);
+
+}
@@ -0,0 +1,53 @@
+package com.eazybytes.accounts.repository;
+
+import com.eazybytes.accounts.dto.CustomerDto;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Builds the listing query with only the filters that are present, so each combination gets a plan
+ * that can use its index instead of one catch-all statement full of "or :param is null" branches.
+ */
+public class CustomerRepositoryCustomImpl implements CustomerRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<CustomerDto> findCustomerDetailsPage(long afterCustomerId, String accountType,
+                                                     LocalDateTime createdFrom, LocalDateTime createdTo, int limit) {
+        StringBuilder jpql = new StringBuilder("select new com.eazybytes.accounts.dto.CustomerDto(c.customerId, "
+                + "c.name, c.email, c.mobileNumber, c.version, a.accountNumber, a.accountType, a.branchAddress, a.version) "
+                + "from Customer c join Accounts a on a.customerId = c.customerId "
+                + "where c.customerId > :afterCustomerId");
+        if (accountType != null) {
+            jpql.append(" and a.accountType = :accountType");
+        }
+        if (createdFrom != null) {
+            jpql.append(" and c.createdAt >= :createdFrom");
+        }
+        if (createdTo != null) {
+            jpql.append(" and c.createdAt < :createdTo");
+        }
+        jpql.append(" order by c.customerId");
+
+        TypedQuery<CustomerDto> query = entityManager.createQuery(jpql.toString(), CustomerDto.class)
+                .setParameter("afterCustomerId", afterCustomerId)
+                .setMaxResults(limit);
+        if (accountType != null) {
+            query.setParameter("accountType", accountType);
+        }
+        if (createdFrom != null) {
+            query.setParameter("createdFrom", createdFrom);
+        }
+        if (createdTo != null) {
+            query.setParameter("createdTo", createdTo);
+        }
+        return query.getResultList();
+    }
+
+}
@@ -0,0 +1,74 @@
+package com.eazybytes.accounts.scheduler;
+
+import java.time.LocalDateTime;
+import java.util.function.IntUnaryOperator;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.eazybytes.accounts.config.AccountsDeleteProperties;
+import com.eazybytes.accounts.repository.AccountsRepository;
+import com.eazybytes.accounts.repository.CustomerRepository;
+import com.eazybytes.accounts.sharding.ShardContext;
+import com.eazybytes.accounts.sharding.ShardRouter;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Hard-deletes soft-deleted rows once they are older than the configured retention.
+ * Rows are removed in bounded chunks, each in its own short transaction, so a large
+ * cleanup never holds locks for long and never runs on a request thread. When sharded,
+ * every shard is purged in turn.
+ */
+@Slf4j
+@Component
+@AllArgsConstructor
+@ConditionalOnProperty(prefix = "accounts.delete", name = "soft", havingValue = "true")
+public class SoftDeletePurger {
+
+    private AccountsRepository accountsRepository;
+    private CustomerRepository customerRepository;
+    private AccountsDeleteProperties accountsDeleteProperties;
+    private ObjectProvider<ShardRouter> shardRouter;
+
+    @Scheduled(fixedDelayString = "${accounts.delete.purge-interval:PT5M}")
+    public void purge() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(accountsDeleteProperties.getPurgeRetention());
+        ShardRouter router = shardRouter.getIfAvailable();
+        int shards = router == null ? 1 : router.getShardCount();
+        for (int shard = 0; shard < shards; shard++) {
+            ShardContext.runOn(shard, () -> purge(cutoff));
+        }
+    }
+
+    /**
+     * @param cutoff - rows soft-deleted before this are removed from the database of the current shard
+     */
+    private void purge(LocalDateTime cutoff) {
+        int accounts = purgeInChunks(chunkSize -> accountsRepository.purgeSoftDeleted(cutoff, chunkSize));
+        int customers = purgeInChunks(chunkSize -> customerRepository.purgeSoftDeleted(cutoff, chunkSize));
+        if (accounts > 0 || customers > 0) {
+            log.info("Purged {} accounts and {} customers deleted before {} on shard {}", accounts, customers,
+                    cutoff, ShardContext.current());
+        }
+    }
+
+    /**
+     * @param deleteChunk - deletes up to the given number of rows and returns how many were deleted
+     * @return total number of rows deleted
+     */
+    private int purgeInChunks(IntUnaryOperator deleteChunk) {
+        int chunkSize = accountsDeleteProperties.getPurgeChunkSize();
+        int total = 0;
+        int deleted;
+        do {
+            deleted = deleteChunk.applyAsInt(chunkSize);
+            total += deleted;
+        } while (deleted == chunkSize);
+        return total;
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.eazybytes.accounts.service;
+
+import com.eazybytes.accounts.dto.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface IAccountsExportService {
+
+    /**
+     *
+     * @param format - record format to write
+     * @param afterCustomerId - only customers with a greater customerId are written, null for all of them
+     * @param outputStream - stream the records are written to, it is flushed but not closed
+     * @return number of records written
+     */
+    long exportAccounts(ExportFormat format, Long afterCustomerId, OutputStream outputStream) throws IOException;
+
+}
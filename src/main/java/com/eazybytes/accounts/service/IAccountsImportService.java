@@ -0,0 +1,16 @@
+package com.eazybytes.accounts.service;
+
+import com.eazybytes.accounts.dto.ImportResponseDto;
+
+import java.io.IOException;
+
+public interface IAccountsImportService {
+
+    /**
+     *
+     * @param fileName - CSV file (name,email,mobile_number) inside the import directory
+     * @return counts of imported and rejected rows along with the file holding the rejects
+     */
+    ImportResponseDto importAccounts(String fileName) throws IOException;
+
+}
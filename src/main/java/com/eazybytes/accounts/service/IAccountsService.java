@@ -1,6 +1,12 @@
 package com.eazybytes.accounts.service;
 
+import com.eazybytes.accounts.dto.BatchResponseDto;
 import com.eazybytes.accounts.dto.CustomerDto;
+import com.eazybytes.accounts.dto.CustomerPageDto;
+import com.eazybytes.accounts.dto.CustomerVersionDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 public interface IAccountsService {
 
@@ -10,6 +16,13 @@ public interface IAccountsService {
      */
     void createAccount(CustomerDto customerDto);
 
+    /**
+     *
+     * @param customerDtos - CustomerDto Objects to be created in one batch
+     * @return counts of created and rejected customers along with the reason for every rejection
+     */
+    BatchResponseDto createAccounts(List<CustomerDto> customerDtos);
+
     /**
      *
      * @param mobileNumber - Input Mobile Number
@@ -17,6 +30,25 @@ public interface IAccountsService {
      */
     CustomerDto fetchAccount(String mobileNumber);
 
+    /**
+     *
+     * @param mobileNumber - Input Mobile Number
+     * @return row versions of the Accounts Details based on a given mobileNumber, without the details
+     */
+    CustomerVersionDto fetchAccountVersion(String mobileNumber);
+
+    /**
+     *
+     * @param cursor - nextCursor of the previous page, null for the first page
+     * @param size - maximum number of customers in the page
+     * @param accountType - only customers whose account has this type, null for any type
+     * @param createdFrom - only customers created at or after this time, null for no lower bound
+     * @param createdTo - only customers created before this time, null for no upper bound
+     * @return one page of Accounts Details ordered by creation sequence, with the cursor of the next page
+     */
+    CustomerPageDto fetchCustomers(String cursor, int size, String accountType,
+                                   LocalDateTime createdFrom, LocalDateTime createdTo);
+
     /**
      *
      * @param customerDto - CustomerDto Object
@@ -24,6 +56,13 @@ public interface IAccountsService {
      */
     boolean updateAccount(CustomerDto customerDto);
 
+    /**
+     *
+     * @param customerDto - CustomerDto Object carrying the account number and only the fields to change
+     * @return boolean indicating if the update of Account details is successful or not
+     */
+    boolean patchAccount(CustomerDto customerDto);
+
     /**
      *
      * @param mobileNumber - Input Mobile Number
@@ -0,0 +1,44 @@
+package com.eazybytes.accounts.service;
+
+import com.eazybytes.accounts.dto.CustomerDto;
+
+import reactor.core.publisher.Mono;
+
+public interface IReactiveAccountsService {
+
+    /**
+     *
+     * @param customerDto - CustomerDto Object
+     * @return completes once the customer and the account are stored
+     */
+    Mono<Void> createAccount(CustomerDto customerDto);
+
+    /**
+     *
+     * @param mobileNumber - Input Mobile Number
+     * @return Accounts Details based on a given mobileNumber
+     */
+    Mono<CustomerDto> fetchAccount(String mobileNumber);
+
+    /**
+     *
+     * @param customerDto - CustomerDto Object
+     * @return boolean indicating if the update of Account details is successful or not
+     */
+    Mono<Boolean> updateAccount(CustomerDto customerDto);
+
+    /**
+     *
+     * @param customerDto - CustomerDto Object carrying the account number and only the fields to change
+     * @return boolean indicating if the update of Account details is successful or not
+     */
+    Mono<Boolean> patchAccount(CustomerDto customerDto);
+
+    /**
+     *
+     * @param mobileNumber - Input Mobile Number
+     * @return boolean indicating if the delete of Account details is successful or not
+     */
+    Mono<Boolean> deleteAccount(String mobileNumber);
+
+}
@@ -0,0 +1,209 @@
+package com.eazybytes.accounts.service.impl;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.eazybytes.accounts.dto.ExportFormat;
+import com.eazybytes.accounts.service.IAccountsExportService;
+import com.eazybytes.accounts.sharding.ShardContext;
+import com.eazybytes.accounts.sharding.ShardRouter;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Streams customers and their accounts ordered by customer_id, one row at a time from a forward-only
+ * cursor straight into the output stream, so memory use does not depend on the number of rows.
+ * No transaction is opened: the query runs in auto-commit mode and the connection goes back to the
+ * pool as soon as the cursor is exhausted. When sharded, the shards are read one after the other in
+ * shard order; every shard draws its customer ids from its own ascending range, so the output stays
+ * ordered by customer_id and a resumed export skips the shards already received.
+ */
+@Slf4j
+@Service
+public class AccountsExportServiceImpl implements IAccountsExportService {
+
+    private static final String EXPORT_SQL = """
+            select c.customer_id, c.name, c.email, c.mobile_number, a.account_number, a.account_type, a.branch_address
+            from customer c left join accounts a on a.customer_id = c.customer_id and a.deleted_at is null
+            where c.customer_id > ? and c.deleted_at is null
+            order by c.customer_id""";
+    private static final String CSV_HEADER =
+            "customer_id,name,email,mobile_number,account_number,account_type,branch_address\n";
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JsonFactory jsonFactory;
+    private final int fetchSize;
+    private final int shardCount;
+
+    public AccountsExportServiceImpl(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+                                     @Value("${accounts.export.fetch-size:1000}") int fetchSize,
+                                     ObjectProvider<ShardRouter> shardRouter) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.jsonFactory = objectMapper.getFactory();
+        this.fetchSize = fetchSize;
+        ShardRouter router = shardRouter.getIfAvailable();
+        this.shardCount = router == null ? 1 : router.getShardCount();
+    }
+
+    /**
+     * @param format - record format to write
+     * @param afterCustomerId - only customers with a greater customerId are written, null for all of them
+     * @param outputStream - stream the records are written to, it is flushed but not closed
+     * @return number of records written
+     */
+    @Override
+    public long exportAccounts(ExportFormat format, Long afterCustomerId, OutputStream outputStream) throws IOException {
+        long after = afterCustomerId == null ? 0L : afterCustomerId;
+        try {
+            long exported = 0;
+            for (int shard = 0; shard < shardCount; shard++) {
+                boolean header = shard == 0;
+                exported += ShardContext.callOn(shard, () -> exportShard(format, after, header, outputStream));
+            }
+            log.debug("Exported {} customers after customerId {} as {}", exported, after, format);
+            return exported;
+        } catch (UncheckedIOException ex) {
+            // the client went away or the stream failed, it resumes from the last customerId it received
+            throw ex.getCause();
+        }
+    }
+
+    /**
+     * @param header - whether to start with the CSV header line
+     * @return number of records written from the database of the current shard
+     */
+    private long exportShard(ExportFormat format, long after, boolean header, OutputStream outputStream) {
+        Long exported = jdbcTemplate.execute((Connection connection) -> {
+                boolean h2 = "H2".equals(connection.getMetaData().getDatabaseProductName());
+                if (h2) {
+                    // H2 materializes a whole result before returning the first row unless it runs lazily
+                    setLazyQueryExecution(connection, true);
+                }
+                try (PreparedStatement statement = connection.prepareStatement(EXPORT_SQL,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                    statement.setFetchSize(fetchSize);
+                    statement.setLong(1, after);
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        return format == ExportFormat.CSV
+                                ? writeCsv(resultSet, header, outputStream)
+                                : writeNdjson(resultSet, outputStream);
+                    }
+                } finally {
+                    if (h2) {
+                        setLazyQueryExecution(connection, false);
+                    }
+                }
+            });
+        return exported == null ? 0 : exported;
+    }
+
+    /**
+     * @param connection - pooled connection, so the setting is switched back before it is returned
+     * @param lazy - whether results are computed while they are read
+     */
+    private static void setLazyQueryExecution(Connection connection, boolean lazy) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET LAZY_QUERY_EXECUTION " + lazy);
+        }
+    }
+
+    /**
+     * Writes one {@code CustomerDto} shaped JSON object per line, with the customerId to resume from.
+     */
+    private long writeNdjson(ResultSet resultSet, OutputStream outputStream) throws SQLException {
+        long rows = 0;
+        try {
+            JsonGenerator generator = jsonFactory.createGenerator(outputStream);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            while (resultSet.next()) {
+                generator.writeStartObject();
+                generator.writeNumberField("customerId", resultSet.getLong("customer_id"));
+                generator.writeStringField("name", resultSet.getString("name"));
+                generator.writeStringField("email", resultSet.getString("email"));
+                generator.writeStringField("mobileNumber", resultSet.getString("mobile_number"));
+                long accountNumber = resultSet.getLong("account_number");
+                if (resultSet.wasNull()) {
+                    generator.writeNullField("accountsDto");
+                } else {
+                    generator.writeObjectFieldStart("accountsDto");
+                    generator.writeNumberField("accountNumber", accountNumber);
+                    generator.writeStringField("accountType", resultSet.getString("account_type"));
+                    generator.writeStringField("branchAddress", resultSet.getString("branch_address"));
+                    generator.writeEndObject();
+                }
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+                rows++;
+            }
+            generator.close();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return rows;
+    }
+
+    /**
+     * Writes an optional header line and one RFC 4180 line per customer, with empty account columns when it
+     * has none.
+     */
+    private long writeCsv(ResultSet resultSet, boolean header, OutputStream outputStream) throws SQLException {
+        long rows = 0;
+        try {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8),
+                    WRITE_BUFFER_SIZE);
+            if (header) {
+                writer.write(CSV_HEADER);
+            }
+            while (resultSet.next()) {
+                writer.write(Long.toString(resultSet.getLong("customer_id")));
+                writeCsvField(writer, resultSet.getString("name"));
+                writeCsvField(writer, resultSet.getString("email"));
+                writeCsvField(writer, resultSet.getString("mobile_number"));
+                writeCsvField(writer, resultSet.getString("account_number"));
+                writeCsvField(writer, resultSet.getString("account_type"));
+                writeCsvField(writer, resultSet.getString("branch_address"));
+                writer.write('\n');
+                rows++;
+            }
+            writer.flush();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return rows;
+    }
+
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        writer.write(',');
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+}
@@ -0,0 +1,390 @@
+package com.eazybytes.accounts.service.impl;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+
+import com.eazybytes.accounts.config.AccountsImportProperties;
+import com.eazybytes.accounts.dto.BatchItemResponseDto;
+import com.eazybytes.accounts.dto.BatchResponseDto;
+import com.eazybytes.accounts.dto.CustomerDto;
+import com.eazybytes.accounts.dto.ImportResponseDto;
+import com.eazybytes.accounts.exception.ResourceNotFoundException;
+import com.eazybytes.accounts.service.IAccountsImportService;
+import com.eazybytes.accounts.service.IAccountsService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Imports a CSV file of customers in three stages: the file is memory-mapped in line-aligned chunks, the
+ * chunks are parsed and validated in parallel, and a single writer hands the valid rows in batches to
+ * {@link IAccountsService#createAccounts(List)}. A bounded queue between parsers and writer keeps memory
+ * use independent of the file size. Rejected rows are written with their byte offset and reason to a
+ * rejects file next to the input.
+ */
+@Slf4j
+@Service
+public class AccountsImportServiceImpl implements IAccountsImportService {
+
+    private static final String HEADER = "name,email,mobile_number";
+    private static final int COLUMNS = 3;
+    private static final int BOUNDARY_SCAN_SIZE = 8 * 1024;
+    private static final List<ImportRow> END_OF_INPUT = Collections.unmodifiableList(new ArrayList<>());
+
+    private final IAccountsService iAccountsService;
+    private final Validator validator;
+    private final AccountsImportProperties accountsImportProperties;
+    private final Counter importedCounter;
+    private final Counter rejectedCounter;
+    private final Counter bytesCounter;
+    private final Timer batchTimer;
+
+    public AccountsImportServiceImpl(IAccountsService iAccountsService, Validator validator,
+                                     AccountsImportProperties accountsImportProperties, MeterRegistry meterRegistry) {
+        this.iAccountsService = iAccountsService;
+        this.validator = validator;
+        this.accountsImportProperties = accountsImportProperties;
+        this.importedCounter = Counter.builder("accounts.import.rows").tag("outcome", "imported")
+                .description("Rows imported from CSV files").register(meterRegistry);
+        this.rejectedCounter = Counter.builder("accounts.import.rows").tag("outcome", "rejected")
+                .description("Rows rejected while importing CSV files").register(meterRegistry);
+        this.bytesCounter = Counter.builder("accounts.import.bytes").baseUnit("bytes")
+                .description("Bytes of CSV files parsed").register(meterRegistry);
+        this.batchTimer = Timer.builder("accounts.import.batch")
+                .description("Time to store one batch of imported customers").register(meterRegistry);
+    }
+
+    /**
+     * @param fileName - CSV file (name,email,mobile_number) inside the import directory
+     * @return counts of imported and rejected rows along with the file holding the rejects; when parsing
+     * failed part way the counts cover the rows stored before the failure, which is set on the response
+     */
+    @Override
+    public ImportResponseDto importAccounts(String fileName) throws IOException {
+        Path input = resolveInput(fileName);
+        Path rejectsFile = input.resolveSibling(input.getFileName() + ".rejects.csv");
+        long started = System.nanoTime();
+
+        int parallelism = accountsImportProperties.getParallelism() > 0
+                ? accountsImportProperties.getParallelism() : Runtime.getRuntime().availableProcessors();
+        ExecutorService parsers = Executors.newFixedThreadPool(parallelism,
+                Thread.ofPlatform().name("accounts-import-", 0).factory());
+        BlockingQueue<List<ImportRow>> batches = new ArrayBlockingQueue<>(accountsImportProperties.getQueueCapacity());
+        AtomicLong total = new AtomicLong();
+        AtomicReference<Throwable> parseFailure = new AtomicReference<>();
+        long imported = 0;
+
+        try (FileChannel channel = FileChannel.open(input, StandardOpenOption.READ);
+             RejectWriter rejectWriter = new RejectWriter(rejectsFile)) {
+            List<Chunk> chunks = splitIntoChunks(channel);
+            if (chunks.isEmpty()) {
+                batches.add(END_OF_INPUT);
+            }
+            AtomicInteger remainingChunks = new AtomicInteger(chunks.size());
+            for (Chunk chunk : chunks) {
+                parsers.execute(() -> {
+                    try {
+                        parseChunk(channel, chunk, batches, rejectWriter, total);
+                    } catch (Throwable ex) {
+                        parseFailure.compareAndSet(null, ex);
+                    } finally {
+                        if (remainingChunks.decrementAndGet() == 0) {
+                            putQuietly(batches, END_OF_INPUT);
+                        }
+                    }
+                });
+            }
+
+            List<ImportRow> batch;
+            while ((batch = batches.take()) != END_OF_INPUT) {
+                imported += writeBatch(batch, rejectWriter);
+            }
+
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+            String failure = null;
+            if (parseFailure.get() != null) {
+                // the batches written so far are committed, so the caller gets their counts with the failure
+                failure = "Import of " + fileName + " failed while parsing: " + parseFailure.get().getMessage();
+                log.error("Import of {} stopped after {} of {} rows, {} rejected", input, imported, total.get(),
+                        rejectWriter.getRejected(), parseFailure.get());
+            } else {
+                log.info("Imported {} of {} rows from {} in {} ms, {} rejected", imported, total.get(), input,
+                        elapsedMillis, rejectWriter.getRejected());
+            }
+            return new ImportResponseDto(fileName, total.get(), imported, rejectWriter.getRejected(),
+                    rejectsFile.getFileName().toString(), elapsedMillis, failure);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Import of " + fileName + " was interrupted");
+        } finally {
+            parsers.shutdownNow();
+        }
+    }
+
+    /**
+     * @param fileName - file name relative to the import directory
+     * @return the file, refused when it resolves outside of the import directory
+     */
+    private Path resolveInput(String fileName) {
+        Path directory = accountsImportProperties.getDirectory().toAbsolutePath().normalize();
+        Path input = directory.resolve(fileName).normalize();
+        if (!input.startsWith(directory) || !Files.isRegularFile(input)) {
+            throw new ResourceNotFoundException("Import file", "fileName", fileName);
+        }
+        return input;
+    }
+
+    /**
+     * Cuts the file into chunks of roughly the configured size, each ending right after a line break
+     * so that no line spans two chunks.
+     */
+    private List<Chunk> splitIntoChunks(FileChannel channel) throws IOException {
+        long size = channel.size();
+        long chunkSize = Math.max(1, accountsImportProperties.getChunkSize().toBytes());
+        List<Chunk> chunks = new ArrayList<>();
+        long start = 0;
+        while (start < size) {
+            long end = Math.min(start + chunkSize, size);
+            if (end < size) {
+                end = nextLineStart(channel, end - 1, size);
+            }
+            chunks.add(new Chunk(start, end));
+            start = end;
+        }
+        return chunks;
+    }
+
+    /**
+     * @return position right after the first line break at or after the given position, or the file size
+     */
+    private static long nextLineStart(FileChannel channel, long position, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(BOUNDARY_SCAN_SIZE);
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    private void parseChunk(FileChannel channel, Chunk chunk, BlockingQueue<List<ImportRow>> batches,
+                            RejectWriter rejectWriter, AtomicLong total) throws IOException, InterruptedException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, chunk.start(), chunk.end() - chunk.start());
+        int batchSize = accountsImportProperties.getBatchSize();
+        List<ImportRow> batch = new ArrayList<>(batchSize);
+        int limit = buffer.limit();
+        int lineStart = 0;
+        while (lineStart < limit) {
+            int lineEnd = lineStart;
+            while (lineEnd < limit && buffer.get(lineEnd) != '\n') {
+                lineEnd++;
+            }
+            int length = lineEnd - lineStart;
+            if (length > 0 && buffer.get(lineStart + length - 1) == '\r') {
+                length--;
+            }
+            long offset = chunk.start() + lineStart;
+            if (length > 0) {
+                byte[] bytes = new byte[length];
+                buffer.get(lineStart, bytes);
+                String line = new String(bytes, StandardCharsets.UTF_8);
+                if (offset != 0 || !HEADER.equalsIgnoreCase(line.strip())) {
+                    total.incrementAndGet();
+                    ImportRow row = parseLine(offset, line, rejectWriter);
+                    if (row != null) {
+                        batch.add(row);
+                        if (batch.size() == batchSize) {
+                            batches.put(batch);
+                            batch = new ArrayList<>(batchSize);
+                        }
+                    }
+                }
+            }
+            lineStart = lineEnd + 1;
+        }
+        if (!batch.isEmpty()) {
+            batches.put(batch);
+        }
+        bytesCounter.increment(chunk.end() - chunk.start());
+    }
+
+    /**
+     * @return the parsed row, or null when it was rejected
+     */
+    private ImportRow parseLine(long offset, String line, RejectWriter rejectWriter) {
+        List<String> fields = splitCsvLine(line);
+        if (fields.size() != COLUMNS) {
+            rejectWriter.reject(offset, "Expected " + COLUMNS + " columns " + HEADER, line);
+            return null;
+        }
+        CustomerDto customerDto = new CustomerDto(fields.get(0), fields.get(1), fields.get(2), null);
+        Set<ConstraintViolation<CustomerDto>> violations = validator.validate(customerDto);
+        if (!violations.isEmpty()) {
+            rejectWriter.reject(offset, violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")), line);
+            return null;
+        }
+        return new ImportRow(offset, line, customerDto);
+    }
+
+    /**
+     * Splits one RFC 4180 line; quoted fields may contain commas and doubled quotes but no line breaks.
+     */
+    static List<String> splitCsvLine(String line) {
+        List<String> fields = new ArrayList<>(COLUMNS);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().strip());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString().strip());
+        return fields;
+    }
+
+    /**
+     * @return number of customers created from the batch, the rest is written to the rejects file
+     */
+    private long writeBatch(List<ImportRow> batch, RejectWriter rejectWriter) {
+        List<CustomerDto> customerDtos = batch.stream().map(ImportRow::customerDto).toList();
+        BatchResponseDto batchResponseDto;
+        try {
+            batchResponseDto = batchTimer.recordCallable(() -> iAccountsService.createAccounts(customerDtos));
+        } catch (Exception ex) {
+            log.warn("Rejecting a batch of {} imported customers", batch.size(), ex);
+            batch.forEach(row -> rejectWriter.reject(row.offset(), "Batch failed: " + ex.getMessage(), row.line()));
+            return 0;
+        }
+        for (BatchItemResponseDto failure : batchResponseDto.getFailures()) {
+            ImportRow row = batch.get(failure.getIndex());
+            String reason = failure.getErrors() == null ? failure.getStatusMsg()
+                    : failure.getStatusMsg() + " " + failure.getErrors();
+            rejectWriter.reject(row.offset(), reason, row.line());
+        }
+        importedCounter.increment(batchResponseDto.getCreated());
+        return batchResponseDto.getCreated();
+    }
+
+    private static void putQuietly(BlockingQueue<List<ImportRow>> batches, List<ImportRow> batch) {
+        try {
+            batches.put(batch);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record Chunk(long start, long end) {
+    }
+
+    private record ImportRow(long offset, String line, CustomerDto customerDto) {
+    }
+
+    /**
+     * Appends rejected rows as offset,reason,line to the rejects file, shared by the parser and writer threads.
+     */
+    private final class RejectWriter implements Closeable {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final BufferedWriter writer;
+        private long rejected;
+
+        RejectWriter(Path rejectsFile) throws IOException {
+            this.writer = Files.newBufferedWriter(rejectsFile, StandardCharsets.UTF_8);
+            this.writer.write("offset,reason,line\n");
+        }
+
+        void reject(long offset, String reason, String line) {
+            lock.lock();
+            try {
+                writer.write(Long.toString(offset));
+                writer.write(',');
+                writer.write(quote(reason));
+                writer.write(',');
+                writer.write(quote(line));
+                writer.write('\n');
+                rejected++;
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            } finally {
+                lock.unlock();
+            }
+            rejectedCounter.increment();
+        }
+
+        long getRejected() {
+            lock.lock();
+            try {
+                return rejected;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private static String quote(String value) {
+            return '"' + String.valueOf(value).replace("\"", "\"\"") + '"';
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+
+    }
+
+}
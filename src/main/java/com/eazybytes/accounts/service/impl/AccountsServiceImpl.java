@@ -1,45 +1,199 @@
 package com.eazybytes.accounts.service.impl;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.Random;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.eazybytes.accounts.audit.AuditAction;
+import com.eazybytes.accounts.audit.AuditRecord;
+import com.eazybytes.accounts.config.AccountsDeleteProperties;
 import com.eazybytes.accounts.constants.AccountsConstants;
+import com.eazybytes.accounts.datasource.ReplicaLagCacheEvictor;
 import com.eazybytes.accounts.dto.AccountsDto;
+import com.eazybytes.accounts.dto.BatchItemResponseDto;
+import com.eazybytes.accounts.dto.BatchResponseDto;
 import com.eazybytes.accounts.dto.CustomerDto;
+import com.eazybytes.accounts.dto.CustomerPageDto;
+import com.eazybytes.accounts.dto.CustomerVersionDto;
 import com.eazybytes.accounts.entity.Accounts;
 import com.eazybytes.accounts.entity.Customer;
 import com.eazybytes.accounts.exception.CustomerAlreadyExistsException;
+import com.eazybytes.accounts.exception.InvalidCursorException;
 import com.eazybytes.accounts.exception.ResourceNotFoundException;
+import com.eazybytes.accounts.generator.AccountNumberGenerator;
+import com.eazybytes.accounts.lookup.CustomerKeys;
+import com.eazybytes.accounts.lookup.MobileNumberIndex;
+import com.eazybytes.accounts.lookup.RegisteredMobileNumbers;
 import com.eazybytes.accounts.mapper.AccountsMapper;
 import com.eazybytes.accounts.mapper.CustomerMapper;
+import com.eazybytes.accounts.outbox.OutboxRecorder;
 import com.eazybytes.accounts.repository.AccountsRepository;
 import com.eazybytes.accounts.repository.CustomerRepository;
 import com.eazybytes.accounts.service.IAccountsService;
 
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
 import lombok.AllArgsConstructor;
 
 @Service
 @AllArgsConstructor
 public class AccountsServiceImpl  implements IAccountsService {
 
+    private static final int MOBILE_NUMBER_LOOKUP_CHUNK = 1000;
+    private static final String MOBILE_NUMBER_INDEX = "UX_CUSTOMER_MOBILE_NUMBER";
+    private static final String CURSOR_PREFIX = "c:";
+
     private AccountsRepository accountsRepository;
     private CustomerRepository customerRepository;
+    private CacheManager cacheManager;
+    private Validator validator;
+    private AccountNumberGenerator accountNumberGenerator;
+    private AccountsDeleteProperties accountsDeleteProperties;
+    private ApplicationEventPublisher applicationEventPublisher;
+    private OutboxRecorder outboxRecorder;
+    private RegisteredMobileNumbers registeredMobileNumbers;
+    private MobileNumberIndex mobileNumberIndex;
+    private ObjectProvider<ReplicaLagCacheEvictor> replicaLagCacheEvictor;
 
     /**
      * @param customerDto - CustomerDto Object
      */
     @Override
+    @Transactional
     public void createAccount(CustomerDto customerDto) {
         Customer customer = CustomerMapper.mapToCustomer(customerDto, new Customer());
-        Optional<Customer> optionalCustomer = customerRepository.findByMobileNumber(customerDto.getMobileNumber());
-        if(optionalCustomer.isPresent()) {
-            throw new CustomerAlreadyExistsException("Customer already registered with given mobileNumber "
-                    +customerDto.getMobileNumber());
+        Customer savedCustomer;
+        try {
+            // the unique index on mobile_number is the duplicate check, flushing surfaces its violation here
+            savedCustomer = customerRepository.saveAndFlush(customer);
+        } catch (DataIntegrityViolationException ex) {
+            if (isMobileNumberConflict(ex)) {
+                throw new CustomerAlreadyExistsException("Customer already registered with given mobileNumber "
+                        +customerDto.getMobileNumber());
+            }
+            throw ex;
+        }
+        Accounts accounts = accountsRepository.save(createNewAccount(savedCustomer));
+        outboxRecorder.accountCreated(savedCustomer, accounts);
+        mobileNumberIndex.registered(savedCustomer, accounts);
+    }
+
+    /**
+     * @param ex - exception raised while inserting a customer
+     * @return true if the insert was rejected by the unique index on customer.mobile_number
+     */
+    static boolean isMobileNumberConflict(DataIntegrityViolationException ex) {
+        String message = ex.getMostSpecificCause().getMessage();
+        return message != null && message.toUpperCase(Locale.ROOT).contains(MOBILE_NUMBER_INDEX);
+    }
+
+    /**
+     * @param customerDtos - CustomerDto Objects to be created in one batch
+     * @return counts of created and rejected customers along with the reason for every rejection
+     */
+    @Override
+    @Transactional
+    public BatchResponseDto createAccounts(List<CustomerDto> customerDtos) {
+        List<BatchItemResponseDto> failures = new ArrayList<>();
+        Map<String, Integer> candidates = new LinkedHashMap<>();
+        for (int index = 0; index < customerDtos.size(); index++) {
+            CustomerDto customerDto = customerDtos.get(index);
+            if (customerDto == null) {
+                failures.add(new BatchItemResponseDto(index, null, "Customer details can not be null", null));
+                continue;
+            }
+            Set<ConstraintViolation<CustomerDto>> violations = validator.validate(customerDto);
+            if (!violations.isEmpty()) {
+                Map<String, String> errors = new LinkedHashMap<>();
+                violations.forEach(violation ->
+                        errors.put(violation.getPropertyPath().toString(), violation.getMessage()));
+                failures.add(new BatchItemResponseDto(index, customerDto.getMobileNumber(),
+                        "Validation failed", errors));
+            } else if (customerDto.getMobileNumber() == null) {
+                failures.add(new BatchItemResponseDto(index, null, "Validation failed",
+                        Map.of("mobileNumber", "Mobile number can not be a null")));
+            } else if (candidates.putIfAbsent(customerDto.getMobileNumber(), index) != null) {
+                failures.add(new BatchItemResponseDto(index, customerDto.getMobileNumber(),
+                        "Mobile number repeated within the batch", null));
+            }
+        }
+
+        Set<String> registered = findRegisteredMobileNumbers(candidates.keySet());
+        List<Customer> customers = new ArrayList<>(candidates.size());
+        candidates.forEach((mobileNumber, index) -> {
+            if (registered.contains(mobileNumber)) {
+                failures.add(new BatchItemResponseDto(index, mobileNumber,
+                        "Customer already registered with given mobileNumber " + mobileNumber, null));
+            } else {
+                customers.add(CustomerMapper.mapToCustomer(customerDtos.get(index), new Customer()));
+            }
+        });
+
+        // sequence generated ids are assigned on persist, so the accounts can be built before the flush
+        customerRepository.saveAll(customers);
+        try {
+            // a number registered concurrently since the lookup above hits the unique index here, not at commit
+            customerRepository.flush();
+        } catch (DataIntegrityViolationException ex) {
+            if (isMobileNumberConflict(ex)) {
+                throw new CustomerAlreadyExistsException("A mobileNumber of the batch was registered while the "
+                        + "batch was being created, no customer of the batch was created");
+            }
+            throw ex;
+        }
+        List<Accounts> accounts = customers.stream().map(this::createNewAccount).toList();
+        accountsRepository.saveAll(accounts);
+        outboxRecorder.accountsCreated(customers, accounts);
+        for (int i = 0; i < customers.size(); i++) {
+            mobileNumberIndex.registered(customers.get(i), accounts.get(i));
         }
-        Customer savedCustomer = customerRepository.save(customer);
-        accountsRepository.save(createNewAccount(savedCustomer));
+
+        failures.sort(Comparator.comparingInt(BatchItemResponseDto::getIndex));
+        return new BatchResponseDto(customerDtos.size(), customers.size(), failures.size(), failures);
+    }
+
+    /**
+     * @param mobileNumbers - Mobile Numbers to look up
+     * @return the subset of the given mobile numbers that are already registered
+     */
+    private Set<String> findRegisteredMobileNumbers(Set<String> mobileNumbers) {
+        Set<String> registered = new HashSet<>();
+        List<String> chunk = new ArrayList<>(MOBILE_NUMBER_LOOKUP_CHUNK);
+        for (String mobileNumber : mobileNumbers) {
+            chunk.add(mobileNumber);
+            if (chunk.size() == MOBILE_NUMBER_LOOKUP_CHUNK) {
+                registered.addAll(customerRepository.findRegisteredMobileNumbers(chunk));
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            registered.addAll(customerRepository.findRegisteredMobileNumbers(chunk));
+        }
+        return registered;
     }
 
     /**
@@ -49,9 +203,7 @@ public class AccountsServiceImpl  implements IAccountsService {
     private Accounts createNewAccount(Customer customer) {
         Accounts newAccount = new Accounts();
         newAccount.setCustomerId(customer.getCustomerId());
-        long randomAccNumber = 1000000000L + new Random().nextInt(900000000);
-
-        newAccount.setAccountNumber(randomAccNumber);
+        newAccount.setAccountNumber(accountNumberGenerator.nextAccountNumber());
         newAccount.setAccountType(AccountsConstants.SAVINGS);
         newAccount.setBranchAddress(AccountsConstants.ADDRESS);
         return newAccount;
@@ -62,8 +214,50 @@ public class AccountsServiceImpl  implements IAccountsService {
      * @return Accounts Details based on a given mobileNumber
      */
     @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = AccountsConstants.CUSTOMERS_CACHE, key = "#mobileNumber", sync = true)
     public CustomerDto fetchAccount(String mobileNumber) {
-        Customer customer = customerRepository.findByMobileNumber(mobileNumber).orElseThrow(
+        requireRegistered(mobileNumber);
+        return findByMobileNumber(mobileNumber,
+                keys -> customerRepository.findCustomerDetailsByKeys(keys.customerId(), keys.accountNumber(),
+                        mobileNumber),
+                () -> customerRepository.findCustomerDetailsByMobileNumber(mobileNumber)).orElseThrow(
+                () -> new ResourceNotFoundException("Customer", "mobileNumber", mobileNumber)
+        );
+    }
+
+    /**
+     * Not cached: it is the cheap freshness check in front of the cached details.
+     *
+     * @param mobileNumber - Input Mobile Number
+     * @return row versions of the Accounts Details based on a given mobileNumber
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CustomerVersionDto fetchAccountVersion(String mobileNumber) {
+        requireRegistered(mobileNumber);
+        return findByMobileNumber(mobileNumber,
+                keys -> customerRepository.findCustomerVersionByKeys(keys.customerId(), keys.accountNumber(),
+                        mobileNumber),
+                () -> customerRepository.findCustomerVersionByMobileNumber(mobileNumber)).orElseThrow(
+                () -> new ResourceNotFoundException("Customer", "mobileNumber", mobileNumber)
+        );
+    }
+
+    /**
+     * Two-query variant of {@link #fetchAccount(String)} that loads the Customer and Accounts entities
+     * and maps them into fresh DTOs. Kept so both fetch paths can be benchmarked against each other
+     * (FetchPathBenchmark).
+     *
+     * @param mobileNumber - Input Mobile Number
+     * @return Accounts Details based on a given mobileNumber
+     */
+    @Transactional(readOnly = true)
+    public CustomerDto fetchAccountWithEntities(String mobileNumber) {
+        Customer customer = findByMobileNumber(mobileNumber,
+                keys -> customerRepository.findById(keys.customerId())
+                        .filter(found -> mobileNumber.equals(found.getMobileNumber())),
+                () -> customerRepository.findByMobileNumber(mobileNumber)).orElseThrow(
                 () -> new ResourceNotFoundException("Customer", "mobileNumber", mobileNumber)
         );
         Accounts accounts = accountsRepository.findByCustomerId(customer.getCustomerId()).orElseThrow(
@@ -74,45 +268,246 @@ public class AccountsServiceImpl  implements IAccountsService {
         return customerDto;
     }
 
+    /**
+     * @param mobileNumber - Input Mobile Number
+     * @param byKeys - lookup through the primary keys indexed for the mobile number
+     * @param byMobileNumber - lookup through the unique index on mobile_number
+     * @return what byKeys finds, or what byMobileNumber finds when the mobile number is not indexed or its
+     *         indexed rows no longer carry it
+     */
+    private <T> Optional<T> findByMobileNumber(String mobileNumber, Function<CustomerKeys, Optional<T>> byKeys,
+                                               Supplier<Optional<T>> byMobileNumber) {
+        CustomerKeys keys = mobileNumberIndex.find(mobileNumber);
+        if (keys != null) {
+            Optional<T> found = byKeys.apply(keys);
+            if (found.isPresent()) {
+                return found;
+            }
+            mobileNumberIndex.stale(mobileNumber);
+        }
+        return byMobileNumber.get();
+    }
+
+    /**
+     * @param cursor - nextCursor of the previous page, null for the first page
+     * @param size - maximum number of customers in the page
+     * @param accountType - only customers whose account has this type, null for any type
+     * @param createdFrom - only customers created at or after this time, null for no lower bound
+     * @param createdTo - only customers created before this time, null for no upper bound
+     * @return one page of Accounts Details ordered by creation sequence, with the cursor of the next page
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CustomerPageDto fetchCustomers(String cursor, int size, String accountType,
+                                          LocalDateTime createdFrom, LocalDateTime createdTo) {
+        // one extra row tells whether there is a next page without a count query
+        List<CustomerDto> customers = customerRepository.findCustomerDetailsPage(decodeCursor(cursor), accountType,
+                createdFrom, createdTo, size + 1);
+        String nextCursor = null;
+        if (customers.size() > size) {
+            customers = new ArrayList<>(customers.subList(0, size));
+            nextCursor = encodeCursor(customers.get(size - 1).getCustomerId());
+        }
+        return new CustomerPageDto(customers, nextCursor);
+    }
+
+    /**
+     * @param customerId - customer_id of the last row of a page
+     * @return opaque cursor pointing right after that row
+     */
+    static String encodeCursor(Long customerId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((CURSOR_PREFIX + customerId).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * @param cursor - opaque cursor from a previous page, null or blank for the first page
+     * @return customer_id to seek past
+     */
+    static long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            if (decoded.startsWith(CURSOR_PREFIX)) {
+                return Long.parseLong(decoded.substring(CURSOR_PREFIX.length()));
+            }
+        } catch (IllegalArgumentException ex) {
+            // not base64 or not a number, reported below like any other foreign cursor
+        }
+        throw new InvalidCursorException(cursor);
+    }
+
     /**
      * @param customerDto - CustomerDto Object
      * @return boolean indicating if the update of Account details is successful or not
      */
     @Override
+    @Transactional
     public boolean updateAccount(CustomerDto customerDto) {
         boolean isUpdated = false;
         AccountsDto accountsDto = customerDto.getAccountsDto();
         if(accountsDto !=null ){
-            Accounts accounts = accountsRepository.findById(accountsDto.getAccountNumber()).orElseThrow(
+            Accounts accounts = accountsRepository.findByIdForUpdate(accountsDto.getAccountNumber()).orElseThrow(
                     () -> new ResourceNotFoundException("Account", "AccountNumber", accountsDto.getAccountNumber().toString())
             );
+            checkVersion(accountsDto.getVersion(), accounts.getVersion(), Accounts.class, accounts.getAccountNumber());
             AccountsMapper.mapToAccounts(accountsDto, accounts);
             accounts = accountsRepository.save(accounts);
 
             Long customerId = accounts.getCustomerId();
-            Customer customer = customerRepository.findById(customerId).orElseThrow(
+            Customer customer = customerRepository.findByIdForUpdate(customerId).orElseThrow(
                     () -> new ResourceNotFoundException("Customer", "CustomerID", customerId.toString())
             );
+            checkVersion(customerDto.getVersion(), customer.getVersion(), Customer.class, customerId);
+            String previousMobileNumber = customer.getMobileNumber();
             CustomerMapper.mapToCustomer(customerDto,customer);
             customerRepository.save(customer);
+            outboxRecorder.accountUpdated(previousMobileNumber, customer, accounts);
+            mobileNumberIndex.changed(previousMobileNumber, customer, accounts);
+            evictCustomer(previousMobileNumber, customer.getMobileNumber());
             isUpdated = true;
         }
         return  isUpdated;
     }
 
+    /**
+     * @param customerDto - CustomerDto Object carrying only the fields to change
+     * @return boolean indicating if the update of Account details is successful or not
+     */
+    @Override
+    @Transactional
+    public boolean patchAccount(CustomerDto customerDto) {
+        AccountsDto accountsDto = customerDto.getAccountsDto();
+        if (accountsDto == null || accountsDto.getAccountNumber() == null) {
+            return false;
+        }
+        validatePresentFields(validator, customerDto, accountsDto);
+        Accounts accounts = accountsRepository.findByIdForUpdate(accountsDto.getAccountNumber()).orElseThrow(
+                () -> new ResourceNotFoundException("Account", "AccountNumber", accountsDto.getAccountNumber().toString())
+        );
+        checkVersion(accountsDto.getVersion(), accounts.getVersion(), Accounts.class, accounts.getAccountNumber());
+        Long customerId = accounts.getCustomerId();
+        Customer customer = customerRepository.findByIdForUpdate(customerId).orElseThrow(
+                () -> new ResourceNotFoundException("Customer", "CustomerID", customerId.toString())
+        );
+        checkVersion(customerDto.getVersion(), customer.getVersion(), Customer.class, customerId);
+        String previousMobileNumber = customer.getMobileNumber();
+
+        // both rows are locked, so the event below is ordered after any other writer of this customer even
+        // when nothing changes; both entities are managed, dirty checking issues an UPDATE of the changed
+        // columns only at commit
+        AccountsMapper.patchAccounts(accountsDto, accounts);
+        CustomerMapper.patchCustomer(customerDto, customer);
+        outboxRecorder.accountUpdated(previousMobileNumber, customer, accounts);
+        mobileNumberIndex.changed(previousMobileNumber, customer, accounts);
+        evictCustomer(previousMobileNumber, customer.getMobileNumber());
+        return true;
+    }
+
+    /**
+     * Applies the Bean Validation rules of the DTOs to the fields present in a partial update.
+     *
+     * @param validator - Bean Validation validator
+     * @param customerDto - CustomerDto Object carrying only the fields to change
+     * @param accountsDto - AccountsDto Object carrying only the fields to change
+     */
+    static void validatePresentFields(Validator validator, CustomerDto customerDto, AccountsDto accountsDto) {
+        Set<ConstraintViolation<?>> violations = new HashSet<>();
+        if (customerDto.getName() != null) {
+            violations.addAll(validator.validateProperty(customerDto, "name"));
+        }
+        if (customerDto.getEmail() != null) {
+            violations.addAll(validator.validateProperty(customerDto, "email"));
+        }
+        if (customerDto.getMobileNumber() != null) {
+            violations.addAll(validator.validateProperty(customerDto, "mobileNumber"));
+        }
+        if (accountsDto.getAccountType() != null) {
+            violations.addAll(validator.validateProperty(accountsDto, "accountType"));
+        }
+        if (accountsDto.getBranchAddress() != null) {
+            violations.addAll(validator.validateProperty(accountsDto, "branchAddress"));
+        }
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+    }
+
+    /**
+     * @param expectedVersion - row version the client last read, null if the client did not send one
+     * @param currentVersion - row version currently stored
+     * @param entityClass - entity being updated
+     * @param id - identifier of the entity being updated
+     */
+    static void checkVersion(Long expectedVersion, Long currentVersion, Class<?> entityClass, Object id) {
+        if (expectedVersion != null && !expectedVersion.equals(currentVersion)) {
+            throw new ObjectOptimisticLockingFailureException(entityClass, id);
+        }
+    }
+
     /**
      * @param mobileNumber - Input Mobile Number
      * @return boolean indicating if the delete of Account details is successful or not
      */
     @Override
+    @Transactional
+    @CacheEvict(cacheNames = AccountsConstants.CUSTOMERS_CACHE, key = "#mobileNumber")
     public boolean deleteAccount(String mobileNumber) {
-        Customer customer = customerRepository.findByMobileNumber(mobileNumber).orElseThrow(
-                () -> new ResourceNotFoundException("Customer", "mobileNumber", mobileNumber)
-        );
-        accountsRepository.deleteByCustomerId(customer.getCustomerId());
-        customerRepository.deleteById(customer.getCustomerId());
+        requireRegistered(mobileNumber);
+        // set-based statements, nothing is loaded into the persistence context
+        int deletedCustomers;
+        LocalDateTime deletedAt = LocalDateTime.now();
+        if (accountsDeleteProperties.isSoft()) {
+            accountsRepository.softDeleteByMobileNumber(mobileNumber, deletedAt);
+            deletedCustomers = customerRepository.softDeleteByMobileNumber(mobileNumber, deletedAt);
+        } else {
+            accountsRepository.deleteByMobileNumber(mobileNumber);
+            deletedCustomers = customerRepository.deleteByMobileNumber(mobileNumber);
+        }
+        if (deletedCustomers == 0) {
+            throw new ResourceNotFoundException("Customer", "mobileNumber", mobileNumber);
+        }
+        // bulk statements raise no entity events, the audit trail records the delete by mobile number
+        outboxRecorder.accountDeleted(mobileNumber, accountsDeleteProperties.isSoft());
+        mobileNumberIndex.removed(mobileNumber);
+        replicaLagCacheEvictor.ifAvailable(evictor -> evictor.evictAfterReplication(mobileNumber));
+        applicationEventPublisher.publishEvent(new AuditRecord("Customer", mobileNumber,
+                accountsDeleteProperties.isSoft() ? AuditAction.SOFT_DELETE : AuditAction.DELETE, null, null,
+                deletedAt));
         return true;
     }
 
+    /**
+     * @param mobileNumber - Input Mobile Number
+     * @throws ResourceNotFoundException without a query when no customer was ever registered with it
+     */
+    private void requireRegistered(String mobileNumber) {
+        if (!registeredMobileNumbers.mightContain(mobileNumber)) {
+            throw new ResourceNotFoundException("Customer", "mobileNumber", mobileNumber);
+        }
+    }
+
+    /**
+     * With a replica the entries are evicted again once it has caught up, a fetch in between may have
+     * cached the old row read from it.
+     *
+     * @param previousMobileNumber - Mobile Number the customer had before the update
+     * @param mobileNumber - Mobile Number the customer has after the update
+     */
+    private void evictCustomer(String previousMobileNumber, String mobileNumber) {
+        Cache cache = cacheManager.getCache(AccountsConstants.CUSTOMERS_CACHE);
+        if (cache == null) {
+            return;
+        }
+        if (previousMobileNumber != null) {
+            cache.evict(previousMobileNumber);
+        }
+        if (mobileNumber != null && !Objects.equals(previousMobileNumber, mobileNumber)) {
+            cache.evict(mobileNumber);
+        }
+        replicaLagCacheEvictor.ifAvailable(evictor -> evictor.evictAfterReplication(previousMobileNumber, mobileNumber));
+    }
 
 }
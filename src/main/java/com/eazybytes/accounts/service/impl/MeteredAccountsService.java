@@ -0,0 +1,153 @@
+package com.eazybytes.accounts.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Primary;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Service;
+
+import com.eazybytes.accounts.dto.BatchResponseDto;
+import com.eazybytes.accounts.dto.CustomerDto;
+import com.eazybytes.accounts.dto.CustomerPageDto;
+import com.eazybytes.accounts.dto.CustomerVersionDto;
+import com.eazybytes.accounts.exception.CustomerAlreadyExistsException;
+import com.eazybytes.accounts.exception.InvalidCursorException;
+import com.eazybytes.accounts.exception.ResourceNotFoundException;
+import com.eazybytes.accounts.service.IAccountsService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.validation.ConstraintViolationException;
+
+/**
+ * Times every {@link IAccountsService} call as {@code accounts.service}, tagged with the operation and its
+ * outcome, and counts the rows accepted and rejected by batch creates. It wraps the transactional
+ * {@link AccountsServiceImpl} (through {@link ShardedAccountsService} when sharded), so the timings include
+ * the commit and cache hits of fetches.
+ */
+@Service
+@Primary
+public class MeteredAccountsService implements IAccountsService {
+
+    static final String TIMER_NAME = "accounts.service";
+
+    private final IAccountsService delegate;
+    private final MeterRegistry meterRegistry;
+    private final Counter batchCreatedCounter;
+    private final Counter batchRejectedCounter;
+
+    /**
+     * @param shardedAccountsService - shard routing in front of the service, present when sharding is enabled
+     * @param accountsService - the transactional service
+     */
+    @Autowired
+    public MeteredAccountsService(ObjectProvider<ShardedAccountsService> shardedAccountsService,
+                                  @Qualifier("accountsServiceImpl") IAccountsService accountsService,
+                                  MeterRegistry meterRegistry) {
+        this(Optional.<IAccountsService>ofNullable(shardedAccountsService.getIfAvailable()).orElse(accountsService),
+                meterRegistry);
+    }
+
+    public MeteredAccountsService(IAccountsService delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.meterRegistry = meterRegistry;
+        this.batchCreatedCounter = Counter.builder("accounts.service.batch.items").tag("outcome", "created")
+                .description("Customers created by batch creates").register(meterRegistry);
+        this.batchRejectedCounter = Counter.builder("accounts.service.batch.items").tag("outcome", "rejected")
+                .description("Customers rejected by batch creates").register(meterRegistry);
+    }
+
+    @Override
+    public void createAccount(CustomerDto customerDto) {
+        record("create", () -> {
+            delegate.createAccount(customerDto);
+            return null;
+        });
+    }
+
+    @Override
+    public BatchResponseDto createAccounts(List<CustomerDto> customerDtos) {
+        BatchResponseDto batchResponseDto = record("create-batch", () -> delegate.createAccounts(customerDtos));
+        batchCreatedCounter.increment(batchResponseDto.getCreated());
+        batchRejectedCounter.increment(batchResponseDto.getFailed());
+        return batchResponseDto;
+    }
+
+    @Override
+    public CustomerDto fetchAccount(String mobileNumber) {
+        return record("fetch", () -> delegate.fetchAccount(mobileNumber));
+    }
+
+    @Override
+    public CustomerVersionDto fetchAccountVersion(String mobileNumber) {
+        return record("fetch-version", () -> delegate.fetchAccountVersion(mobileNumber));
+    }
+
+    @Override
+    public CustomerPageDto fetchCustomers(String cursor, int size, String accountType,
+                                          LocalDateTime createdFrom, LocalDateTime createdTo) {
+        return record("list", () -> delegate.fetchCustomers(cursor, size, accountType, createdFrom, createdTo));
+    }
+
+    @Override
+    public boolean updateAccount(CustomerDto customerDto) {
+        return record("update", () -> delegate.updateAccount(customerDto));
+    }
+
+    @Override
+    public boolean patchAccount(CustomerDto customerDto) {
+        return record("patch", () -> delegate.patchAccount(customerDto));
+    }
+
+    @Override
+    public boolean deleteAccount(String mobileNumber) {
+        return record("delete", () -> delegate.deleteAccount(mobileNumber));
+    }
+
+    /**
+     * @param operation - value of the operation tag
+     * @param call - the delegated call, its exception is recorded and rethrown unchanged
+     * @return result of the call
+     */
+    private <T> T record(String operation, Supplier<T> call) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            T result = call.get();
+            if (Boolean.FALSE.equals(result)) {
+                outcome = "not-applied";
+            }
+            return result;
+        } catch (RuntimeException ex) {
+            outcome = outcome(ex);
+            throw ex;
+        } finally {
+            sample.stop(Timer.builder(TIMER_NAME)
+                    .description("Time spent in the accounts service per operation")
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    static String outcome(RuntimeException ex) {
+        if (ex instanceof ResourceNotFoundException) {
+            return "not-found";
+        } else if (ex instanceof CustomerAlreadyExistsException) {
+            return "already-exists";
+        } else if (ex instanceof ConcurrencyFailureException) {
+            return "conflict";
+        } else if (ex instanceof ConstraintViolationException || ex instanceof InvalidCursorException) {
+            return "invalid";
+        }
+        return "error";
+    }
+
+}
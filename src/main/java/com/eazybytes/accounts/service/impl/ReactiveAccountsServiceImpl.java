@@ -0,0 +1,436 @@
+package com.eazybytes.accounts.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import com.eazybytes.accounts.audit.AuditAction;
+import com.eazybytes.accounts.audit.AuditRecord;
+import com.eazybytes.accounts.audit.AuditTrail;
+import com.eazybytes.accounts.config.AccountsDeleteProperties;
+import com.eazybytes.accounts.config.AccountsOutboxProperties;
+import com.eazybytes.accounts.constants.AccountsConstants;
+import com.eazybytes.accounts.dto.AccountsDto;
+import com.eazybytes.accounts.dto.CustomerDto;
+import com.eazybytes.accounts.entity.Accounts;
+import com.eazybytes.accounts.entity.Customer;
+import com.eazybytes.accounts.exception.CustomerAlreadyExistsException;
+import com.eazybytes.accounts.exception.ResourceNotFoundException;
+import com.eazybytes.accounts.generator.AccountNumberGenerator;
+import com.eazybytes.accounts.lookup.RegisteredMobileNumbers;
+import com.eazybytes.accounts.outbox.ReactiveOutboxRecorder;
+import com.eazybytes.accounts.service.IReactiveAccountsService;
+
+import jakarta.validation.Validator;
+import lombok.AllArgsConstructor;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Non-blocking counterpart of {@link AccountsServiceImpl} on R2DBC, with the same rules for duplicates,
+ * row versions and soft deletes, and the same outbox events written in the transaction of the change.
+ * Committed changes go to the audit trail too, without attribute diffs: the statements do not load the old
+ * state. Every statement runs on the event loop, only the account number block refill (a JDBC round trip
+ * once per block) and audit buffering (which may wait for room) are moved to the bounded elastic scheduler.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@AllArgsConstructor
+public class ReactiveAccountsServiceImpl implements IReactiveAccountsService {
+
+    private DatabaseClient databaseClient;
+    private TransactionalOperator reactiveTransactionalOperator;
+    private Validator validator;
+    private AccountNumberGenerator accountNumberGenerator;
+    private AccountsDeleteProperties accountsDeleteProperties;
+    private RegisteredMobileNumbers registeredMobileNumbers;
+    private ReactiveOutboxRecorder reactiveOutboxRecorder;
+    private AccountsOutboxProperties accountsOutboxProperties;
+    private ObjectProvider<AuditTrail> auditTrail;
+    private AuditorAware<String> auditorAware;
+
+    /**
+     * @param customerDto - CustomerDto Object
+     * @return completes once the customer and the account are stored
+     */
+    @Override
+    public Mono<Void> createAccount(CustomerDto customerDto) {
+        // customer_seq is shared with Hibernate's pooled-lo optimizer, which owns the whole block above the
+        // value it reads, so the value itself is the only id that is safe to take here
+        Mono<Long> customerId = databaseClient.sql("select next value for customer_seq")
+                .map(row -> row.get(0, Long.class))
+                .one();
+        return customerId
+                .flatMap(id -> insertCustomer(id, customerDto)
+                        .onErrorMap(DataIntegrityViolationException.class,
+                                ex -> AccountsServiceImpl.isMobileNumberConflict(ex)
+                                        ? new CustomerAlreadyExistsException("Customer already registered with given mobileNumber "
+                                                + customerDto.getMobileNumber())
+                                        : ex)
+                        .then(nextAccountNumber())
+                        .flatMap(accountNumber -> bindCreated(databaseClient.sql("""
+                                        insert into accounts (customer_id, account_number, account_type, branch_address,
+                                                              created_at, created_by, version)
+                                        values (:customerId, :accountNumber, :accountType, :branchAddress,
+                                                :createdAt, :createdBy, 0)""")
+                                .bind("customerId", id)
+                                .bind("accountNumber", accountNumber)
+                                .bind("accountType", AccountsConstants.SAVINGS)
+                                .bind("branchAddress", AccountsConstants.ADDRESS))
+                                .fetch().rowsUpdated()
+                                .then(reactiveOutboxRecorder.accountCreated(
+                                        new Customer(id, customerDto.getName(), customerDto.getEmail(),
+                                                customerDto.getMobileNumber()),
+                                        new Accounts(id, accountNumber, AccountsConstants.SAVINGS,
+                                                AccountsConstants.ADDRESS)))
+                                .thenReturn(List.of(auditRecord(Customer.class, id, AuditAction.INSERT),
+                                        auditRecord(Accounts.class, accountNumber, AuditAction.INSERT)))))
+                .as(reactiveTransactionalOperator::transactional)
+                .flatMap(this::audit);
+    }
+
+    /**
+     * @param customerId - Customer Id taken from customer_seq
+     * @param customerDto - CustomerDto Object
+     * @return rows inserted
+     */
+    private Mono<Long> insertCustomer(Long customerId, CustomerDto customerDto) {
+        GenericExecuteSpec insert = databaseClient.sql("""
+                        insert into customer (customer_id, name, email, mobile_number, created_at, created_by, version)
+                        values (:customerId, :name, :email, :mobileNumber, :createdAt, :createdBy, 0)""")
+                .bind("customerId", customerId);
+        insert = bindCreated(insert);
+        insert = bindNullable(insert, "name", customerDto.getName());
+        insert = bindNullable(insert, "email", customerDto.getEmail());
+        insert = bindNullable(insert, "mobileNumber", customerDto.getMobileNumber());
+        // written around JPA, so the filter is told before the insert runs
+        registeredMobileNumbers.add(customerDto.getMobileNumber());
+        return insert.fetch().rowsUpdated();
+    }
+
+    /**
+     * @return the next account number, off the event loop because a block refill queries the database over JDBC
+     */
+    private Mono<Long> nextAccountNumber() {
+        return Mono.fromCallable(accountNumberGenerator::nextAccountNumber)
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * @param mobileNumber - Input Mobile Number
+     * @return Accounts Details based on a given mobileNumber
+     */
+    @Override
+    public Mono<CustomerDto> fetchAccount(String mobileNumber) {
+        if (!registeredMobileNumbers.mightContain(mobileNumber)) {
+            return Mono.error(new ResourceNotFoundException("Customer", "mobileNumber", mobileNumber));
+        }
+        return databaseClient.sql("""
+                        select c.name, c.email, c.mobile_number, c.version,
+                               a.account_number, a.account_type, a.branch_address, a.version as account_version
+                        from customer c join accounts a on a.customer_id = c.customer_id
+                        where c.mobile_number = :mobileNumber and c.deleted_at is null and a.deleted_at is null""")
+                .bind("mobileNumber", mobileNumber)
+                .map(row -> new CustomerDto(
+                        row.get("name", String.class),
+                        row.get("email", String.class),
+                        row.get("mobile_number", String.class),
+                        row.get("version", Long.class),
+                        row.get("account_number", Long.class),
+                        row.get("account_type", String.class),
+                        row.get("branch_address", String.class),
+                        row.get("account_version", Long.class)))
+                .one()
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Customer", "mobileNumber", mobileNumber)));
+    }
+
+    /**
+     * @param customerDto - CustomerDto Object
+     * @return boolean indicating if the update of Account details is successful or not
+     */
+    @Override
+    public Mono<Boolean> updateAccount(CustomerDto customerDto) {
+        AccountsDto accountsDto = customerDto.getAccountsDto();
+        if (accountsDto == null) {
+            return Mono.just(false);
+        }
+        return findAccount(accountsDto.getAccountNumber())
+                .flatMap(account -> {
+                    AccountsServiceImpl.checkVersion(accountsDto.getVersion(), account.version(),
+                            Accounts.class, accountsDto.getAccountNumber());
+                    GenericExecuteSpec update = databaseClient.sql("""
+                                    update accounts set account_type = :accountType, branch_address = :branchAddress,
+                                           updated_at = :updatedAt, updated_by = :updatedBy, version = version + 1
+                                    where account_number = :accountNumber and version = :version and deleted_at is null""")
+                            .bind("accountNumber", accountsDto.getAccountNumber())
+                            .bind("version", account.version());
+                    update = bindModified(update);
+                    update = bindNullable(update, "accountType", accountsDto.getAccountType());
+                    update = bindNullable(update, "branchAddress", accountsDto.getBranchAddress());
+                    return update.fetch().rowsUpdated()
+                            .flatMap(updated -> requireUpdated(updated, Accounts.class, accountsDto.getAccountNumber()))
+                            .then(findCustomer(account.customerId()))
+                            .flatMap(customer -> {
+                                AccountsServiceImpl.checkVersion(customerDto.getVersion(), customer.version(),
+                                        Customer.class, account.customerId());
+                                GenericExecuteSpec customerUpdate = databaseClient.sql("""
+                                                update customer set name = :name, email = :email, mobile_number = :mobileNumber,
+                                                       updated_at = :updatedAt, updated_by = :updatedBy, version = version + 1
+                                                where customer_id = :customerId and version = :version and deleted_at is null""")
+                                        .bind("customerId", account.customerId())
+                                        .bind("version", customer.version());
+                                customerUpdate = bindModified(customerUpdate);
+                                customerUpdate = bindNullable(customerUpdate, "name", customerDto.getName());
+                                customerUpdate = bindNullable(customerUpdate, "email", customerDto.getEmail());
+                                customerUpdate = bindNullable(customerUpdate, "mobileNumber", customerDto.getMobileNumber());
+                                registeredMobileNumbers.add(customerDto.getMobileNumber());
+                                return customerUpdate.fetch().rowsUpdated()
+                                        .flatMap(updated -> requireUpdated(updated, Customer.class, account.customerId()))
+                                        .then(recordUpdate(customer.mobileNumber(), accountsDto.getAccountNumber()))
+                                        .thenReturn(List.of(
+                                                auditRecord(Customer.class, account.customerId(), AuditAction.UPDATE),
+                                                auditRecord(Accounts.class, accountsDto.getAccountNumber(),
+                                                        AuditAction.UPDATE)));
+                            });
+                })
+                .as(reactiveTransactionalOperator::transactional)
+                .flatMap(this::audit)
+                .thenReturn(true);
+    }
+
+    /**
+     * @param customerDto - CustomerDto Object carrying only the fields to change
+     * @return boolean indicating if the update of Account details is successful or not
+     */
+    @Override
+    public Mono<Boolean> patchAccount(CustomerDto customerDto) {
+        AccountsDto accountsDto = customerDto.getAccountsDto();
+        if (accountsDto == null || accountsDto.getAccountNumber() == null) {
+            return Mono.just(false);
+        }
+        return Mono.fromRunnable(() -> AccountsServiceImpl.validatePresentFields(validator, customerDto, accountsDto))
+                .then(findAccount(accountsDto.getAccountNumber()))
+                .flatMap(account -> {
+                    AccountsServiceImpl.checkVersion(accountsDto.getVersion(), account.version(),
+                            Accounts.class, accountsDto.getAccountNumber());
+                    GenericExecuteSpec update = databaseClient.sql("""
+                                    update accounts set account_type = coalesce(:accountType, account_type),
+                                           branch_address = coalesce(:branchAddress, branch_address),
+                                           updated_at = :updatedAt, updated_by = :updatedBy, version = version + 1
+                                    where account_number = :accountNumber and version = :version and deleted_at is null""")
+                            .bind("accountNumber", accountsDto.getAccountNumber())
+                            .bind("version", account.version());
+                    update = bindModified(update);
+                    update = bindNullable(update, "accountType", accountsDto.getAccountType());
+                    update = bindNullable(update, "branchAddress", accountsDto.getBranchAddress());
+                    return update.fetch().rowsUpdated()
+                            .flatMap(updated -> requireUpdated(updated, Accounts.class, accountsDto.getAccountNumber()))
+                            .then(findCustomer(account.customerId()))
+                            .flatMap(customer -> {
+                                AccountsServiceImpl.checkVersion(customerDto.getVersion(), customer.version(),
+                                        Customer.class, account.customerId());
+                                GenericExecuteSpec customerUpdate = databaseClient.sql("""
+                                                update customer set name = coalesce(:name, name), email = coalesce(:email, email),
+                                                       mobile_number = coalesce(:mobileNumber, mobile_number),
+                                                       updated_at = :updatedAt, updated_by = :updatedBy, version = version + 1
+                                                where customer_id = :customerId and version = :version and deleted_at is null""")
+                                        .bind("customerId", account.customerId())
+                                        .bind("version", customer.version());
+                                customerUpdate = bindModified(customerUpdate);
+                                customerUpdate = bindNullable(customerUpdate, "name", customerDto.getName());
+                                customerUpdate = bindNullable(customerUpdate, "email", customerDto.getEmail());
+                                customerUpdate = bindNullable(customerUpdate, "mobileNumber", customerDto.getMobileNumber());
+                                registeredMobileNumbers.add(customerDto.getMobileNumber());
+                                return customerUpdate.fetch().rowsUpdated()
+                                        .flatMap(updated -> requireUpdated(updated, Customer.class, account.customerId()))
+                                        .then(recordUpdate(customer.mobileNumber(), accountsDto.getAccountNumber()))
+                                        .thenReturn(List.of(
+                                                auditRecord(Customer.class, account.customerId(), AuditAction.UPDATE),
+                                                auditRecord(Accounts.class, accountsDto.getAccountNumber(),
+                                                        AuditAction.UPDATE)));
+                            });
+                })
+                .as(reactiveTransactionalOperator::transactional)
+                .flatMap(this::audit)
+                .thenReturn(true);
+    }
+
+    /**
+     * @param spec - statement to bind
+     * @param name - parameter name
+     * @param value - column value, may be null (in a partial update null keeps the stored value)
+     * @return the statement with the parameter bound
+     */
+    private static GenericExecuteSpec bindNullable(GenericExecuteSpec spec, String name, String value) {
+        return value == null ? spec.bindNull(name, String.class) : spec.bind(name, value);
+    }
+
+    /**
+     * @param spec - insert statement to bind
+     * @return the statement with created_at and created_by bound, as JPA auditing fills them on the other stack;
+     *         the customer listing filters on created_at
+     */
+    private GenericExecuteSpec bindCreated(GenericExecuteSpec spec) {
+        return bindNullable(spec.bind("createdAt", LocalDateTime.now()), "createdBy",
+                auditorAware.getCurrentAuditor().orElse(null));
+    }
+
+    /**
+     * @param spec - update statement to bind
+     * @return the statement with updated_at and updated_by bound, as JPA auditing fills them on the other stack
+     */
+    private GenericExecuteSpec bindModified(GenericExecuteSpec spec) {
+        return bindNullable(spec.bind("updatedAt", LocalDateTime.now()), "updatedBy",
+                auditorAware.getCurrentAuditor().orElse(null));
+    }
+
+    /**
+     * @param mobileNumber - Input Mobile Number
+     * @return boolean indicating if the delete of Account details is successful or not
+     */
+    @Override
+    public Mono<Boolean> deleteAccount(String mobileNumber) {
+        if (!registeredMobileNumbers.mightContain(mobileNumber)) {
+            return Mono.error(new ResourceNotFoundException("Customer", "mobileNumber", mobileNumber));
+        }
+        Mono<Long> deletedCustomers;
+        if (accountsDeleteProperties.isSoft()) {
+            LocalDateTime deletedAt = LocalDateTime.now();
+            deletedCustomers = databaseClient.sql("""
+                            update accounts set deleted_at = :deletedAt where deleted_at is null and customer_id in
+                                (select customer_id from customer where mobile_number = :mobileNumber and deleted_at is null)""")
+                    .bind("deletedAt", deletedAt)
+                    .bind("mobileNumber", mobileNumber)
+                    .fetch().rowsUpdated()
+                    .then(databaseClient.sql("""
+                                    update customer set deleted_at = :deletedAt
+                                    where mobile_number = :mobileNumber and deleted_at is null""")
+                            .bind("deletedAt", deletedAt)
+                            .bind("mobileNumber", mobileNumber)
+                            .fetch().rowsUpdated());
+        } else {
+            deletedCustomers = databaseClient.sql("""
+                            delete from accounts where customer_id in
+                                (select customer_id from customer where mobile_number = :mobileNumber and deleted_at is null)""")
+                    .bind("mobileNumber", mobileNumber)
+                    .fetch().rowsUpdated()
+                    .then(databaseClient.sql("delete from customer where mobile_number = :mobileNumber and deleted_at is null")
+                            .bind("mobileNumber", mobileNumber)
+                            .fetch().rowsUpdated());
+        }
+        return deletedCustomers
+                .flatMap(deleted -> deleted == 0
+                        ? Mono.<Boolean>error(new ResourceNotFoundException("Customer", "mobileNumber", mobileNumber))
+                        : reactiveOutboxRecorder.accountDeleted(mobileNumber, accountsDeleteProperties.isSoft())
+                                .thenReturn(true))
+                .as(reactiveTransactionalOperator::transactional)
+                // recorded by mobile number like the bulk delete of the JPA side
+                .flatMap(deleted -> audit(List.of(auditRecord(Customer.class, mobileNumber,
+                        accountsDeleteProperties.isSoft() ? AuditAction.SOFT_DELETE : AuditAction.DELETE)))
+                        .thenReturn(deleted));
+    }
+
+    /**
+     * @param accountNumber - Account Number
+     * @return owning customer and row version of the account
+     */
+    private Mono<AccountRow> findAccount(Long accountNumber) {
+        return databaseClient.sql("""
+                        select customer_id, version from accounts
+                        where account_number = :accountNumber and deleted_at is null""")
+                .bind("accountNumber", accountNumber)
+                .map(row -> new AccountRow(row.get("customer_id", Long.class), row.get("version", Long.class)))
+                .one()
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Account", "AccountNumber", accountNumber.toString())));
+    }
+
+    /**
+     * @param customerId - Customer Id
+     * @return row version and current mobile number of the customer
+     */
+    private Mono<CustomerRow> findCustomer(Long customerId) {
+        return databaseClient.sql("""
+                        select version, mobile_number from customer
+                        where customer_id = :customerId and deleted_at is null""")
+                .bind("customerId", customerId)
+                .map(row -> new CustomerRow(row.get("version", Long.class), row.get("mobile_number", String.class)))
+                .one()
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Customer", "CustomerID", customerId.toString())));
+    }
+
+    /**
+     * Reads the updated rows back in the same transaction, a partial update only knows the fields it changed.
+     *
+     * @param previousMobileNumber - Mobile Number the customer had before the update
+     * @param accountNumber - Account Number of the updated account
+     * @return completes once the update event is written
+     */
+    private Mono<Void> recordUpdate(String previousMobileNumber, Long accountNumber) {
+        if (!accountsOutboxProperties.isEnabled()) {
+            return Mono.empty();
+        }
+        return databaseClient.sql("""
+                        select c.customer_id, c.name, c.email, c.mobile_number, a.account_type, a.branch_address
+                        from accounts a join customer c on c.customer_id = a.customer_id
+                        where a.account_number = :accountNumber""")
+                .bind("accountNumber", accountNumber)
+                .map(row -> reactiveOutboxRecorder.accountUpdated(previousMobileNumber,
+                        new Customer(row.get("customer_id", Long.class), row.get("name", String.class),
+                                row.get("email", String.class), row.get("mobile_number", String.class)),
+                        new Accounts(row.get("customer_id", Long.class), accountNumber,
+                                row.get("account_type", String.class), row.get("branch_address", String.class))))
+                .one()
+                .flatMap(event -> event);
+    }
+
+    /**
+     * @param entityClass - entity that was changed
+     * @param id - identifier of the changed row
+     * @param action - kind of change
+     * @return audit record of the change, without attribute diffs
+     */
+    private AuditRecord auditRecord(Class<?> entityClass, Object id, AuditAction action) {
+        return new AuditRecord(entityClass.getSimpleName(), String.valueOf(id), action, null,
+                auditorAware.getCurrentAuditor().orElse(null), LocalDateTime.now());
+    }
+
+    /**
+     * @param auditRecords - changes of a committed transaction
+     * @return completes once the records are buffered, at once when auditing is disabled
+     */
+    private Mono<Void> audit(List<AuditRecord> auditRecords) {
+        AuditTrail trail = auditTrail.getIfAvailable();
+        if (trail == null) {
+            return Mono.empty();
+        }
+        // the BLOCK overflow policy may wait for room in the buffer, which the event loop must not
+        return Mono.<Void>fromRunnable(() -> auditRecords.forEach(trail::record))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * @param updated - rows changed by a versioned update
+     * @param entityClass - entity being updated
+     * @param id - identifier of the entity being updated
+     * @return empty when the row was changed, an optimistic locking failure when a concurrent update won
+     */
+    private static Mono<Void> requireUpdated(Long updated, Class<?> entityClass, Object id) {
+        return updated == 0 ? Mono.error(new ObjectOptimisticLockingFailureException(entityClass, id)) : Mono.empty();
+    }
+
+    private record AccountRow(Long customerId, Long version) {
+    }
+
+    private record CustomerRow(Long version, String mobileNumber) {
+    }
+
+}
@@ -0,0 +1,224 @@
+package com.eazybytes.accounts.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Predicate;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import com.eazybytes.accounts.dto.BatchItemResponseDto;
+import com.eazybytes.accounts.dto.BatchResponseDto;
+import com.eazybytes.accounts.dto.CustomerDto;
+import com.eazybytes.accounts.dto.CustomerPageDto;
+import com.eazybytes.accounts.dto.CustomerVersionDto;
+import com.eazybytes.accounts.exception.ResourceNotFoundException;
+import com.eazybytes.accounts.generator.AccountNumberGenerator;
+import com.eazybytes.accounts.service.IAccountsService;
+import com.eazybytes.accounts.sharding.ShardContext;
+import com.eazybytes.accounts.sharding.ShardRebalancer;
+import com.eazybytes.accounts.sharding.ShardRouter;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs every {@link AccountsServiceImpl} call on the shard that holds its data: by the hash of the mobile
+ * number, or by the shard encoded in the account number for updates. The shard is chosen before the
+ * delegate's transaction starts, so each transaction stays on one database. Batches are split per shard
+ * and listing queries all shards in parallel and merges the pages by customer id.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "accounts.sharding", name = "enabled", havingValue = "true")
+public class ShardedAccountsService implements IAccountsService {
+
+    private final IAccountsService delegate;
+    private final ShardRouter shardRouter;
+    private final ShardRebalancer shardRebalancer;
+    private final AccountNumberGenerator accountNumberGenerator;
+
+    public ShardedAccountsService(@Qualifier("accountsServiceImpl") IAccountsService delegate, ShardRouter shardRouter,
+                                  ShardRebalancer shardRebalancer, AccountNumberGenerator accountNumberGenerator) {
+        this.delegate = delegate;
+        this.shardRouter = shardRouter;
+        this.shardRebalancer = shardRebalancer;
+        this.accountNumberGenerator = accountNumberGenerator;
+    }
+
+    @Override
+    public void createAccount(CustomerDto customerDto) {
+        ShardContext.runOn(shardRouter.shardForMobileNumber(customerDto.getMobileNumber()),
+                () -> delegate.createAccount(customerDto));
+    }
+
+    /**
+     * Creates the customers of every shard in that shard's own transaction; a failure on one shard does not
+     * undo the customers already created on another.
+     */
+    @Override
+    public BatchResponseDto createAccounts(List<CustomerDto> customerDtos) {
+        Map<Integer, List<Integer>> indexesByShard = new TreeMap<>();
+        for (int index = 0; index < customerDtos.size(); index++) {
+            CustomerDto customerDto = customerDtos.get(index);
+            // items without a mobile number go to shard 0, whose delegate reports them as failures
+            String mobileNumber = customerDto == null ? null : customerDto.getMobileNumber();
+            indexesByShard.computeIfAbsent(shardRouter.shardForMobileNumber(mobileNumber),
+                    shard -> new ArrayList<>()).add(index);
+        }
+        int created = 0;
+        List<BatchItemResponseDto> failures = new ArrayList<>();
+        for (Map.Entry<Integer, List<Integer>> entry : indexesByShard.entrySet()) {
+            List<Integer> indexes = entry.getValue();
+            List<CustomerDto> shardCustomers = indexes.stream().map(customerDtos::get).toList();
+            BatchResponseDto shardResponse = ShardContext.callOn(entry.getKey(),
+                    () -> delegate.createAccounts(shardCustomers));
+            created += shardResponse.getCreated();
+            for (BatchItemResponseDto failure : shardResponse.getFailures()) {
+                // the delegate reports positions in the shard's part of the batch
+                failure.setIndex(indexes.get(failure.getIndex()));
+                failures.add(failure);
+            }
+        }
+        failures.sort(Comparator.comparingInt(BatchItemResponseDto::getIndex));
+        return new BatchResponseDto(customerDtos.size(), created, failures.size(), failures);
+    }
+
+    @Override
+    public CustomerDto fetchAccount(String mobileNumber) {
+        return ShardContext.callOn(shardRouter.shardForMobileNumber(mobileNumber),
+                () -> delegate.fetchAccount(mobileNumber));
+    }
+
+    @Override
+    public CustomerVersionDto fetchAccountVersion(String mobileNumber) {
+        return ShardContext.callOn(shardRouter.shardForMobileNumber(mobileNumber),
+                () -> delegate.fetchAccountVersion(mobileNumber));
+    }
+
+    /**
+     * Asks every shard for a page after the cursor and keeps the lowest customer ids of all of them. Customer
+     * ids are unique across shards, so the cursor of the merged page is valid on every shard.
+     */
+    @Override
+    public CustomerPageDto fetchCustomers(String cursor, int size, String accountType,
+                                          LocalDateTime createdFrom, LocalDateTime createdTo) {
+        // rejects a foreign cursor here rather than once per shard
+        AccountsServiceImpl.decodeCursor(cursor);
+        List<CustomerPageDto> pages = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<CustomerPageDto>> futures = new ArrayList<>();
+            for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+                int target = shard;
+                futures.add(executor.submit(() -> ShardContext.callOn(target,
+                        () -> delegate.fetchCustomers(cursor, size, accountType, createdFrom, createdTo))));
+            }
+            for (Future<CustomerPageDto> future : futures) {
+                pages.add(future.get());
+            }
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while listing customers", ex);
+        }
+
+        List<CustomerDto> customers = new ArrayList<>();
+        boolean more = false;
+        for (CustomerPageDto page : pages) {
+            customers.addAll(page.getCustomers());
+            more |= page.getNextCursor() != null;
+        }
+        customers.sort(Comparator.comparing(CustomerDto::getCustomerId));
+        if (customers.size() > size) {
+            customers = new ArrayList<>(customers.subList(0, size));
+            more = true;
+        }
+        String nextCursor = more ? AccountsServiceImpl.encodeCursor(customers.get(size - 1).getCustomerId()) : null;
+        return new CustomerPageDto(customers, nextCursor);
+    }
+
+    @Override
+    public boolean updateAccount(CustomerDto customerDto) {
+        return onAccountShard(customerDto, delegate::updateAccount);
+    }
+
+    @Override
+    public boolean patchAccount(CustomerDto customerDto) {
+        return onAccountShard(customerDto, delegate::patchAccount);
+    }
+
+    @Override
+    public boolean deleteAccount(String mobileNumber) {
+        return ShardContext.callOn(shardRouter.shardForMobileNumber(mobileNumber),
+                () -> delegate.deleteAccount(mobileNumber));
+    }
+
+    /**
+     * Runs an update on the shard the account is on. That is the shard of the mobile number, or the shard
+     * encoded in the account number when the update changes the mobile number; the other shards are only
+     * tried when the account is found on neither. A customer whose new mobile number hashes to another shard
+     * claims the number there before the update and is moved there after it; when the move fails the update
+     * stands and the claim keeps the number reserved until the rebalancer finishes the move.
+     */
+    private boolean onAccountShard(CustomerDto customerDto, Predicate<CustomerDto> update) {
+        Long accountNumber = customerDto.getAccountsDto() == null ? null
+                : customerDto.getAccountsDto().getAccountNumber();
+        if (accountNumber == null) {
+            return ShardContext.callOn(0, () -> update.test(customerDto));
+        }
+        String mobileNumber = customerDto.getMobileNumber();
+        Set<Integer> candidates = new LinkedHashSet<>();
+        if (mobileNumber != null) {
+            candidates.add(shardRouter.shardForMobileNumber(mobileNumber));
+        }
+        candidates.add(accountNumberGenerator.shardOf(accountNumber) % shardRouter.getShardCount());
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            candidates.add(shard);
+        }
+
+        Iterator<Integer> shards = candidates.iterator();
+        while (true) {
+            int shard = shards.next();
+            int target = mobileNumber == null ? shard : shardRouter.shardForMobileNumber(mobileNumber);
+            try {
+                boolean claimed = target != shard && shardRebalancer.claim(target, mobileNumber, accountNumber);
+                boolean updated = false;
+                try {
+                    updated = ShardContext.callOn(shard, () -> update.test(customerDto));
+                } finally {
+                    if (claimed && !updated) {
+                        shardRebalancer.releaseClaim(target, mobileNumber);
+                    }
+                }
+                if (updated && target != shard) {
+                    try {
+                        shardRebalancer.moveCustomer(mobileNumber, shard, target);
+                    } catch (RuntimeException ex) {
+                        log.warn("Customer {} stays on shard {} until the next rebalance", mobileNumber, shard, ex);
+                    }
+                }
+                return updated;
+            } catch (ResourceNotFoundException ex) {
+                if (!shards.hasNext()) {
+                    throw ex;
+                }
+            }
+        }
+    }
+
+}
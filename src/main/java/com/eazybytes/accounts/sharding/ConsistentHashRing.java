@@ -0,0 +1,52 @@
+package com.eazybytes.accounts.sharding;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import com.eazybytes.accounts.util.Hashing;
+
+/**
+ * Maps keys to shards with consistent hashing: every shard owns {@code virtualNodes} points on a 64 bit
+ * ring and a key belongs to the first point at or after its own hash. Shards are placed by name, so
+ * appending a shard only moves the keys the new shard takes over, about 1/N of them.
+ */
+public class ConsistentHashRing {
+
+    private final NavigableMap<Long, Integer> ring = new TreeMap<>();
+
+    /**
+     * @param shardNames - names of the shards, the position in the list is the shard index returned
+     * @param virtualNodes - points per shard on the ring
+     */
+    public ConsistentHashRing(List<String> shardNames, int virtualNodes) {
+        if (shardNames.isEmpty()) {
+            throw new IllegalArgumentException("At least one shard is required");
+        }
+        for (int shard = 0; shard < shardNames.size(); shard++) {
+            for (int node = 0; node < virtualNodes; node++) {
+                ring.put(hash(shardNames.get(shard) + "#" + node), shard);
+            }
+        }
+    }
+
+    /**
+     * @param key - key to place, not null
+     * @return index of the shard owning the key
+     */
+    public int shardFor(String key) {
+        Map.Entry<Long, Integer> owner = ring.ceilingEntry(hash(key));
+        return owner != null ? owner.getValue() : ring.firstEntry().getValue();
+    }
+
+    /**
+     * FNV-1a over the UTF-8 bytes, not the chars: the two differ for non-ASCII shard names, and existing
+     * customers were placed with the bytes.
+     */
+    static long hash(String key) {
+        return Hashing.hash(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
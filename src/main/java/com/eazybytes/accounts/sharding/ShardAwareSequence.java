@@ -0,0 +1,30 @@
+package com.eazybytes.accounts.sharding;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+/**
+ * Generates the annotated id with {@link ShardAwareSequenceGenerator} from the given sequence.
+ */
+@IdGeneratorType(ShardAwareSequenceGenerator.class)
+@Retention(RUNTIME)
+@Target({FIELD, METHOD})
+public @interface ShardAwareSequence {
+
+    /**
+     * @return name of the database sequence
+     */
+    String sequenceName();
+
+    /**
+     * @return ids handed out per sequence call, the increment the sequence is created with
+     */
+    int incrementSize() default 50;
+
+}
@@ -0,0 +1,65 @@
+package com.eazybytes.accounts.sharding;
+
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.enhanced.Optimizer;
+import org.hibernate.id.enhanced.OptimizerFactory;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+/**
+ * Sequence generator that keeps the optimizer state (the block of ids fetched with one sequence call)
+ * per shard. A block drawn from one shard's sequence is only handed out on that shard, so every
+ * customer id lies in the id range of the shard it is stored on. Without sharding the current shard
+ * is always 0 and this behaves exactly like the standard sequence generator.
+ * <p>
+ * Applied to an id through {@link ShardAwareSequence}.
+ */
+public class ShardAwareSequenceGenerator extends SequenceStyleGenerator {
+
+    private final AtomicReferenceArray<Optimizer> optimizers = new AtomicReferenceArray<>(ShardRouter.MAX_SHARDS);
+    private final ShardAwareSequence sequence;
+    private StandardOptimizerDescriptor optimizerDescriptor;
+    private Class<?> returnClass;
+
+    public ShardAwareSequenceGenerator(ShardAwareSequence sequence) {
+        this.sequence = sequence;
+    }
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) {
+        Properties sequenceParameters = new Properties();
+        sequenceParameters.putAll(parameters);
+        sequenceParameters.setProperty(SEQUENCE_PARAM, sequence.sequenceName());
+        sequenceParameters.setProperty(INCREMENT_PARAM, String.valueOf(sequence.incrementSize()));
+        super.configure(type, sequenceParameters, serviceRegistry);
+        Optimizer optimizer = getOptimizer();
+        optimizers.set(0, optimizer);
+        for (StandardOptimizerDescriptor descriptor : StandardOptimizerDescriptor.values()) {
+            if (descriptor.getOptimizerClass() == optimizer.getClass()) {
+                optimizerDescriptor = descriptor;
+            }
+        }
+        returnClass = type.getReturnedClass();
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        return optimizer(ShardContext.current()).generate(getDatabaseStructure().buildCallback(session));
+    }
+
+    private Optimizer optimizer(int shard) {
+        Optimizer optimizer = optimizers.get(shard);
+        if (optimizer == null) {
+            optimizers.compareAndSet(shard, null, OptimizerFactory.buildOptimizer(optimizerDescriptor, returnClass,
+                    getOptimizer().getIncrementSize(), -1L));
+            optimizer = optimizers.get(shard);
+        }
+        return optimizer;
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.eazybytes.accounts.sharding;
+
+import java.util.function.Supplier;
+
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Shard the current thread works on, read by {@link ShardRoutingDataSource} whenever a connection is
+ * fetched. It has to be set before a transaction starts: a transaction keeps the connection it began
+ * with, so switching shards inside one is refused.
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    /**
+     * @return shard of the current thread, shard 0 when none was chosen
+     */
+    public static int current() {
+        Integer shard = CURRENT.get();
+        return shard == null ? 0 : shard;
+    }
+
+    /**
+     * @param shard - shard the call works on
+     * @param call - work to run, typically a transactional service or repository call
+     * @return result of the call
+     */
+    public static <T> T callOn(int shard, Supplier<T> call) {
+        Integer previous = CURRENT.get();
+        if (previous != null && previous != shard && TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Cannot switch from shard " + previous + " to shard " + shard
+                    + " inside a transaction");
+        }
+        CURRENT.set(shard);
+        try {
+            return call.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    public static void runOn(int shard, Runnable call) {
+        callOn(shard, () -> {
+            call.run();
+            return null;
+        });
+    }
+
+}
@@ -0,0 +1,203 @@
+package com.eazybytes.accounts.sharding;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.eazybytes.accounts.exception.CustomerAlreadyExistsException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves customers, with their accounts, to the shard the ring assigns them to. A move locks the source
+ * row, copies the rows to the target shard in one transaction and then deletes them in the still open
+ * source transaction; an interrupted move leaves a copy on both shards, and moving the same customer
+ * again finds the copy through the unique mobile number and only finishes the delete. Moved customers
+ * get a customer id from the target's range, account numbers are kept.
+ * <p>
+ * An update that gives a customer a mobile number of another shard first {@link #claim claims} the number
+ * there with a hidden placeholder row, so the unique mobile number index on the target refuses anyone
+ * else the number while the customer still lives on its old shard; the move then takes the claim over.
+ */
+@Slf4j
+public class ShardRebalancer {
+
+    private static final String SELECT_CUSTOMER = "select customer_id, name, email, mobile_number, created_at, "
+            + "created_by, updated_at, updated_by, version, deleted_at from customer where mobile_number = ?";
+    private static final String SELECT_ACCOUNTS = "select account_number, account_type, branch_address, created_at, "
+            + "created_by, updated_at, updated_by, version, deleted_at from accounts where customer_id = ?";
+    private static final String INSERT_CUSTOMER = "insert into customer (customer_id, name, email, mobile_number, "
+            + "created_at, created_by, updated_at, updated_by, version, deleted_at) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_ACCOUNT = "insert into accounts (customer_id, account_number, account_type, "
+            + "branch_address, created_at, created_by, updated_at, updated_by, version, deleted_at) "
+            + "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String CLAIMED_BY = "SHARD_MOVE";
+    // a claim is soft-deleted so that reads never see it; updated_by holds the account that claimed it
+    private static final String INSERT_CLAIM = "insert into customer (customer_id, name, email, mobile_number, "
+            + "created_at, created_by, updated_by, deleted_at) values (?, '', '', ?, ?, '" + CLAIMED_BY + "', ?, ?)";
+    private static final String TAKE_OVER_CLAIM = "update customer set name = ?, email = ?, created_at = ?, "
+            + "created_by = ?, updated_at = ?, updated_by = ?, version = ?, deleted_at = ? "
+            + "where mobile_number = ? and created_by = '" + CLAIMED_BY + "'";
+
+    private final ShardRouter shardRouter;
+    private final int batchSize;
+    private final List<TransactionTemplate> transactionTemplates;
+
+    public ShardRebalancer(ShardRouter shardRouter, int batchSize) {
+        this.shardRouter = shardRouter;
+        this.batchSize = batchSize;
+        this.transactionTemplates = IntStream.range(0, shardRouter.getShardCount())
+                .mapToObj(shard -> new TransactionTemplate(new DataSourceTransactionManager(shardRouter.dataSource(shard))))
+                .toList();
+    }
+
+    /**
+     * Scans every shard and moves the customers the ring places elsewhere.
+     *
+     * @return number of customers moved
+     * @throws CustomerAlreadyExistsException if a different customer holds a moved mobile number on its target
+     */
+    public int rebalance() {
+        int moved = 0;
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            long after = -1;
+            List<Map<String, Object>> page;
+            do {
+                page = shardRouter.jdbcTemplate(shard).queryForList(
+                        "select customer_id, mobile_number from customer where customer_id > ? order by customer_id limit ?",
+                        after, batchSize);
+                for (Map<String, Object> row : page) {
+                    after = ((Number) row.get("customer_id")).longValue();
+                    String mobileNumber = (String) row.get("mobile_number");
+                    int target = shardRouter.shardForMobileNumber(mobileNumber);
+                    if (target != shard) {
+                        moveCustomer(mobileNumber, shard, target);
+                        moved++;
+                    }
+                }
+            } while (page.size() == batchSize);
+        }
+        log.info("Rebalanced {} customers across {} shards", moved, shardRouter.getShardCount());
+        return moved;
+    }
+
+    /**
+     * Reserves a mobile number on the shard it belongs on for a customer that is still on another shard.
+     *
+     * @param shard - shard the mobile number belongs on
+     * @param mobileNumber - Mobile Number to reserve
+     * @param accountNumber - Account Number of the customer taking the mobile number
+     * @return true if the claim was made now, false if the account already held it
+     * @throws CustomerAlreadyExistsException if a customer, or a claim of another account, holds the mobile number
+     */
+    public boolean claim(int shard, String mobileNumber, long accountNumber) {
+        JdbcTemplate jdbcTemplate = shardRouter.jdbcTemplate(shard);
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            jdbcTemplate.update(INSERT_CLAIM, jdbcTemplate.queryForObject("select next value for customer_seq", Long.class),
+                    mobileNumber, now, String.valueOf(accountNumber), now);
+            return true;
+        } catch (DuplicateKeyException ex) {
+            Integer held = jdbcTemplate.queryForObject("select count(*) from customer where mobile_number = ? "
+                    + "and created_by = '" + CLAIMED_BY + "' and updated_by = ?", Integer.class,
+                    mobileNumber, String.valueOf(accountNumber));
+            if (held == null || held == 0) {
+                throw new CustomerAlreadyExistsException("Customer already registered with given mobileNumber "
+                        + mobileNumber);
+            }
+            return false;
+        }
+    }
+
+    /**
+     * @param shard - shard the claim was made on
+     * @param mobileNumber - Mobile Number to give up again
+     */
+    public void releaseClaim(int shard, String mobileNumber) {
+        shardRouter.jdbcTemplate(shard).update("delete from customer where mobile_number = ? and created_by = '"
+                + CLAIMED_BY + "'", mobileNumber);
+    }
+
+    /**
+     * @param mobileNumber - Mobile Number of the customer to move
+     * @param source - shard the customer is on
+     * @param target - shard the customer belongs on
+     * @throws CustomerAlreadyExistsException if a different customer holds the mobile number on the target
+     */
+    public void moveCustomer(String mobileNumber, int source, int target) {
+        JdbcTemplate from = shardRouter.jdbcTemplate(source);
+        JdbcTemplate to = shardRouter.jdbcTemplate(target);
+        // the source row stays locked until it is deleted, so no update to it commits while it is copied
+        boolean moved = transactionTemplates.get(source).execute(sourceStatus -> {
+            List<Map<String, Object>> customers = from.queryForList(SELECT_CUSTOMER + " for update", mobileNumber);
+            if (customers.isEmpty()) {
+                return false;
+            }
+            Map<String, Object> customer = customers.get(0);
+            Object sourceCustomerId = customer.get("customer_id");
+            List<Map<String, Object>> accounts = from.queryForList(SELECT_ACCOUNTS, sourceCustomerId);
+
+            boolean copied = transactionTemplates.get(target).execute(status -> {
+                Long customerId;
+                if (to.update(TAKE_OVER_CLAIM, customer.get("name"), customer.get("email"), customer.get("created_at"),
+                        customer.get("created_by"), customer.get("updated_at"), customer.get("updated_by"),
+                        customer.get("version"), customer.get("deleted_at"), mobileNumber) == 1) {
+                    customerId = to.queryForObject("select customer_id from customer where mobile_number = ?",
+                            Long.class, mobileNumber);
+                } else {
+                    // a value drawn from the sequence is never handed out by the pooled-lo id generator
+                    customerId = to.queryForObject("select next value for customer_seq", Long.class);
+                    try {
+                        to.update(INSERT_CUSTOMER, customerId, customer.get("name"), customer.get("email"),
+                                mobileNumber, customer.get("created_at"), customer.get("created_by"),
+                                customer.get("updated_at"), customer.get("updated_by"), customer.get("version"),
+                                customer.get("deleted_at"));
+                    } catch (DuplicateKeyException ex) {
+                        status.setRollbackOnly();
+                        return false;
+                    }
+                }
+                for (Map<String, Object> account : accounts) {
+                    to.update(INSERT_ACCOUNT, customerId, account.get("account_number"), account.get("account_type"),
+                            account.get("branch_address"), account.get("created_at"), account.get("created_by"),
+                            account.get("updated_at"), account.get("updated_by"), account.get("version"),
+                            account.get("deleted_at"));
+                }
+                return true;
+            });
+            // the mobile number is only unique within a shard, so the row on the target is a copy from an
+            // earlier, interrupted move only when it holds the same accounts
+            if (!copied && !accountNumbers(to, mobileNumber).equals(accountNumbers(accounts))) {
+                throw new CustomerAlreadyExistsException("Customer already registered with given mobileNumber "
+                        + mobileNumber + " on shard " + target);
+            }
+            from.update("delete from accounts where customer_id = ?", sourceCustomerId);
+            from.update("delete from customer where customer_id = ?", sourceCustomerId);
+            return true;
+        });
+        if (moved) {
+            log.debug("Moved customer {} from shard {} to shard {}", mobileNumber, source, target);
+        }
+    }
+
+    private static Set<Long> accountNumbers(JdbcTemplate jdbcTemplate, String mobileNumber) {
+        return new HashSet<>(jdbcTemplate.queryForList("select a.account_number from accounts a join customer c "
+                + "on a.customer_id = c.customer_id where c.mobile_number = ?", Long.class, mobileNumber));
+    }
+
+    private static Set<Long> accountNumbers(List<Map<String, Object>> accounts) {
+        return accounts.stream().map(account -> ((Number) account.get("account_number")).longValue())
+                .collect(Collectors.toSet());
+    }
+
+}
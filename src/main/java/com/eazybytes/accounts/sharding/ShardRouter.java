@@ -0,0 +1,113 @@
+package com.eazybytes.accounts.sharding;
+
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.DatabasePopulatorUtils;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Knows the shard databases and which shard a key lives on. Mobile numbers are placed with a
+ * {@link ConsistentHashRing}; customer ids carry their shard as the range they were drawn from and
+ * account numbers carry the shard they were created on (see {@code AccountNumberGenerator}).
+ */
+@Slf4j
+public class ShardRouter implements AutoCloseable {
+
+    /**
+     * Upper bound on shards, account numbers reserve one residue per possible shard.
+     */
+    public static final int MAX_SHARDS = 16;
+
+    /**
+     * Every shard draws customer ids from its own range of this size, starting at shard * range.
+     */
+    public static final long CUSTOMER_ID_RANGE = 1_000_000_000_000L;
+
+    private final ConsistentHashRing ring;
+    private final List<? extends DataSource> dataSources;
+    private final List<JdbcTemplate> jdbcTemplates;
+
+    /**
+     * @param ring - placement of mobile numbers
+     * @param dataSources - one pool per shard, in shard order
+     */
+    public ShardRouter(ConsistentHashRing ring, List<? extends DataSource> dataSources) {
+        if (dataSources.isEmpty() || dataSources.size() > MAX_SHARDS) {
+            throw new IllegalArgumentException("Between 1 and " + MAX_SHARDS + " shards are supported");
+        }
+        this.ring = ring;
+        this.dataSources = dataSources;
+        this.jdbcTemplates = dataSources.stream().map(JdbcTemplate::new).toList();
+    }
+
+    public int getShardCount() {
+        return dataSources.size();
+    }
+
+    /**
+     * @param mobileNumber - Mobile Number of the customer, null for shard 0
+     * @return shard the customer belongs on
+     */
+    public int shardForMobileNumber(String mobileNumber) {
+        return mobileNumber == null ? 0 : ring.shardFor(mobileNumber);
+    }
+
+    /**
+     * @param customerId - customer_id of a customer
+     * @return shard whose id range contains the customer id
+     */
+    public int shardForCustomerId(long customerId) {
+        return (int) Math.min(customerId / CUSTOMER_ID_RANGE, getShardCount() - 1);
+    }
+
+    public DataSource dataSource(int shard) {
+        return dataSources.get(shard);
+    }
+
+    /**
+     * @return template on the shard pool itself, bypassing {@link ShardContext} and any transaction
+     */
+    public JdbcTemplate jdbcTemplate(int shard) {
+        return jdbcTemplates.get(shard);
+    }
+
+    /**
+     * Creates the missing tables on every shard and moves each shard's customer_seq into the shard's id range.
+     *
+     * @param initializeSchema - whether to run schema.sql against every shard first
+     */
+    public void initializeShards(boolean initializeSchema) {
+        for (int shard = 0; shard < getShardCount(); shard++) {
+            if (initializeSchema) {
+                DatabasePopulatorUtils.execute(new ResourceDatabasePopulator(new ClassPathResource("schema.sql")),
+                        dataSource(shard));
+            }
+            long base = shard * CUSTOMER_ID_RANGE;
+            Long next = jdbcTemplate(shard).queryForObject("select next value for customer_seq", Long.class);
+            if (next == null || next < base) {
+                // DDL takes no bind parameters, base is a computed number
+                jdbcTemplate(shard).execute("alter sequence customer_seq restart with " + (base + 1));
+                log.info("Moved customer_seq of shard {} to start at {}", shard, base + 1);
+            }
+        }
+    }
+
+    /**
+     * Closes the shard pools, called by the container on shutdown.
+     */
+    @Override
+    public void close() throws Exception {
+        for (DataSource dataSource : dataSources) {
+            if (dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+}
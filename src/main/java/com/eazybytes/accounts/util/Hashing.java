@@ -0,0 +1,62 @@
+package com.eazybytes.accounts.util;
+
+/**
+ * 64-bit hashing shared by the shard ring, the Bloom filter of registered mobile numbers and the off-heap
+ * mobile number index. Keys there are short and similar, mostly mobile numbers, so every hash is finished
+ * with the MurmurHash3 mixer to spread them over all 64 bits. The ring hashes UTF-8 bytes and the Bloom
+ * filter chars; the two agree for ASCII only, so neither caller may switch without moving its data.
+ */
+public final class Hashing {
+
+    private Hashing() {
+        // restrict instantiation
+    }
+
+    /**
+     * FNV-1a over the chars, finished with {@link #mix(long)}. For ASCII keys this equals
+     * {@link #hash(byte[])} over their UTF-8 bytes.
+     *
+     * @param value - value to hash
+     * @return 64-bit hash of the value
+     */
+    public static long hash(CharSequence value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    /**
+     * FNV-1a over the bytes, finished with {@link #mix(long)}.
+     *
+     * @param value - bytes to hash
+     * @return 64-bit hash of the bytes
+     */
+    public static long hash(byte[] value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    /**
+     * MurmurHash3 fmix64: every input bit affects every output bit.
+     *
+     * @param value - value to mix
+     * @return mixed value
+     */
+    public static long mix(long value) {
+        long hash = value;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+}
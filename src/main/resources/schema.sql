@@ -1,21 +1,69 @@
+CREATE SEQUENCE IF NOT EXISTS customer_seq START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE IF NOT EXISTS `customer` (
-  `customer_id` int AUTO_INCREMENT  PRIMARY KEY,
+  `customer_id` bigint PRIMARY KEY,
   `name` varchar(100) NOT NULL,
   `email` varchar(100) NOT NULL,
   `mobile_number` varchar(20) NOT NULL,
-  `created_at` date DEFAULT NULL,
+  `created_at` timestamp DEFAULT NULL,
   `created_by` varchar(20) DEFAULT NULL,
-  `updated_at` date DEFAULT NULL,
-    `updated_by` varchar(20) DEFAULT NULL
+  `updated_at` timestamp DEFAULT NULL,
+    `updated_by` varchar(20) DEFAULT NULL,
+  `version` bigint DEFAULT 0 NOT NULL,
+  `deleted_at` timestamp DEFAULT NULL
 );
 
 CREATE TABLE IF NOT EXISTS `accounts` (
-  `customer_id` int NOT NULL,
-   `account_number` int AUTO_INCREMENT  PRIMARY KEY,
+  `customer_id` bigint NOT NULL,
+   `account_number` bigint PRIMARY KEY,
   `account_type` varchar(100) NOT NULL,
   `branch_address` varchar(200) NOT NULL,
-  `created_at` date DEFAULT NULL,
+  `created_at` timestamp DEFAULT NULL,
    `created_by` varchar(20) DEFAULT NULL,
-   `updated_at` date DEFAULT NULL,
-    `updated_by` varchar(20) DEFAULT NULL
-);
\ No newline at end of file
+   `updated_at` timestamp DEFAULT NULL,
+    `updated_by` varchar(20) DEFAULT NULL,
+  `version` bigint DEFAULT 0 NOT NULL,
+  `deleted_at` timestamp DEFAULT NULL
+);
+
+-- high-water mark of the account number serials handed out in blocks, one row
+CREATE TABLE IF NOT EXISTS `account_number_block` (
+  `next_serial` bigint NOT NULL
+);
+
+-- a database that predates the table starts above every serial its account numbers can encode
+INSERT INTO `account_number_block` (`next_serial`)
+  SELECT COALESCE(MAX(`account_number`) - 999999999, 0) FROM `accounts`
+  HAVING NOT EXISTS (SELECT 1 FROM `account_number_block`);
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_customer_mobile_number ON `customer` (`mobile_number`);
+
+CREATE INDEX IF NOT EXISTS ix_accounts_customer_id ON `accounts` (`customer_id`);
+
+CREATE INDEX IF NOT EXISTS ix_accounts_account_type_customer_id ON `accounts` (`account_type`, `customer_id`);
+
+CREATE INDEX IF NOT EXISTS ix_customer_created_at ON `customer` (`created_at`, `customer_id`);
+
+CREATE INDEX IF NOT EXISTS ix_customer_deleted_at ON `customer` (`deleted_at`);
+
+CREATE INDEX IF NOT EXISTS ix_accounts_deleted_at ON `accounts` (`deleted_at`);
+
+CREATE TABLE IF NOT EXISTS `audit_log` (
+  `audit_id` bigint AUTO_INCREMENT PRIMARY KEY,
+  `entity_type` varchar(50) NOT NULL,
+  `entity_id` varchar(50) NOT NULL,
+  `action` varchar(20) NOT NULL,
+  `changes` varchar(4000) DEFAULT NULL,
+  `changed_by` varchar(20) DEFAULT NULL,
+  `changed_at` timestamp NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS ix_audit_log_entity ON `audit_log` (`entity_type`, `entity_id`);
+
+CREATE TABLE IF NOT EXISTS `outbox_event` (
+  `event_id` bigint AUTO_INCREMENT PRIMARY KEY,
+  `event_type` varchar(50) NOT NULL,
+  `aggregate_id` varchar(20) NOT NULL,
+  `payload` varchar(4000) NOT NULL,
+  `created_at` timestamp NOT NULL
+);
@@ -0,0 +1,215 @@
+package com.eazybytes.accounts.startup;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time from launching the JVM to the first successful {@code /api/fetch}, which is what a scale-out instance
+ * costs before it serves traffic. Every run starts the jar extracted by the fast-startup profile in a JVM
+ * of its own, creates a customer as soon as the port accepts requests, fetches it and stops the JVM. Variants only differ in JVM options:
+ * <ul>
+ *     <li>{@code plain} - the AOT-generated initializers are ignored, configuration classes are parsed</li>
+ *     <li>{@code aot} - the context is built from the AOT-generated initializers</li>
+ *     <li>{@code aot-cds} - the same, with classes mapped from the archive of the training run</li>
+ * </ul>
+ *
+ * <p>Configured with system properties:
+ * <ul>
+ *     <li>{@code startup.dir} - directory of the extracted jar, default target/fast-startup</li>
+ *     <li>{@code startup.jar} - jar in that directory, default accounts-0.0.1-SNAPSHOT.jar</li>
+ *     <li>{@code startup.variants} - variants to run, default plain,aot,aot-cds</li>
+ *     <li>{@code startup.runs} - runs per variant, default 5</li>
+ *     <li>{@code startup.profiles} - Spring profiles of the application, default prod</li>
+ *     <li>{@code startup.timeout} - longest wait for the first fetch of a run, default PT60S</li>
+ * </ul>
+ * The output of the started JVMs is appended to startup-benchmark.log in the jar directory.
+ */
+public class StartupBenchmark {
+
+    private static final String MOBILE_NUMBER = "9567017199";
+    private static final long POLL_INTERVAL_MILLIS = 5;
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(2);
+
+    private static final Map<String, List<String>> VARIANTS = new LinkedHashMap<>();
+
+    static {
+        VARIANTS.put("plain", List.of("-Dspring.aot.enabled=false"));
+        VARIANTS.put("aot", List.of("-Dspring.aot.enabled=true"));
+        VARIANTS.put("aot-cds", List.of("-Dspring.aot.enabled=true", "-XX:SharedArchiveFile=application.jsa"));
+    }
+
+    private final HttpClient httpClient;
+    private final Path directory;
+    private final String jar;
+    private final String profiles;
+    private final Duration timeout;
+
+    /**
+     * @param createdMillis - from launch until the create was answered with 201
+     * @param fetchedMillis - from launch until the fetch was answered with 200
+     */
+    private record Run(double createdMillis, double fetchedMillis) {
+    }
+
+    StartupBenchmark(HttpClient httpClient, Path directory, String jar, String profiles, Duration timeout) {
+        this.httpClient = httpClient;
+        this.directory = directory;
+        this.jar = jar;
+        this.profiles = profiles;
+        this.timeout = timeout;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path directory = Path.of(System.getProperty("startup.dir", "target/fast-startup"));
+        String jar = System.getProperty("startup.jar", "accounts-0.0.1-SNAPSHOT.jar");
+        List<String> variants = Arrays.stream(System.getProperty("startup.variants", "plain,aot,aot-cds").split(","))
+                .map(String::trim).toList();
+        int runs = Math.max(1, Integer.getInteger("startup.runs", 5));
+        String profiles = System.getProperty("startup.profiles", "prod");
+        Duration timeout = Duration.parse(System.getProperty("startup.timeout", "PT60S"));
+
+        if (!Files.isRegularFile(directory.resolve(jar))) {
+            throw new IllegalStateException(directory.resolve(jar) + " not found, build it with "
+                    + "./mvnw -Pfast-startup package -DskipTests");
+        }
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(CONNECT_TIMEOUT)
+                .build();
+        StartupBenchmark benchmark = new StartupBenchmark(httpClient, directory, jar, profiles, timeout);
+
+        Map<String, List<Run>> results = new LinkedHashMap<>();
+        for (String variant : variants) {
+            List<String> jvmOptions = VARIANTS.get(variant);
+            if (jvmOptions == null) {
+                throw new IllegalArgumentException("Unknown variant " + variant + ", expected one of "
+                        + VARIANTS.keySet());
+            }
+            List<Run> variantRuns = new ArrayList<>(runs);
+            for (int run = 1; run <= runs; run++) {
+                Run result = benchmark.run(jvmOptions);
+                System.out.printf(Locale.ROOT, "%-8s run %d: created after %7.0f ms, fetched after %7.0f ms%n",
+                        variant, run, result.createdMillis(), result.fetchedMillis());
+                variantRuns.add(result);
+            }
+            results.put(variant, variantRuns);
+        }
+        report(results);
+    }
+
+    /**
+     * @param jvmOptions - options of the variant, placed before -jar
+     * @return times measured from launching the JVM
+     */
+    private Run run(List<String> jvmOptions) throws IOException, InterruptedException {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmOptions);
+        command.addAll(List.of("-jar", jar, "--server.port=" + port, "--spring.profiles.active=" + profiles,
+                "--spring.jpa.show-sql=false"));
+        URI baseUri = URI.create("http://localhost:" + port);
+        // the first requests initialize lazy beans, so an accepted request may take long; only the run timeout applies
+        HttpRequest create = HttpRequest.newBuilder(baseUri.resolve("/api/create"))
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("""
+                        {"name": "Startup User", "email": "startup@example.com", "mobileNumber": "%s"}"""
+                        .formatted(MOBILE_NUMBER)))
+                .build();
+        HttpRequest fetch = HttpRequest.newBuilder(baseUri.resolve("/api/fetch?mobileNumber=" + MOBILE_NUMBER))
+                .timeout(timeout)
+                .GET()
+                .build();
+
+        long started = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .directory(directory.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.appendTo(directory.resolve("startup-benchmark.log").toFile()))
+                .start();
+        try {
+            long deadline = started + timeout.toNanos();
+            long created = awaitStatus(process, create, 201, deadline);
+            long fetched = awaitStatus(process, fetch, 200, deadline);
+            return new Run((created - started) / 1e6, (fetched - started) / 1e6);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    /**
+     * Sends the request once the port accepts connections. Only a refused connection is retried: a request
+     * that reached the application may already have been processed, and sending the create again would
+     * answer 400 for the customer it created.
+     *
+     * @return System.nanoTime() when the status was received
+     */
+    private long awaitStatus(Process process, HttpRequest request, int status, long deadline)
+            throws IOException, InterruptedException {
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited with " + process.exitValue()
+                        + ", see startup-benchmark.log");
+            }
+            int received;
+            try {
+                received = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (ConnectException ex) {
+                // not listening yet
+                Thread.sleep(POLL_INTERVAL_MILLIS);
+                continue;
+            }
+            if (received != status) {
+                throw new IllegalStateException(request.method() + " " + request.uri() + " answered with "
+                        + received + " instead of " + status + ", see startup-benchmark.log");
+            }
+            return System.nanoTime();
+        }
+        throw new IllegalStateException(request.method() + " " + request.uri() + " not accepted within " + timeout);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static void report(Map<String, List<Run>> results) {
+        System.out.println();
+        System.out.printf(Locale.ROOT, "%-8s %28s %28s%n", "", "first create (ms)", "first fetch (ms)");
+        System.out.printf(Locale.ROOT, "%-8s %9s %9s %9s %9s %9s %9s%n", "variant", "min", "median", "max",
+                "min", "median", "max");
+        results.forEach((variant, runs) -> {
+            double[] created = runs.stream().mapToDouble(Run::createdMillis).sorted().toArray();
+            double[] fetched = runs.stream().mapToDouble(Run::fetchedMillis).sorted().toArray();
+            System.out.printf(Locale.ROOT, "%-8s %9.0f %9.0f %9.0f %9.0f %9.0f %9.0f%n", variant,
+                    created[0], median(created), created[created.length - 1],
+                    fetched[0], median(fetched), fetched[fetched.length - 1]);
+        });
+    }
+
+    private static double median(double[] sorted) {
+        int middle = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+    }
+
+}
@@ -0,0 +1,240 @@
+package com.eazybytes.accounts;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasKey;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import com.eazybytes.accounts.constants.AccountsConstants;
+
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+
+/**
+ * The API over HTTP on the servlet stack. {@link ReactiveAccountsRestAssuredTests} runs the same tests on the
+ * reactive stack. Every test starts from the one customer created in {@link #setUp()}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"spring.datasource.url=jdbc:h2:mem:restassured"})
+public class AccountsRestAssuredTests {
+
+    private static final String MOBILE_NUMBER = "1234567890";
+    private static final String NEW_MOBILE_NUMBER = "1234567889";
+
+    @LocalServerPort
+    private int port;
+
+    @BeforeEach
+    void setUp() {
+        // Base URI for REST Assured, the server started for this test
+        RestAssured.baseURI = "http://localhost:" + port + "/api";
+
+        // Deleted through the API rather than the database, so the customer cache forgets them as well
+        given().queryParam("mobileNumber", MOBILE_NUMBER).delete("/delete");
+        given().queryParam("mobileNumber", NEW_MOBILE_NUMBER).delete("/delete");
+        given()
+            .contentType(ContentType.JSON)
+            .body("""
+                {
+                    "name": "John Doe",
+                    "mobileNumber": "%s",
+                    "email": "johndoe@example.com"
+                }
+            """.formatted(MOBILE_NUMBER))
+        .when()
+            .post("/create")
+        .then()
+            .statusCode(201);
+    }
+
+    @Test
+    void testCreateAccount_Successs() {
+        String requestBody = """
+            {
+                "name": "John Doe",
+                "mobileNumber": "%s",
+                "email": "johndoe@example.com"
+            }
+        """.formatted(NEW_MOBILE_NUMBER);
+
+        given()
+            .contentType(ContentType.JSON)
+            .body(requestBody)
+        .when()
+            .post("/create")
+        .then()
+            .statusCode(201)
+            .body("statusCode", equalTo("201"))
+            .body("statusMsg", equalTo("Account created successfully"));
+    }
+    @Test
+    void testCreateAccount_Failure_InvalidInput() {
+        // Invalid mobile number
+        String requestBody = """
+            {
+                "name": "",
+                "mobileNumber": "12345",
+                "email": "invalidemail"
+            }
+        """;
+
+        given()
+            .contentType(ContentType.JSON)
+            .body(requestBody)
+        .when()
+            .post("/create")
+        .then()
+            .statusCode(400) // Validation failure
+            .body("mobileNumber", equalTo("Mobile number must be 10 digits"))
+            .body("$", hasKey("email"));
+    }
+    
+    @Test
+    void testCreateAccount_Failure_InvalidInputt() {
+        // Define invalid parameters
+        String invalidName = "";
+        String invalidMobileNumber = "12345"; // Invalid mobile number (less than 10 digits)
+        String invalidEmail = "invalidemail"; // Malformed email
+
+        // Use JsonPath.param(...) to dynamically insert parameters
+        String requestBody = """
+            {
+                "name": "%s",
+                "mobileNumber": "%s",
+                "email": "%s"
+            }
+        """.formatted(invalidName, invalidMobileNumber, invalidEmail);
+
+        given()
+            .contentType(ContentType.JSON)
+            .body(requestBody) // Pass the dynamically created request body
+        .when()
+            .post("/create")
+        .then()
+            .statusCode(400) // Expecting a validation error
+            .body("mobileNumber", notNullValue()) // Validate the presence of an error key for mobileNumber
+            .body("email", notNullValue()); // Validate the presence of an error key for email
+    }
+
+
+    @Test
+    void testFetchAccountDetails_Success() {
+        given()
+            .queryParam("mobileNumber", MOBILE_NUMBER)
+        .when()
+            .get("/fetch")
+        .then()
+            .statusCode(200)
+            .body("name", equalTo("John Doe"))
+            .body("mobileNumber", equalTo(MOBILE_NUMBER));
+    }
+
+    @Test
+    void testFetchAccountDetails_Failure_InvalidMobileNumber() {
+        given()
+            .queryParam("mobileNumber", "12345")
+        .when()
+            .get("/fetch")
+        .then()
+            .statusCode(400) // Validation error
+            .body("$", hasKey("mobileNumber"));
+    }
+
+    @Test
+    void testUpdateAccountDetails_Success() {
+        long accountNumber = given()
+            .queryParam("mobileNumber", MOBILE_NUMBER)
+        .when()
+            .get("/fetch")
+        .then()
+            .statusCode(200)
+            .extract().jsonPath().getLong("accountsDto.accountNumber");
+        String requestBody = """
+            {
+                "name": "John Smith",
+                "mobileNumber": "%s",
+                "email": "johnsmith@example.com",
+                "accountsDto": {
+                    "accountNumber": %d,
+                    "accountType": "Savings",
+                    "branchAddress": "123 Main Street, New York"
+                }
+            }
+        """.formatted(MOBILE_NUMBER, accountNumber);
+
+        given()
+            .contentType(ContentType.JSON)
+            .body(requestBody)
+        .when()
+            .put("/update")
+        .then()
+            .statusCode(200)
+            .body("statusCode", equalTo(AccountsConstants.STATUS_200))
+            .body("statusMsg", equalTo(AccountsConstants.MESSAGE_200));
+        given()
+            .queryParam("mobileNumber", MOBILE_NUMBER)
+        .when()
+            .get("/fetch")
+        .then()
+            .statusCode(200)
+            .body("name", equalTo("John Smith"))
+            .body("email", equalTo("johnsmith@example.com"));
+    }
+
+    @Test
+    void testUpdateAccountDetails_Failure_ExpectationFailed() {
+        // No account details, so there is nothing to update
+        String requestBody = """
+            {
+                "name": "Nonexistent User",
+                "mobileNumber": "0000000000",
+                "email": "nonexistent@example.com"
+            }
+        """;
+
+        given()
+            .contentType(ContentType.JSON)
+            .body(requestBody)
+        .when()
+            .put("/update")
+        .then()
+            .statusCode(417) // Expectation failed
+            .body("statusCode", equalTo(AccountsConstants.STATUS_417))
+            .body("statusMsg", equalTo(AccountsConstants.MESSAGE_417_UPDATE));
+    }
+
+    @Test
+    void testDeleteAccountDetails_Success() {
+        given()
+            .queryParam("mobileNumber", MOBILE_NUMBER)
+        .when()
+            .delete("/delete")
+        .then()
+            .statusCode(200)
+            .body("statusCode", equalTo(AccountsConstants.STATUS_200))
+            .body("statusMsg", equalTo(AccountsConstants.MESSAGE_200));
+        given()
+            .queryParam("mobileNumber", MOBILE_NUMBER)
+        .when()
+            .get("/fetch")
+        .then()
+            .statusCode(404);
+    }
+
+    @Test
+    void testDeleteAccountDetails_Failure_NotFound() {
+        given()
+            .queryParam("mobileNumber", "0000000000")
+        .when()
+            .delete("/delete")
+        .then()
+            .statusCode(404) // No customer with this mobile number
+            .body("errorCode", equalTo("NOT_FOUND"))
+            .body("errorMessage", equalTo("Customer not found with the given input data mobileNumber : '0000000000'"));
+    }
+}
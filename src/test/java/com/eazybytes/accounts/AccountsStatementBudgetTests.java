@@ -0,0 +1,225 @@
+package com.eazybytes.accounts;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.eazybytes.accounts.entity.Customer;
+import com.eazybytes.accounts.repository.AccountsRepository;
+import com.eazybytes.accounts.repository.CustomerRepository;
+import com.eazybytes.accounts.support.SqlStatementCounter;
+import com.eazybytes.accounts.support.StatementCountingConfig;
+
+/**
+ * Pins the number of SQL statements each endpoint issues, so an extra query, an N+1 or a merge before an
+ * insert fails here instead of showing up as latency. The cache is switched off so every fetch of a
+ * registered number reaches the database; numbers never registered are turned away by the lookup filter,
+ * which is switched on for that.
+ * Sequence increments are amortized over a block of ids and are therefore not budgeted. Audit records are
+ * only buffered on the request path; the flush is pushed out of the test so its batch inserts are not
+ * counted. Every write also inserts its outbox event, the relay is pushed out as well.
+ */
+@SpringBootTest(properties = {"spring.cache.type=none",
+		"accounts.audit.flush-interval=PT1H", "accounts.outbox.relay-interval=PT1H",
+		"accounts.lookup-filter.enabled=true"})
+@AutoConfigureMockMvc
+@Import(StatementCountingConfig.class)
+class AccountsStatementBudgetTests {
+
+	private static final String MOBILE_NUMBER = "9567017116";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private CustomerRepository customerRepository;
+
+	@Autowired
+	private AccountsRepository accountsRepository;
+
+	@Autowired
+	private SqlStatementCounter sqlStatementCounter;
+
+	private Long accountNumber;
+
+	@BeforeEach
+	void setup() throws Exception {
+		accountsRepository.deleteAll();
+		customerRepository.deleteAll();
+
+		// created through the API, which also reserves the id and account number blocks up front
+		mockMvc.perform(post("/api/create").contentType("application/json")
+				.content(customerJson("Test User", MOBILE_NUMBER)))
+				.andExpect(status().isCreated());
+		Customer customer = customerRepository.findByMobileNumber(MOBILE_NUMBER).orElseThrow();
+		accountNumber = accountsRepository.findByCustomerId(customer.getCustomerId()).orElseThrow().getAccountNumber();
+
+		sqlStatementCounter.reset();
+	}
+
+	@Test
+	void testCreateAccount_ThreeInserts() throws Exception {
+		mockMvc.perform(post("/api/create").contentType("application/json")
+				.content(customerJson("Other User", "9567017117")))
+				.andExpect(status().isCreated());
+
+		assertStatements(0, 3, 0, 0);
+	}
+
+	@Test
+	void testCreateAccount_AlreadyExists_OneInsert() throws Exception {
+		mockMvc.perform(post("/api/create").contentType("application/json")
+				.content(customerJson("Test User", MOBILE_NUMBER)))
+				.andExpect(status().isBadRequest());
+
+		assertStatements(0, 1, 0, 0);
+	}
+
+	@Test
+	void testCreateAccounts_OneLookupAndThreeBatches() throws Exception {
+		mockMvc.perform(post("/api/create/batch").contentType("application/json")
+				.content("[" + customerJson("Batch User", "9567017121") + ","
+						+ customerJson("Batch User", "9567017122") + ","
+						+ customerJson("Batch User", "9567017123") + ","
+						+ customerJson("Test User", MOBILE_NUMBER) + "]"))
+				.andExpect(status().isMultiStatus())
+				.andExpect(jsonPath("$.created").value(3));
+
+		assertStatements(1, 9, 0, 0);
+		assertEquals(3, sqlStatementCounter.batches(), sqlStatementCounter::toString);
+	}
+
+	@Test
+	void testFetchAccountDetails_OneSelect() throws Exception {
+		mockMvc.perform(get("/api/fetch").param("mobileNumber", MOBILE_NUMBER))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.accountsDto.accountNumber").value(accountNumber));
+
+		assertStatements(1, 0, 0, 0);
+	}
+
+	@Test
+	void testFetchAccountDetails_IfNoneMatchCurrent_OneVersionSelect() throws Exception {
+		String eTag = mockMvc.perform(get("/api/fetch").param("mobileNumber", MOBILE_NUMBER))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		sqlStatementCounter.reset();
+
+		mockMvc.perform(get("/api/fetch").param("mobileNumber", MOBILE_NUMBER)
+				.header(HttpHeaders.IF_NONE_MATCH, eTag))
+				.andExpect(status().isNotModified())
+				.andExpect(header().string(HttpHeaders.ETAG, eTag))
+				.andExpect(content().string(""));
+
+		assertStatements(1, 0, 0, 0);
+	}
+
+	@Test
+	void testFetchAccountDetails_IfNoneMatchStale_TwoSelects() throws Exception {
+		mockMvc.perform(get("/api/fetch").param("mobileNumber", MOBILE_NUMBER)
+				.header(HttpHeaders.IF_NONE_MATCH, "\"" + accountNumber + "-7-7\""))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, "\"" + accountNumber + "-0-0\""));
+
+		assertStatements(2, 0, 0, 0);
+	}
+
+	@Test
+	void testFetchAccountDetails_NeverRegistered_NoStatements() throws Exception {
+		mockMvc.perform(get("/api/fetch").param("mobileNumber", "9999999999"))
+				.andExpect(status().isNotFound());
+
+		assertStatements(0, 0, 0, 0);
+	}
+
+	@Test
+	void testDeleteAccountDetails_NeverRegistered_NoStatements() throws Exception {
+		mockMvc.perform(delete("/api/delete").param("mobileNumber", "9999999999"))
+				.andExpect(status().isNotFound());
+
+		assertStatements(0, 0, 0, 0);
+	}
+
+	@Test
+	void testFetchCustomers_OneSelect() throws Exception {
+		mockMvc.perform(get("/api/customers").param("size", "10"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.customers.length()").value(1));
+
+		assertStatements(1, 0, 0, 0);
+	}
+
+	@Test
+	void testUpdateAccountDetails_TwoSelectsTwoUpdatesOneInsert() throws Exception {
+		mockMvc.perform(put("/api/update").contentType("application/json")
+				.content("""
+						{
+						    "name": "Madan Mohan",
+						    "email": "tutor@eazybytes.com",
+						    "mobileNumber": "%s",
+						    "accountsDto": {
+						        "accountNumber": %d,
+						        "accountType": "Savings",
+						        "branchAddress": "456 Side Street, Boston"
+						    }
+						}
+						""".formatted(MOBILE_NUMBER, accountNumber)))
+				.andExpect(status().isOk());
+
+		assertStatements(2, 1, 2, 0);
+	}
+
+	@Test
+	void testPatchAccountDetails_OnlyChangedRowUpdated() throws Exception {
+		mockMvc.perform(patch("/api/update").contentType("application/json")
+				.content("""
+						{
+						    "accountsDto": {
+						        "accountNumber": %d,
+						        "branchAddress": "456 Side Street, Boston"
+						    }
+						}
+						""".formatted(accountNumber)))
+				.andExpect(status().isOk());
+
+		assertStatements(2, 1, 1, 0);
+	}
+
+	@Test
+	void testDeleteAccountDetails_TwoDeletesOneInsert() throws Exception {
+		mockMvc.perform(delete("/api/delete").param("mobileNumber", MOBILE_NUMBER))
+				.andExpect(status().isOk());
+
+		assertStatements(0, 1, 0, 2);
+	}
+
+	private void assertStatements(int selects, int inserts, int updates, int deletes) {
+		assertEquals(selects, sqlStatementCounter.count(SqlStatementCounter.Type.SELECT), sqlStatementCounter::toString);
+		assertEquals(inserts, sqlStatementCounter.count(SqlStatementCounter.Type.INSERT), sqlStatementCounter::toString);
+		assertEquals(updates, sqlStatementCounter.count(SqlStatementCounter.Type.UPDATE), sqlStatementCounter::toString);
+		assertEquals(deletes, sqlStatementCounter.count(SqlStatementCounter.Type.DELETE), sqlStatementCounter::toString);
+		assertEquals(0, sqlStatementCounter.count(SqlStatementCounter.Type.OTHER), sqlStatementCounter::toString);
+	}
+
+	private static String customerJson(String name, String mobileNumber) {
+		return """
+				{"name": "%s", "email": "test@example.com", "mobileNumber": "%s"}""".formatted(name, mobileNumber);
+	}
+
+}
@@ -0,0 +1,163 @@
+package com.eazybytes.accounts;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.eazybytes.accounts.audit.AuditTrail;
+import com.eazybytes.accounts.entity.Customer;
+import com.eazybytes.accounts.repository.AccountsRepository;
+import com.eazybytes.accounts.repository.CustomerRepository;
+
+/**
+ * The scheduled flush is pushed out of the test and the buffer is flushed by hand, so the audit_log rows
+ * can be checked right after each request.
+ */
+@SpringBootTest(properties = {"spring.cache.type=none",
+		"accounts.audit.flush-interval=PT1H"})
+@AutoConfigureMockMvc
+class AuditLogTests {
+
+	private static final String MOBILE_NUMBER = "9567017131";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private CustomerRepository customerRepository;
+
+	@Autowired
+	private AccountsRepository accountsRepository;
+
+	@Autowired
+	private AuditTrail auditTrail;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void setup() {
+		accountsRepository.deleteAll();
+		customerRepository.deleteAll();
+		auditTrail.flush();
+		jdbcTemplate.update("delete from audit_log");
+	}
+
+	@Test
+	void testCreateAccount_AuditsBothInsertsAndFillsAuditColumns() throws Exception {
+		createCustomer();
+		auditTrail.flush();
+
+		Customer customer = customerRepository.findByMobileNumber(MOBILE_NUMBER).orElseThrow();
+		assertNotNull(customer.getCreatedAt());
+		assertEquals("ACCOUNTS_MS", customer.getCreatedBy());
+
+		List<Map<String, Object>> rows = auditRows();
+		assertEquals(2, rows.size());
+		assertEquals("Customer", rows.get(0).get("entity_type"));
+		assertEquals(customer.getCustomerId().toString(), rows.get(0).get("entity_id"));
+		assertEquals("INSERT", rows.get(0).get("action"));
+		assertTrue(((String) rows.get(0).get("changes")).contains("\"mobileNumber\":{\"old\":null,\"new\":\"" + MOBILE_NUMBER + "\"}"),
+				() -> (String) rows.get(0).get("changes"));
+		assertEquals("ACCOUNTS_MS", rows.get(0).get("changed_by"));
+		assertEquals("Accounts", rows.get(1).get("entity_type"));
+		assertEquals("INSERT", rows.get(1).get("action"));
+	}
+
+	@Test
+	void testUpdateAccount_AuditsChangedAttributesOnly() throws Exception {
+		createCustomer();
+		Customer customer = customerRepository.findByMobileNumber(MOBILE_NUMBER).orElseThrow();
+		Long accountNumber = accountsRepository.findByCustomerId(customer.getCustomerId()).orElseThrow()
+				.getAccountNumber();
+		auditTrail.flush();
+		jdbcTemplate.update("delete from audit_log");
+
+		mockMvc.perform(put("/api/update").contentType("application/json")
+				.content("""
+						{
+						    "name": "Renamed User",
+						    "email": "audit@example.com",
+						    "mobileNumber": "%s",
+						    "accountsDto": {
+						        "accountNumber": %d,
+						        "accountType": "Savings",
+						        "branchAddress": "123 Main Street, New York"
+						    }
+						}
+						""".formatted(MOBILE_NUMBER, accountNumber)))
+				.andExpect(status().isOk());
+		auditTrail.flush();
+
+		// the account row is written too, but none of its attributes change
+		List<Map<String, Object>> rows = auditRows();
+		assertEquals(1, rows.size(), rows::toString);
+		assertEquals("Customer", rows.get(0).get("entity_type"));
+		assertEquals("UPDATE", rows.get(0).get("action"));
+		String changes = (String) rows.get(0).get("changes");
+		assertTrue(changes.contains("\"name\":{\"old\":\"Audit User\",\"new\":\"Renamed User\"}"), changes);
+		assertFalse(changes.contains("\"email\""), changes);
+	}
+
+	@Test
+	void testDeleteAccount_AuditsBulkDeleteByMobileNumber() throws Exception {
+		createCustomer();
+		auditTrail.flush();
+		jdbcTemplate.update("delete from audit_log");
+
+		mockMvc.perform(delete("/api/delete").param("mobileNumber", MOBILE_NUMBER))
+				.andExpect(status().isOk());
+		auditTrail.flush();
+
+		List<Map<String, Object>> rows = auditRows();
+		assertEquals(1, rows.size());
+		assertEquals("Customer", rows.get(0).get("entity_type"));
+		assertEquals(MOBILE_NUMBER, rows.get(0).get("entity_id"));
+		assertEquals("DELETE", rows.get(0).get("action"));
+	}
+
+	@Test
+	void testCreateAccount_RolledBack_NotAudited() throws Exception {
+		createCustomer();
+		auditTrail.flush();
+		jdbcTemplate.update("delete from audit_log");
+
+		mockMvc.perform(post("/api/create").contentType("application/json").content(customerJson()))
+				.andExpect(status().isBadRequest());
+		auditTrail.flush();
+
+		assertEquals(0, auditRows().size());
+	}
+
+	private void createCustomer() throws Exception {
+		mockMvc.perform(post("/api/create").contentType("application/json").content(customerJson()))
+				.andExpect(status().isCreated());
+	}
+
+	private List<Map<String, Object>> auditRows() {
+		return jdbcTemplate.queryForList("select entity_type, entity_id, action, changes, changed_by "
+				+ "from audit_log order by audit_id");
+	}
+
+	private static String customerJson() {
+		return """
+				{"name": "Audit User", "email": "audit@example.com", "mobileNumber": "%s"}""".formatted(MOBILE_NUMBER);
+	}
+
+}
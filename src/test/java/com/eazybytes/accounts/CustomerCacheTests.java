@@ -0,0 +1,235 @@
+package com.eazybytes.accounts;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.eazybytes.accounts.constants.AccountsConstants;
+import com.eazybytes.accounts.dto.AccountsDto;
+import com.eazybytes.accounts.dto.CustomerDto;
+import com.eazybytes.accounts.repository.AccountsRepository;
+import com.eazybytes.accounts.repository.CustomerRepository;
+import com.eazybytes.accounts.service.IAccountsService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * The customer cache in front of fetchAccount: hits skip the database, entries are keyed by the exact
+ * mobile number, and update and delete evict them once their transaction has committed. Hibernate
+ * statistics count the statements a fetch runs.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+class CustomerCacheTests {
+
+	private static final String MOBILE_NUMBER = "9567017161";
+	private static final String OTHER_MOBILE_NUMBER = "9567017162";
+	private static final String NEW_MOBILE_NUMBER = "9567017163";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private CustomerRepository customerRepository;
+
+	@Autowired
+	private AccountsRepository accountsRepository;
+
+	@Autowired
+	private IAccountsService accountsService;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	private Cache cache;
+
+	@BeforeEach
+	void setup() {
+		accountsRepository.deleteAll();
+		customerRepository.deleteAll();
+		cache = cacheManager.getCache(AccountsConstants.CUSTOMERS_CACHE);
+		cache.clear();
+	}
+
+	@Test
+	void testFetchAccount_SecondFetchServedFromCache() throws Exception {
+		createCustomer("Cache User", MOBILE_NUMBER);
+		double hits = cacheGets("hit");
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+
+		fetch(MOBILE_NUMBER).andExpect(jsonPath("$.name").value("Cache User"));
+		long statements = statistics.getPrepareStatementCount();
+		fetch(MOBILE_NUMBER).andExpect(jsonPath("$.name").value("Cache User"));
+
+		assertTrue(statements > 0);
+		assertEquals(statements, statistics.getPrepareStatementCount());
+		assertEquals(hits + 1, cacheGets("hit"));
+	}
+
+	@Test
+	void testFetchAccount_KeyedByMobileNumber() throws Exception {
+		createCustomer("Cache User", MOBILE_NUMBER);
+		createCustomer("Other User", OTHER_MOBILE_NUMBER);
+
+		fetch(MOBILE_NUMBER);
+
+		CustomerDto cached = cache.get(MOBILE_NUMBER, CustomerDto.class);
+		assertNotNull(cached);
+		assertEquals("Cache User", cached.getName());
+		assertNull(cache.get(OTHER_MOBILE_NUMBER));
+		fetch(OTHER_MOBILE_NUMBER).andExpect(jsonPath("$.name").value("Other User"));
+	}
+
+	@Test
+	void testFetchAccount_NotFoundNotCached() throws Exception {
+		mockMvc.perform(get("/api/fetch").param("mobileNumber", MOBILE_NUMBER))
+				.andExpect(status().isNotFound());
+
+		assertNull(cache.get(MOBILE_NUMBER));
+	}
+
+	@Test
+	void testUpdateAccount_EvictsEntry() throws Exception {
+		createCustomer("Cache User", MOBILE_NUMBER);
+		CustomerDto customerDto = accountsService.fetchAccount(MOBILE_NUMBER);
+
+		mockMvc.perform(put("/api/update").contentType("application/json")
+				.content(updateJson("Renamed User", MOBILE_NUMBER, customerDto.getAccountsDto().getAccountNumber())))
+				.andExpect(status().isOk());
+
+		assertNull(cache.get(MOBILE_NUMBER));
+		fetch(MOBILE_NUMBER).andExpect(jsonPath("$.name").value("Renamed User"));
+	}
+
+	@Test
+	void testUpdateMobileNumber_EvictsPreviousNumber() throws Exception {
+		createCustomer("Cache User", MOBILE_NUMBER);
+		CustomerDto customerDto = accountsService.fetchAccount(MOBILE_NUMBER);
+
+		mockMvc.perform(put("/api/update").contentType("application/json")
+				.content(updateJson("Cache User", NEW_MOBILE_NUMBER,
+						customerDto.getAccountsDto().getAccountNumber())))
+				.andExpect(status().isOk());
+
+		assertNull(cache.get(MOBILE_NUMBER));
+		mockMvc.perform(get("/api/fetch").param("mobileNumber", MOBILE_NUMBER))
+				.andExpect(status().isNotFound());
+		fetch(NEW_MOBILE_NUMBER).andExpect(jsonPath("$.mobileNumber").value(NEW_MOBILE_NUMBER));
+	}
+
+	@Test
+	void testDeleteAccount_EvictsEntry() throws Exception {
+		createCustomer("Cache User", MOBILE_NUMBER);
+		accountsService.fetchAccount(MOBILE_NUMBER);
+
+		mockMvc.perform(delete("/api/delete").param("mobileNumber", MOBILE_NUMBER))
+				.andExpect(status().isOk());
+
+		assertNull(cache.get(MOBILE_NUMBER));
+		mockMvc.perform(get("/api/fetch").param("mobileNumber", MOBILE_NUMBER))
+				.andExpect(status().isNotFound());
+	}
+
+	@Test
+	void testUpdateAccount_EvictsOnlyAfterCommit() throws Exception {
+		createCustomer("Cache User", MOBILE_NUMBER);
+		CustomerDto customerDto = renamed(accountsService.fetchAccount(MOBILE_NUMBER));
+
+		transactionTemplate.executeWithoutResult(status -> {
+			accountsService.updateAccount(customerDto);
+			// still the committed state for every other reader
+			assertNotNull(cache.get(MOBILE_NUMBER));
+		});
+
+		assertNull(cache.get(MOBILE_NUMBER));
+	}
+
+	@Test
+	void testUpdateAccount_RolledBack_KeepsEntry() throws Exception {
+		createCustomer("Cache User", MOBILE_NUMBER);
+		CustomerDto customerDto = renamed(accountsService.fetchAccount(MOBILE_NUMBER));
+
+		transactionTemplate.executeWithoutResult(status -> {
+			accountsService.updateAccount(customerDto);
+			status.setRollbackOnly();
+		});
+
+		CustomerDto cached = cache.get(MOBILE_NUMBER, CustomerDto.class);
+		assertNotNull(cached);
+		assertEquals("Cache User", cached.getName());
+	}
+
+	private void createCustomer(String name, String mobileNumber) throws Exception {
+		mockMvc.perform(post("/api/create").contentType("application/json")
+				.content("""
+						{"name": "%s", "email": "cache@example.com", "mobileNumber": "%s"}"""
+						.formatted(name, mobileNumber)))
+				.andExpect(status().isCreated());
+	}
+
+	private ResultActions fetch(String mobileNumber) throws Exception {
+		return mockMvc.perform(get("/api/fetch").param("mobileNumber", mobileNumber))
+				.andExpect(status().isOk());
+	}
+
+	/**
+	 * @return a copy of the cached details with a new name, the cached instance itself is left untouched
+	 */
+	private static CustomerDto renamed(CustomerDto cached) {
+		return new CustomerDto("Renamed User", cached.getEmail(), cached.getMobileNumber(),
+				new AccountsDto(cached.getAccountsDto().getAccountNumber(), cached.getAccountsDto().getAccountType(),
+						cached.getAccountsDto().getBranchAddress()));
+	}
+
+	private static String updateJson(String name, String mobileNumber, Long accountNumber) {
+		return """
+				{
+				    "name": "%s",
+				    "email": "cache@example.com",
+				    "mobileNumber": "%s",
+				    "accountsDto": {
+				        "accountNumber": %d,
+				        "accountType": "Savings",
+				        "branchAddress": "123 Main Street, New York"
+				    }
+				}
+				""".formatted(name, mobileNumber, accountNumber);
+	}
+
+	private double cacheGets(String result) {
+		return meterRegistry.get("cache.gets").tag("cache", AccountsConstants.CUSTOMERS_CACHE)
+				.tag("result", result).functionCounter().count();
+	}
+
+}
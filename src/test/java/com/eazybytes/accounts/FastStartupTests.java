@@ -0,0 +1,59 @@
+package com.eazybytes.accounts;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.eazybytes.accounts.audit.AuditEventListener;
+import com.eazybytes.accounts.lookup.RegisteredMobileNumbers;
+
+/**
+ * The prod profile only validates the schema created by schema.sql, so starting the context is the schema
+ * check, and creates framework beans on first use while the application's own beans stay eager.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("prod")
+class FastStartupTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ConfigurableApplicationContext applicationContext;
+
+	@Test
+	void testFrameworkBeans_Lazy() {
+		ConfigurableListableBeanFactory beanFactory = applicationContext.getBeanFactory();
+
+		assertTrue(beanFactory.getBeanDefinition("jacksonObjectMapper").isLazyInit());
+	}
+
+	@Test
+	void testApplicationBeans_CreatedAtStartup() {
+		ConfigurableListableBeanFactory beanFactory = applicationContext.getBeanFactory();
+		for (Class<?> type : new Class<?>[] {AuditEventListener.class, RegisteredMobileNumbers.class}) {
+			String[] names = beanFactory.getBeanNamesForType(type, true, false);
+			assertEquals(1, names.length, type::getName);
+			assertFalse(beanFactory.getBeanDefinition(names[0]).isLazyInit(), names[0]);
+			assertTrue(beanFactory.containsSingleton(names[0]), names[0]);
+		}
+	}
+
+	@Test
+	void testOpenApiDocs_BuiltOnRequest() throws Exception {
+		mockMvc.perform(get("/v3/api-docs")).andExpect(status().isOk());
+	}
+
+}
@@ -0,0 +1,159 @@
+package com.eazybytes.accounts;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.eazybytes.accounts.entity.Customer;
+import com.eazybytes.accounts.lookup.CustomerKeys;
+import com.eazybytes.accounts.lookup.MobileNumberIndex;
+import com.eazybytes.accounts.repository.AccountsRepository;
+import com.eazybytes.accounts.repository.CustomerRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * The index is process wide and outlives the rows deleted between tests; entries left behind are stale
+ * hints, which is one of the cases checked here.
+ */
+@SpringBootTest(properties = {"spring.cache.type=none",
+		"accounts.mobile-number-index.enabled=true"})
+@AutoConfigureMockMvc
+class MobileNumberIndexTests {
+
+	private static final String MOBILE_NUMBER = "9567017151";
+	private static final String NEW_MOBILE_NUMBER = "9567017152";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private CustomerRepository customerRepository;
+
+	@Autowired
+	private AccountsRepository accountsRepository;
+
+	@Autowired
+	private MobileNumberIndex mobileNumberIndex;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@BeforeEach
+	void setup() {
+		accountsRepository.deleteAll();
+		customerRepository.deleteAll();
+	}
+
+	@Test
+	void testCreateAccount_IndexedAndFetchedByKeys() throws Exception {
+		createCustomer();
+		CustomerKeys keys = storedKeys(MOBILE_NUMBER);
+
+		assertEquals(keys, mobileNumberIndex.find(MOBILE_NUMBER));
+		double hits = outcome("hit");
+		mockMvc.perform(get("/api/fetch").param("mobileNumber", MOBILE_NUMBER))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.mobileNumber").value(MOBILE_NUMBER))
+				.andExpect(jsonPath("$.accountsDto.accountNumber").value(keys.accountNumber()));
+		assertEquals(hits + 1, outcome("hit"));
+	}
+
+	@Test
+	void testUpdateMobileNumber_MovesEntry() throws Exception {
+		createCustomer();
+		CustomerKeys keys = storedKeys(MOBILE_NUMBER);
+
+		mockMvc.perform(put("/api/update").contentType("application/json")
+				.content("""
+						{
+						    "name": "Index User",
+						    "email": "index@example.com",
+						    "mobileNumber": "%s",
+						    "accountsDto": {
+						        "accountNumber": %d,
+						        "accountType": "Savings",
+						        "branchAddress": "123 Main Street, New York"
+						    }
+						}
+						""".formatted(NEW_MOBILE_NUMBER, keys.accountNumber())))
+				.andExpect(status().isOk());
+
+		assertNull(mobileNumberIndex.find(MOBILE_NUMBER));
+		assertEquals(keys, mobileNumberIndex.find(NEW_MOBILE_NUMBER));
+		mockMvc.perform(get("/api/fetch").param("mobileNumber", MOBILE_NUMBER))
+				.andExpect(status().isNotFound());
+		mockMvc.perform(get("/api/fetch").param("mobileNumber", NEW_MOBILE_NUMBER))
+				.andExpect(status().isOk());
+	}
+
+	@Test
+	void testChangedAroundService_StaleEntryDroppedAndQueriedByMobileNumber() throws Exception {
+		createCustomer();
+		jdbcTemplate.update("update customer set mobile_number = ? where mobile_number = ?", NEW_MOBILE_NUMBER,
+				MOBILE_NUMBER);
+		double stale = outcome("stale");
+
+		mockMvc.perform(get("/api/fetch").param("mobileNumber", MOBILE_NUMBER))
+				.andExpect(status().isNotFound());
+
+		assertEquals(stale + 1, outcome("stale"));
+		assertNull(mobileNumberIndex.find(MOBILE_NUMBER));
+	}
+
+	@Test
+	void testDeleteAccount_RemovesEntry() throws Exception {
+		createCustomer();
+
+		mockMvc.perform(delete("/api/delete").param("mobileNumber", MOBILE_NUMBER))
+				.andExpect(status().isOk());
+
+		assertNull(mobileNumberIndex.find(MOBILE_NUMBER));
+	}
+
+	@Test
+	void testLoad_ScansStoredCustomers() throws Exception {
+		createCustomer();
+		CustomerKeys keys = storedKeys(MOBILE_NUMBER);
+		mobileNumberIndex.stale(MOBILE_NUMBER);
+
+		mobileNumberIndex.load();
+
+		assertEquals(keys, mobileNumberIndex.find(MOBILE_NUMBER));
+	}
+
+	private void createCustomer() throws Exception {
+		mockMvc.perform(post("/api/create").contentType("application/json")
+				.content("""
+						{"name": "Index User", "email": "index@example.com", "mobileNumber": "%s"}"""
+						.formatted(MOBILE_NUMBER)))
+				.andExpect(status().isCreated());
+	}
+
+	private CustomerKeys storedKeys(String mobileNumber) {
+		Customer customer = customerRepository.findByMobileNumber(mobileNumber).orElseThrow();
+		return new CustomerKeys(customer.getCustomerId(),
+				accountsRepository.findByCustomerId(customer.getCustomerId()).orElseThrow().getAccountNumber());
+	}
+
+	private double outcome(String outcome) {
+		return meterRegistry.get("accounts.lookup.index").tag("outcome", outcome).counter().count();
+	}
+
+}
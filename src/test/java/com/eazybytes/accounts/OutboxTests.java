@@ -0,0 +1,181 @@
+package com.eazybytes.accounts;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.eazybytes.accounts.entity.Customer;
+import com.eazybytes.accounts.outbox.InMemoryOutboxPublisher;
+import com.eazybytes.accounts.outbox.OutboxMessage;
+import com.eazybytes.accounts.outbox.OutboxPublisher;
+import com.eazybytes.accounts.outbox.OutboxRelay;
+import com.eazybytes.accounts.repository.AccountsRepository;
+import com.eazybytes.accounts.repository.CustomerRepository;
+
+/**
+ * The scheduled relay is pushed out of the test and run by hand, so the outbox can be checked before and
+ * after each run.
+ */
+@SpringBootTest(properties = {"spring.cache.type=none",
+		"accounts.outbox.relay-interval=PT1H"})
+@AutoConfigureMockMvc
+class OutboxTests {
+
+	private static final String MOBILE_NUMBER = "9567017141";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private CustomerRepository customerRepository;
+
+	@Autowired
+	private AccountsRepository accountsRepository;
+
+	@Autowired
+	private OutboxRelay outboxRelay;
+
+	@Autowired
+	private OutboxPublisher configuredPublisher;
+
+	private InMemoryOutboxPublisher outboxPublisher;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@BeforeEach
+	void setup() {
+		accountsRepository.deleteAll();
+		customerRepository.deleteAll();
+		jdbcTemplate.update("delete from outbox_event");
+		outboxPublisher = (InMemoryOutboxPublisher) configuredPublisher;
+		outboxPublisher.clear();
+	}
+
+	@Test
+	void testLifecycle_RelaysEventsInOrderAndEmptiesOutbox() throws Exception {
+		mockMvc.perform(post("/api/create").contentType("application/json").content(customerJson()))
+				.andExpect(status().isCreated());
+		Customer customer = customerRepository.findByMobileNumber(MOBILE_NUMBER).orElseThrow();
+		Long accountNumber = accountsRepository.findByCustomerId(customer.getCustomerId()).orElseThrow()
+				.getAccountNumber();
+		mockMvc.perform(put("/api/update").contentType("application/json")
+				.content("""
+						{
+						    "name": "Renamed User",
+						    "email": "outbox@example.com",
+						    "mobileNumber": "%s",
+						    "accountsDto": {
+						        "accountNumber": %d,
+						        "accountType": "Savings",
+						        "branchAddress": "123 Main Street, New York"
+						    }
+						}
+						""".formatted(MOBILE_NUMBER, accountNumber)))
+				.andExpect(status().isOk());
+		mockMvc.perform(delete("/api/delete").param("mobileNumber", MOBILE_NUMBER))
+				.andExpect(status().isOk());
+		assertEquals(3, outboxSize());
+
+		assertEquals(3, outboxRelay.relay());
+
+		List<OutboxMessage> published = outboxPublisher.getPublished();
+		assertEquals(List.of("AccountCreated", "AccountUpdated", "AccountDeleted"),
+				published.stream().map(OutboxMessage::eventType).toList());
+		published.forEach(message -> assertEquals(MOBILE_NUMBER, message.aggregateId()));
+		assertTrue(published.get(0).eventId() < published.get(1).eventId());
+		assertTrue(published.get(0).payload().contains("\"accountNumber\":" + accountNumber),
+				published.get(0).payload());
+		assertTrue(published.get(1).payload().contains("\"name\":\"Renamed User\""), published.get(1).payload());
+		assertEquals(0, outboxSize());
+		assertEquals(0, outboxRelay.relay());
+	}
+
+	@Test
+	void testCreateAccount_RolledBack_NoEvent() throws Exception {
+		mockMvc.perform(post("/api/create").contentType("application/json").content(customerJson()))
+				.andExpect(status().isCreated());
+		jdbcTemplate.update("delete from outbox_event");
+
+		mockMvc.perform(post("/api/create").contentType("application/json").content(customerJson()))
+				.andExpect(status().isBadRequest());
+
+		assertEquals(0, outboxSize());
+	}
+
+	@Test
+	void testPatchAccount_NoChange_WaitsForCustomerRowBeforeRecording() throws Exception {
+		mockMvc.perform(post("/api/create").contentType("application/json").content(customerJson()))
+				.andExpect(status().isCreated());
+		Customer customer = customerRepository.findByMobileNumber(MOBILE_NUMBER).orElseThrow();
+		Long accountNumber = accountsRepository.findByCustomerId(customer.getCustomerId()).orElseThrow()
+				.getAccountNumber();
+		jdbcTemplate.update("delete from outbox_event");
+
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Future<?> patch = new TransactionTemplate(transactionManager).execute(status -> {
+				// another writer of the customer, holding its rows like a delete would until commit
+				jdbcTemplate.queryForList("select account_number from accounts where account_number = ? for update",
+						accountNumber);
+				jdbcTemplate.queryForList("select customer_id from customer where customer_id = ? for update",
+						customer.getCustomerId());
+				Future<?> submitted = executor.submit(() -> {
+					mockMvc.perform(patch("/api/update").contentType("application/json")
+							.content("""
+									{"name": "Outbox User", "accountsDto": {"accountNumber": %d}}"""
+									.formatted(accountNumber)))
+							.andExpect(status().isOk());
+					return null;
+				});
+				try {
+					Thread.sleep(300);
+				} catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+				assertFalse(submitted.isDone());
+				assertEquals(0, outboxSize());
+				return submitted;
+			});
+			patch.get(10, TimeUnit.SECONDS);
+		} finally {
+			executor.shutdownNow();
+		}
+
+		assertEquals(1, outboxSize());
+	}
+
+	private int outboxSize() {
+		return jdbcTemplate.queryForObject("select count(*) from outbox_event", Integer.class);
+	}
+
+	private static String customerJson() {
+		return """
+				{"name": "Outbox User", "email": "outbox@example.com", "mobileNumber": "%s"}""".formatted(MOBILE_NUMBER);
+	}
+
+}
@@ -0,0 +1,113 @@
+package com.eazybytes.accounts;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.eazybytes.accounts.dto.CustomerDto;
+
+/**
+ * The reactive profile end to end: Netty on a random port, the WebFlux controller and the R2DBC service
+ * against the database the JDBC side initialized.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+		properties = {"spring.datasource.url=jdbc:h2:mem:reactiveapi", "spring.r2dbc.url=r2dbc:h2:mem:///reactiveapi"})
+@ActiveProfiles({"qa", "reactive"})
+class ReactiveAccountsIntegrationTests {
+
+	private static final String MOBILE_NUMBER = "9567017171";
+
+	@Autowired
+	private WebTestClient webTestClient;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void setup() {
+		jdbcTemplate.update("delete from accounts");
+		jdbcTemplate.update("delete from customer");
+	}
+
+	@Test
+	void testLifecycle() {
+		webTestClient.post().uri("/api/create").contentType(MediaType.APPLICATION_JSON)
+				.bodyValue(customerJson("Reactive User"))
+				.exchange().expectStatus().isCreated();
+		CustomerDto created = webTestClient.get().uri("/api/fetch?mobileNumber={mobileNumber}", MOBILE_NUMBER)
+				.exchange().expectStatus().isOk()
+				.expectBody(CustomerDto.class).returnResult().getResponseBody();
+		Long accountNumber = created.getAccountsDto().getAccountNumber();
+
+		webTestClient.put().uri("/api/update").contentType(MediaType.APPLICATION_JSON)
+				.bodyValue("""
+						{
+						    "name": "Renamed User",
+						    "email": "reactive@example.com",
+						    "mobileNumber": "%s",
+						    "accountsDto": {
+						        "accountNumber": %d,
+						        "accountType": "Savings",
+						        "branchAddress": "123 Main Street, New York"
+						    }
+						}
+						""".formatted(MOBILE_NUMBER, accountNumber))
+				.exchange().expectStatus().isOk();
+		webTestClient.patch().uri("/api/update").contentType(MediaType.APPLICATION_JSON)
+				.bodyValue("""
+						{"accountsDto": {"accountNumber": %d, "branchAddress": "1 Patched Street"}}"""
+						.formatted(accountNumber))
+				.exchange().expectStatus().isOk();
+		webTestClient.get().uri("/api/fetch?mobileNumber={mobileNumber}", MOBILE_NUMBER)
+				.exchange().expectStatus().isOk().expectBody()
+				.jsonPath("$.name").isEqualTo("Renamed User")
+				.jsonPath("$.accountsDto.accountNumber").isEqualTo(accountNumber)
+				.jsonPath("$.accountsDto.branchAddress").isEqualTo("1 Patched Street");
+
+		webTestClient.delete().uri("/api/delete?mobileNumber={mobileNumber}", MOBILE_NUMBER)
+				.exchange().expectStatus().isOk();
+		webTestClient.get().uri("/api/fetch?mobileNumber={mobileNumber}", MOBILE_NUMBER)
+				.exchange().expectStatus().isNotFound();
+	}
+
+	@Test
+	void testCreateAccount_AlreadyExists() {
+		webTestClient.post().uri("/api/create").contentType(MediaType.APPLICATION_JSON)
+				.bodyValue(customerJson("Reactive User"))
+				.exchange().expectStatus().isCreated();
+
+		webTestClient.post().uri("/api/create").contentType(MediaType.APPLICATION_JSON)
+				.bodyValue(customerJson("Other User"))
+				.exchange().expectStatus().isBadRequest().expectBody()
+				.jsonPath("$.errorCode").isEqualTo("BAD_REQUEST");
+	}
+
+	@Test
+	void testUpdateAccount_UnknownAccount_NotFound() {
+		webTestClient.put().uri("/api/update").contentType(MediaType.APPLICATION_JSON)
+				.bodyValue("""
+						{
+						    "name": "Nobody",
+						    "email": "reactive@example.com",
+						    "mobileNumber": "%s",
+						    "accountsDto": {
+						        "accountNumber": 1000000001,
+						        "accountType": "Savings",
+						        "branchAddress": "123 Main Street, New York"
+						    }
+						}
+						""".formatted(MOBILE_NUMBER))
+				.exchange().expectStatus().isNotFound();
+	}
+
+	private static String customerJson(String name) {
+		return """
+				{"name": "%s", "email": "reactive@example.com", "mobileNumber": "%s"}""".formatted(name, MOBILE_NUMBER);
+	}
+
+}
@@ -0,0 +1,16 @@
+package com.eazybytes.accounts;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * {@link AccountsRestAssuredTests} against the reactive profile: Netty, the WebFlux controller and the R2DBC
+ * service.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"spring.datasource.url=jdbc:h2:mem:reactiverestassured",
+                "spring.r2dbc.url=r2dbc:h2:mem:///reactiverestassured"})
+@ActiveProfiles({"qa", "reactive"})
+class ReactiveAccountsRestAssuredTests extends AccountsRestAssuredTests {
+
+}
@@ -0,0 +1,107 @@
+package com.eazybytes.accounts;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.eazybytes.accounts.audit.AuditTrail;
+import com.eazybytes.accounts.dto.AccountsDto;
+import com.eazybytes.accounts.dto.CustomerDto;
+import com.eazybytes.accounts.exception.CustomerAlreadyExistsException;
+import com.eazybytes.accounts.service.IReactiveAccountsService;
+
+/**
+ * Changes committed by the R2DBC service reach the audit trail as well. The scheduled flush is pushed out
+ * of the test and the buffer is flushed by hand.
+ */
+@SpringBootTest(properties = {"spring.datasource.url=jdbc:h2:mem:reactiveaudit",
+		"spring.r2dbc.url=r2dbc:h2:mem:///reactiveaudit", "accounts.audit.flush-interval=PT1H"})
+@ActiveProfiles({"qa", "reactive"})
+class ReactiveAuditLogTests {
+
+	private static final String MOBILE_NUMBER = "9567017181";
+
+	@Autowired
+	private IReactiveAccountsService reactiveAccountsService;
+
+	@Autowired
+	private AuditTrail auditTrail;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void setup() {
+		jdbcTemplate.update("delete from accounts");
+		jdbcTemplate.update("delete from customer");
+		auditTrail.flush();
+		jdbcTemplate.update("delete from audit_log");
+	}
+
+	@Test
+	void testLifecycle_AuditsEveryChange() {
+		reactiveAccountsService.createAccount(customer("Reactive User")).block();
+		Map<String, Object> created = jdbcTemplate.queryForMap("""
+				select c.customer_id, c.created_at, c.created_by, a.account_number, a.created_at as account_created_at
+				from customer c join accounts a on a.customer_id = c.customer_id
+				where c.mobile_number = ?""", MOBILE_NUMBER);
+		String customerId = created.get("customer_id").toString();
+		String accountNumber = created.get("account_number").toString();
+		CustomerDto update = customer("Renamed User");
+		update.setAccountsDto(new AccountsDto(Long.valueOf(accountNumber), "Savings", "123 Main Street, New York"));
+		reactiveAccountsService.updateAccount(update).block();
+		Map<String, Object> updated = jdbcTemplate.queryForMap(
+				"select updated_at, updated_by from customer where mobile_number = ?", MOBILE_NUMBER);
+		reactiveAccountsService.deleteAccount(MOBILE_NUMBER).block();
+		auditTrail.flush();
+
+		assertNotNull(created.get("created_at"));
+		assertNotNull(created.get("account_created_at"));
+		assertEquals("ACCOUNTS_MS", created.get("created_by"));
+		assertNotNull(updated.get("updated_at"));
+		assertEquals("ACCOUNTS_MS", updated.get("updated_by"));
+		List<Map<String, Object>> rows = auditRows();
+		assertEquals(List.of("Customer:" + customerId + ":INSERT", "Accounts:" + accountNumber + ":INSERT",
+						"Customer:" + customerId + ":UPDATE", "Accounts:" + accountNumber + ":UPDATE",
+						"Customer:" + MOBILE_NUMBER + ":DELETE"),
+				rows.stream().map(row -> row.get("entity_type") + ":" + row.get("entity_id") + ":" + row.get("action"))
+						.toList());
+		rows.forEach(row -> assertEquals("ACCOUNTS_MS", row.get("changed_by")));
+	}
+
+	@Test
+	void testCreateAccount_RolledBack_NotAudited() {
+		reactiveAccountsService.createAccount(customer("Reactive User")).block();
+		auditTrail.flush();
+		jdbcTemplate.update("delete from audit_log");
+
+		assertThrows(CustomerAlreadyExistsException.class,
+				() -> reactiveAccountsService.createAccount(customer("Other User")).block());
+		auditTrail.flush();
+
+		assertEquals(0, auditRows().size());
+	}
+
+	private List<Map<String, Object>> auditRows() {
+		return jdbcTemplate.queryForList("select entity_type, entity_id, action, changed_by from audit_log order by audit_id");
+	}
+
+	private static CustomerDto customer(String name) {
+		CustomerDto customerDto = new CustomerDto();
+		customerDto.setName(name);
+		customerDto.setEmail("reactive@example.com");
+		customerDto.setMobileNumber(MOBILE_NUMBER);
+		return customerDto;
+	}
+
+}
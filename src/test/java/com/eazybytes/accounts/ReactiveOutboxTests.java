@@ -0,0 +1,105 @@
+package com.eazybytes.accounts;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.eazybytes.accounts.dto.AccountsDto;
+import com.eazybytes.accounts.dto.CustomerDto;
+import com.eazybytes.accounts.exception.CustomerAlreadyExistsException;
+import com.eazybytes.accounts.service.IReactiveAccountsService;
+
+/**
+ * The R2DBC service writes the same outbox events as the JPA one, in the transaction of the change. The
+ * relay is off and the database is private to this context, so the events stay in outbox_event.
+ */
+@SpringBootTest(properties = {"spring.datasource.url=jdbc:h2:mem:reactiveoutbox",
+		"spring.r2dbc.url=r2dbc:h2:mem:///reactiveoutbox", "accounts.outbox.relay-enabled=false"})
+@ActiveProfiles({"qa", "reactive"})
+class ReactiveOutboxTests {
+
+	private static final String MOBILE_NUMBER = "9567017151";
+	private static final String NEW_MOBILE_NUMBER = "9567017152";
+
+	@Autowired
+	private IReactiveAccountsService reactiveAccountsService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void setup() {
+		jdbcTemplate.update("delete from accounts");
+		jdbcTemplate.update("delete from customer");
+		jdbcTemplate.update("delete from outbox_event");
+	}
+
+	@Test
+	void testLifecycle_WritesEventsInOrder() {
+		reactiveAccountsService.createAccount(customer("Reactive User", MOBILE_NUMBER)).block();
+		Long accountNumber = reactiveAccountsService.fetchAccount(MOBILE_NUMBER).block().getAccountsDto()
+				.getAccountNumber();
+		CustomerDto update = customer("Renamed User", MOBILE_NUMBER);
+		update.setAccountsDto(new AccountsDto(accountNumber, "Savings", "123 Main Street, New York"));
+		reactiveAccountsService.updateAccount(update).block();
+		CustomerDto patch = new CustomerDto();
+		patch.setMobileNumber(NEW_MOBILE_NUMBER);
+		AccountsDto patchedAccount = new AccountsDto();
+		patchedAccount.setAccountNumber(accountNumber);
+		patch.setAccountsDto(patchedAccount);
+		reactiveAccountsService.patchAccount(patch).block();
+		reactiveAccountsService.deleteAccount(NEW_MOBILE_NUMBER).block();
+
+		List<Map<String, Object>> events = outbox();
+		assertEquals(List.of("AccountCreated", "AccountUpdated", "AccountUpdated", "AccountDeleted"),
+				events.stream().map(event -> event.get("event_type")).toList());
+		assertEquals(List.of(MOBILE_NUMBER, MOBILE_NUMBER, NEW_MOBILE_NUMBER, NEW_MOBILE_NUMBER),
+				events.stream().map(event -> event.get("aggregate_id")).toList());
+		assertPayloadContains(events.get(0), "\"accountNumber\":" + accountNumber);
+		assertPayloadContains(events.get(0), "\"accountType\":\"Savings\"");
+		assertPayloadContains(events.get(1), "\"name\":\"Renamed User\"");
+		// the patch names only the mobile number, the event carries the whole state read back after it
+		assertPayloadContains(events.get(2), "\"name\":\"Renamed User\"");
+		assertPayloadContains(events.get(2), "\"previousMobileNumber\":\"" + MOBILE_NUMBER + "\"");
+		assertPayloadContains(events.get(3), "\"soft\":false");
+	}
+
+	@Test
+	void testCreateAccount_RolledBack_NoEvent() {
+		reactiveAccountsService.createAccount(customer("Reactive User", MOBILE_NUMBER)).block();
+		jdbcTemplate.update("delete from outbox_event");
+
+		assertThrows(CustomerAlreadyExistsException.class,
+				() -> reactiveAccountsService.createAccount(customer("Reactive User", MOBILE_NUMBER)).block());
+
+		assertEquals(0, outbox().size());
+	}
+
+	private List<Map<String, Object>> outbox() {
+		return jdbcTemplate.queryForList("select event_type, aggregate_id, payload from outbox_event order by event_id");
+	}
+
+	private static void assertPayloadContains(Map<String, Object> event, String expected) {
+		String payload = (String) event.get("payload");
+		assertTrue(payload.contains(expected), payload);
+	}
+
+	private static CustomerDto customer(String name, String mobileNumber) {
+		CustomerDto customerDto = new CustomerDto();
+		customerDto.setName(name);
+		customerDto.setEmail("reactive@example.com");
+		customerDto.setMobileNumber(mobileNumber);
+		return customerDto;
+	}
+
+}
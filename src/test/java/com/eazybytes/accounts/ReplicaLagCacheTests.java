@@ -0,0 +1,166 @@
+package com.eazybytes.accounts;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.eazybytes.accounts.constants.AccountsConstants;
+import com.eazybytes.accounts.dto.AccountsDto;
+import com.eazybytes.accounts.dto.CustomerDto;
+import com.eazybytes.accounts.repository.AccountsRepository;
+import com.eazybytes.accounts.repository.CustomerRepository;
+import com.eazybytes.accounts.service.IAccountsService;
+
+/**
+ * The customer cache in front of a lagging replica. The replica is a separate H2 database that nothing
+ * replicates to, so the tests copy a write to it by hand once they want the replica to have caught up.
+ */
+@SpringBootTest(properties = {
+		"accounts.replica.enabled=true",
+		"accounts.replica.datasource.url=jdbc:h2:mem:lagging;DB_CLOSE_DELAY=-1;INIT=RUNSCRIPT FROM 'classpath:schema.sql'",
+		"accounts.replica.datasource.username=sa",
+		"accounts.replica.read-your-writes-window=PT1S"})
+@AutoConfigureMockMvc
+class ReplicaLagCacheTests {
+
+	private static final String MOBILE_NUMBER = "3333333333";
+	private static final long WAIT_MILLIS = 5_000;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private CustomerRepository customerRepository;
+
+	@Autowired
+	private AccountsRepository accountsRepository;
+
+	@Autowired
+	@Qualifier("replicaDataSource")
+	private DataSource replicaDataSource;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Autowired
+	private IAccountsService accountsService;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	private JdbcTemplate replica;
+
+	private Cache cache;
+
+	@BeforeEach
+	void setup() {
+		accountsRepository.deleteAll();
+		customerRepository.deleteAll();
+		replica = new JdbcTemplate(replicaDataSource);
+		replica.update("delete from accounts");
+		replica.update("delete from customer");
+		cache = cacheManager.getCache(AccountsConstants.CUSTOMERS_CACHE);
+		cache.clear();
+	}
+
+	@Test
+	void testUpdateAccount_StaleReplicaReadEvictedAfterWindow() throws Exception {
+		Long accountNumber = createReplicatedCustomer("Lagging User");
+
+		mockMvc.perform(put("/api/update").contentType("application/json").header("X-Client-Id", "writer")
+				.content(updateJson("Renamed User", accountNumber)))
+				.andExpect(status().isOk());
+		// another client reads the replica before it has the update, and caches what it read
+		fetch("reader").andExpect(jsonPath("$.name").value("Lagging User"));
+		assertNotNull(cache.get(MOBILE_NUMBER));
+
+		replica.update("update customer set name = 'Renamed User' where mobile_number = ?", MOBILE_NUMBER);
+		awaitEvicted();
+
+		fetch("reader").andExpect(jsonPath("$.name").value("Renamed User"));
+	}
+
+	@Test
+	void testUpdateAccount_RolledBack_NothingEvictedLater() throws Exception {
+		Long accountNumber = createReplicatedCustomer("Lagging User");
+		CustomerDto customerDto = new CustomerDto("Renamed User", "lagging@example.com", MOBILE_NUMBER,
+				new AccountsDto(accountNumber, "Savings", "123 Main Street, New York"));
+
+		transactionTemplate.executeWithoutResult(status -> {
+			accountsService.updateAccount(customerDto);
+			status.setRollbackOnly();
+		});
+		fetch("reader").andExpect(jsonPath("$.name").value("Lagging User"));
+		Thread.sleep(2_000);
+
+		CustomerDto cached = cache.get(MOBILE_NUMBER, CustomerDto.class);
+		assertNotNull(cached);
+		assertEquals("Lagging User", cached.getName());
+	}
+
+	/**
+	 * @return account number of a customer created on the primary and copied to the replica
+	 */
+	private Long createReplicatedCustomer(String name) throws Exception {
+		mockMvc.perform(post("/api/create").contentType("application/json").header("X-Client-Id", "writer")
+				.content("""
+						{"name": "%s", "email": "lagging@example.com", "mobileNumber": "%s"}""".formatted(name, MOBILE_NUMBER)))
+				.andExpect(status().isCreated());
+		Long customerId = customerRepository.findByMobileNumber(MOBILE_NUMBER).orElseThrow().getCustomerId();
+		Long accountNumber = accountsRepository.findByCustomerId(customerId).orElseThrow().getAccountNumber();
+		replica.update("insert into customer (customer_id, name, email, mobile_number) values (?, ?, ?, ?)",
+				customerId, name, "lagging@example.com", MOBILE_NUMBER);
+		replica.update("insert into accounts (customer_id, account_number, account_type, branch_address) "
+				+ "values (?, ?, 'Savings', '123 Main Street, New York')", customerId, accountNumber);
+		return accountNumber;
+	}
+
+	private ResultActions fetch(String clientId) throws Exception {
+		return mockMvc.perform(get("/api/fetch").param("mobileNumber", MOBILE_NUMBER).header("X-Client-Id", clientId))
+				.andExpect(status().isOk());
+	}
+
+	private void awaitEvicted() throws InterruptedException {
+		long deadline = System.currentTimeMillis() + WAIT_MILLIS;
+		while (cache.get(MOBILE_NUMBER) != null && System.currentTimeMillis() < deadline) {
+			Thread.sleep(50);
+		}
+		assertNull(cache.get(MOBILE_NUMBER));
+	}
+
+	private static String updateJson(String name, Long accountNumber) {
+		return """
+				{
+				    "name": "%s",
+				    "email": "lagging@example.com",
+				    "mobileNumber": "%s",
+				    "accountsDto": {
+				        "accountNumber": %d,
+				        "accountType": "Savings",
+				        "branchAddress": "123 Main Street, New York"
+				    }
+				}
+				""".formatted(name, MOBILE_NUMBER, accountNumber);
+	}
+
+}
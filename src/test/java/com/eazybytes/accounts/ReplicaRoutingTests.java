@@ -0,0 +1,104 @@
+package com.eazybytes.accounts;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.eazybytes.accounts.lookup.RegisteredMobileNumbers;
+import com.eazybytes.accounts.repository.AccountsRepository;
+import com.eazybytes.accounts.repository.CustomerRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * The replica is a separate H2 database that nothing replicates to, so a row only visible in one of the
+ * two databases shows where a request was routed.
+ */
+@SpringBootTest(properties = {
+		"accounts.replica.enabled=true",
+		"accounts.replica.datasource.url=jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1;INIT=RUNSCRIPT FROM 'classpath:schema.sql'",
+		"accounts.replica.datasource.username=sa",
+		"accounts.replica.read-your-writes-window=PT1M",
+		"spring.cache.type=none"})
+@AutoConfigureMockMvc
+class ReplicaRoutingTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private CustomerRepository customerRepository;
+
+	@Autowired
+	private AccountsRepository accountsRepository;
+
+	@Autowired
+	@Qualifier("replicaDataSource")
+	private DataSource replicaDataSource;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	private RegisteredMobileNumbers registeredMobileNumbers;
+
+	private JdbcTemplate replica;
+
+	@BeforeEach
+	void setup() {
+		accountsRepository.deleteAll();
+		customerRepository.deleteAll();
+		replica = new JdbcTemplate(replicaDataSource);
+		replica.update("delete from accounts");
+		replica.update("delete from customer");
+	}
+
+	@Test
+	void testFetchAccountDetails_ReadFromReplica() throws Exception {
+		// Setup a customer that only exists on the replica
+		replica.update("insert into customer (customer_id, name, email, mobile_number) values (1, ?, ?, ?)",
+				"Replica User", "replica@example.com", "1111111111");
+		replica.update("insert into accounts (customer_id, account_number, account_type, branch_address) "
+				+ "values (1, 1000000001, 'Savings', '123 Main Street, New York')");
+		// on a real replica the row arrives from the primary, which registers the number when writing it
+		registeredMobileNumbers.add("1111111111");
+
+		mockMvc.perform(get("/api/fetch").param("mobileNumber", "1111111111").header("X-Client-Id", "reader"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.name").value("Replica User"));
+
+		assertTrue(meterRegistry.get("accounts.datasource.connections").tag("pool", "replica").counter().count() > 0);
+		assertTrue(meterRegistry.get("accounts.datasource.read.offload.ratio").gauge().value() > 0);
+	}
+
+	@Test
+	void testFetchAccountDetails_ReadYourWritesFromPrimary() throws Exception {
+		mockMvc.perform(post("/api/create").contentType("application/json").header("X-Client-Id", "writer")
+				.content("""
+						{"name": "Primary User", "email": "primary@example.com", "mobileNumber": "2222222222"}"""))
+				.andExpect(status().isCreated());
+
+		// the writer sees its own customer, served by the primary within the window
+		mockMvc.perform(get("/api/fetch").param("mobileNumber", "2222222222").header("X-Client-Id", "writer"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.name").value("Primary User"));
+
+		// any other client reads the replica, which has not received the customer
+		mockMvc.perform(get("/api/fetch").param("mobileNumber", "2222222222").header("X-Client-Id", "reader"))
+				.andExpect(status().isNotFound());
+	}
+
+}
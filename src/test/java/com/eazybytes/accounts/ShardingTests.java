@@ -0,0 +1,331 @@
+package com.eazybytes.accounts;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.eazybytes.accounts.dto.CustomerDto;
+import com.eazybytes.accounts.dto.CustomerPageDto;
+import com.eazybytes.accounts.exception.CustomerAlreadyExistsException;
+import com.eazybytes.accounts.generator.AccountNumberGenerator;
+import com.eazybytes.accounts.lookup.RegisteredMobileNumbers;
+import com.eazybytes.accounts.sharding.ShardRebalancer;
+import com.eazybytes.accounts.sharding.ShardRouter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Three separate H2 databases as shards; the rows found through each shard's own pool show where a
+ * request was routed.
+ */
+@SpringBootTest(properties = {
+		"accounts.sharding.enabled=true",
+		"spring.jpa.open-in-view=false",
+		"accounts.sharding.shards[0].url=jdbc:h2:mem:sharding0;DB_CLOSE_DELAY=-1",
+		"accounts.sharding.shards[1].url=jdbc:h2:mem:sharding1;DB_CLOSE_DELAY=-1",
+		"accounts.sharding.shards[2].url=jdbc:h2:mem:sharding2;DB_CLOSE_DELAY=-1",
+		"spring.cache.type=none"})
+@AutoConfigureMockMvc
+class ShardingTests {
+
+	private static final int CUSTOMERS = 30;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ShardRouter shardRouter;
+
+	@Autowired
+	private ShardRebalancer shardRebalancer;
+
+	@Autowired
+	private AccountNumberGenerator accountNumberGenerator;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private RegisteredMobileNumbers registeredMobileNumbers;
+
+	@BeforeEach
+	void setup() {
+		for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+			shardRouter.jdbcTemplate(shard).update("delete from accounts");
+			shardRouter.jdbcTemplate(shard).update("delete from customer");
+		}
+	}
+
+	@Test
+	void testCreateAccounts_PlacedOnRingShard() throws Exception {
+		createCustomers();
+
+		Set<Integer> usedShards = new HashSet<>();
+		for (int i = 0; i < CUSTOMERS; i++) {
+			String mobileNumber = mobileNumber(i);
+			int shard = shardRouter.shardForMobileNumber(mobileNumber);
+			usedShards.add(shard);
+			Map<String, Object> row = shardRouter.jdbcTemplate(shard).queryForMap(
+					"select c.customer_id, a.account_number from customer c join accounts a "
+							+ "on a.customer_id = c.customer_id where c.mobile_number = ?", mobileNumber);
+			assertEquals(shard, shardRouter.shardForCustomerId(((Number) row.get("customer_id")).longValue()));
+			assertEquals(shard, accountNumberGenerator.shardOf(((Number) row.get("account_number")).longValue()));
+
+			mockMvc.perform(get("/api/fetch").param("mobileNumber", mobileNumber))
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$.accountsDto.accountNumber").value(row.get("account_number")));
+		}
+		assertEquals(shardRouter.getShardCount(), usedShards.size());
+	}
+
+	@Test
+	void testFetchCustomers_MergesShardsByCustomerId() throws Exception {
+		createCustomers();
+
+		// customer ids are not part of the response, they are read back from the owning shards
+		List<Long> customerIds = new ArrayList<>();
+		String cursor = null;
+		do {
+			String body = mockMvc.perform(cursor == null
+							? get("/api/customers").param("size", "7")
+							: get("/api/customers").param("size", "7").param("cursor", cursor))
+					.andExpect(status().isOk())
+					.andReturn().getResponse().getContentAsString();
+			CustomerPageDto page = objectMapper.readValue(body, CustomerPageDto.class);
+			page.getCustomers().stream().map(CustomerDto::getMobileNumber).map(this::storedCustomerId)
+					.forEach(customerIds::add);
+			cursor = page.getNextCursor();
+		} while (cursor != null);
+
+		assertEquals(CUSTOMERS, customerIds.size());
+		assertEquals(customerIds.stream().sorted().toList(), customerIds);
+	}
+
+	@Test
+	void testExportAccounts_AllShardsOneHeader() throws Exception {
+		createCustomers();
+
+		String body = mockMvc.perform(get("/api/export?format=csv"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+
+		String[] lines = body.split("\r?\n");
+		assertEquals(CUSTOMERS + 1, lines.length);
+		assertTrue(lines[0].startsWith("customer_id,"), lines[0]);
+	}
+
+	@Test
+	void testUpdateAccount_NewMobileNumberMovesCustomer() throws Exception {
+		createCustomers();
+		String mobileNumber = mobileNumber(0);
+		int source = shardRouter.shardForMobileNumber(mobileNumber);
+		String newMobileNumber = mobileNumberOnOtherShard(source);
+		int target = shardRouter.shardForMobileNumber(newMobileNumber);
+		long accountNumber = accountNumber(source, mobileNumber);
+
+		updateMobileNumber(accountNumber, newMobileNumber).andExpect(status().isOk());
+
+		assertEquals(0, count(source, "select count(*) from accounts where account_number = ?", accountNumber));
+		assertEquals(1, count(target, "select count(*) from accounts where account_number = ?", accountNumber));
+		mockMvc.perform(get("/api/fetch").param("mobileNumber", newMobileNumber))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.name").value("Moved User"));
+	}
+
+	@Test
+	void testUpdateAccount_NewMobileNumberTakenOnTarget_NothingChanges() throws Exception {
+		createCustomers();
+		String mobileNumber = mobileNumber(0);
+		int source = shardRouter.shardForMobileNumber(mobileNumber);
+		String newMobileNumber = mobileNumberOnOtherShard(source);
+		int target = shardRouter.shardForMobileNumber(newMobileNumber);
+		insertCustomer(target, target * ShardRouter.CUSTOMER_ID_RANGE + 999_999, newMobileNumber, 1000000002L);
+		registeredMobileNumbers.add(newMobileNumber);
+
+		updateMobileNumber(accountNumber(source, mobileNumber), newMobileNumber).andExpect(status().isBadRequest());
+
+		assertEquals(1, count(source, "select count(*) from customer where mobile_number = ?", mobileNumber));
+		assertEquals(1, count(target, "select count(*) from customer where mobile_number = ?", newMobileNumber));
+		assertEquals(1, count(target, "select count(*) from accounts where account_number = ?", 1000000002L));
+	}
+
+	@Test
+	void testUpdateAccount_MoveFails_NumberStaysClaimedUntilRebalance() throws Exception {
+		createCustomers();
+		String mobileNumber = mobileNumber(0);
+		int source = shardRouter.shardForMobileNumber(mobileNumber);
+		String newMobileNumber = mobileNumberOnOtherShard(source);
+		int target = shardRouter.shardForMobileNumber(newMobileNumber);
+		long accountNumber = accountNumber(source, mobileNumber);
+		// a stray row with the same account number makes the copy to the target fail
+		JdbcTemplate targetJdbcTemplate = shardRouter.jdbcTemplate(target);
+		targetJdbcTemplate.update("insert into accounts (customer_id, account_number, account_type, branch_address) "
+				+ "values (?, ?, 'Savings', '123 Main Street, New York')",
+				target * ShardRouter.CUSTOMER_ID_RANGE + 999_999, accountNumber);
+
+		// the update is committed on the source, so it is not reported as failed
+		updateMobileNumber(accountNumber, newMobileNumber).andExpect(status().isOk());
+
+		assertEquals(1, count(source, "select count(*) from customer where mobile_number = ?", newMobileNumber));
+		// the claim keeps the number on its shard from being handed to anyone else
+		mockMvc.perform(post("/api/create").contentType("application/json")
+						.content("""
+								{"name": "Other User", "email": "other@example.com", "mobileNumber": "%s"}"""
+								.formatted(newMobileNumber)))
+				.andExpect(status().isBadRequest());
+
+		targetJdbcTemplate.update("delete from accounts where account_number = ?", accountNumber);
+		assertEquals(1, shardRebalancer.rebalance());
+
+		assertEquals(0, count(source, "select count(*) from customer where mobile_number = ?", newMobileNumber));
+		assertEquals(1, count(target, "select count(*) from customer where mobile_number = ?", newMobileNumber));
+		mockMvc.perform(get("/api/fetch").param("mobileNumber", newMobileNumber))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.name").value("Moved User"))
+				.andExpect(jsonPath("$.accountsDto.accountNumber").value(accountNumber));
+	}
+
+	@Test
+	void testRebalance_MovesMisplacedCustomer() throws Exception {
+		String mobileNumber = mobileNumber(0);
+		int target = shardRouter.shardForMobileNumber(mobileNumber);
+		int misplaced = (target + 1) % shardRouter.getShardCount();
+		long customerId = misplaced * ShardRouter.CUSTOMER_ID_RANGE + 999_999;
+		shardRouter.jdbcTemplate(misplaced).update("insert into customer (customer_id, name, email, mobile_number) "
+				+ "values (?, 'Misplaced User', 'misplaced@example.com', ?)", customerId, mobileNumber);
+		shardRouter.jdbcTemplate(misplaced).update("insert into accounts (customer_id, account_number, account_type, "
+				+ "branch_address) values (?, 1000000001, 'Savings', '123 Main Street, New York')", customerId);
+		// written around JPA, so the number is registered by hand
+		registeredMobileNumbers.add(mobileNumber);
+
+		assertEquals(1, shardRebalancer.rebalance());
+		assertEquals(0, shardRebalancer.rebalance());
+
+		assertEquals(0, count(misplaced, "select count(*) from customer where mobile_number = ?", mobileNumber));
+		Long movedId = shardRouter.jdbcTemplate(target).queryForObject(
+				"select customer_id from customer where mobile_number = ?", Long.class, mobileNumber);
+		assertNotEquals(customerId, movedId);
+		assertEquals(target, shardRouter.shardForCustomerId(movedId));
+		mockMvc.perform(get("/api/fetch").param("mobileNumber", mobileNumber))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.accountsDto.accountNumber").value(1000000001L));
+	}
+
+	@Test
+	void testRebalance_FinishesInterruptedMove() throws Exception {
+		String mobileNumber = mobileNumber(0);
+		int target = shardRouter.shardForMobileNumber(mobileNumber);
+		int misplaced = (target + 1) % shardRouter.getShardCount();
+		insertCustomer(misplaced, misplaced * ShardRouter.CUSTOMER_ID_RANGE + 999_999, mobileNumber, 1000000001L);
+		// the copy an earlier move committed before it failed to delete the source
+		insertCustomer(target, target * ShardRouter.CUSTOMER_ID_RANGE + 999_999, mobileNumber, 1000000001L);
+		registeredMobileNumbers.add(mobileNumber);
+
+		assertEquals(1, shardRebalancer.rebalance());
+
+		assertEquals(0, count(misplaced, "select count(*) from customer where mobile_number = ?", mobileNumber));
+		assertEquals(1, count(target, "select count(*) from customer where mobile_number = ?", mobileNumber));
+		assertEquals(1, count(target, "select count(*) from accounts where account_number = ?", 1000000001L));
+	}
+
+	@Test
+	void testRebalance_OtherCustomerOnTarget_KeepsBoth() {
+		String mobileNumber = mobileNumber(0);
+		int target = shardRouter.shardForMobileNumber(mobileNumber);
+		int misplaced = (target + 1) % shardRouter.getShardCount();
+		insertCustomer(misplaced, misplaced * ShardRouter.CUSTOMER_ID_RANGE + 999_999, mobileNumber, 1000000001L);
+		// created on the new shard before the misplaced customer was moved
+		insertCustomer(target, target * ShardRouter.CUSTOMER_ID_RANGE + 999_999, mobileNumber, 1000000002L);
+		registeredMobileNumbers.add(mobileNumber);
+
+		assertThrows(CustomerAlreadyExistsException.class, () -> shardRebalancer.rebalance());
+
+		assertEquals(1, count(misplaced, "select count(*) from accounts where account_number = ?", 1000000001L));
+		assertEquals(1, count(target, "select count(*) from accounts where account_number = ?", 1000000002L));
+		assertEquals(0, count(target, "select count(*) from accounts where account_number = ?", 1000000001L));
+	}
+
+	private void insertCustomer(int shard, long customerId, String mobileNumber, long accountNumber) {
+		shardRouter.jdbcTemplate(shard).update("insert into customer (customer_id, name, email, mobile_number) "
+				+ "values (?, 'Shard User', 'shard@example.com', ?)", customerId, mobileNumber);
+		shardRouter.jdbcTemplate(shard).update("insert into accounts (customer_id, account_number, account_type, "
+				+ "branch_address) values (?, ?, 'Savings', '123 Main Street, New York')", customerId, accountNumber);
+	}
+
+	private Long storedCustomerId(String mobileNumber) {
+		return shardRouter.jdbcTemplate(shardRouter.shardForMobileNumber(mobileNumber)).queryForObject(
+				"select customer_id from customer where mobile_number = ?", Long.class, mobileNumber);
+	}
+
+	private ResultActions updateMobileNumber(long accountNumber, String newMobileNumber) throws Exception {
+		return mockMvc.perform(put("/api/update").contentType("application/json")
+				.content("""
+						{
+						    "name": "Moved User",
+						    "email": "moved@example.com",
+						    "mobileNumber": "%s",
+						    "accountsDto": {
+						        "accountNumber": %d,
+						        "accountType": "Savings",
+						        "branchAddress": "123 Main Street, New York"
+						    }
+						}
+						""".formatted(newMobileNumber, accountNumber)));
+	}
+
+	private String mobileNumberOnOtherShard(int shard) {
+		String mobileNumber = mobileNumber(CUSTOMERS);
+		for (int i = CUSTOMERS; shardRouter.shardForMobileNumber(mobileNumber) == shard; i++) {
+			mobileNumber = mobileNumber(i);
+		}
+		return mobileNumber;
+	}
+
+	private long accountNumber(int shard, String mobileNumber) {
+		return shardRouter.jdbcTemplate(shard).queryForObject("select a.account_number from accounts a "
+				+ "join customer c on a.customer_id = c.customer_id where c.mobile_number = ?", Long.class, mobileNumber);
+	}
+
+	private void createCustomers() throws Exception {
+		StringJoiner customers = new StringJoiner(",", "[", "]");
+		for (int i = 0; i < CUSTOMERS; i++) {
+			customers.add("""
+					{"name": "Shard User", "email": "shard@example.com", "mobileNumber": "%s"}"""
+					.formatted(mobileNumber(i)));
+		}
+		mockMvc.perform(post("/api/create/batch").contentType("application/json").content(customers.toString()))
+				.andExpect(status().isCreated())
+				.andExpect(jsonPath("$.created").value(CUSTOMERS));
+	}
+
+	private int count(int shard, String sql, Object argument) {
+		Integer count = shardRouter.jdbcTemplate(shard).queryForObject(sql, Integer.class, argument);
+		return count == null ? 0 : count;
+	}
+
+	private static String mobileNumber(int i) {
+		return String.valueOf(9_100_000_000L + i);
+	}
+
+}
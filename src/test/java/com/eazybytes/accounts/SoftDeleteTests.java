@@ -0,0 +1,130 @@
+package com.eazybytes.accounts;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.eazybytes.accounts.scheduler.SoftDeletePurger;
+import com.eazybytes.accounts.support.SqlStatementCounter;
+import com.eazybytes.accounts.support.StatementCountingConfig;
+
+/**
+ * Soft-delete mode: deleted rows stay in place with deleted_at set, are hidden from every read and keep their
+ * mobile number reserved until the purger removes them. The scheduled purge is pushed out of the test and
+ * run by hand.
+ */
+@SpringBootTest(properties = {"spring.cache.type=none", "accounts.delete.soft=true",
+		"accounts.delete.purge-retention=PT1H", "accounts.delete.purge-chunk-size=2",
+		"accounts.delete.purge-interval=PT1H"})
+@AutoConfigureMockMvc
+@Import(StatementCountingConfig.class)
+class SoftDeleteTests {
+
+	private static final String MOBILE_NUMBER = "9567017151";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private SoftDeletePurger softDeletePurger;
+
+	@Autowired
+	private SqlStatementCounter sqlStatementCounter;
+
+	@BeforeEach
+	void setup() {
+		// soft-deleted rows are invisible to the repositories, so they are cleared with plain SQL
+		jdbcTemplate.update("delete from accounts");
+		jdbcTemplate.update("delete from customer");
+	}
+
+	@Test
+	void testDeleteAccount_HidesCustomerAndKeepsRows() throws Exception {
+		createCustomer(MOBILE_NUMBER).andExpect(status().isCreated());
+
+		mockMvc.perform(delete("/api/delete").param("mobileNumber", MOBILE_NUMBER))
+				.andExpect(status().isOk());
+
+		mockMvc.perform(get("/api/fetch").param("mobileNumber", MOBILE_NUMBER))
+				.andExpect(status().isNotFound());
+		mockMvc.perform(delete("/api/delete").param("mobileNumber", MOBILE_NUMBER))
+				.andExpect(status().isNotFound());
+		assertEquals(1, count("select count(*) from customer where deleted_at is not null"));
+		assertEquals(1, count("select count(*) from accounts where deleted_at is not null"));
+	}
+
+	@Test
+	void testCreateAccount_SoftDeletedNumberReservedUntilPurged() throws Exception {
+		createCustomer(MOBILE_NUMBER).andExpect(status().isCreated());
+		mockMvc.perform(delete("/api/delete").param("mobileNumber", MOBILE_NUMBER))
+				.andExpect(status().isOk());
+
+		createCustomer(MOBILE_NUMBER).andExpect(status().isBadRequest());
+
+		expire("customer");
+		expire("accounts");
+		softDeletePurger.purge();
+
+		createCustomer(MOBILE_NUMBER).andExpect(status().isCreated());
+		mockMvc.perform(get("/api/fetch").param("mobileNumber", MOBILE_NUMBER))
+				.andExpect(status().isOk());
+	}
+
+	@Test
+	void testPurge_RemovesOnlyExpiredRowsInChunks() throws Exception {
+		for (int i = 0; i < 5; i++) {
+			String mobileNumber = String.valueOf(9_567_017_160L + i);
+			createCustomer(mobileNumber).andExpect(status().isCreated());
+			mockMvc.perform(delete("/api/delete").param("mobileNumber", mobileNumber))
+					.andExpect(status().isOk());
+		}
+		// three of the five deletes are older than the retention
+		jdbcTemplate.update("update customer set deleted_at = ? where mobile_number < '9567017163'",
+				LocalDateTime.now().minusHours(2));
+		jdbcTemplate.update("update accounts set deleted_at = ? where customer_id in "
+				+ "(select customer_id from customer where mobile_number < '9567017163')",
+				LocalDateTime.now().minusHours(2));
+		sqlStatementCounter.reset();
+
+		softDeletePurger.purge();
+
+		assertEquals(2, count("select count(*) from customer"));
+		assertEquals(2, count("select count(*) from accounts"));
+		// chunks of two: 2 + 1 rows of each table
+		assertEquals(4, sqlStatementCounter.count(SqlStatementCounter.Type.DELETE), sqlStatementCounter::toString);
+	}
+
+	private void expire(String table) {
+		jdbcTemplate.update("update " + table + " set deleted_at = ? where deleted_at is not null",
+				LocalDateTime.now().minusHours(2));
+	}
+
+	private int count(String sql) {
+		return jdbcTemplate.queryForObject(sql, Integer.class);
+	}
+
+	private ResultActions createCustomer(String mobileNumber) throws Exception {
+		return mockMvc.perform(post("/api/create").contentType("application/json")
+				.content("""
+						{"name": "Soft User", "email": "soft@example.com", "mobileNumber": "%s"}"""
+						.formatted(mobileNumber)));
+	}
+
+}
@@ -0,0 +1,141 @@
+package com.eazybytes.accounts.audit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import com.eazybytes.accounts.config.AccountsAuditProperties;
+import com.eazybytes.accounts.config.AccountsAuditProperties.OverflowPolicy;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AuditTrailTests {
+
+	private JdbcTemplate jdbcTemplate;
+
+	private PlatformTransactionManager transactionManager;
+
+	private MeterRegistry meterRegistry;
+
+	private List<List<String>> batches;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setup() {
+		jdbcTemplate = mock(JdbcTemplate.class);
+		transactionManager = mock(PlatformTransactionManager.class);
+		meterRegistry = new SimpleMeterRegistry();
+		batches = new ArrayList<>();
+
+		// Mock behavior
+		when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+		when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+				.thenAnswer(invocation -> {
+					// the trail reuses its batch list, so the ids are copied here
+					Collection<AuditRecord> batch = invocation.getArgument(1);
+					batches.add(batch.stream().map(AuditRecord::entityId).toList());
+					return new int[0][];
+				});
+	}
+
+	@Test
+	void testFlush_WritesInBatches() {
+		// Mock data
+		AuditTrail auditTrail = auditTrail(100, 4, OverflowPolicy.DROP_NEWEST);
+		for (int i = 0; i < 10; i++) {
+			auditTrail.record(auditRecord(i));
+		}
+
+		// Call the method
+		int flushed = auditTrail.flush();
+
+		// Assertions
+		assertEquals(10, flushed);
+		assertEquals(List.of(4, 4, 2), batches.stream().map(List::size).toList());
+		assertEquals(10, records("written"));
+		assertEquals(0, auditTrail.flush());
+	}
+
+	@Test
+	void testRecord_BufferFull_DropNewest() {
+		// Mock data
+		AuditTrail auditTrail = auditTrail(3, 10, OverflowPolicy.DROP_NEWEST);
+
+		// Call the method
+		for (int i = 0; i < 5; i++) {
+			auditTrail.record(auditRecord(i));
+		}
+		auditTrail.flush();
+
+		// Assertions
+		assertEquals(List.of(List.of("0", "1", "2")), batches);
+		assertEquals(2, records("dropped"));
+	}
+
+	@Test
+	void testRecord_BufferFull_DropOldest() {
+		// Mock data
+		AuditTrail auditTrail = auditTrail(3, 10, OverflowPolicy.DROP_OLDEST);
+
+		// Call the method
+		for (int i = 0; i < 5; i++) {
+			auditTrail.record(auditRecord(i));
+		}
+		auditTrail.flush();
+
+		// Assertions
+		assertEquals(List.of(List.of("2", "3", "4")), batches);
+		assertEquals(2, records("dropped"));
+	}
+
+	@Test
+	void testRecord_BufferFull_BlockTimesOut() {
+		// Mock data
+		AuditTrail auditTrail = auditTrail(1, 10, OverflowPolicy.BLOCK);
+
+		// Call the method
+		auditTrail.record(auditRecord(0));
+		auditTrail.record(auditRecord(1));
+
+		// Assertions
+		assertEquals(1, records("dropped"));
+		assertEquals(1, meterRegistry.get("accounts.audit.buffer.size").gauge().value());
+	}
+
+	private AuditTrail auditTrail(int bufferCapacity, int batchSize, OverflowPolicy overflowPolicy) {
+		AccountsAuditProperties properties = new AccountsAuditProperties();
+		properties.setBufferCapacity(bufferCapacity);
+		properties.setBatchSize(batchSize);
+		properties.setOverflowPolicy(overflowPolicy);
+		properties.setBlockTimeout(Duration.ofMillis(10));
+		return new AuditTrail(jdbcTemplate, transactionManager, properties, meterRegistry);
+	}
+
+	private double records(String outcome) {
+		return meterRegistry.get("accounts.audit.records").tag("outcome", outcome).counter().count();
+	}
+
+	private static AuditRecord auditRecord(int id) {
+		return new AuditRecord("Customer", String.valueOf(id), AuditAction.INSERT, "{}", "ACCOUNTS_MS",
+				LocalDateTime.now());
+	}
+
+}
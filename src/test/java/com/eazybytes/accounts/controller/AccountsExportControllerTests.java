@@ -0,0 +1,100 @@
+package com.eazybytes.accounts.controller;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import com.eazybytes.accounts.dto.ExportFormat;
+import com.eazybytes.accounts.service.IAccountsExportService;
+
+@WebMvcTest(AccountsExportController.class)
+public class AccountsExportControllerTests {
+
+	private static final String NDJSON_LINE = """
+			{"customerId":51,"name":"Madan Reddy","email":"tutor@eazybytes.com","mobileNumber":"4354437687"}
+			""";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@MockBean
+	private IAccountsExportService iAccountsExportService;
+
+	@Test
+	void testExportNdjson() throws Exception {
+		when(iAccountsExportService.exportAccounts(eq(ExportFormat.NDJSON), isNull(), any(OutputStream.class)))
+				.thenAnswer(invocation -> {
+					invocation.getArgument(2, OutputStream.class).write(NDJSON_LINE.getBytes(StandardCharsets.UTF_8));
+					return 1L;
+				});
+		mockMvc.perform(get("/api/export"))
+				.andExpect(status().isOk())
+				.andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+				.andExpect(content().string(NDJSON_LINE));
+	}
+
+	@Test
+	void testExportGzipCsvResumed() throws Exception {
+		String csv = "customer_id,name,email,mobile_number,account_number,account_type,branch_address\n";
+		when(iAccountsExportService.exportAccounts(eq(ExportFormat.CSV), eq(50L), any(OutputStream.class)))
+				.thenAnswer(invocation -> {
+					invocation.getArgument(2, OutputStream.class).write(csv.getBytes(StandardCharsets.UTF_8));
+					return 0L;
+				});
+		byte[] body = mockMvc.perform(get("/api/export?format=csv&gzip=true&after=50"))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType("application/gzip"))
+				.andExpect(header().string("Content-Disposition", "attachment; filename=\"accounts.csv.gz\""))
+				.andReturn().getResponse().getContentAsByteArray();
+		try (GZIPInputStream gzipInputStream = new GZIPInputStream(new ByteArrayInputStream(body))) {
+			assertEquals(csv, new String(gzipInputStream.readAllBytes(), StandardCharsets.UTF_8));
+		}
+		verify(iAccountsExportService).exportAccounts(eq(ExportFormat.CSV), eq(50L), any(OutputStream.class));
+	}
+
+	@Test
+	void testExportGzip_FailedMidway_NoTrailer() throws Exception {
+		when(iAccountsExportService.exportAccounts(eq(ExportFormat.NDJSON), isNull(), any(OutputStream.class)))
+				.thenAnswer(invocation -> {
+					OutputStream outputStream = invocation.getArgument(2, OutputStream.class);
+					outputStream.write(NDJSON_LINE.getBytes(StandardCharsets.UTF_8));
+					outputStream.flush();
+					throw new IOException("Connection reset by peer");
+				});
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		AccountsExportController accountsExportController = new AccountsExportController(iAccountsExportService);
+
+		assertThrows(IOException.class, () -> accountsExportController.exportAccounts("ndjson", true, null, response));
+
+		// a failed export must not look like a complete archive
+		byte[] body = response.getContentAsByteArray();
+		assertThrows(IOException.class, () -> {
+			try (GZIPInputStream gzipInputStream = new GZIPInputStream(new ByteArrayInputStream(body))) {
+				gzipInputStream.readAllBytes();
+			}
+		});
+	}
+
+	@Test
+	void testExportInvalidFormat() throws Exception {
+		mockMvc.perform(get("/api/export?format=xml"))
+				.andExpect(status().isBadRequest());
+	}
+}
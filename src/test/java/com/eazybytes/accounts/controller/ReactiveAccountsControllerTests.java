@@ -0,0 +1,141 @@
+package com.eazybytes.accounts.controller;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import com.eazybytes.accounts.dto.AccountsDto;
+import com.eazybytes.accounts.dto.CustomerDto;
+import com.eazybytes.accounts.exception.CustomerAlreadyExistsException;
+import com.eazybytes.accounts.exception.ResourceNotFoundException;
+import com.eazybytes.accounts.service.IReactiveAccountsService;
+import reactor.core.publisher.Mono;
+
+@WebFluxTest(ReactiveAccountsController.class)
+public class ReactiveAccountsControllerTests {
+
+	@Autowired
+	private WebTestClient webTestClient;
+
+	@MockBean
+	private IReactiveAccountsService iReactiveAccountsService;
+
+	@Test
+	void testCreateAccount() {
+		when(iReactiveAccountsService.createAccount(any(CustomerDto.class))).thenReturn(Mono.empty());
+		webTestClient.post().uri("/api/create").contentType(MediaType.APPLICATION_JSON).bodyValue("""
+				  {
+				    "name": "Madan Reddy",
+				    "email": "tutor@eazybytes",
+				    "mobileNumber": "4354437687"
+				}
+				""").exchange().expectStatus().isCreated().expectBody()
+				.jsonPath("$.statusCode").isEqualTo("201")
+				.jsonPath("$.statusMsg").isEqualTo("Account created successfully");
+	}
+
+	@Test
+	void testCreateAccountInvalidInput() {
+		webTestClient.post().uri("/api/create").contentType(MediaType.APPLICATION_JSON).bodyValue("""
+				  {
+				    "name": "",
+				    "email": "invalidemail",
+				    "mobileNumber": "12345"
+				}
+				""").exchange().expectStatus().isBadRequest().expectBody()
+				.jsonPath("$.mobileNumber").isEqualTo("Mobile number must be 10 digits")
+				.jsonPath("$.email").isEqualTo("Email address should be a valid value");
+	}
+
+	@Test
+	void testCreateAccountAlreadyExists() {
+		when(iReactiveAccountsService.createAccount(any(CustomerDto.class))).thenReturn(Mono.error(
+				new CustomerAlreadyExistsException("Customer already registered with given mobileNumber 4354437687")));
+		webTestClient.post().uri("/api/create").contentType(MediaType.APPLICATION_JSON).bodyValue("""
+				  {
+				    "name": "Madan Reddy",
+				    "email": "tutor@eazybytes",
+				    "mobileNumber": "4354437687"
+				}
+				""").exchange().expectStatus().isBadRequest().expectBody()
+				.jsonPath("$.apiPath").isEqualTo("uri=/api/create")
+				.jsonPath("$.errorCode").isEqualTo("BAD_REQUEST");
+	}
+
+	@Test
+	void testFetchAccountDetails() {
+		CustomerDto customerDto = new CustomerDto("Madan Reddy", "madan.reddy@tcs.com", "9567017116",
+				new AccountsDto(1189502144L, "Savings", "123 Main Street,New York"));
+		when(iReactiveAccountsService.fetchAccount("9567017116")).thenReturn(Mono.just(customerDto));
+		webTestClient.get().uri("/api/fetch?mobileNumber=9567017116").exchange()
+				.expectStatus().isOk().expectBody()
+				.jsonPath("$.name").isEqualTo("Madan Reddy")
+				.jsonPath("$.mobileNumber").isEqualTo("9567017116")
+				.jsonPath("$.accountsDto.accountNumber").isEqualTo(1189502144L)
+				.jsonPath("$.accountsDto.accountType").isEqualTo("Savings");
+	}
+
+	@Test
+	void testFetchAccountDetails_IfNoneMatchCurrent_NotModified() {
+		CustomerDto customerDto = new CustomerDto("Madan Reddy", "madan.reddy@tcs.com", "9567017116",
+				new AccountsDto(1189502144L, "Savings", "123 Main Street,New York", 1L), 3L, null);
+		when(iReactiveAccountsService.fetchAccount("9567017116")).thenReturn(Mono.just(customerDto));
+		webTestClient.get().uri("/api/fetch?mobileNumber=9567017116")
+				.header(HttpHeaders.IF_NONE_MATCH, "\"1189502144-3-1\"").exchange()
+				.expectStatus().isNotModified()
+				.expectHeader().valueEquals(HttpHeaders.ETAG, "\"1189502144-3-1\"")
+				.expectBody().isEmpty();
+	}
+
+	@Test
+	void testFetchAccountDetailsNotFound() {
+		when(iReactiveAccountsService.fetchAccount("0000000000")).thenReturn(Mono.error(
+				new ResourceNotFoundException("Customer", "mobileNumber", "0000000000")));
+		webTestClient.get().uri("/api/fetch?mobileNumber=0000000000").exchange()
+				.expectStatus().isNotFound().expectBody()
+				.jsonPath("$.errorCode").isEqualTo("NOT_FOUND");
+	}
+
+	@Test
+	void testUpdateAccountDetailsNegativeScenario() {
+		when(iReactiveAccountsService.updateAccount(any(CustomerDto.class))).thenReturn(Mono.just(false));
+		webTestClient.put().uri("/api/update").contentType(MediaType.APPLICATION_JSON).bodyValue("""
+				  {
+				    "name": "Madan Mohan",
+				    "email": "tutor@eazybytes",
+				    "mobileNumber": "4354437687"
+				}
+				""").exchange().expectStatus().isEqualTo(417).expectBody()
+				.jsonPath("$.statusCode").isEqualTo("417")
+				.jsonPath("$.statusMsg").isEqualTo("Update operation failed. Please try again or contact Dev team");
+	}
+
+	@Test
+	void testUpdateAccountDetailsConcurrentUpdate_Conflict() {
+		when(iReactiveAccountsService.updateAccount(any(CustomerDto.class)))
+				.thenReturn(Mono.error(new OptimisticLockingFailureException("Row was updated by another transaction")));
+		webTestClient.put().uri("/api/update").contentType(MediaType.APPLICATION_JSON).bodyValue("""
+				  {
+				    "name": "Madan Mohan",
+				    "email": "tutor@eazybytes",
+				    "mobileNumber": "4354437687"
+				}
+				""").exchange().expectStatus().isEqualTo(409).expectBody()
+				.jsonPath("$.apiPath").isEqualTo("uri=/api/update")
+				.jsonPath("$.errorCode").isEqualTo("CONFLICT");
+	}
+
+	@Test
+	void testDeleteAccountDetailsPositiveScenario() {
+		when(iReactiveAccountsService.deleteAccount("4354437687")).thenReturn(Mono.just(true));
+		webTestClient.delete().uri("/api/delete?mobileNumber=4354437687").exchange()
+				.expectStatus().isOk().expectBody()
+				.jsonPath("$.statusCode").isEqualTo("200")
+				.jsonPath("$.statusMsg").isEqualTo("Request processed successfully");
+	}
+}
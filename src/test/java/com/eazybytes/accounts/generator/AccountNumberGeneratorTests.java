@@ -0,0 +1,124 @@
+package com.eazybytes.accounts.generator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.eazybytes.accounts.sharding.ShardContext;
+
+class AccountNumberGeneratorTests {
+
+	@Test
+	void testNextAccountNumber_ReservesOneBlockPerBlockSize() {
+		// Mock behavior
+		JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+		when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(10L, 20L, 30L);
+		AccountNumberGenerator generator = new AccountNumberGenerator(jdbcTemplate,
+				mock(PlatformTransactionManager.class), 10, true);
+
+		// Call the method
+		Set<Long> accountNumbers = new HashSet<>();
+		for (int i = 0; i < 25; i++) {
+			accountNumbers.add(generator.nextAccountNumber());
+		}
+
+		// Assertions
+		assertEquals(25, accountNumbers.size());
+		accountNumbers.forEach(accountNumber -> {
+			assertEquals(10, String.valueOf(accountNumber).length());
+			assertTrue(AccountNumberGenerator.isValidCheckDigit(accountNumber));
+		});
+
+		// Verify
+		verify(jdbcTemplate, times(3)).queryForObject(anyString(), eq(Long.class));
+	}
+
+	@Test
+	void testNextAccountNumber_WithoutCheckDigit() {
+		// Mock behavior
+		JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+		when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(400L);
+		AccountNumberGenerator generator = new AccountNumberGenerator(jdbcTemplate,
+				mock(PlatformTransactionManager.class), 100, false);
+
+		// Assertions
+		assertEquals(1_000_000_300L, generator.nextAccountNumber());
+		assertEquals(1_000_000_301L, generator.nextAccountNumber());
+	}
+
+	@Test
+	void testNextAccountNumber_Sharded_EncodesShard() {
+		// Mock behavior
+		JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+		when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(10L);
+		AccountNumberGenerator generator = new AccountNumberGenerator(jdbcTemplate,
+				mock(PlatformTransactionManager.class), 10, true, true);
+
+		// Call the method
+		long first = ShardContext.callOn(2, generator::nextAccountNumber);
+		long second = ShardContext.callOn(2, generator::nextAccountNumber);
+		long other = ShardContext.callOn(5, generator::nextAccountNumber);
+
+		// Assertions
+		assertEquals(2, generator.shardOf(first));
+		assertEquals(2, generator.shardOf(second));
+		assertEquals(5, generator.shardOf(other));
+		assertTrue(AccountNumberGenerator.isValidCheckDigit(first));
+		assertEquals(3, new HashSet<>(List.of(first, second, other)).size());
+
+		// Verify one block per shard
+		verify(jdbcTemplate, times(2)).queryForObject(anyString(), eq(Long.class));
+	}
+
+	@Test
+	void testNextAccountNumber_BlockSizeChangedAcrossRestart_NoOverlap() {
+		EmbeddedDatabase database = new EmbeddedDatabaseBuilder().generateUniqueName(true)
+				.setType(EmbeddedDatabaseType.H2).addScript("schema.sql").build();
+		try {
+			JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+			DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(database);
+			Set<Long> accountNumbers = new HashSet<>();
+
+			// Call the method: two instances with small blocks, then a restart with larger ones, then smaller again
+			AccountNumberGenerator first = new AccountNumberGenerator(jdbcTemplate, transactionManager, 10, true);
+			AccountNumberGenerator second = new AccountNumberGenerator(jdbcTemplate, transactionManager, 10, true);
+			for (int i = 0; i < 25; i++) {
+				accountNumbers.add(first.nextAccountNumber());
+				accountNumbers.add(second.nextAccountNumber());
+			}
+			AccountNumberGenerator larger = new AccountNumberGenerator(jdbcTemplate, transactionManager, 100, true);
+			for (int i = 0; i < 150; i++) {
+				accountNumbers.add(larger.nextAccountNumber());
+			}
+			AccountNumberGenerator smaller = new AccountNumberGenerator(jdbcTemplate, transactionManager, 7, true);
+			for (int i = 0; i < 20; i++) {
+				accountNumbers.add(smaller.nextAccountNumber());
+			}
+
+			// Assertions
+			assertEquals(50 + 150 + 20, accountNumbers.size());
+			// 3 + 3 blocks of 10, 2 of 100 and 3 of 7
+			assertEquals(281L, jdbcTemplate.queryForObject("select next_serial from account_number_block", Long.class));
+		} finally {
+			database.shutdown();
+		}
+	}
+
+}
@@ -0,0 +1,83 @@
+package com.eazybytes.accounts.json;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import com.eazybytes.accounts.dto.AccountsContactInfoDto;
+import com.eazybytes.accounts.dto.ConstantResponseDto;
+import com.eazybytes.accounts.dto.ResponseDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class PreEncodedJsonHttpMessageConverterTests {
+
+	private ObjectMapper objectMapper;
+
+	private PreEncodedJsonHttpMessageConverter converter;
+
+	@BeforeEach
+	void setup() {
+		objectMapper = new ObjectMapper();
+		converter = new PreEncodedJsonHttpMessageConverter(objectMapper);
+	}
+
+	@Test
+	void testWrite_ConstantResponse_SameBytesAsJackson() throws Exception {
+		for (ConstantResponseDto responseDto : ConstantResponseDto.values()) {
+			// Call the method
+			MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+			converter.write(responseDto, MediaType.APPLICATION_JSON, outputMessage);
+
+			// Assertions
+			byte[] expected = objectMapper.writeValueAsBytes(
+					new ResponseDto(responseDto.getStatusCode(), responseDto.getStatusMsg()));
+			assertEquals(new String(expected), outputMessage.getBodyAsString());
+			assertEquals(expected.length, outputMessage.getHeaders().getContentLength());
+		}
+	}
+
+	@Test
+	void testWrite_ContactInfoChanged_EncodedAgain() throws Exception {
+		// Mock data
+		Map<String, String> contactDetails = new LinkedHashMap<>();
+		contactDetails.put("name", "John Doe - Developer");
+		List<String> onCallSupport = new ArrayList<>(List.of("(555) 555-1234"));
+		AccountsContactInfoDto contactInfo = new AccountsContactInfoDto("Welcome", contactDetails, onCallSupport);
+
+		// Call the method
+		String first = write(contactInfo);
+		contactDetails.put("name", "Jane Doe - Developer");
+		String second = write(contactInfo);
+
+		// Assertions
+		assertTrue(first.contains("John Doe"), first);
+		assertEquals(objectMapper.writeValueAsString(contactInfo), second);
+	}
+
+	@Test
+	void testSupports_OnlyPreEncodedBodiesAndWriteOnly() {
+		assertTrue(converter.canWrite(ConstantResponseDto.class, MediaType.APPLICATION_JSON));
+		assertTrue(converter.canWrite(AccountsContactInfoDto.class, MediaType.APPLICATION_JSON));
+		assertFalse(converter.canWrite(ResponseDto.class, MediaType.APPLICATION_JSON));
+		assertFalse(converter.canRead(ConstantResponseDto.class, MediaType.APPLICATION_JSON));
+		assertThrows(UnsupportedOperationException.class, () -> ConstantResponseDto.OK.setStatusMsg("changed"));
+	}
+
+	private String write(AccountsContactInfoDto contactInfo) throws Exception {
+		MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+		converter.write(contactInfo, MediaType.APPLICATION_JSON, outputMessage);
+		return outputMessage.getBodyAsString();
+	}
+
+}
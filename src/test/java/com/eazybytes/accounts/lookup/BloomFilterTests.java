@@ -0,0 +1,98 @@
+package com.eazybytes.accounts.lookup;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+class BloomFilterTests {
+
+	private static final int INSERTIONS = 100_000;
+
+	@Test
+	void testMightContain_NoFalseNegatives() {
+		// Mock data
+		BloomFilter bloomFilter = new BloomFilter(INSERTIONS, 0.01);
+
+		// Call the method
+		for (int i = 0; i < INSERTIONS; i++) {
+			bloomFilter.put(mobileNumber(i));
+		}
+
+		// Assertions
+		for (int i = 0; i < INSERTIONS; i++) {
+			assertTrue(bloomFilter.mightContain(mobileNumber(i)), mobileNumber(i));
+		}
+		assertEquals(7, bloomFilter.getHashCount());
+	}
+
+	@Test
+	void testMightContain_FalsePositivesNearConfiguredRate() {
+		// Mock data
+		BloomFilter bloomFilter = new BloomFilter(INSERTIONS, 0.01);
+		for (int i = 0; i < INSERTIONS; i++) {
+			bloomFilter.put(mobileNumber(i));
+		}
+
+		// Call the method: sequential numbers right next to the registered ones
+		int falsePositives = 0;
+		for (int i = INSERTIONS; i < 2 * INSERTIONS; i++) {
+			if (bloomFilter.mightContain(mobileNumber(i))) {
+				falsePositives++;
+			}
+		}
+
+		// Assertions
+		int counted = falsePositives;
+		assertTrue(counted < INSERTIONS * 0.015, () -> "false positives: " + counted);
+	}
+
+	@Test
+	void testPut_ConcurrentWritersLoseNoBits() throws Exception {
+		// Mock data
+		BloomFilter bloomFilter = new BloomFilter(INSERTIONS, 0.01);
+		int threads = 4;
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+		// Call the method
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				int offset = t;
+				futures.add(executor.submit(() -> {
+					for (int i = offset; i < INSERTIONS; i += threads) {
+						bloomFilter.put(mobileNumber(i));
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		// Assertions
+		for (int i = 0; i < INSERTIONS; i++) {
+			assertTrue(bloomFilter.mightContain(mobileNumber(i)), mobileNumber(i));
+		}
+	}
+
+	@Test
+	void testConstructor_InvalidSizing() {
+		assertThrows(IllegalArgumentException.class, () -> new BloomFilter(0, 0.01));
+		assertThrows(IllegalArgumentException.class, () -> new BloomFilter(1000, 1));
+	}
+
+	private static String mobileNumber(int i) {
+		return Long.toString(9_000_000_000L + i);
+	}
+
+}
@@ -0,0 +1,165 @@
+package com.eazybytes.accounts.lookup;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class OffHeapCustomerIndexTests {
+
+	private static final long FIRST_MOBILE_NUMBER = 9_000_000_000L;
+
+	@Test
+	void testPutAndGet_GrowsPastExpectedEntries() {
+		// Mock data
+		OffHeapCustomerIndex index = new OffHeapCustomerIndex(100);
+		long initialBytes = index.getMemoryBytes();
+
+		// Call the method
+		for (long i = 0; i < 10_000; i++) {
+			index.put(FIRST_MOBILE_NUMBER + i, i, 1_000_000_000L + i);
+		}
+
+		// Assertions
+		assertEquals(10_000, index.size());
+		for (long i = 0; i < 10_000; i++) {
+			assertEquals(new CustomerKeys(i, 1_000_000_000L + i), index.get(FIRST_MOBILE_NUMBER + i));
+		}
+		assertNull(index.get(FIRST_MOBILE_NUMBER + 10_000));
+		assertTrue(index.getMemoryBytes() > initialBytes);
+		assertTrue(index.getMemoryBytes() / index.size() <= 2 * OffHeapCustomerIndex.SLOT_BYTES / 0.75,
+				() -> "bytes per entry: " + index.getMemoryBytes() / index.size());
+	}
+
+	@Test
+	void testPut_ReplacesStoredKeys() {
+		// Mock data
+		OffHeapCustomerIndex index = new OffHeapCustomerIndex(16);
+		index.put(FIRST_MOBILE_NUMBER, 1L, 100L);
+
+		// Call the method
+		index.put(FIRST_MOBILE_NUMBER, 2L, 200L);
+
+		// Assertions
+		assertEquals(1, index.size());
+		assertEquals(new CustomerKeys(2L, 200L), index.get(FIRST_MOBILE_NUMBER));
+	}
+
+	@Test
+	void testRemove_KeepsCollidingKeysReachable() {
+		// Mock data: a small table so runs of colliding keys are long
+		OffHeapCustomerIndex index = new OffHeapCustomerIndex(16);
+		Map<Long, CustomerKeys> expected = new HashMap<>();
+		Random random = new Random(42);
+
+		// Call the method
+		for (int i = 0; i < 20_000; i++) {
+			long key = FIRST_MOBILE_NUMBER + random.nextInt(500);
+			if (random.nextBoolean()) {
+				index.put(key, i, i + 1L);
+				expected.put(key, new CustomerKeys(i, i + 1L));
+			} else {
+				assertEquals(expected.remove(key) != null, index.remove(key));
+			}
+		}
+
+		// Assertions
+		assertEquals(expected.size(), index.size());
+		for (long key = FIRST_MOBILE_NUMBER; key < FIRST_MOBILE_NUMBER + 500; key++) {
+			assertEquals(expected.get(key), index.get(key), Long.toString(key));
+		}
+	}
+
+	@Test
+	void testGet_ConcurrentWithWriters() throws Exception {
+		// Mock data
+		OffHeapCustomerIndex index = new OffHeapCustomerIndex(16);
+		int threads = 4;
+		int perThread = 20_000;
+		ExecutorService executor = Executors.newFixedThreadPool(threads * 2);
+
+		// Call the method: every reader only looks up keys of its own writer
+		List<Future<Boolean>> readers = new ArrayList<>();
+		try {
+			for (int t = 0; t < threads; t++) {
+				long first = FIRST_MOBILE_NUMBER + (long) t * perThread;
+				executor.submit(() -> {
+					for (long key = first; key < first + perThread; key++) {
+						index.put(key, key, -key);
+					}
+				});
+				readers.add(executor.submit(() -> {
+					for (long key = first; key < first + perThread; key++) {
+						CustomerKeys keys = index.get(key);
+						if (keys != null && (keys.customerId() != key || keys.accountNumber() != -key)) {
+							return false;
+						}
+					}
+					return true;
+				}));
+			}
+			for (Future<Boolean> reader : readers) {
+				assertTrue(reader.get());
+			}
+		} finally {
+			executor.shutdown();
+		}
+		assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+		// Assertions
+		assertEquals(threads * perThread, index.size());
+	}
+
+	@Test
+	void testNegativeKeys() {
+		// Mock data
+		OffHeapCustomerIndex index = new OffHeapCustomerIndex(16);
+
+		// Assertions
+		assertThrows(IllegalArgumentException.class, () -> index.put(-1L, 1L, 1L));
+		assertNull(index.get(-1L));
+		assertFalse(index.remove(-1L));
+		assertThrows(IllegalArgumentException.class, () -> new OffHeapCustomerIndex(-1));
+	}
+
+	@Test
+	void testSlot_SpreadsStridedKeys() {
+		// Mock data: keys that share their low bits, which a plain mask would put into one slot
+		int mask = 1023;
+		Set<Integer> slots = new HashSet<>();
+
+		// Call the method
+		for (int i = 0; i < 1000; i++) {
+			slots.add(OffHeapCustomerIndex.slot(FIRST_MOBILE_NUMBER + (long) i * (mask + 1), mask));
+		}
+
+		// Assertions
+		assertTrue(slots.size() > 500, () -> "Only " + slots.size() + " distinct slots");
+	}
+
+	@Test
+	void testToKey() {
+		// Assertions
+		assertEquals(9_567_017_116L, MobileNumberIndex.toKey("9567017116"));
+		assertEquals(123_456_789L, MobileNumberIndex.toKey("0123456789"));
+		assertEquals(-1L, MobileNumberIndex.toKey("956701711"));
+		assertEquals(-1L, MobileNumberIndex.toKey("95670171a6"));
+		assertEquals(-1L, MobileNumberIndex.toKey(null));
+	}
+
+}
@@ -0,0 +1,92 @@
+package com.eazybytes.accounts.monitor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class VirtualThreadPinningMonitorTests {
+
+	private static final long WAIT_MILLIS = 10_000;
+
+	private SimpleMeterRegistry meterRegistry;
+	private VirtualThreadPinningMonitor monitor;
+
+	@BeforeEach
+	void setup() {
+		meterRegistry = new SimpleMeterRegistry();
+		monitor = new VirtualThreadPinningMonitor(meterRegistry, Duration.ofMillis(20));
+		monitor.start();
+	}
+
+	@AfterEach
+	void tearDown() {
+		monitor.stop();
+	}
+
+	@Test
+	void testPinnedSleep_Recorded() throws Exception {
+		// Mock data
+		Object lock = new Object();
+
+		// Call the method, a sleep inside a monitor pins the virtual thread to its carrier
+		Thread.ofVirtual().start(() -> {
+			synchronized (lock) {
+				sleep(200);
+			}
+		}).join();
+
+		// Assertions
+		Timer pinned = awaitPinned(1);
+		assertEquals(1, pinned.count());
+		assertTrue(pinned.totalTime(TimeUnit.MILLISECONDS) >= 150, () -> pinned.totalTime(TimeUnit.MILLISECONDS) + " ms");
+	}
+
+	@Test
+	void testUnpinnedSleep_NotRecorded() throws Exception {
+		// Mock data
+		Object lock = new Object();
+
+		// Call the method, the unpinned sleep unmounts; the pinned one after it marks when the stream caught up
+		Thread.ofVirtual().start(() -> sleep(200)).join();
+		Thread.ofVirtual().start(() -> {
+			synchronized (lock) {
+				sleep(50);
+			}
+		}).join();
+
+		// Assertions
+		Timer pinned = awaitPinned(1);
+		assertEquals(1, pinned.count());
+		assertTrue(pinned.totalTime(TimeUnit.MILLISECONDS) < 200, () -> pinned.totalTime(TimeUnit.MILLISECONDS) + " ms");
+	}
+
+	/**
+	 * @return the pinning timer once it has at least the expected count, events reach the stream asynchronously
+	 */
+	private Timer awaitPinned(long expected) throws InterruptedException {
+		Timer pinned = meterRegistry.get("accounts.virtual.threads.pinned").timer();
+		long deadline = System.currentTimeMillis() + WAIT_MILLIS;
+		while (pinned.count() < expected && System.currentTimeMillis() < deadline) {
+			Thread.sleep(50);
+		}
+		return pinned;
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
@@ -0,0 +1,104 @@
+package com.eazybytes.accounts.outbox;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import com.eazybytes.accounts.config.AccountsOutboxProperties;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class OutboxRelayTests {
+
+	private JdbcTemplate jdbcTemplate;
+
+	private OutboxPublisher outboxPublisher;
+
+	private MeterRegistry meterRegistry;
+
+	private OutboxRelay outboxRelay;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setup() {
+		jdbcTemplate = mock(JdbcTemplate.class);
+		outboxPublisher = mock(OutboxPublisher.class);
+		meterRegistry = new SimpleMeterRegistry();
+		AccountsOutboxProperties properties = new AccountsOutboxProperties();
+		properties.setBatchSize(2);
+		outboxRelay = new OutboxRelay(jdbcTemplate, outboxPublisher, properties, mock(ObjectProvider.class),
+				meterRegistry);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void testRelay_PublishesThenRemovesInBatches() {
+		// Mock data
+		List<OutboxMessage> first = List.of(message(1, 60), message(2, 30));
+		List<OutboxMessage> second = List.of(message(3, 10));
+
+		// Mock behavior
+		when(jdbcTemplate.query(anyString(), any(RowMapper.class), anyInt())).thenReturn(first, second);
+
+		// Call the method
+		int published = outboxRelay.relay();
+
+		// Assertions
+		assertEquals(3, published);
+		assertEquals(3, meterRegistry.get("accounts.outbox.events").tag("outcome", "published").counter().count());
+		assertEquals(60, meterRegistry.get("accounts.outbox.lag").timeGauge().value(TimeUnit.SECONDS), 5);
+
+		// Verify
+		verify(outboxPublisher).publish(first);
+		verify(outboxPublisher).publish(second);
+		verify(jdbcTemplate, times(2)).batchUpdate(anyString(), anyList());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void testRelay_PublishFails_EventsKept() {
+		// Mock data
+		List<OutboxMessage> batch = List.of(message(1, 5), message(2, 5));
+
+		// Mock behavior
+		when(jdbcTemplate.query(anyString(), any(RowMapper.class), anyInt())).thenReturn(batch);
+		doThrow(new IllegalStateException("broker down")).when(outboxPublisher).publish(batch);
+
+		// Call the method
+		int published = outboxRelay.relay();
+
+		// Assertions
+		assertEquals(0, published);
+		assertEquals(2, meterRegistry.get("accounts.outbox.events").tag("outcome", "failed").counter().count());
+
+		// Verify
+		verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+		verify(jdbcTemplate, times(1)).query(anyString(), any(RowMapper.class), eq(2));
+	}
+
+	private static OutboxMessage message(long eventId, int ageSeconds) {
+		return new OutboxMessage(eventId, AccountEventType.ACCOUNT_CREATED.getEventName(), "9567017116",
+				"{\"mobileNumber\":\"9567017116\"}", LocalDateTime.now().minusSeconds(ageSeconds));
+	}
+
+}
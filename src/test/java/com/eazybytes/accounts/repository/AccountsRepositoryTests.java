@@ -11,6 +11,10 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import com.eazybytes.accounts.entity.Accounts;
 import com.eazybytes.accounts.entity.Customer;
+import com.eazybytes.accounts.generator.AccountNumberGenerator;
+import com.eazybytes.accounts.lookup.MobileNumberIndex;
+import com.eazybytes.accounts.lookup.RegisteredMobileNumbers;
+import com.eazybytes.accounts.outbox.OutboxRecorder;
 import com.eazybytes.accounts.service.impl.AccountsServiceImpl;
 
 @WebMvcTest(AccountsServiceImpl.class)
@@ -21,6 +25,18 @@ public class AccountsRepositoryTests {
 
 	@MockBean
 	CustomerRepository customerRepository;
+
+	@MockBean
+	AccountNumberGenerator accountNumberGenerator;
+
+	@MockBean
+	OutboxRecorder outboxRecorder;
+
+	@MockBean
+	RegisteredMobileNumbers registeredMobileNumbers;
+
+	@MockBean
+	MobileNumberIndex mobileNumberIndex;
 	
 	
 	@Test
@@ -0,0 +1,57 @@
+package com.eazybytes.accounts.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import com.eazybytes.accounts.dto.CustomerDto;
+import com.eazybytes.accounts.entity.Accounts;
+import com.eazybytes.accounts.entity.Customer;
+
+/**
+ * Runs the customer listing query against an embedded H2 database. The slice has no JPA auditing, so
+ * createdAt is only set by the entity itself.
+ */
+@DataJpaTest
+class CustomerRepositoryTests {
+
+	@Autowired
+	AccountsRepository accountsRepository;
+
+	@Autowired
+	CustomerRepository customerRepository;
+
+	@Autowired
+	TestEntityManager testEntityManager;
+
+	@Test
+	void testFindCustomerDetailsPage_CreatedRange() {
+		// Mock data
+		LocalDateTime before = LocalDateTime.now().minusSeconds(1);
+		Customer customer = customerRepository.saveAndFlush(
+				new Customer(null, "Madan Reddy", "madan.reddy@tcs.com", "9567017116"));
+		accountsRepository.saveAndFlush(new Accounts(customer.getCustomerId(), 123456L, "Savings",
+				"123 Main Street, New York"));
+		LocalDateTime after = LocalDateTime.now().plusSeconds(1);
+		testEntityManager.clear();
+
+		// Call the method
+		List<CustomerDto> inRange = customerRepository.findCustomerDetailsPage(0, null, before, after, 10);
+		List<CustomerDto> createdLater = customerRepository.findCustomerDetailsPage(0, null, after, null, 10);
+		List<CustomerDto> createdEarlier = customerRepository.findCustomerDetailsPage(0, null, null, before, 10);
+
+		// Assertions
+		assertEquals(1, inRange.size());
+		assertEquals(customer.getCustomerId(), inRange.get(0).getCustomerId());
+		assertTrue(createdLater.isEmpty());
+		assertTrue(createdEarlier.isEmpty());
+	}
+
+}
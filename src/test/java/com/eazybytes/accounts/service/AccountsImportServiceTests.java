@@ -0,0 +1,148 @@
+package com.eazybytes.accounts.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import com.eazybytes.accounts.config.AccountsImportProperties;
+import com.eazybytes.accounts.dto.BatchItemResponseDto;
+import com.eazybytes.accounts.dto.BatchResponseDto;
+import com.eazybytes.accounts.dto.CustomerDto;
+import com.eazybytes.accounts.dto.ImportResponseDto;
+import com.eazybytes.accounts.exception.ResourceNotFoundException;
+import com.eazybytes.accounts.service.impl.AccountsImportServiceImpl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+
+class AccountsImportServiceTests {
+
+	@TempDir
+	Path importDirectory;
+
+	@Test
+	void testImportAccounts_ParsesChunksInParallelAndWritesRejects() throws IOException {
+		// Mock data: 200 valid rows, 3 invalid rows and one mobile number that is already registered
+		StringBuilder csv = new StringBuilder("name,email,mobile_number\r\n");
+		for (int i = 0; i < 200; i++) {
+			csv.append("\"Customer, No ").append(i).append("\",customer").append(i).append("@eazybytes.com,")
+					.append(9_000_000_000L + i).append("\r\n");
+		}
+		csv.append("Bad,not-an-email,123\n");
+		csv.append("Too Few Columns,only@eazybytes.com\n");
+		csv.append("\n");
+		csv.append("Madan Reddy,madan@eazybytes.com,12345\n");
+		csv.append("Registered User,registered@eazybytes.com,9999999999");
+		Files.writeString(importDirectory.resolve("customers.csv"), csv, StandardCharsets.UTF_8);
+
+		// Mock behavior
+		Set<String> created = ConcurrentHashMap.newKeySet();
+		IAccountsService iAccountsService = mock(IAccountsService.class);
+		when(iAccountsService.createAccounts(anyList())).thenAnswer(invocation -> {
+			List<CustomerDto> customerDtos = invocation.getArgument(0);
+			List<BatchItemResponseDto> failures = new ArrayList<>();
+			for (int index = 0; index < customerDtos.size(); index++) {
+				String mobileNumber = customerDtos.get(index).getMobileNumber();
+				if (mobileNumber.equals("9999999999")) {
+					failures.add(new BatchItemResponseDto(index, mobileNumber,
+							"Customer already registered with given mobileNumber " + mobileNumber, null));
+				} else {
+					created.add(mobileNumber);
+				}
+			}
+			return new BatchResponseDto(customerDtos.size(), customerDtos.size() - failures.size(),
+					failures.size(), failures);
+		});
+		AccountsImportProperties properties = new AccountsImportProperties(importDirectory,
+				DataSize.ofBytes(512), 16, 2, 4);
+		AccountsImportServiceImpl importService = new AccountsImportServiceImpl(iAccountsService,
+				Validation.buildDefaultValidatorFactory().getValidator(), properties, new SimpleMeterRegistry());
+
+		// Call the method
+		ImportResponseDto result = importService.importAccounts("customers.csv");
+
+		// Assertions
+		assertEquals(204, result.getTotal());
+		assertEquals(200, result.getImported());
+		assertEquals(4, result.getRejected());
+		assertEquals(200, created.size());
+		assertTrue(created.contains("9000000199"));
+		List<String> rejects = Files.readAllLines(importDirectory.resolve(result.getRejectsFile()));
+		assertEquals(5, rejects.size());
+		assertTrue(rejects.stream().anyMatch(line -> line.contains("Expected 3 columns")));
+		assertTrue(rejects.stream().anyMatch(line -> line.contains("already registered")));
+	}
+
+	@Test
+	void testImportAccounts_ParseFailureAfterCommittedBatches_ReturnsPartialCounts() throws IOException {
+		// Mock data: 40 valid rows followed by one that breaks the parser
+		StringBuilder csv = new StringBuilder();
+		for (int i = 0; i < 40; i++) {
+			csv.append("Customer No ").append(i).append(",customer").append(i).append("@eazybytes.com,")
+					.append(9_000_000_000L + i).append("\n");
+		}
+		csv.append("Broken Parser,broken@eazybytes.com,9000000999\n");
+		Files.writeString(importDirectory.resolve("customers.csv"), csv, StandardCharsets.UTF_8);
+
+		// Mock behavior
+		Set<String> created = ConcurrentHashMap.newKeySet();
+		IAccountsService iAccountsService = mock(IAccountsService.class);
+		when(iAccountsService.createAccounts(anyList())).thenAnswer(invocation -> {
+			List<CustomerDto> customerDtos = invocation.getArgument(0);
+			customerDtos.forEach(customerDto -> created.add(customerDto.getMobileNumber()));
+			return new BatchResponseDto(customerDtos.size(), customerDtos.size(), 0, List.of());
+		});
+		Validator realValidator = Validation.buildDefaultValidatorFactory().getValidator();
+		Validator validator = mock(Validator.class);
+		when(validator.validate(any(CustomerDto.class))).thenAnswer(invocation -> {
+			CustomerDto customerDto = invocation.getArgument(0);
+			if (customerDto.getName().equals("Broken Parser")) {
+				throw new IllegalStateException("Validator unavailable");
+			}
+			return realValidator.validate(customerDto);
+		});
+		// one parser and one row per batch, so every row before the broken one is committed
+		AccountsImportServiceImpl importService = new AccountsImportServiceImpl(iAccountsService, validator,
+				new AccountsImportProperties(importDirectory, DataSize.ofMegabytes(1), 1, 4, 1),
+				new SimpleMeterRegistry());
+
+		// Call the method
+		ImportResponseDto result = importService.importAccounts("customers.csv");
+
+		// Assertions
+		assertEquals(41, result.getTotal());
+		assertEquals(40, result.getImported());
+		assertEquals(40, created.size());
+		assertEquals(0, result.getRejected());
+		assertTrue(result.getFailure().contains("Validator unavailable"), result.getFailure());
+	}
+
+	@Test
+	void testImportAccounts_FileOutsideImportDirectory() {
+		AccountsImportServiceImpl importService = new AccountsImportServiceImpl(mock(IAccountsService.class),
+				Validation.buildDefaultValidatorFactory().getValidator(),
+				new AccountsImportProperties(importDirectory, DataSize.ofMegabytes(1), 10, 2, 1),
+				new SimpleMeterRegistry());
+
+		assertThrows(ResourceNotFoundException.class, () -> importService.importAccounts("../customers.csv"));
+	}
+
+}
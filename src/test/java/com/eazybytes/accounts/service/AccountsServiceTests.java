@@ -2,34 +2,57 @@ package com.eazybytes.accounts.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
 import com.eazybytes.accounts.dto.AccountsDto;
+import com.eazybytes.accounts.dto.BatchResponseDto;
 import com.eazybytes.accounts.dto.CustomerDto;
+import com.eazybytes.accounts.dto.CustomerPageDto;
+import com.eazybytes.accounts.dto.CustomerVersionDto;
 import com.eazybytes.accounts.entity.Accounts;
 import com.eazybytes.accounts.entity.Customer;
 import com.eazybytes.accounts.exception.CustomerAlreadyExistsException;
+import com.eazybytes.accounts.exception.InvalidCursorException;
 import com.eazybytes.accounts.exception.ResourceNotFoundException;
+import com.eazybytes.accounts.generator.AccountNumberGenerator;
+import com.eazybytes.accounts.lookup.CustomerKeys;
+import com.eazybytes.accounts.lookup.MobileNumberIndex;
+import com.eazybytes.accounts.lookup.RegisteredMobileNumbers;
+import com.eazybytes.accounts.outbox.OutboxRecorder;
 import com.eazybytes.accounts.repository.AccountsRepository;
 import com.eazybytes.accounts.repository.CustomerRepository;
 import com.eazybytes.accounts.service.impl.AccountsServiceImpl;
 
+/**
+ * The service is proxied for caching and transactions; class-based proxies, as in the running
+ * application, keep it injectable as AccountsServiceImpl.
+ */
 @WebMvcTest(AccountsServiceImpl.class)
+@ImportAutoConfiguration(AopAutoConfiguration.class)
 class AccountsServiceTests {
 
 	@MockBean
@@ -38,9 +61,26 @@ class AccountsServiceTests {
 	@MockBean
 	CustomerRepository customerRepository;
 
+	@MockBean
+	AccountNumberGenerator accountNumberGenerator;
+
+	@MockBean
+	OutboxRecorder outboxRecorder;
+
+	@MockBean
+	RegisteredMobileNumbers registeredMobileNumbers;
+
+	@MockBean
+	MobileNumberIndex mobileNumberIndex;
+
 	@Autowired
 	private AccountsServiceImpl accountsService;
 
+	@BeforeEach
+	void setup() {
+		when(registeredMobileNumbers.mightContain(any())).thenReturn(true);
+	}
+
 	@Test
 	void testCreateAccount_Success() {
 		// Mock data
@@ -51,8 +91,7 @@ class AccountsServiceTests {
 		Accounts mockAccount = new Accounts();
 
 		// Mock behavior
-		when(customerRepository.findByMobileNumber(any(String.class))).thenReturn(Optional.empty());
-		when(customerRepository.save(any(Customer.class))).thenReturn(savedCustomer);
+		when(customerRepository.saveAndFlush(any(Customer.class))).thenReturn(savedCustomer);
 		/*
 		 * You cannot use doNothing() with when() in below scenario because
 		 * accountsRepository.save() is not a void method. Instead, it is designed to
@@ -65,9 +104,11 @@ class AccountsServiceTests {
 		accountsService.createAccount(customerDto);
 
 		// Verify
-		verify(customerRepository, times(1)).findByMobileNumber(customerDto.getMobileNumber());
-		verify(customerRepository, times(1)).save(any(Customer.class));
+		verify(customerRepository, never()).findByMobileNumber(customerDto.getMobileNumber());
+		verify(customerRepository, times(1)).saveAndFlush(any(Customer.class));
 		verify(accountsRepository, times(1)).save(any(Accounts.class));
+		verify(outboxRecorder, times(1)).accountCreated(savedCustomer, mockAccount);
+		verify(mobileNumberIndex, times(1)).registered(savedCustomer, mockAccount);
 	}
 
 	@Test
@@ -77,19 +118,264 @@ class AccountsServiceTests {
 		customerDto.setMobileNumber("9567017116");
 
 		// Mock behavior
-		when(customerRepository.findByMobileNumber(customerDto.getMobileNumber()))
-				.thenReturn(Optional.of(new Customer()));
+		when(customerRepository.saveAndFlush(any(Customer.class))).thenThrow(new DataIntegrityViolationException(
+				"could not execute statement", new RuntimeException("Unique index or primary key violation: "
+						+ "\"PUBLIC.UX_CUSTOMER_MOBILE_NUMBER ON PUBLIC.CUSTOMER(MOBILE_NUMBER)\"")));
 
 		// Call the method and assert exception
 		assertThrows(CustomerAlreadyExistsException.class, () -> accountsService.createAccount(customerDto));
 
 		// Verify
-		verify(customerRepository, times(1)).findByMobileNumber(customerDto.getMobileNumber());
-		verifyNoInteractions(accountsRepository);
+		verify(customerRepository, times(1)).saveAndFlush(any(Customer.class));
+		verifyNoInteractions(accountsRepository, outboxRecorder);
+	}
+
+	@Test
+	void testCreateAccounts_PartialSuccess() {
+		// Mock data
+		CustomerDto valid = new CustomerDto("Madan Reddy", "madan.reddy@tcs.com", "9567017116", null);
+		CustomerDto invalid = new CustomerDto("Madan Reddy", "madan.reddy@tcs.com", "12345", null);
+		CustomerDto repeated = new CustomerDto("Madan Mohan", "madan.mohan@tcs.com", "9567017116", null);
+		CustomerDto registered = new CustomerDto("Madan Kumar", "madan.kumar@tcs.com", "9567017117", null);
+
+		// Mock behavior
+		when(customerRepository.findRegisteredMobileNumbers(any())).thenReturn(List.of("9567017117"));
+
+		// Call the method
+		BatchResponseDto result = accountsService.createAccounts(List.of(valid, invalid, repeated, registered));
+
+		// Assertions
+		assertEquals(4, result.getTotal());
+		assertEquals(1, result.getCreated());
+		assertEquals(3, result.getFailed());
+		assertEquals(1, result.getFailures().get(0).getIndex());
+		assertNotNull(result.getFailures().get(0).getErrors().get("mobileNumber"));
+		assertEquals(2, result.getFailures().get(1).getIndex());
+		assertEquals(3, result.getFailures().get(2).getIndex());
+
+		// Verify
+		verify(customerRepository, times(1)).saveAll(any());
+		verify(accountsRepository, times(1)).saveAll(any());
+	}
+
+	@Test
+	void testCreateAccounts_NullItem_ReportedByIndex() {
+		// Mock data
+		CustomerDto valid = new CustomerDto("Madan Reddy", "madan.reddy@tcs.com", "9567017116", null);
+
+		// Call the method
+		BatchResponseDto result = accountsService.createAccounts(Arrays.asList(null, valid));
+
+		// Assertions
+		assertEquals(2, result.getTotal());
+		assertEquals(1, result.getCreated());
+		assertEquals(1, result.getFailed());
+		assertEquals(0, result.getFailures().get(0).getIndex());
+		assertNull(result.getFailures().get(0).getMobileNumber());
+
+		// Verify
+		verify(customerRepository, times(1)).saveAll(any());
+	}
+
+	@Test
+	void testCreateAccounts_RegisteredConcurrently() {
+		// Mock data
+		CustomerDto valid = new CustomerDto("Madan Reddy", "madan.reddy@tcs.com", "9567017116", null);
+
+		// Mock behavior
+		doThrow(new DataIntegrityViolationException("could not execute batch", new RuntimeException(
+				"Unique index or primary key violation: \"PUBLIC.UX_CUSTOMER_MOBILE_NUMBER ON "
+						+ "PUBLIC.CUSTOMER(MOBILE_NUMBER)\""))).when(customerRepository).flush();
+
+		// Call the method and assert exception
+		assertThrows(CustomerAlreadyExistsException.class, () -> accountsService.createAccounts(List.of(valid)));
+
+		// Verify
+		verify(accountsRepository, never()).saveAll(any());
+		verifyNoInteractions(outboxRecorder);
 	}
 
 	@Test
 	void testFetchAccount_Success() {
+		// Mock data
+		String mobileNumber = "9567017116";
+		CustomerDto customerDto = new CustomerDto("Madan Reddy", "madan.reddy@tcs.com", mobileNumber, 0L, 123456L,
+				"Savings", "123 Main Street,New York", 0L);
+
+		// Mock behavior
+		when(customerRepository.findCustomerDetailsByMobileNumber(mobileNumber)).thenReturn(Optional.of(customerDto));
+
+		// Call the method
+		CustomerDto result = accountsService.fetchAccount(mobileNumber);
+
+		// Assertions
+		assertNotNull(result);
+		assertEquals(123456L, result.getAccountsDto().getAccountNumber());
+		assertEquals(mobileNumber, result.getMobileNumber());
+		assertEquals("Savings", result.getAccountsDto().getAccountType());
+
+		// Verify
+		verify(customerRepository, times(1)).findCustomerDetailsByMobileNumber(mobileNumber);
+		verifyNoInteractions(accountsRepository);
+	}
+
+	@Test
+	void testFetchAccount_Indexed_ReadsByKeys() {
+		// Mock data
+		String mobileNumber = "9567017116";
+		CustomerDto customerDto = new CustomerDto("Madan Reddy", "madan.reddy@tcs.com", mobileNumber, 0L, 123456L,
+				"Savings", "123 Main Street,New York", 0L);
+
+		// Mock behavior
+		when(mobileNumberIndex.find(mobileNumber)).thenReturn(new CustomerKeys(1L, 123456L));
+		when(customerRepository.findCustomerDetailsByKeys(1L, 123456L, mobileNumber))
+				.thenReturn(Optional.of(customerDto));
+
+		// Call the method
+		CustomerDto result = accountsService.fetchAccount(mobileNumber);
+
+		// Assertions
+		assertEquals(123456L, result.getAccountsDto().getAccountNumber());
+
+		// Verify
+		verify(customerRepository, never()).findCustomerDetailsByMobileNumber(mobileNumber);
+		verify(mobileNumberIndex, never()).stale(mobileNumber);
+	}
+
+	@Test
+	void testFetchAccount_IndexStale_FallsBackToMobileNumber() {
+		// Mock data
+		String mobileNumber = "9567017116";
+		CustomerDto customerDto = new CustomerDto("Madan Reddy", "madan.reddy@tcs.com", mobileNumber, 0L, 123457L,
+				"Savings", "123 Main Street,New York", 0L);
+
+		// Mock behavior: the indexed customer has changed its mobile number since
+		when(mobileNumberIndex.find(mobileNumber)).thenReturn(new CustomerKeys(1L, 123456L));
+		when(customerRepository.findCustomerDetailsByKeys(1L, 123456L, mobileNumber)).thenReturn(Optional.empty());
+		when(customerRepository.findCustomerDetailsByMobileNumber(mobileNumber)).thenReturn(Optional.of(customerDto));
+
+		// Call the method
+		CustomerDto result = accountsService.fetchAccount(mobileNumber);
+
+		// Assertions
+		assertEquals(123457L, result.getAccountsDto().getAccountNumber());
+
+		// Verify
+		verify(mobileNumberIndex, times(1)).stale(mobileNumber);
+		verify(customerRepository, times(1)).findCustomerDetailsByMobileNumber(mobileNumber);
+	}
+
+	@Test
+	void testFetchAccount_NotFound() {
+		// Mock data
+		String mobileNumber = "9567017116";
+
+		// Mock behavior
+		when(customerRepository.findCustomerDetailsByMobileNumber(mobileNumber)).thenReturn(Optional.empty());
+
+		// Assertions
+		assertThrows(ResourceNotFoundException.class, () -> accountsService.fetchAccount(mobileNumber));
+	}
+
+	@Test
+	void testFetchAccount_NeverRegistered_NoQuery() {
+		// Mock data
+		String mobileNumber = "9999999999";
+
+		// Mock behavior
+		when(registeredMobileNumbers.mightContain(mobileNumber)).thenReturn(false);
+
+		// Call the method
+		ResourceNotFoundException ex = assertThrows(ResourceNotFoundException.class,
+				() -> accountsService.fetchAccount(mobileNumber));
+
+		// Assertions
+		assertEquals(0, ex.getStackTrace().length);
+
+		// Verify
+		verifyNoInteractions(customerRepository, accountsRepository);
+	}
+
+	@Test
+	void testDeleteAccount_NeverRegistered_NoQuery() {
+		// Mock data
+		String mobileNumber = "9999999999";
+
+		// Mock behavior
+		when(registeredMobileNumbers.mightContain(mobileNumber)).thenReturn(false);
+
+		// Assertions
+		assertThrows(ResourceNotFoundException.class, () -> accountsService.deleteAccount(mobileNumber));
+
+		// Verify
+		verifyNoInteractions(customerRepository, accountsRepository, outboxRecorder);
+	}
+
+	@Test
+	void testFetchAccountVersion() {
+		// Mock data
+		String mobileNumber = "9567017116";
+		CustomerVersionDto customerVersionDto = new CustomerVersionDto(123456L, 3L, 1L);
+
+		// Mock behavior
+		when(customerRepository.findCustomerVersionByMobileNumber(mobileNumber))
+				.thenReturn(Optional.of(customerVersionDto));
+
+		// Call the method
+		CustomerVersionDto result = accountsService.fetchAccountVersion(mobileNumber);
+
+		// Assertions
+		assertEquals("\"123456-3-1\"", result.eTag());
+
+		// Verify
+		verify(customerRepository, never()).findCustomerDetailsByMobileNumber(mobileNumber);
+		verifyNoInteractions(accountsRepository);
+	}
+
+	@Test
+	void testFetchAccountVersion_NotFound() {
+		// Mock data
+		String mobileNumber = "9567017116";
+
+		// Mock behavior
+		when(customerRepository.findCustomerVersionByMobileNumber(mobileNumber)).thenReturn(Optional.empty());
+
+		// Assertions
+		assertThrows(ResourceNotFoundException.class, () -> accountsService.fetchAccountVersion(mobileNumber));
+	}
+
+	@Test
+	void testFetchCustomers_SeeksPastCursor() {
+		// Mock data: one row more than the page size signals a next page
+		List<CustomerDto> rows = List.of(
+				new CustomerDto(51L, "Madan Reddy", "madan.reddy@tcs.com", "9567017116", 0L, 123456L, "Savings", "Address", 0L),
+				new CustomerDto(52L, "Madan Mohan", "madan.mohan@tcs.com", "9567017117", 0L, 123457L, "Savings", "Address", 0L),
+				new CustomerDto(53L, "Madan Kumar", "madan.kumar@tcs.com", "9567017118", 0L, 123458L, "Savings", "Address", 0L));
+
+		// Mock behavior
+		when(customerRepository.findCustomerDetailsPage(0L, "Savings", null, null, 3)).thenReturn(rows);
+		when(customerRepository.findCustomerDetailsPage(52L, "Savings", null, null, 3)).thenReturn(List.of(rows.get(2)));
+
+		// Call the method
+		CustomerPageDto firstPage = accountsService.fetchCustomers(null, 2, "Savings", null, null);
+		CustomerPageDto lastPage = accountsService.fetchCustomers(firstPage.getNextCursor(), 2, "Savings", null, null);
+
+		// Assertions
+		assertEquals(2, firstPage.getCustomers().size());
+		assertNotNull(firstPage.getNextCursor());
+		assertEquals(1, lastPage.getCustomers().size());
+		assertEquals("9567017118", lastPage.getCustomers().get(0).getMobileNumber());
+		assertNull(lastPage.getNextCursor());
+	}
+
+	@Test
+	void testFetchCustomers_InvalidCursor() {
+		assertThrows(InvalidCursorException.class, () -> accountsService.fetchCustomers("not-a-cursor", 20, null, null, null));
+		verifyNoInteractions(customerRepository);
+	}
+
+	@Test
+	void testFetchAccountWithEntities_Success() {
 		// Mock data
 		String mobileNumber = "9567017116";
 		Customer customer = new Customer(1L, "Madan Reddy", "madan.reddy@tcs.com", mobileNumber);
@@ -100,7 +386,7 @@ class AccountsServiceTests {
 		when(accountsRepository.findByCustomerId(customer.getCustomerId())).thenReturn(Optional.of(accounts));
 
 		// Call the method
-		CustomerDto result = accountsService.fetchAccount(mobileNumber);
+		CustomerDto result = accountsService.fetchAccountWithEntities(mobileNumber);
 
 		// Assertions
 		assertNotNull(result);
@@ -117,7 +403,7 @@ class AccountsServiceTests {
 	}
 
 	@Test
-	void testFetchAccount_Negative_Scenario_1() {
+	void testFetchAccountWithEntities_Negative_Scenario_1() {
 		// Mock data
 		String mobileNumber = "9567017116";
 		Customer customer = new Customer(1L, "Madan Reddy", "madan.reddy@tcs.com", mobileNumber);
@@ -128,11 +414,11 @@ class AccountsServiceTests {
 		when(accountsRepository.findByCustomerId(customer.getCustomerId())).thenReturn(Optional.of(accounts));
 
 		// Assertions
-		assertThrows(ResourceNotFoundException.class, () -> accountsService.fetchAccount(mobileNumber));
+		assertThrows(ResourceNotFoundException.class, () -> accountsService.fetchAccountWithEntities(mobileNumber));
 	}
 
 	@Test
-	void testFetchAccount_Negative_Scenario_2() {
+	void testFetchAccountWithEntities_Negative_Scenario_2() {
 		// Mock data
 		String mobileNumber = "9567017116";
 		Customer customer = new Customer(1L, "Madan Reddy", "madan.reddy@tcs.com", mobileNumber);
@@ -143,7 +429,7 @@ class AccountsServiceTests {
 		when(accountsRepository.findByCustomerId(customer.getCustomerId())).thenReturn(Optional.empty());
 
 		// Assertions
-		assertThrows(ResourceNotFoundException.class, () -> accountsService.fetchAccount(mobileNumber));
+		assertThrows(ResourceNotFoundException.class, () -> accountsService.fetchAccountWithEntities(mobileNumber));
 	}
 
 	@Test
@@ -160,8 +446,8 @@ class AccountsServiceTests {
 		customer.setCustomerId(1L);
 
 		// Mock behavior
-		when(accountsRepository.findById(123456L)).thenReturn(Optional.of(accounts));
-		when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
+		when(accountsRepository.findByIdForUpdate(123456L)).thenReturn(Optional.of(accounts));
+		when(customerRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(customer));
 		when(accountsRepository.save(any(Accounts.class))).thenReturn(accounts);
 		when(customerRepository.save(any(Customer.class))).thenReturn(any(Customer.class));
 
@@ -172,11 +458,11 @@ class AccountsServiceTests {
 		assertTrue(isUpdated);
 
 		// Verify
-		verify(accountsRepository, times(1)).findById(123456L);
-		verify(customerRepository, times(1)).findById(1L);
+		verify(accountsRepository, times(1)).findByIdForUpdate(123456L);
+		verify(customerRepository, times(1)).findByIdForUpdate(1L);
 		verify(accountsRepository, times(1)).save(accounts);
 		verify(customerRepository, times(1)).save(customer);
-		
+		verify(mobileNumberIndex, times(1)).changed(null, customer, accounts);
 	}
 	@Test
 	void testUpdateAccount_Failure_scenario_1() {
@@ -192,14 +478,14 @@ class AccountsServiceTests {
 		customer.setCustomerId(1L);
 
 		// Mock behavior
-		when(accountsRepository.findById(123456L)).thenReturn(Optional.empty());
-		when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
+		when(accountsRepository.findByIdForUpdate(123456L)).thenReturn(Optional.empty());
+		when(customerRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(customer));
 		when(accountsRepository.save(any(Accounts.class))).thenReturn(accounts);
 		when(customerRepository.save(any(Customer.class))).thenReturn(any(Customer.class));
 
 
 		assertThrows(ResourceNotFoundException.class, () -> accountsService.updateAccount(customerDto));
-	    verify(accountsRepository, never()).findById(1L);
+	    verify(accountsRepository, never()).findByIdForUpdate(1L);
 	    verify(accountsRepository, never()).save(any(Accounts.class));
 	    verify(customerRepository, never()).save(customer);
 	}
@@ -218,8 +504,8 @@ class AccountsServiceTests {
 		customer.setCustomerId(1L);
 
 		// Mock behavior
-		when(accountsRepository.findById(123456L)).thenReturn(Optional.of(accounts));
-		when(customerRepository.findById(1L)).thenReturn(Optional.empty());
+		when(accountsRepository.findByIdForUpdate(123456L)).thenReturn(Optional.of(accounts));
+		when(customerRepository.findByIdForUpdate(1L)).thenReturn(Optional.empty());
 		when(accountsRepository.save(any(Accounts.class))).thenReturn(accounts);
 		when(customerRepository.save(any(Customer.class))).thenReturn(any(Customer.class));
 
@@ -228,15 +514,62 @@ class AccountsServiceTests {
 
 	}
 
+	@Test
+	void testPatchAccount_Success() {
+		// Mock data
+		CustomerDto customerDto = new CustomerDto();
+		customerDto.setEmail("madan.mohan@tcs.com");
+		customerDto.setVersion(2L);
+		customerDto.setAccountsDto(new AccountsDto(123456L, null, "456 Address"));
+
+		Accounts accounts = new Accounts(1L, 123456L, "Savings", "123 Address");
+		Customer customer = new Customer(1L, "Madan Reddy", "madan.reddy@tcs.com", "9567017116");
+		customer.setVersion(2L);
+
+		// Mock behavior
+		when(accountsRepository.findByIdForUpdate(123456L)).thenReturn(Optional.of(accounts));
+		when(customerRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(customer));
+
+		// Call the method
+		boolean isUpdated = accountsService.patchAccount(customerDto);
+
+		// Assertions
+		assertTrue(isUpdated);
+		assertEquals("Savings", accounts.getAccountType());
+		assertEquals("456 Address", accounts.getBranchAddress());
+		assertEquals("Madan Reddy", customer.getName());
+		assertEquals("madan.mohan@tcs.com", customer.getEmail());
+	}
+
+	@Test
+	void testPatchAccount_StaleVersion() {
+		// Mock data
+		CustomerDto customerDto = new CustomerDto();
+		customerDto.setName("Madan Mohan");
+		customerDto.setVersion(1L);
+		customerDto.setAccountsDto(new AccountsDto(123456L, null, null));
+
+		Accounts accounts = new Accounts(1L, 123456L, "Savings", "123 Address");
+		Customer customer = new Customer(1L, "Madan Reddy", "madan.reddy@tcs.com", "9567017116");
+		customer.setVersion(2L);
+
+		// Mock behavior
+		when(accountsRepository.findByIdForUpdate(123456L)).thenReturn(Optional.of(accounts));
+		when(customerRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(customer));
+
+		// Assertions
+		assertThrows(ObjectOptimisticLockingFailureException.class, () -> accountsService.patchAccount(customerDto));
+		assertEquals("Madan Reddy", customer.getName());
+	}
+
 @Test
 void testDeleteAccount_Failure() {
     // Mock data
     String mobileNumber = "9567017116";
-    Customer customer = new Customer();
-    customer.setCustomerId(1L);
 
     // Mock behavior
-    when(customerRepository.findByMobileNumber(mobileNumber)).thenReturn(Optional.of(customer));
+    when(accountsRepository.deleteByMobileNumber(mobileNumber)).thenReturn(1);
+    when(customerRepository.deleteByMobileNumber(mobileNumber)).thenReturn(1);
 
     // Call the method
     boolean isDeleted = accountsService.deleteAccount(mobileNumber);
@@ -245,8 +578,22 @@ void testDeleteAccount_Failure() {
     assertTrue(isDeleted);
 
     // Verify
-    verify(customerRepository, times(1)).findByMobileNumber(mobileNumber);
-    verify(accountsRepository, times(1)).deleteByCustomerId(customer.getCustomerId());
-    verify(customerRepository, times(1)).deleteById(customer.getCustomerId());
+    verify(customerRepository, never()).findByMobileNumber(mobileNumber);
+    verify(accountsRepository, times(1)).deleteByMobileNumber(mobileNumber);
+    verify(customerRepository, times(1)).deleteByMobileNumber(mobileNumber);
+    verify(outboxRecorder, times(1)).accountDeleted(mobileNumber, false);
+    verify(mobileNumberIndex, times(1)).removed(mobileNumber);
+}
+
+@Test
+void testDeleteAccount_NotFound() {
+    // Mock data
+    String mobileNumber = "9567017116";
+
+    // Mock behavior
+    when(customerRepository.deleteByMobileNumber(mobileNumber)).thenReturn(0);
+
+    // Assertions
+    assertThrows(ResourceNotFoundException.class, () -> accountsService.deleteAccount(mobileNumber));
 }
 }
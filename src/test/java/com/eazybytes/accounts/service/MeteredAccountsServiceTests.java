@@ -0,0 +1,99 @@
+package com.eazybytes.accounts.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import com.eazybytes.accounts.dto.BatchResponseDto;
+import com.eazybytes.accounts.dto.CustomerDto;
+import com.eazybytes.accounts.entity.Customer;
+import com.eazybytes.accounts.exception.ResourceNotFoundException;
+import com.eazybytes.accounts.service.impl.MeteredAccountsService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class MeteredAccountsServiceTests {
+
+	private final IAccountsService delegate = mock(IAccountsService.class);
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private final MeteredAccountsService meteredAccountsService = new MeteredAccountsService(delegate, meterRegistry);
+
+	@Test
+	void testFetchAccount_TaggedByOutcome() {
+		// Mock behavior
+		CustomerDto customerDto = new CustomerDto("Madan Reddy", "madan@eazybytes.com", "1234567890", null);
+		when(delegate.fetchAccount("1234567890")).thenReturn(customerDto);
+		when(delegate.fetchAccount("0000000000"))
+				.thenThrow(new ResourceNotFoundException("Customer", "mobileNumber", "0000000000"));
+
+		// Call the method
+		assertEquals(customerDto, meteredAccountsService.fetchAccount("1234567890"));
+		assertThrows(ResourceNotFoundException.class, () -> meteredAccountsService.fetchAccount("0000000000"));
+
+		// Assertions
+		assertEquals(1, meterRegistry.get("accounts.service").tag("operation", "fetch").tag("outcome", "success")
+				.timer().count());
+		assertEquals(1, meterRegistry.get("accounts.service").tag("operation", "fetch").tag("outcome", "not-found")
+				.timer().count());
+	}
+
+	@Test
+	void testUpdateAccount_NotAppliedWhenFalse() {
+		// Mock behavior
+		CustomerDto customerDto = new CustomerDto("Madan Reddy", "madan@eazybytes.com", "1234567890", null);
+		when(delegate.updateAccount(customerDto)).thenReturn(false);
+
+		// Call the method
+		boolean result = meteredAccountsService.updateAccount(customerDto);
+
+		// Assertions
+		assertFalse(result);
+		assertEquals(1, meterRegistry.get("accounts.service").tag("operation", "update").tag("outcome", "not-applied")
+				.timer().count());
+	}
+
+	@Test
+	void testUpdateAccount_LockFailuresAreConflicts() {
+		// Mock behavior
+		CustomerDto customerDto = new CustomerDto("Madan Reddy", "madan@eazybytes.com", "1234567890", null);
+		when(delegate.updateAccount(customerDto))
+				.thenThrow(new ObjectOptimisticLockingFailureException(Customer.class, 1L))
+				.thenThrow(new PessimisticLockingFailureException("Customer row locked"));
+
+		// Call the method
+		assertThrows(ObjectOptimisticLockingFailureException.class,
+				() -> meteredAccountsService.updateAccount(customerDto));
+		assertThrows(PessimisticLockingFailureException.class, () -> meteredAccountsService.updateAccount(customerDto));
+
+		// Assertions
+		assertEquals(2, meterRegistry.get("accounts.service").tag("operation", "update").tag("outcome", "conflict")
+				.timer().count());
+	}
+
+	@Test
+	void testCreateAccounts_CountsCreatedAndRejected() {
+		// Mock behavior
+		List<CustomerDto> customerDtos = List.of(
+				new CustomerDto("Madan Reddy", "madan@eazybytes.com", "1234567890", null),
+				new CustomerDto("Madan Reddy", "madan@eazybytes.com", "1234567890", null));
+		when(delegate.createAccounts(customerDtos)).thenReturn(new BatchResponseDto(2, 1, 1, List.of()));
+
+		// Call the method
+		meteredAccountsService.createAccounts(customerDtos);
+
+		// Assertions
+		assertEquals(1.0, meterRegistry.get("accounts.service.batch.items").tag("outcome", "created").counter().count());
+		assertEquals(1.0, meterRegistry.get("accounts.service.batch.items").tag("outcome", "rejected").counter().count());
+	}
+
+}
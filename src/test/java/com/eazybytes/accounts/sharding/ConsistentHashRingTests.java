@@ -0,0 +1,77 @@
+package com.eazybytes.accounts.sharding;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class ConsistentHashRingTests {
+
+	private static final int KEYS = 30_000;
+
+	@Test
+	void testShardFor_SpreadsKeysEvenly() {
+		// Mock data
+		ConsistentHashRing ring = new ConsistentHashRing(List.of("shard-0", "shard-1", "shard-2"), 128);
+
+		// Call the method
+		int[] counts = new int[3];
+		for (int i = 0; i < KEYS; i++) {
+			counts[ring.shardFor(mobileNumber(i))]++;
+		}
+
+		// Assertions
+		for (int count : counts) {
+			assertTrue(Math.abs(count - KEYS / 3) < KEYS / 3 * 0.3, () -> "Uneven spread " + count);
+		}
+	}
+
+	@Test
+	void testShardFor_AddingShardOnlyMovesKeysToNewShard() {
+		// Mock data
+		ConsistentHashRing before = new ConsistentHashRing(List.of("shard-0", "shard-1", "shard-2"), 128);
+		ConsistentHashRing after = new ConsistentHashRing(List.of("shard-0", "shard-1", "shard-2", "shard-3"), 128);
+
+		// Call the method
+		int moved = 0;
+		for (int i = 0; i < KEYS; i++) {
+			int from = before.shardFor(mobileNumber(i));
+			int to = after.shardFor(mobileNumber(i));
+			if (from != to) {
+				assertEquals(3, to);
+				moved++;
+			}
+		}
+
+		// Assertions
+		int expected = KEYS / 4;
+		assertTrue(Math.abs(moved - expected) < expected * 0.3, "Moved " + moved + " of " + KEYS);
+	}
+
+	@Test
+	void testShardFor_SameKeySameShard() {
+		// Mock data
+		ConsistentHashRing ring = new ConsistentHashRing(List.of("shard-0", "shard-1"), 16);
+
+		// Assertions
+		assertEquals(ring.shardFor("9567017116"), new ConsistentHashRing(List.of("shard-0", "shard-1"), 16)
+				.shardFor("9567017116"));
+		assertThrows(IllegalArgumentException.class, () -> new ConsistentHashRing(List.of(), 16));
+	}
+
+	@Test
+	void testHash_KeepsPlacementOfUtf8Bytes() {
+		// placement of existing customers depends on these values
+		assertEquals(4926192159921638683L, ConsistentHashRing.hash("9100000000"));
+		assertEquals(-3413787052447643614L, ConsistentHashRing.hash("shard-0#0"));
+		assertEquals(2344552379444843855L, ConsistentHashRing.hash("m\u00fcnchen-0#0"));
+	}
+
+	private static String mobileNumber(int i) {
+		return String.valueOf(9_000_000_000L + i);
+	}
+
+}
@@ -0,0 +1,72 @@
+package com.eazybytes.accounts.support;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts the SQL statements sent through a {@link StatementCountingDataSource} since the last {@link #reset()},
+ * by statement type. A statement added to a JDBC batch counts once, the batch round trip is counted apart.
+ */
+public class SqlStatementCounter {
+
+	public enum Type { SELECT, INSERT, UPDATE, DELETE, SEQUENCE, OTHER }
+
+	private final Map<Type, AtomicInteger> counts = new EnumMap<>(Type.class);
+
+	private final AtomicInteger batches = new AtomicInteger();
+
+	public SqlStatementCounter() {
+		for (Type type : Type.values()) {
+			counts.put(type, new AtomicInteger());
+		}
+	}
+
+	public void reset() {
+		counts.values().forEach(count -> count.set(0));
+		batches.set(0);
+	}
+
+	public int count(Type type) {
+		return counts.get(type).get();
+	}
+
+	public int batches() {
+		return batches.get();
+	}
+
+	void record(String sql) {
+		counts.get(classify(sql)).incrementAndGet();
+	}
+
+	void recordBatch() {
+		batches.incrementAndGet();
+	}
+
+	/**
+	 * @param sql - statement text as sent to the driver
+	 * @return type of the statement, sequence increments are told apart from queries
+	 */
+	static Type classify(String sql) {
+		String statement = sql.stripLeading().toLowerCase(Locale.ROOT);
+		if (statement.contains("next value for") || statement.contains("nextval(")) {
+			return Type.SEQUENCE;
+		} else if (statement.startsWith("select") || statement.startsWith("with")) {
+			return Type.SELECT;
+		} else if (statement.startsWith("insert")) {
+			return Type.INSERT;
+		} else if (statement.startsWith("update")) {
+			return Type.UPDATE;
+		} else if (statement.startsWith("delete")) {
+			return Type.DELETE;
+		}
+		return Type.OTHER;
+	}
+
+	@Override
+	public String toString() {
+		return counts + ", batches=" + batches;
+	}
+
+}
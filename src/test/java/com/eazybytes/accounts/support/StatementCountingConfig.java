@@ -0,0 +1,35 @@
+package com.eazybytes.accounts.support;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Import into a test context to wrap its DataSource in a {@link StatementCountingDataSource}; the counter
+ * is a bean the test can autowire.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class StatementCountingConfig {
+
+	@Bean
+	public SqlStatementCounter sqlStatementCounter() {
+		return new SqlStatementCounter();
+	}
+
+	@Bean
+	public static BeanPostProcessor statementCountingDataSourcePostProcessor(ObjectProvider<SqlStatementCounter> counter) {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				if (bean instanceof DataSource dataSource && !(bean instanceof StatementCountingDataSource)) {
+					return new StatementCountingDataSource(dataSource, counter.getObject());
+				}
+				return bean;
+			}
+		};
+	}
+
+}
@@ -0,0 +1,85 @@
+package com.eazybytes.accounts.support;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Hands out connections whose statements report every execution to a {@link SqlStatementCounter}.
+ * Everything else, including {@code unwrap} to the pool, is passed through to the target DataSource.
+ */
+public class StatementCountingDataSource extends DelegatingDataSource {
+
+	private final SqlStatementCounter counter;
+
+	public StatementCountingDataSource(DataSource targetDataSource, SqlStatementCounter counter) {
+		super(targetDataSource);
+		this.counter = counter;
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		return countingConnection(super.getConnection());
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		return countingConnection(super.getConnection(username, password));
+	}
+
+	private Connection countingConnection(Connection connection) {
+		return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {Connection.class},
+				(proxy, method, args) -> {
+					Object result = invoke(connection, method, args);
+					return switch (method.getName()) {
+						case "prepareStatement" ->
+								countingStatement(PreparedStatement.class, (Statement) result, (String) args[0]);
+						case "prepareCall" ->
+								countingStatement(CallableStatement.class, (Statement) result, (String) args[0]);
+						case "createStatement" -> countingStatement(Statement.class, (Statement) result, null);
+						default -> result;
+					};
+				});
+	}
+
+	/**
+	 * @param sql - statement text of a prepared statement, null for a plain statement that gets it per call
+	 */
+	private <T extends Statement> T countingStatement(Class<T> type, Statement statement, String sql) {
+		InvocationHandler handler = (proxy, method, args) -> {
+			String text = args != null && args.length > 0 && args[0] instanceof String value ? value : sql;
+			switch (method.getName()) {
+				case "addBatch", "execute", "executeQuery", "executeUpdate", "executeLargeUpdate" -> {
+					if (text != null) {
+						counter.record(text);
+					}
+				}
+				case "executeBatch", "executeLargeBatch" -> counter.recordBatch();
+				default -> {
+					// not an execution
+				}
+			}
+			return invoke(statement, method, args);
+		};
+		return type.cast(Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {type}, handler));
+	}
+
+	private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+		try {
+			return method.invoke(target, args);
+		} catch (InvocationTargetException ex) {
+			throw ex.getTargetException();
+		}
+	}
+
+}
@@ -0,0 +1,29 @@
+package com.eazybytes.accounts.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+class HashingTests {
+
+	@Test
+	void testHash_KeepsBloomFilterProbes() {
+		// value of the Bloom filter's former own hash
+		assertEquals(4926192159921638683L, Hashing.hash("9100000000"));
+	}
+
+	@Test
+	void testHash_CharsAndBytesAgreeForAsciiOnly() {
+		assertEquals(Hashing.hash("shard-0#0"), Hashing.hash("shard-0#0".getBytes(StandardCharsets.UTF_8)));
+		assertNotEquals(Hashing.hash("m\u00fcnchen"), Hashing.hash("m\u00fcnchen".getBytes(StandardCharsets.UTF_8)));
+	}
+
+	@Test
+	void testMix_KeepsMurmurFinalizer() {
+		assertEquals(-345891062976869692L, Hashing.mix(9_100_000_000L));
+	}
+
+}